@@ -0,0 +1,21 @@
+package com.vn.caro_game.configs;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Configuration of the clock that time-dependent services read, so tests can supply a fixed one.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
@@ -1,8 +1,9 @@
 package com.vn.caro_game.configs;
 
+import com.vn.caro_game.constants.ApplicationConstants;
 import com.vn.caro_game.entities.User;
+import com.vn.caro_game.integrations.jwt.TokenClaims;
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
 import org.springframework.security.core.GrantedAuthority;
@@ -11,6 +12,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * Custom UserDetails implementation that wraps User entity
@@ -26,17 +28,51 @@ import java.util.Collections;
  *   <li>Account status flags</li>
  * </ul>
  *
+ * <p>Authenticated requests build it from the token claims alone with
+ * {@link #fromClaims(TokenClaims)}; the wrapped user then only carries the ID,
+ * email and username, and no password.</p>
+ *
  * @author Caro Game Team
  * @since 1.0.0
  * @see UserDetails
  * @see User
  */
-@AllArgsConstructor
 @Getter
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class CustomUserDetails implements UserDetails {
 
     User user;
+    List<GrantedAuthority> authorities;
+
+    public CustomUserDetails(User user) {
+        this(user, Collections.singletonList(new SimpleGrantedAuthority(ApplicationConstants.DEFAULT_ROLE)));
+    }
+
+    private CustomUserDetails(User user, List<GrantedAuthority> authorities) {
+        this.user = user;
+        this.authorities = authorities;
+    }
+
+    /**
+     * Builds the principal from verified token claims, without loading the user.
+     * Tokens issued without roles get the default role.
+     *
+     * @param claims the access token's claims
+     * @return the principal
+     */
+    public static CustomUserDetails fromClaims(TokenClaims claims) {
+        User user = new User();
+        user.setId(claims.userId());
+        user.setEmail(claims.email());
+        user.setUsername(claims.username());
+        if (claims.roles().isEmpty()) {
+            return new CustomUserDetails(user);
+        }
+        List<GrantedAuthority> authorities = claims.roles().stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return new CustomUserDetails(user, authorities);
+    }
 
     /**
      * Gets the user ID from the wrapped User entity.
@@ -76,8 +112,7 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // Default role for all users - can be expanded later
-        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+        return authorities;
     }
 
     @Override
@@ -1,7 +1,7 @@
 package com.vn.caro_game.configs;
 
 import com.vn.caro_game.integrations.jwt.JwtService;
-import com.vn.caro_game.repositories.UserRepository;
+import com.vn.caro_game.integrations.jwt.TokenClaims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,6 +19,18 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates REST requests from the Bearer token.
+ *
+ * <p>The token is parsed once and the principal is built from its claims, so no user is
+ * loaded from the database. Only tokens carrying a user ID, that is access tokens, are
+ * accepted, and Redis is asked about the blacklist only when the local filter cannot rule
+ * the token out.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ * @see CustomUserDetails#fromClaims(TokenClaims)
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -26,7 +38,6 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     JwtService jwtService;
-    UserRepository userRepository;
 
     @Override
     protected void doFilterInternal(
@@ -36,9 +47,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
-
-        log.info("authHeader:", authHeader);
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -48,13 +56,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            userEmail = jwtService.extractEmail(jwt);
-
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                var user = userRepository.findByEmail(userEmail);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                TokenClaims claims = jwtService.parseToken(jwt);
 
-                if (user.isPresent() && jwtService.isTokenValid(jwt, userEmail)) {
-                    UserDetails userDetails = new CustomUserDetails(user.get());
+                if (claims.userId() != null && claims.email() != null && !jwtService.isTokenBlacklisted(claims)) {
+                    UserDetails userDetails = CustomUserDetails.fromClaims(claims);
 
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
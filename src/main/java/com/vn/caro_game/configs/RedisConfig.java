@@ -1,5 +1,6 @@
 package com.vn.caro_game.configs;
 
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -41,8 +42,11 @@ public class RedisConfig {
         // Cấu hình serializer
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        // Values such as cached users carry java.time fields
+        GenericJackson2JsonRedisSerializer valueSerializer = new GenericJackson2JsonRedisSerializer();
+        valueSerializer.configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
         
         template.afterPropertiesSet();
         return template;
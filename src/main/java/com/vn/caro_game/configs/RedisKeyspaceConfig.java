@@ -1,5 +1,9 @@
 package com.vn.caro_game.configs;
 
+import com.vn.caro_game.constants.ApplicationConstants;
+import com.vn.caro_game.constants.UserProfileConstants;
+import com.vn.caro_game.integrations.redis.TokenRevocationRedisSubscriber;
+import com.vn.caro_game.integrations.redis.UserCacheRedisSubscriber;
 import com.vn.caro_game.integrations.redis.UserStatusRedisSubscriber;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,11 +17,17 @@ public class RedisKeyspaceConfig {
     @Bean
     public RedisMessageListenerContainer redisMessageListenerContainer(
             RedisConnectionFactory connectionFactory,
-            UserStatusRedisSubscriber userStatusRedisSubscriber) {
+            UserStatusRedisSubscriber userStatusRedisSubscriber,
+            TokenRevocationRedisSubscriber tokenRevocationRedisSubscriber,
+            UserCacheRedisSubscriber userCacheRedisSubscriber) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
         container.addMessageListener(userStatusRedisSubscriber, new PatternTopic("__keyevent@*__:expired"));
         container.addMessageListener(userStatusRedisSubscriber, new ChannelTopic("user-status"));
+        container.addMessageListener(tokenRevocationRedisSubscriber,
+                new ChannelTopic(ApplicationConstants.REDIS_CHANNEL_TOKEN_REVOKED));
+        container.addMessageListener(userCacheRedisSubscriber,
+                new ChannelTopic(UserProfileConstants.REDIS_CHANNEL_USER_INVALIDATED));
         return container;
     }
 }
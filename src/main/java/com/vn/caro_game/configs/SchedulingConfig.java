@@ -0,0 +1,18 @@
+package com.vn.caro_game.configs;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration enabling Spring's scheduled task execution.
+ *
+ * <p>Background jobs live in the {@code schedulers} package and are individually
+ * switched on or off through their {@code app.*.enabled} properties.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,6 +1,5 @@
 package com.vn.caro_game.configs;
 
-import com.vn.caro_game.integrations.jwt.JwtService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
@@ -13,10 +12,8 @@ import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
@@ -24,13 +21,14 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
  * WebSocket Authentication Configuration.
  * 
  * <p>This configuration sets up authentication for WebSocket STOMP messages by
- * intercepting incoming messages and validating JWT tokens from the session attributes
- * set during the handshake process.</p>
+ * intercepting incoming messages. The JWT token stored in the session attributes during
+ * the handshake is validated once, on CONNECT, and the user is bound to the session.</p>
  * 
  * <h3>Flow:</h3>
  * <ol>
  *   <li>JWT token is extracted during handshake by JwtHandshakeInterceptor</li>
- *   <li>This interceptor validates the token for each STOMP message</li>
+ *   <li>This interceptor validates the token and loads the user on CONNECT</li>
+ *   <li>Later messages reuse the bound user until the token expires or is revoked</li>
  *   <li>Sets up Spring Security authentication context</li>
  *   <li>Enables @MessageMapping methods to access Authentication parameter</li>
  * </ol>
@@ -39,6 +37,7 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
  * @since 1.0.0
  * @see JwtHandshakeInterceptor
  * @see WebSocketEventListener
+ * @see WebSocketSessionAuthenticator
  */
 @Configuration
 @EnableWebSocketMessageBroker
@@ -47,8 +46,7 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @Order(Ordered.HIGHEST_PRECEDENCE + 99)
 public class WebSocketAuthenticationConfig implements WebSocketMessageBrokerConfigurer {
 
-    private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final WebSocketSessionAuthenticator sessionAuthenticator;
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
@@ -56,40 +54,32 @@ public class WebSocketAuthenticationConfig implements WebSocketMessageBrokerConf
             @Override
             public Message<?> preSend(Message<?> message, MessageChannel channel) {
                 StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
-                
-                if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
-                    // For CONNECT command, authentication is handled by WebSocketEventListener
+                if (accessor == null || accessor.getSessionAttributes() == null) {
                     return message;
                 }
-                
-                if (accessor != null && accessor.getSessionAttributes() != null) {
-                    String token = (String) accessor.getSessionAttributes().get("jwt");
-                    
-                    if (token != null) {
-                        try {
-                            if (jwtService.validateToken(token)) {
-                                String email = jwtService.extractEmail(token);
-                                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                                
-                                UsernamePasswordAuthenticationToken authToken = 
-                                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                                
-                                // Set authentication in both SecurityContext and StompHeaderAccessor
-                                SecurityContextHolder.getContext().setAuthentication(authToken);
-                                accessor.setUser(authToken);
-                                
-                                log.debug("WebSocket message authenticated for user: {}", email);
-                            } else {
-                                log.warn("Invalid JWT token in WebSocket message");
-                            }
-                        } catch (Exception e) {
-                            log.error("Error authenticating WebSocket message: {}", e.getMessage());
-                        }
-                    } else {
-                        log.warn("No JWT token found in WebSocket session attributes");
+
+                Authentication authentication;
+                if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+                    try {
+                        authentication = sessionAuthenticator.connect(accessor.getSessionAttributes());
+                    } catch (Exception e) {
+                        log.error("Error authenticating WebSocket session: {}", e.getMessage());
+                        return message;
+                    }
+                    if (authentication != null) {
+                        // The user set on CONNECT is kept for the session's later frames
+                        accessor.setUser(authentication);
                     }
+                } else if (StompCommand.DISCONNECT.equals(accessor.getCommand())) {
+                    // Let a session whose token is no longer valid still leave cleanly
+                    return message;
+                } else {
+                    authentication = sessionAuthenticator.authenticate(accessor.getSessionAttributes());
+                }
+
+                if (authentication != null) {
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
-                
                 return message;
             }
         });
@@ -0,0 +1,158 @@
+package com.vn.caro_game.configs;
+
+import com.vn.caro_game.integrations.jwt.JwtService;
+import com.vn.caro_game.integrations.jwt.TokenClaims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authenticates a STOMP session once, at CONNECT, and keeps the result for its later frames.
+ *
+ * <p>The JWT from the handshake is parsed a single time and the principal built from its
+ * claims, without loading the user. The principal is bound to the session attributes
+ * together with the token's expiry, so each later frame only compares the clock with that
+ * deadline. A token revoked by logout or refresh is announced on Redis Pub/Sub and every
+ * session opened with it is cut off on its next frame.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ * @see WebSocketAuthenticationConfig
+ * @see JwtHandshakeInterceptor
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class WebSocketSessionAuthenticator {
+
+    static final String SESSION_ATTRIBUTE = "stompAuthentication";
+
+    private final JwtService jwtService;
+
+    private final Map<String, Set<BoundSession>> sessionsByToken = new ConcurrentHashMap<>();
+
+    /**
+     * Authenticates a CONNECT frame from the token stored during the handshake
+     *
+     * @param sessionAttributes the WebSocket session attributes
+     * @return the authenticated user, or null if the session has no valid token
+     */
+    public Authentication connect(Map<String, Object> sessionAttributes) {
+        String token = (String) sessionAttributes.get("jwt");
+        if (token == null) {
+            log.warn("No JWT token found in WebSocket session attributes");
+            return null;
+        }
+        TokenClaims claims;
+        try {
+            claims = jwtService.parseToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Invalid JWT token in WebSocket CONNECT: {}", e.getMessage());
+            return null;
+        }
+        if (claims.userId() == null) {
+            log.warn("JWT token in WebSocket CONNECT is not a valid access token");
+            return null;
+        }
+
+        UserDetails userDetails = CustomUserDetails.fromClaims(claims);
+        Authentication authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        BoundSession session = new BoundSession(claims.revocationId(), authentication, claims.expiresAt().getTime());
+
+        // Registered before the blacklist check, so a revocation published in between still reaches the session
+        sessionsByToken.computeIfAbsent(session.revocationId, key -> ConcurrentHashMap.newKeySet()).add(session);
+        if (jwtService.isTokenBlacklisted(claims) || session.revoked) {
+            unregister(session);
+            log.warn("JWT token in WebSocket CONNECT has been revoked");
+            return null;
+        }
+
+        sessionAttributes.put(SESSION_ATTRIBUTE, session);
+        log.debug("WebSocket session authenticated for user: {}", claims.email());
+        return authentication;
+    }
+
+    /**
+     * Gets the user bound to a session at CONNECT
+     *
+     * @param sessionAttributes the WebSocket session attributes
+     * @return the authenticated user, or null if the session never authenticated
+     * @throws AccessDeniedException if the session's token has expired or been revoked
+     */
+    public Authentication authenticate(Map<String, Object> sessionAttributes) {
+        BoundSession session = (BoundSession) sessionAttributes.get(SESSION_ATTRIBUTE);
+        if (session == null) {
+            return null;
+        }
+        if (session.revoked) {
+            throw new AccessDeniedException("WebSocket session token has been revoked");
+        }
+        if (System.currentTimeMillis() >= session.expiresAt) {
+            throw new AccessDeniedException("WebSocket session token has expired");
+        }
+        return session.authentication;
+    }
+
+    /**
+     * Cuts off every session on this instance that was opened with a revoked token
+     *
+     * @param revocationId the revoked token's ID, see {@link JwtService#getRevocationId}
+     */
+    public void revoke(String revocationId) {
+        Set<BoundSession> sessions = sessionsByToken.remove(revocationId);
+        if (sessions != null) {
+            sessions.forEach(session -> session.revoked = true);
+            log.info("Revoked {} WebSocket sessions after token invalidation", sessions.size());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Object> sessionAttributes = StompHeaderAccessor.wrap(event.getMessage()).getSessionAttributes();
+        if (sessionAttributes == null || !(sessionAttributes.get(SESSION_ATTRIBUTE) instanceof BoundSession session)) {
+            return;
+        }
+        unregister(session);
+    }
+
+    private void unregister(BoundSession session) {
+        sessionsByToken.computeIfPresent(session.revocationId, (revocationId, sessions) -> {
+            sessions.remove(session);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    int getSessionCount() {
+        return sessionsByToken.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * The user, token ID and deadline bound to one STOMP session
+     */
+    private static final class BoundSession {
+
+        private final String revocationId;
+        private final Authentication authentication;
+        private final long expiresAt;
+        private volatile boolean revoked;
+
+        BoundSession(String revocationId, Authentication authentication, long expiresAt) {
+            this.revocationId = revocationId;
+            this.authentication = authentication;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -9,4 +9,7 @@ public class ApplicationConstants {
     // Token Configuration
     public static final long DEFAULT_ACCESS_TOKEN_EXPIRATION = 3600L; // 1 hour in seconds
     public static final int BEARER_TOKEN_START_INDEX = 7;
+    public static final String DEFAULT_ROLE = "ROLE_USER";
+    public static final String REDIS_KEY_TOKEN_BLACKLIST_PREFIX = "blacklist:";
+    public static final String REDIS_CHANNEL_TOKEN_REVOKED = "token-revoked";
 }
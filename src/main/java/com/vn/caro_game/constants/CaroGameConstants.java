@@ -33,6 +33,19 @@ public final class CaroGameConstants {
         {1, -1}   // Diagonal anti
     };
     
+    // Replay streaming
+    public static final int REPLAY_KEYFRAME_INTERVAL = 16;
+    public static final int REPLAY_KEYFRAME_CACHE_SIZE = 256;
+    public static final int REPLAY_DEFAULT_CHUNK_SIZE = 50;
+    public static final int REPLAY_MAX_CHUNK_SIZE = 200;
+    
+    // Board heatmaps: moves up to this number (both players) count as the opening
+    public static final int HEATMAP_OPENING_MOVES = 10;
+    
+    // Opening explorer: moves counted per game, and game histories read per query while loading
+    public static final int OPENING_TREE_DEPTH = 10;
+    public static final int OPENING_TREE_LOAD_BATCH_SIZE = 500;
+    
     // WebSocket topics for game moves
     public static final String TOPIC_GAME_MOVE = "/topic/game/%d/move";
     public static final String TOPIC_GAME_END = "/topic/game/%d/end";
@@ -43,6 +43,30 @@ public final class GameRoomConstants {
     // Join code pattern
     public static final String JOIN_CODE_PATTERN = "^[A-Z0-9]{4}$";
     
+    // Matchmaking
+    public static final int DEFAULT_RATING = 1200;
+    public static final String QUEUE_MATCHMAKING = "/queue/matchmaking";
+    public static final String MATCHED_ROOM_NAME = "Quick Play Room";
+
+    // Elo rating: players move faster while provisional, and are unranked below the minimum
+    public static final int RATING_K_FACTOR = 20;
+    public static final int PROVISIONAL_K_FACTOR = 40;
+    public static final int PROVISIONAL_GAMES = 30;
+    public static final int RANKED_MIN_GAMES = 5;
+
+    // Leaderboard: players need this many games to be listed
+    public static final int LEADERBOARD_MIN_GAMES = 5;
+    // Percentile bands, as the top share of the leaderboard in percent, narrowest first
+    public static final int[] LEADERBOARD_PERCENTILE_BANDS = {1, 5, 10, 25, 50, 100};
+
+    // Head-to-head records kept in memory, least recently read evicted first
+    public static final int HEAD_TO_HEAD_CACHE_SIZE = 1024;
+    
+    // Achievements: games to play, wins in a row, and own moves a quick win must stay under
+    public static final int ACHIEVEMENT_GAMES_PLAYED = 100;
+    public static final int ACHIEVEMENT_WIN_STREAK = 10;
+    public static final int ACHIEVEMENT_QUICK_WIN_MOVES = 20;
+
     // Join code generation characters
     public static final String JOIN_CODE_CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
 }
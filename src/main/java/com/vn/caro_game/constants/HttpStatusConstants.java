@@ -14,6 +14,7 @@ public class HttpStatusConstants {
     public static final int UNAUTHORIZED = 401;
     public static final int FORBIDDEN = 403;
     public static final int NOT_FOUND = 404;
+    public static final int CONFLICT = 409;
     public static final int TOO_MANY_REQUESTS = 429;
     
     // Server Error Status Codes
@@ -60,4 +60,12 @@ public class UserProfileConstants {
     // Request Parameter Names
     public static final String AVATAR_PARAM_NAME = "avatar";
     public static final String PROFILE_PARAM_NAME = "profile";
+    
+    // User Cache Configuration
+    public static final int USER_CACHE_SIZE = 10_000;
+    public static final long USER_CACHE_LOCAL_TTL_MS = 60_000; // 1 minute
+    public static final long USER_CACHE_TTL_SECONDS = 600; // 10 minutes
+    public static final String REDIS_KEY_USER_CACHE_PREFIX = "user-cache:";
+    public static final String REDIS_KEY_USER_CACHE_GENERATION_PREFIX = "user-cache-gen:";
+    public static final String REDIS_CHANNEL_USER_INVALIDATED = "user-invalidated";
 }
@@ -0,0 +1,113 @@
+package com.vn.caro_game.controllers;
+
+import com.vn.caro_game.configs.CustomUserDetails;
+import com.vn.caro_game.controllers.base.BaseController;
+import com.vn.caro_game.enums.StatusCode;
+import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.services.interfaces.GameExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * REST Controller for bulk game export
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Tag(name = "Game Export", description = "Bulk export of finished games in Gomoku notation")
+@RestController
+@RequestMapping("/api/export")
+@SecurityRequirement(name = "bearerAuth")
+@RequiredArgsConstructor
+public class GameExportController extends BaseController {
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final GameExportService gameExportService;
+
+    @Value("${app.export.timeout-ms:1800000}")
+    private long exportTimeoutMs;
+
+    /**
+     * Exports the current user's games
+     */
+    @Operation(summary = "Export my games",
+              description = "Stream the current user's finished games as gzip-compressed PGN-like Gomoku notation, optionally limited to a date range")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Export stream started"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/games")
+    public WebAsyncTask<Void> exportMyGames(
+            @Parameter(description = "Inclusive start of game end time", example = "2025-08-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Exclusive end of game end time", example = "2025-09-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            HttpServletResponse response) {
+
+        Long userId = userDetails.getUserId();
+        return stream(response, "caro-games-user-" + userId + ".txt.gz",
+                out -> gameExportService.exportGames(userId, from, to, out));
+    }
+
+    /**
+     * Exports games of all players in a date range (analysts only)
+     */
+    @Operation(summary = "Export all games",
+              description = "Stream all finished games in a date range. Restricted to users listed in app.export.analyst-user-ids")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Export stream started"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "User is not allowed to export all games"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/games/all")
+    public WebAsyncTask<Void> exportAllGames(
+            @Parameter(description = "Inclusive start of game end time", example = "2025-08-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Exclusive end of game end time", example = "2025-09-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            HttpServletResponse response) {
+
+        if (!gameExportService.canExportAllGames(userDetails.getUserId())) {
+            throw new CustomException(StatusCode.FORBIDDEN);
+        }
+        return stream(response, "caro-games-" + from.toLocalDate() + "_" + to.toLocalDate() + ".txt.gz",
+                out -> gameExportService.exportGames(null, from, to, out));
+    }
+
+    /**
+     * Streams an export on the async executor with its own timeout, so the long download does not
+     * need a longer timeout for every other async request
+     */
+    private WebAsyncTask<Void> stream(HttpServletResponse response, String fileName, StreamingResponseBody body) {
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        response.setContentType(GZIP.toString());
+        return new WebAsyncTask<>(exportTimeoutMs, () -> {
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+}
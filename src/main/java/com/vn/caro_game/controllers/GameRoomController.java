@@ -3,14 +3,7 @@ package com.vn.caro_game.controllers;
 import com.vn.caro_game.controllers.base.BaseController;
 import com.vn.caro_game.configs.CustomUserDetails;
 import com.vn.caro_game.services.interfaces.GameRoomService;
-import com.vn.caro_game.integrations.redis.RedisService;
-import com.vn.caro_game.repositories.GameRoomRepository;
-import com.vn.caro_game.repositories.RoomPlayerRepository;
-import com.vn.caro_game.entities.GameRoom;
-import com.vn.caro_game.entities.RoomPlayer;
-import com.vn.caro_game.mappers.GameRoomMapper;
-import com.vn.caro_game.exceptions.CustomException;
-import com.vn.caro_game.enums.StatusCode;
+import com.vn.caro_game.services.interfaces.MatchmakingService;
 import com.vn.caro_game.dtos.request.*;
 import com.vn.caro_game.dtos.response.*;
 import io.swagger.v3.oas.annotations.Operation;
@@ -29,8 +22,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
 
 
 
@@ -49,10 +40,7 @@ import java.util.stream.Collectors;
 public class GameRoomController extends BaseController {
 
     private final GameRoomService gameRoomService;
-    private final GameRoomRepository gameRoomRepository;
-    private final RoomPlayerRepository roomPlayerRepository;
-    private final GameRoomMapper gameRoomMapper;
-    private final RedisService redisService;
+    private final MatchmakingService matchmakingService;
 
     /**
      * Creates a new game room with specified type and settings.
@@ -76,20 +64,49 @@ public class GameRoomController extends BaseController {
 
 
     /**
-     * Finds or creates a public room for quick play matchmaking.
+     * Puts the user in the quick play queue; the matched room is sent over WebSocket.
      */
-    @Operation(summary = "Quick play", description = "Find or create a public room for quick play")
+    @Operation(summary = "Quick play", description = "Join the quick play queue. Once paired, the room is sent to /user/queue/matchmaking")
     @ApiResponses(value = {
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Room ready for quick play"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Waiting for an opponent, or already in a room"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "User not authenticated"),
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "4026", description = "User already in another room"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("/quick-play")
-    public ResponseEntity<ApiResponse<GameRoomResponse>> quickPlay(
+    public ResponseEntity<ApiResponse<MatchmakingStatusResponse>> quickPlay(
+            @Parameter(hidden = true) @AuthenticationPrincipal CustomUserDetails userDetails) {
+        MatchmakingStatusResponse response = matchmakingService.joinQueue(userDetails.getUserId());
+        return success(response, "Waiting for an opponent");
+    }
+
+    /**
+     * Gets the user's quick play queue status.
+     */
+    @Operation(summary = "Get quick play status", description = "Get the user's place in the quick play queue")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Quick play status retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "User not authenticated")
+    })
+    @GetMapping("/quick-play")
+    public ResponseEntity<ApiResponse<MatchmakingStatusResponse>> getQuickPlayStatus(
+            @Parameter(hidden = true) @AuthenticationPrincipal CustomUserDetails userDetails) {
+        MatchmakingStatusResponse response = matchmakingService.getStatus(userDetails.getUserId());
+        return success(response, "Quick play status retrieved successfully");
+    }
+
+    /**
+     * Takes the user out of the quick play queue.
+     */
+    @Operation(summary = "Cancel quick play", description = "Leave the quick play queue")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Left the quick play queue"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "User not authenticated")
+    })
+    @DeleteMapping("/quick-play")
+    public ResponseEntity<ApiResponse<Void>> cancelQuickPlay(
             @Parameter(hidden = true) @AuthenticationPrincipal CustomUserDetails userDetails) {
-        GameRoomResponse response = gameRoomService.findOrCreatePublicRoom(userDetails.getUserId());
-        return success(response, "Room ready for quick play");
+        matchmakingService.leaveQueue(userDetails.getUserId());
+        return success("Left the quick play queue");
     }
 
 
@@ -315,14 +332,7 @@ public class GameRoomController extends BaseController {
     public ResponseEntity<ApiResponse<GameRoomResponse>> findRoomByCode(
             @PathVariable String joinCode,
             @Parameter(hidden = true) @AuthenticationPrincipal CustomUserDetails userDetails) {
-        // Find room by join code without joining
-        GameRoom room = gameRoomRepository.findByJoinCode(joinCode)
-                .orElseThrow(() -> new CustomException(StatusCode.INVALID_JOIN_CODE));
-        
-        // Build room response for discovery
-        List<RoomPlayerResponse> players = buildRoomPlayerResponses(room.getId());
-        GameRoomResponse response = gameRoomMapper.mapToGameRoomResponse(room, players);
-        
+        GameRoomResponse response = gameRoomService.findRoomByJoinCode(joinCode);
         return success(response, "Room found successfully");
     }
 
@@ -347,17 +357,4 @@ public class GameRoomController extends BaseController {
         GameRoomResponse response = gameRoomService.createRematch(roomId, userDetails.getUserId());
         return success(response, "Rematch room created successfully");
     }
-
-    private List<RoomPlayerResponse> buildRoomPlayerResponses(Long roomId) {
-        // This would normally be in the service layer, but adding here for the find endpoint
-        List<RoomPlayer> roomPlayers = roomPlayerRepository.findByRoom_Id(roomId);
-        
-        return roomPlayers.stream()
-                .map(roomPlayer -> {
-                    boolean isOnline = redisService.isUserOnline(roomPlayer.getUser().getId());
-                    return gameRoomMapper.mapToRoomPlayerResponse(roomPlayer, isOnline);
-                })
-                .collect(Collectors.toList());
-    }
-
 }
@@ -1,12 +1,28 @@
 package com.vn.caro_game.controllers;
 
 import com.vn.caro_game.controllers.base.BaseController;
+import com.vn.caro_game.dtos.response.AchievementResponse;
+import com.vn.caro_game.dtos.response.ActivityRollupResponse;
 import com.vn.caro_game.dtos.response.ApiResponse;
 import com.vn.caro_game.dtos.response.GameReplayResponse;
 import com.vn.caro_game.dtos.response.GameStatisticsResponse;
 import com.vn.caro_game.dtos.response.GameHistorySummaryResponse;
+import com.vn.caro_game.dtos.response.HeadToHeadResponse;
+import com.vn.caro_game.dtos.response.HeatmapResponse;
+import com.vn.caro_game.dtos.response.OpeningExplorerResponse;
+import com.vn.caro_game.dtos.response.PercentileBandResponse;
+import com.vn.caro_game.dtos.response.RankingResponse;
+import com.vn.caro_game.dtos.response.ReplayMoveChunkResponse;
+import com.vn.caro_game.dtos.response.ReplayPositionResponse;
 import com.vn.caro_game.configs.CustomUserDetails;
+import com.vn.caro_game.constants.CaroGameConstants;
+import com.vn.caro_game.enums.RollupGranularity;
+import com.vn.caro_game.services.interfaces.AchievementService;
+import com.vn.caro_game.services.interfaces.ActivityRollupService;
 import com.vn.caro_game.services.interfaces.GameStatisticsService;
+import com.vn.caro_game.services.interfaces.HeadToHeadService;
+import com.vn.caro_game.services.interfaces.HeatmapService;
+import com.vn.caro_game.services.interfaces.OpeningExplorerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -17,10 +33,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * REST Controller for Game Statistics and History operations
  * 
@@ -35,6 +55,11 @@ import org.springframework.web.bind.annotation.*;
 public class GameStatisticsController extends BaseController {
 
     private final GameStatisticsService gameStatisticsService;
+    private final ActivityRollupService activityRollupService;
+    private final HeadToHeadService headToHeadService;
+    private final HeatmapService heatmapService;
+    private final OpeningExplorerService openingExplorerService;
+    private final AchievementService achievementService;
 
     /**
      * Gets comprehensive game statistics for the current user
@@ -75,6 +100,76 @@ public class GameStatisticsController extends BaseController {
         return success(statistics, "User game statistics retrieved successfully");
     }
 
+    /**
+     * Gets where on the board the current user tends to play
+     */
+    @Operation(summary = "Get user board heatmap", 
+              description = "Get the current user's move counts per board cell, split by X/O and by opening versus middlegame")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Heatmap retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/my-heatmap")
+    public ResponseEntity<ApiResponse<HeatmapResponse>> getMyHeatmap(
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        
+        return success(heatmapService.getHeatmap(userDetails.getUserId()), "Heatmap retrieved successfully");
+    }
+
+    /**
+     * Gets where on the board a specific user tends to play (public data)
+     */
+    @Operation(summary = "Get user board heatmap by ID", 
+              description = "Get any user's move counts per board cell, split by X/O and by opening versus middlegame")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Heatmap retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/user/{userId}/heatmap")
+    public ResponseEntity<ApiResponse<HeatmapResponse>> getUserHeatmap(
+            @Parameter(description = "User ID", example = "1")
+            @PathVariable Long userId) {
+        
+        return success(heatmapService.getHeatmap(userId), "User heatmap retrieved successfully");
+    }
+
+    /**
+     * Gets the current user's badges and progress towards the locked ones
+     */
+    @Operation(summary = "Get user achievements", 
+              description = "Get every badge with the current user's progress towards it and when it was unlocked")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Achievements retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/my-achievements")
+    public ResponseEntity<ApiResponse<List<AchievementResponse>>> getMyAchievements(
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        
+        return success(achievementService.getAchievements(userDetails.getUserId()), "Achievements retrieved successfully");
+    }
+
+    /**
+     * Gets a specific user's badges (public data)
+     */
+    @Operation(summary = "Get user achievements by ID", 
+              description = "Get every badge with any user's progress towards it and when it was unlocked")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Achievements retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/user/{userId}/achievements")
+    public ResponseEntity<ApiResponse<List<AchievementResponse>>> getUserAchievements(
+            @Parameter(description = "User ID", example = "1")
+            @PathVariable Long userId) {
+        
+        return success(achievementService.getAchievements(userId), "User achievements retrieved successfully");
+    }
+
     /**
      * Gets detailed game replay with all moves
      */
@@ -97,6 +192,58 @@ public class GameStatisticsController extends BaseController {
         return success(replay, "Game replay retrieved successfully");
     }
 
+    /**
+     * Streams replay moves in chunks
+     */
+    @Operation(summary = "Get replay moves in chunks", 
+              description = "Get a range of replay moves starting at fromMove. Use nextFromMove from the response to fetch the next chunk")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Replay moves retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid move range"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied - user was not part of this game"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Game not found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/replay/{gameId}/moves")
+    public ResponseEntity<ApiResponse<ReplayMoveChunkResponse>> getGameReplayMoves(
+            @Parameter(description = "Game ID from game history", example = "1")
+            @PathVariable Long gameId,
+            @Parameter(description = "First move number to return (1-based)", example = "1")
+            @RequestParam(defaultValue = "1") int fromMove,
+            @Parameter(description = "Maximum number of moves to return (capped at " + CaroGameConstants.REPLAY_MAX_CHUNK_SIZE + ")", example = "50")
+            @RequestParam(defaultValue = "" + CaroGameConstants.REPLAY_DEFAULT_CHUNK_SIZE) int limit,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        
+        ReplayMoveChunkResponse chunk = gameStatisticsService.getGameReplayMoves(gameId, userDetails.getUserId(), fromMove, limit);
+        return success(chunk, "Replay moves retrieved successfully");
+    }
+
+    /**
+     * Seeks a replay to the board position after a given move
+     */
+    @Operation(summary = "Seek replay to move", 
+              description = "Get the board after the given move number, rebuilt from the nearest keyframe. moveNumber=0 returns the empty board")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Replay position retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Move number out of range"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied - user was not part of this game"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Game not found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/replay/{gameId}/position")
+    public ResponseEntity<ApiResponse<ReplayPositionResponse>> getGameReplayPosition(
+            @Parameter(description = "Game ID from game history", example = "1")
+            @PathVariable Long gameId,
+            @Parameter(description = "Move number to seek to", example = "42")
+            @RequestParam int moveNumber,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        
+        ReplayPositionResponse position = gameStatisticsService.getGameReplayPosition(gameId, userDetails.getUserId(), moveNumber);
+        return success(position, "Replay position retrieved successfully");
+    }
+
     /**
      * Gets user's game history with pagination
      */
@@ -171,4 +318,105 @@ public class GameStatisticsController extends BaseController {
         return success(ranking, "User ranking retrieved successfully");
     }
 
+    /**
+     * Gets user's ranking with percentile and percentile band
+     */
+    @Operation(summary = "Get user ranking percentile", 
+              description = "Get user's ranking position, percentile and percentile band among all players")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "User ranking retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/my-ranking/percentile")
+    public ResponseEntity<ApiResponse<RankingResponse>> getMyRankingPercentile(
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        
+        RankingResponse ranking = gameStatisticsService.getUserRankingDetails(userDetails.getUserId());
+        if (ranking == null) {
+            return success(null, "Not enough games played to determine ranking (minimum 5 games required)");
+        }
+        return success(ranking, "User ranking retrieved successfully");
+    }
+
+    /**
+     * Gets the current leaderboard percentile bands
+     */
+    @Operation(summary = "Get leaderboard percentile bands", 
+              description = "Get the last position and minimum win rate of each leaderboard percentile band")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Percentile bands retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/leaderboard/bands")
+    public ResponseEntity<ApiResponse<List<PercentileBandResponse>>> getPercentileBands() {
+        return success(gameStatisticsService.getPercentileBands(), "Percentile bands retrieved successfully");
+    }
+
+    /**
+     * Gets the current user's record against another player
+     */
+    @Operation(summary = "Get head-to-head record", 
+              description = "Get the current user's wins, losses and draws against another player")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Head-to-head record retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Opponent is the current user"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/head-to-head/{opponentId}")
+    public ResponseEntity<ApiResponse<HeadToHeadResponse>> getMyHeadToHead(
+            @Parameter(description = "Opponent user ID", example = "2")
+            @PathVariable Long opponentId,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        
+        HeadToHeadResponse record = headToHeadService.getRecord(userDetails.getUserId(), opponentId);
+        return success(record, "Head-to-head record retrieved successfully");
+    }
+
+    /**
+     * Gets global game and room activity per hour or per day
+     */
+    @Operation(summary = "Get global activity", 
+              description = "Get games completed, end reasons, rooms created and active rooms per hour or per day. "
+                      + "Defaults to the last 24 hours (HOUR) or 30 days (DAY); ranges are limited to 31 days of hours or 731 days")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Activity retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid or too large time range"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/activity")
+    public ResponseEntity<ApiResponse<List<ActivityRollupResponse>>> getActivity(
+            @Parameter(description = "Bucket size", example = "HOUR")
+            @RequestParam(defaultValue = "HOUR") RollupGranularity granularity,
+            @Parameter(description = "Inclusive start (ISO date-time)", example = "2024-01-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Exclusive end (ISO date-time)", example = "2024-01-02T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        return success(activityRollupService.getActivity(granularity, from, to), "Activity retrieved successfully");
+    }
+
+    /**
+     * Gets how games continued from an opening position
+     */
+    @Operation(summary = "Explore openings", 
+              description = "Get how often each move was played from a position within the first "
+                      + CaroGameConstants.OPENING_TREE_DEPTH + " moves of all games, and how those games ended. "
+                      + "Rotated and reflected openings are counted together")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Opening retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Moves are not a legal sequence"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/openings")
+    public ResponseEntity<ApiResponse<OpeningExplorerResponse>> exploreOpenings(
+            @Parameter(description = "Moves played so far as x and y positions in turn; empty for the first move", example = "7,7,7,8")
+            @RequestParam(required = false) List<Integer> moves) {
+        
+        return success(openingExplorerService.explore(moves), "Opening retrieved successfully");
+    }
 }
@@ -0,0 +1,27 @@
+package com.vn.caro_game.dtos;
+
+import com.vn.caro_game.enums.GameEndReason;
+
+import java.time.LocalDateTime;
+
+/**
+ * A finished game as replayed by the achievements backfill.
+ *
+ * @param historyId game history ID
+ * @param winnerId the winner, or null for a draw
+ * @param loserId the loser, or null for a draw
+ * @param endReason how the game ended
+ * @param playerXId player X of the game's match, naming the players of a draw; null if unknown
+ * @param playerOId player O of the game's match; null if unknown
+ * @param moveCount moves played in the game's match; null if unknown
+ * @param playedAt when the game ended
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public record AchievementGame(Long historyId, Long winnerId, Long loserId, GameEndReason endReason,
+                              Long playerXId, Long playerOId, Integer moveCount, LocalDateTime playedAt) {
+
+    public boolean isDraw() {
+        return winnerId == null && loserId == null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.vn.caro_game.dtos;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of a user's profile fields as kept in the user cache.
+ *
+ * <p>Holds only fields that change through the profile service, which evicts the entry
+ * on every update. Never carries the password hash or the rating.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CachedUser {
+
+    Long id;
+    String username;
+    String email;
+    String displayName;
+    String avatarUrl;
+    LocalDateTime createdAt;
+}
@@ -0,0 +1,20 @@
+package com.vn.caro_game.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of the games between two players, keyed by the lower and higher user ID.
+ *
+ * @param lowPlayerId the pair's lower user ID
+ * @param highPlayerId the pair's higher user ID
+ * @param lowPlayerWins games the lower ID won
+ * @param highPlayerWins games the higher ID won
+ * @param draws drawn games
+ * @param lastGameAt when the newest game ended, or null if they never played
+ * @param version ID of the newest game history counted, so older figures never replace newer ones
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public record HeadToHeadRecord(Long lowPlayerId, Long highPlayerId, long lowPlayerWins, long highPlayerWins,
+                               long draws, LocalDateTime lastGameAt, long version) {
+}
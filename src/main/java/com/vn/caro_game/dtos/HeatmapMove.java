@@ -0,0 +1,15 @@
+package com.vn.caro_game.dtos;
+
+/**
+ * A move as read by the heatmap backfill, without its match or player entities.
+ *
+ * @param id move ID, used as the scan cursor
+ * @param playerId player who made the move
+ * @param xPosition row of the move
+ * @param yPosition column of the move
+ * @param moveNumber number of the move in its match, starting at 1
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public record HeatmapMove(Long id, Long playerId, Integer xPosition, Integer yPosition, Integer moveNumber) {
+}
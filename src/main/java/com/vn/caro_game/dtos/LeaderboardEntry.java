@@ -0,0 +1,14 @@
+package com.vn.caro_game.dtos;
+
+/**
+ * A player's place-defining figures on the leaderboard.
+ *
+ * @param userId user ID
+ * @param wins games won
+ * @param totalGames games played, including draws
+ * @param version ID of the newest game history counted, so older figures never replace newer ones
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public record LeaderboardEntry(Long userId, Long wins, Long totalGames, Long version) {
+}
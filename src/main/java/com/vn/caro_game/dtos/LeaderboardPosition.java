@@ -0,0 +1,12 @@
+package com.vn.caro_game.dtos;
+
+/**
+ * A player's position on the leaderboard, read together with the leaderboard size.
+ *
+ * @param rank one-based position
+ * @param total number of listed players
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public record LeaderboardPosition(long rank, int total) {
+}
@@ -0,0 +1,17 @@
+package com.vn.caro_game.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lobby listing data of one public waiting room, read with its player count in a single query.
+ *
+ * @param id room ID
+ * @param name room name
+ * @param createdByName display name of the room creator
+ * @param createdAt room creation time
+ * @param playerCount current number of players
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public record LobbyRoomSummary(Long id, String name, String createdByName, LocalDateTime createdAt, Long playerCount) {
+}
@@ -0,0 +1,40 @@
+package com.vn.caro_game.dtos;
+
+import com.vn.caro_game.enums.GameResult;
+
+import java.time.LocalDateTime;
+
+/**
+ * A finished game with its match, as counted by the opening explorer.
+ *
+ * @param historyId game history ID
+ * @param matchId the match the game was played in
+ * @param playerXId player X of the match
+ * @param playerOId player O of the match
+ * @param winnerId the winner, or null for a draw
+ * @param loserId the loser, or null for a draw
+ * @param startTime when the match started, to bound its moves' partitions
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public record OpeningGame(Long historyId, Long matchId, Long playerXId, Long playerOId, Long winnerId,
+                          Long loserId, LocalDateTime startTime) {
+
+    /**
+     * Gets the result by side
+     *
+     * @return X_WIN, O_WIN or DRAW, or null if the winner did not play either side of the match
+     */
+    public GameResult result() {
+        if (winnerId == null && loserId == null) {
+            return GameResult.DRAW;
+        }
+        if (winnerId != null && winnerId.equals(playerXId)) {
+            return GameResult.X_WIN;
+        }
+        if (winnerId != null && winnerId.equals(playerOId)) {
+            return GameResult.O_WIN;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.vn.caro_game.dtos;
+
+/**
+ * An opening move as read by the opening explorer, without its match or player entities.
+ *
+ * @param matchId the match of the move
+ * @param moveNumber number of the move in its match, starting at 1
+ * @param xPosition row of the move
+ * @param yPosition column of the move
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public record OpeningMove(Long matchId, Integer moveNumber, Integer xPosition, Integer yPosition) {
+}
@@ -0,0 +1,13 @@
+package com.vn.caro_game.dtos;
+
+/**
+ * A player's rating and the number of games it is based on.
+ *
+ * @param userId user ID
+ * @param rating Elo rating
+ * @param ratedGames number of rated games played
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public record PlayerRating(Long userId, int rating, int ratedGames) {
+}
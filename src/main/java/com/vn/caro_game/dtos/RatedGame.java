@@ -0,0 +1,25 @@
+package com.vn.caro_game.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * A finished game as replayed by the rating backfill.
+ *
+ * @param historyId game history ID
+ * @param firstPlayerId the winner, or one player of a draw; null if unknown
+ * @param secondPlayerId the loser, or the other player of a draw; null if unknown
+ * @param draw whether the game was drawn
+ * @param playedAt when the game ended
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public record RatedGame(Long historyId, Long firstPlayerId, Long secondPlayerId, boolean draw,
+                        LocalDateTime playedAt) {
+
+    /**
+     * Whether both players are known, so the game can be rated
+     */
+    public boolean isRateable() {
+        return firstPlayerId != null && secondPlayerId != null && !firstPlayerId.equals(secondPlayerId);
+    }
+}
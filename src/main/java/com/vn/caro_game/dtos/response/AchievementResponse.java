@@ -0,0 +1,41 @@
+package com.vn.caro_game.dtos.response;
+
+import com.vn.caro_game.enums.Achievement;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a player's progress towards one badge.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "A badge and how far a player is towards it")
+public class AchievementResponse {
+
+    @Schema(description = "The badge", example = "WIN_STREAK_10")
+    Achievement achievement;
+
+    @Schema(description = "Whether the player has unlocked it", example = "false")
+    Boolean unlocked;
+
+    @Schema(description = "Progress towards the target, e.g. the best win streak", example = "6")
+    Long progress;
+
+    @Schema(description = "Progress needed to unlock it", example = "10")
+    Long target;
+
+    @Schema(description = "When it was unlocked; null if locked or still being recorded", example = "2024-01-15T10:30:00")
+    LocalDateTime unlockedAt;
+
+    @Schema(description = "Game history ID of the game that unlocked it", example = "123")
+    Long gameHistoryId;
+}
@@ -0,0 +1,55 @@
+package com.vn.caro_game.dtos.response;
+
+import com.vn.caro_game.enums.GameEndReason;
+import com.vn.caro_game.enums.RollupGranularity;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Response DTO for global activity in one hourly or daily bucket.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Global activity in one time bucket")
+public class ActivityRollupResponse {
+
+    @Schema(description = "Start of the bucket", example = "2025-08-01T14:00:00")
+    LocalDateTime bucketStart;
+
+    @Schema(description = "Bucket size", example = "HOUR")
+    RollupGranularity granularity;
+
+    @Schema(description = "Games that ended in the bucket", example = "42")
+    Long gamesCompleted;
+
+    @Schema(description = "Games that ended in a draw", example = "3")
+    Long draws;
+
+    @Schema(description = "Average game duration in seconds", example = "412.5")
+    Double averageDurationSeconds;
+
+    @Schema(description = "Games by end reason")
+    Map<GameEndReason, Long> endReasons;
+
+    @Schema(description = "Rooms created in the bucket", example = "57")
+    Long roomsCreated;
+
+    @Schema(description = "Games started in the bucket", example = "45")
+    Long gamesStarted;
+
+    @Schema(description = "Most rooms active at one time", example = "18")
+    Integer peakActiveRooms;
+
+    @Schema(description = "Average number of active rooms", example = "11.2")
+    Double averageActiveRooms;
+}
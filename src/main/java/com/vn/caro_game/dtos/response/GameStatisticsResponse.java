@@ -53,6 +53,15 @@ public class GameStatisticsResponse {
     
     @Schema(description = "Shortest game duration in minutes", example = "15")
     Long shortestGameDurationMinutes;
+
+    @Schema(description = "Average time taken per move in seconds", example = "12.4")
+    Double averageThinkTimeSeconds;
+
+    @Schema(description = "Median time taken per move in seconds", example = "8.2")
+    Double medianThinkTimeSeconds;
+
+    @Schema(description = "90th percentile of the time taken per move in seconds", example = "31.5")
+    Double p90ThinkTimeSeconds;
     
     @Schema(description = "Current winning streak", example = "3")
     Integer currentWinStreak;
@@ -60,7 +69,10 @@ public class GameStatisticsResponse {
     @Schema(description = "Best winning streak", example = "7")
     Integer bestWinStreak;
     
-    @Schema(description = "Player ranking", example = "Advanced")
+    @Schema(description = "Elo rating", example = "1650")
+    Integer rating;
+    
+    @Schema(description = "Rank label derived from the rating", example = "Advanced")
     String playerRank;
     
     @Schema(description = "Total score/points", example = "1580")
@@ -0,0 +1,43 @@
+package com.vn.caro_game.dtos.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a player's record against one opponent.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Head-to-head record of a player against an opponent")
+public class HeadToHeadResponse {
+
+    @Schema(description = "Player the record is seen from", example = "1")
+    Long playerId;
+
+    @Schema(description = "Opponent", example = "2")
+    Long opponentId;
+
+    @Schema(description = "Games the player won against the opponent", example = "7")
+    Long wins;
+
+    @Schema(description = "Games the player lost against the opponent", example = "5")
+    Long losses;
+
+    @Schema(description = "Drawn games between the two", example = "1")
+    Long draws;
+
+    @Schema(description = "Games played between the two", example = "13")
+    Long totalGames;
+
+    @Schema(description = "When the two last finished a game", example = "2024-01-15T10:30:00")
+    LocalDateTime lastPlayedAt;
+}
@@ -0,0 +1,38 @@
+package com.vn.caro_game.dtos.response;
+
+import com.vn.caro_game.enums.HeatmapSlice;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Map;
+
+/**
+ * Response DTO for where on the board a player tends to play.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Move counts per board cell of a player, by side and game phase")
+public class HeatmapResponse {
+
+    @Schema(description = "Player the heatmap belongs to", example = "1")
+    Long userId;
+
+    @Schema(description = "Moves up to this number count as the opening", example = "10")
+    Integer openingMoves;
+
+    @Schema(description = "Moves counted in all slices", example = "1250")
+    Long totalMoves;
+
+    @Schema(description = "Moves counted per slice")
+    Map<HeatmapSlice, Long> moves;
+
+    @Schema(description = "Move counts per slice, indexed by x position, then y position")
+    Map<HeatmapSlice, int[][]> cells;
+}
@@ -0,0 +1,38 @@
+package com.vn.caro_game.dtos.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Response DTO for a player's place in the quick play queue.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Quick play matchmaking status")
+public class MatchmakingStatusResponse {
+
+    @Schema(description = "Whether the player is waiting in the queue", example = "true")
+    Boolean queued;
+
+    @Schema(description = "Room the player is already in, if any", example = "12")
+    Long roomId;
+
+    @Schema(description = "Player rating used for matching", example = "1200")
+    Integer rating;
+
+    @Schema(description = "Current rating range accepted on either side", example = "75")
+    Integer ratingBand;
+
+    @Schema(description = "Seconds spent in the queue", example = "5")
+    Long waitSeconds;
+
+    @Schema(description = "Number of players waiting", example = "8")
+    Integer queueSize;
+}
@@ -0,0 +1,46 @@
+package com.vn.caro_game.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Response DTO for one continuation of an opening.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "A move played from an opening position, with its results")
+public class OpeningContinuationResponse {
+
+    @Schema(description = "Row of the move", example = "7")
+    @JsonProperty("xPosition")
+    Integer xPosition;
+
+    @Schema(description = "Column of the move", example = "8")
+    @JsonProperty("yPosition")
+    Integer yPosition;
+
+    @Schema(description = "Games in which the move was played", example = "120")
+    Integer games;
+
+    @Schema(description = "Games won by X", example = "64")
+    @JsonProperty("xWins")
+    Integer xWins;
+
+    @Schema(description = "Games won by O", example = "50")
+    @JsonProperty("oWins")
+    Integer oWins;
+
+    @Schema(description = "Drawn games", example = "6")
+    Integer draws;
+
+    @Schema(description = "Share of the games won by the player making the move", example = "0.533")
+    Double winRate;
+}
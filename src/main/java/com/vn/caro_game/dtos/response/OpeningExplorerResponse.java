@@ -0,0 +1,46 @@
+package com.vn.caro_game.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Response DTO for an opening position and how games continued from it.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Results of every counted game through an opening position, and its continuations")
+public class OpeningExplorerResponse {
+
+    @Schema(description = "Moves played so far", example = "2")
+    Integer movesPlayed;
+
+    @Schema(description = "Moves per game the explorer counts", example = "10")
+    Integer maxDepth;
+
+    @Schema(description = "Games that reached the position, in any rotation or reflection", example = "340")
+    Integer games;
+
+    @Schema(description = "Games won by X", example = "180")
+    @JsonProperty("xWins")
+    Integer xWins;
+
+    @Schema(description = "Games won by O", example = "150")
+    @JsonProperty("oWins")
+    Integer oWins;
+
+    @Schema(description = "Drawn games", example = "10")
+    Integer draws;
+
+    @Schema(description = "Moves played next, most played first; moves equal by symmetry are shown once")
+    List<OpeningContinuationResponse> continuations;
+}
@@ -0,0 +1,32 @@
+package com.vn.caro_game.dtos.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Response DTO for what it currently takes to reach a leaderboard percentile band.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Leaderboard percentile band")
+public class PercentileBandResponse {
+
+    @Schema(description = "Band label", example = "Top 10%")
+    String band;
+
+    @Schema(description = "Share of the leaderboard the band covers, in percent", example = "10")
+    Integer topPercent;
+
+    @Schema(description = "Last leaderboard position inside the band", example = "120")
+    Long lastRank;
+
+    @Schema(description = "Win rate of the player at the last position, in percent", example = "64.29")
+    Double minWinRate;
+}
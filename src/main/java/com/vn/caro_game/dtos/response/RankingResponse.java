@@ -0,0 +1,32 @@
+package com.vn.caro_game.dtos.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Response DTO for a player's place on the leaderboard.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Leaderboard position of a player")
+public class RankingResponse {
+
+    @Schema(description = "One-based leaderboard position", example = "42")
+    Long rank;
+
+    @Schema(description = "Number of players on the leaderboard", example = "1200")
+    Integer totalRanked;
+
+    @Schema(description = "Percentage of listed players ranked below this player", example = "96.5")
+    Double percentile;
+
+    @Schema(description = "Narrowest percentile band the player falls in", example = "Top 5%")
+    String band;
+}
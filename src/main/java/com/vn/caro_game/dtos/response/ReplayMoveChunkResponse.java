@@ -0,0 +1,43 @@
+package com.vn.caro_game.dtos.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Response DTO for one chunk of a streamed game replay
+ * 
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "A contiguous range of replay moves")
+public class ReplayMoveChunkResponse {
+    
+    @Schema(description = "Game history ID", example = "1")
+    Long gameId;
+    
+    @Schema(description = "Total number of moves in the game", example = "87")
+    Integer totalMoves;
+    
+    @Schema(description = "First move number included in this chunk", example = "51")
+    Integer fromMove;
+    
+    @Schema(description = "Last move number included in this chunk", example = "87")
+    Integer toMove;
+    
+    @Schema(description = "Whether more moves follow this chunk", example = "false")
+    Boolean hasMore;
+    
+    @Schema(description = "Move number to request for the next chunk (null when done)", example = "88")
+    Integer nextFromMove;
+    
+    @Schema(description = "Moves in this chunk in chronological order")
+    List<SimpleMoveResponse> moves;
+}
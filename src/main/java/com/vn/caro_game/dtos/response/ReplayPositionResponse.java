@@ -0,0 +1,38 @@
+package com.vn.caro_game.dtos.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Response DTO for the board position at a given move of a replay
+ * 
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Board state after a specific replay move")
+public class ReplayPositionResponse {
+    
+    @Schema(description = "Game history ID", example = "1")
+    Long gameId;
+    
+    @Schema(description = "Move number the board is shown after (0 = empty board)", example = "42")
+    Integer moveNumber;
+    
+    @Schema(description = "Total number of moves in the game", example = "87")
+    Integer totalMoves;
+    
+    @Schema(description = "Keyframe the position was rebuilt from", example = "32")
+    Integer keyframeMoveNumber;
+    
+    @Schema(description = "Board state (0=empty, 1=X, 2=O)")
+    int[][] board;
+    
+    @Schema(description = "The move at moveNumber (null for the empty board)")
+    SimpleMoveResponse lastMove;
+}
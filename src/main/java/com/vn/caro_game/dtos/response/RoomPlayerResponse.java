@@ -43,6 +43,9 @@ public class RoomPlayerResponse {
     @Schema(description = "Whether player accepted rematch", example = "false")
     Boolean acceptedRematch;
 
+    @Schema(description = "Record against the other player, when the room has two players")
+    HeadToHeadResponse headToHead;
+
     // Legacy constructor for backward compatibility
     public RoomPlayerResponse(UserSummaryResponse player, Boolean isHost, LocalDateTime joinTime, Boolean isOnline) {
         this.player = player;
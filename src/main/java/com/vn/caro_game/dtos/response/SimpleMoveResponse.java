@@ -46,4 +46,7 @@ public class SimpleMoveResponse {
     
     @Schema(description = "Timestamp when move was made", example = "2025-08-03T10:30:00")
     LocalDateTime moveTime;
+    
+    @Schema(description = "Milliseconds the player took for this move; absent for older and archived games", example = "8200")
+    Long thinkTimeMillis;
 }
@@ -0,0 +1,36 @@
+package com.vn.caro_game.dtos.websocket;
+
+import com.vn.caro_game.dtos.response.PublicRoomResponse;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * WebSocket message carrying the changes to a lobby view since the previous diff.
+ * Clients apply upserts and removals to their list; a gap in the sequence means a
+ * diff was missed and the list should be reloaded over REST.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "WebSocket message with coalesced lobby changes")
+public class LobbyDiffMessage {
+
+    @Schema(description = "Diff sequence number, increasing by one per diff on its topic", example = "42")
+    long sequence;
+
+    @Schema(description = "Rooms that were added to or changed in this view")
+    List<PublicRoomResponse> upserted;
+
+    @Schema(description = "IDs of rooms that left this view", example = "[7, 9]")
+    List<Long> removed;
+
+    @Schema(description = "Timestamp of the diff", example = "1684567890123")
+    long timestamp;
+}
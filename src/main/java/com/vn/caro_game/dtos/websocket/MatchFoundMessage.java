@@ -0,0 +1,29 @@
+package com.vn.caro_game.dtos.websocket;
+
+import com.vn.caro_game.dtos.response.GameRoomResponse;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * WebSocket message sent to both players when quick play has paired them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "WebSocket message for a quick play match")
+public class MatchFoundMessage {
+
+    @Schema(description = "The room created for the match")
+    GameRoomResponse room;
+
+    @Schema(description = "Milliseconds the player waited in the queue", example = "4200")
+    Long waitMillis;
+
+    @Schema(description = "Message timestamp", example = "1736332200123")
+    Long timestamp;
+}
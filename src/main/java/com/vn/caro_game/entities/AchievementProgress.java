@@ -0,0 +1,43 @@
+package com.vn.caro_game.entities;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "achievement_progress")
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AchievementProgress {
+
+    @Id
+    @Column(name = "user_id")
+    Long userId;
+
+    @Column(name = "games_played", nullable = false)
+    Long gamesPlayed = 0L;
+
+    @Column(name = "current_win_streak", nullable = false)
+    Integer currentWinStreak = 0;
+
+    @Column(name = "best_win_streak", nullable = false)
+    Integer bestWinStreak = 0;
+
+    // One bit per Achievement ordinal
+    @Column(name = "unlocked", nullable = false)
+    Long unlocked = 0L;
+
+    // Newest game history counted, so a game is never counted twice
+    @Column(name = "last_game_history_id")
+    Long lastGameHistoryId;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,71 @@
+package com.vn.caro_game.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Activity counters of one time bucket, shared by the hourly and daily rollup tables.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@MappedSuperclass
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public abstract class ActivityRollup {
+
+    @Id
+    @Column(name = "bucket_start")
+    LocalDateTime bucketStart;
+
+    @Column(name = "games_completed", nullable = false)
+    Long gamesCompleted = 0L;
+
+    @Column(nullable = false)
+    Long draws = 0L;
+
+    @Column(name = "timed_games", nullable = false)
+    Long timedGames = 0L;
+
+    @Column(name = "total_duration_seconds", nullable = false)
+    Long totalDurationSeconds = 0L;
+
+    @Column(name = "ended_by_win", nullable = false)
+    Long endedByWin = 0L;
+
+    @Column(name = "ended_by_surrender", nullable = false)
+    Long endedBySurrender = 0L;
+
+    @Column(name = "ended_by_leave", nullable = false)
+    Long endedByLeave = 0L;
+
+    @Column(name = "ended_by_timeout", nullable = false)
+    Long endedByTimeout = 0L;
+
+    @Column(name = "ended_by_system", nullable = false)
+    Long endedBySystem = 0L;
+
+    @Column(name = "rooms_created", nullable = false)
+    Long roomsCreated = 0L;
+
+    @Column(name = "games_started", nullable = false)
+    Long gamesStarted = 0L;
+
+    // Active rooms are sampled about once a minute
+    @Column(name = "peak_active_rooms", nullable = false)
+    Integer peakActiveRooms = 0;
+
+    @Column(name = "active_room_sample_sum", nullable = false)
+    Long activeRoomSampleSum = 0L;
+
+    @Column(name = "active_room_samples", nullable = false)
+    Long activeRoomSamples = 0L;
+}
@@ -10,7 +10,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages", indexes = {
+        @Index(name = "idx_chat_messages_room_sent_at", columnList = "room_id, sent_at")
+})
 @Getter
 @Setter
 @FieldDefaults(level = AccessLevel.PRIVATE)
@@ -43,6 +43,25 @@ public class GameMatch {
     @Column(length = 10)
     GameResult result;
     
+    // Number of moves played; claiming the next move bumps the version, so only one of two concurrent moves wins
+    @Column(name = "move_count", nullable = false)
+    Integer moveCount = 0;
+    
+    // When the last move was accepted, to time the next one
+    @Column(name = "last_move_at")
+    LocalDateTime lastMoveAt;
+    
+    // Think time summed per side; null on matches played before think times were recorded
+    @Column(name = "player_x_think_ms")
+    Long playerXThinkMillis = 0L;
+    
+    @Column(name = "player_o_think_ms")
+    Long playerOThinkMillis = 0L;
+    
+    @Version
+    @Column(nullable = false)
+    Long version;
+    
     // Relationships
     @OneToMany(mappedBy = "match", cascade = CascadeType.ALL, orphanRemoval = true)
     Set<Move> moves = new HashSet<>();
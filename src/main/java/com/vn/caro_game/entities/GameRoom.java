@@ -65,6 +65,11 @@ public class GameRoom {
     @Column(name = "created_at", nullable = false, updatable = false)
     LocalDateTime createdAt;
     
+    // Optimistic lock; concurrent state changes to the same room fail instead of overwriting each other
+    @Version
+    @Column(nullable = false)
+    Long version;
+    
     // Relationships
     @OneToMany(mappedBy = "room", cascade = CascadeType.ALL, orphanRemoval = true)
     Set<RoomPlayer> roomPlayers = new HashSet<>();
@@ -0,0 +1,78 @@
+package com.vn.caro_game.entities;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "head_to_head")
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class HeadToHead {
+
+    @EmbeddedId
+    HeadToHeadId id;
+
+    // Wins of the player with the lower ID over the other player
+    @Column(name = "low_player_wins", nullable = false)
+    Long lowPlayerWins = 0L;
+
+    @Column(name = "high_player_wins", nullable = false)
+    Long highPlayerWins = 0L;
+
+    @Column(nullable = false)
+    Long draws = 0L;
+
+    @Column(name = "last_game_at")
+    LocalDateTime lastGameAt;
+
+    // Newest game history counted, so a game is never counted twice
+    @Column(name = "last_game_history_id")
+    Long lastGameHistoryId;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class HeadToHeadId implements java.io.Serializable {
+        @Column(name = "low_player_id")
+        Long lowPlayerId;
+
+        @Column(name = "high_player_id")
+        Long highPlayerId;
+
+        public HeadToHeadId() {}
+
+        public HeadToHeadId(Long lowPlayerId, Long highPlayerId) {
+            this.lowPlayerId = lowPlayerId;
+            this.highPlayerId = highPlayerId;
+        }
+
+        /**
+         * Gets the key of a pair of players in either order
+         */
+        public static HeadToHeadId of(Long playerId, Long otherPlayerId) {
+            return playerId < otherPlayerId
+                    ? new HeadToHeadId(playerId, otherPlayerId)
+                    : new HeadToHeadId(otherPlayerId, playerId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof HeadToHeadId)) return false;
+            HeadToHeadId that = (HeadToHeadId) o;
+            return lowPlayerId.equals(that.lowPlayerId) && highPlayerId.equals(that.highPlayerId);
+        }
+
+        @Override
+        public int hashCode() {
+            return java.util.Objects.hash(lowPlayerId, highPlayerId);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.vn.caro_game.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "activity_rollup_hourly")
+public class HourlyActivityRollup extends ActivityRollup {
+}
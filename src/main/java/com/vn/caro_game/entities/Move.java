@@ -10,7 +10,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "moves")
+@Table(name = "moves", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_moves_match_move_number", columnNames = {"match_id", "move_number"}),
+        @UniqueConstraint(name = "uk_moves_match_position", columnNames = {"match_id", "x_position", "y_position"})
+})
 @Getter
 @Setter
 @FieldDefaults(level = AccessLevel.PRIVATE)
@@ -36,6 +39,10 @@ public class Move {
     @Column(name = "move_number", nullable = false)
     Integer moveNumber;
     
+    // Time since the previous move, or since the game started for the first move
+    @Column(name = "think_time_ms")
+    Long thinkTimeMillis;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     LocalDateTime createdAt;
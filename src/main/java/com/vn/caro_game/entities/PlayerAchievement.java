@@ -0,0 +1,38 @@
+package com.vn.caro_game.entities;
+
+import com.vn.caro_game.enums.Achievement;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "player_achievements", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_player_achievements_user_achievement", columnNames = {"user_id", "achievement"})
+})
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PlayerAchievement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "user_id", nullable = false)
+    Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    Achievement achievement;
+
+    // Game that unlocked it
+    @Column(name = "game_history_id")
+    Long gameHistoryId;
+
+    @Column(name = "unlocked_at", nullable = false)
+    LocalDateTime unlockedAt;
+}
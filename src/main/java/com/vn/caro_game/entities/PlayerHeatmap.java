@@ -0,0 +1,33 @@
+package com.vn.caro_game.entities;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "player_heatmap")
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PlayerHeatmap {
+
+    @Id
+    @Column(name = "user_id")
+    Long userId;
+
+    @Column(name = "move_count", nullable = false)
+    Long moveCount = 0L;
+
+    // BoardHeatmap of every counted move, by side and game phase
+    @Column(name = "counts")
+    byte[] counts;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    LocalDateTime updatedAt;
+}
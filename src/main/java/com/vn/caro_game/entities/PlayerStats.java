@@ -0,0 +1,62 @@
+package com.vn.caro_game.entities;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "player_stats")
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PlayerStats {
+
+    @Id
+    @Column(name = "user_id")
+    Long userId;
+
+    @Column(nullable = false)
+    Long wins = 0L;
+
+    @Column(nullable = false)
+    Long losses = 0L;
+
+    @Column(nullable = false)
+    Long draws = 0L;
+
+    // Games with both a start and an end time; the duration figures only cover these
+    @Column(name = "timed_games", nullable = false)
+    Long timedGames = 0L;
+
+    @Column(name = "total_duration_minutes", nullable = false)
+    Long totalDurationMinutes = 0L;
+
+    @Column(name = "shortest_duration_minutes")
+    Long shortestDurationMinutes;
+
+    @Column(name = "longest_duration_minutes")
+    Long longestDurationMinutes;
+
+    @Column(name = "current_win_streak", nullable = false)
+    Integer currentWinStreak = 0;
+
+    @Column(name = "best_win_streak", nullable = false)
+    Integer bestWinStreak = 0;
+
+    // Newest game history counted, so a game is never counted twice
+    @Column(name = "last_game_history_id")
+    Long lastGameHistoryId;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    LocalDateTime updatedAt;
+
+    public long getTotalGames() {
+        return wins + losses + draws;
+    }
+}
@@ -0,0 +1,36 @@
+package com.vn.caro_game.entities;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "player_think_time")
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PlayerThinkTime {
+
+    @Id
+    @Column(name = "user_id")
+    Long userId;
+
+    @Column(name = "move_count", nullable = false)
+    Long moveCount = 0L;
+
+    @Column(name = "total_think_ms", nullable = false)
+    Long totalThinkMillis = 0L;
+
+    // ThinkTimeSketch of every counted think time, for the percentiles
+    @Column(name = "sketch")
+    byte[] sketch;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,43 @@
+package com.vn.caro_game.entities;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "rating_history", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rating_history_game_user", columnNames = {"game_history_id", "user_id"})
+}, indexes = {
+        @Index(name = "idx_rating_history_user", columnList = "user_id, id")
+})
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RatingHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "user_id", nullable = false)
+    Long userId;
+
+    @Column(name = "game_history_id", nullable = false)
+    Long gameHistoryId;
+
+    @Column(name = "opponent_id", nullable = false)
+    Long opponentId;
+
+    @Column(name = "rating_before", nullable = false)
+    Integer ratingBefore;
+
+    @Column(name = "rating_after", nullable = false)
+    Integer ratingAfter;
+
+    @Column(name = "rated_at", nullable = false)
+    LocalDateTime ratedAt;
+}
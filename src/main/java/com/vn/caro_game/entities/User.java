@@ -1,5 +1,6 @@
 package com.vn.caro_game.entities;
 
+import com.vn.caro_game.constants.GameRoomConstants;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -36,6 +37,12 @@ public class User {
 
     @Column(name = "avatar_url")
     String avatarUrl;
+
+    @Column(name = "rating", nullable = false)
+    Integer rating = GameRoomConstants.DEFAULT_RATING;
+
+    @Column(name = "rated_games", nullable = false)
+    Integer ratedGames = 0;
     
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -0,0 +1,22 @@
+package com.vn.caro_game.enums;
+
+/**
+ * Enum representing the badges a player can unlock.
+ * The ordinal is the badge's bit in the stored unlock mask, so only append new badges.
+ */
+public enum Achievement {
+    /**
+     * Played 100 games, whatever their result
+     */
+    GAMES_PLAYED_100,
+    
+    /**
+     * Won 10 games in a row; a loss or a draw ends the streak
+     */
+    WIN_STREAK_10,
+    
+    /**
+     * Won five in a row with fewer than 20 of one's own moves; surrenders and leaves do not count
+     */
+    QUICK_WIN
+}
@@ -0,0 +1,40 @@
+package com.vn.caro_game.enums;
+
+import com.vn.caro_game.constants.CaroGameConstants;
+
+/**
+ * Enum representing which part of a player's board heatmap a move is counted in
+ */
+public enum HeatmapSlice {
+    /**
+     * Moves as X within the opening
+     */
+    X_OPENING,
+    
+    /**
+     * Moves as X after the opening
+     */
+    X_MIDDLEGAME,
+    
+    /**
+     * Moves as O within the opening
+     */
+    O_OPENING,
+    
+    /**
+     * Moves as O after the opening
+     */
+    O_MIDDLEGAME;
+    
+    /**
+     * Gets the slice of a move from its number; X plays the odd moves because X goes first
+     */
+    public static HeatmapSlice of(int moveNumber) {
+        boolean playerX = moveNumber % 2 == 1;
+        boolean opening = moveNumber <= CaroGameConstants.HEATMAP_OPENING_MOVES;
+        if (playerX) {
+            return opening ? X_OPENING : X_MIDDLEGAME;
+        }
+        return opening ? O_OPENING : O_MIDDLEGAME;
+    }
+}
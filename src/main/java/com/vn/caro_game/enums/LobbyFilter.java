@@ -0,0 +1,36 @@
+package com.vn.caro_game.enums;
+
+import com.vn.caro_game.dtos.response.PublicRoomResponse;
+
+import java.util.function.Predicate;
+
+/**
+ * Enum representing the lobby views clients can subscribe to; each view has its own diff topic
+ */
+public enum LobbyFilter {
+    /**
+     * Every public waiting room
+     */
+    ALL("/topic/lobby", room -> true),
+    
+    /**
+     * Public waiting rooms that still have a free seat
+     */
+    OPEN_SEAT("/topic/lobby/open-seat", room -> Boolean.TRUE.equals(room.getIsJoinable()));
+
+    private final String destination;
+    private final Predicate<PublicRoomResponse> predicate;
+
+    LobbyFilter(String destination, Predicate<PublicRoomResponse> predicate) {
+        this.destination = destination;
+        this.predicate = predicate;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public boolean matches(PublicRoomResponse room) {
+        return predicate.test(room);
+    }
+}
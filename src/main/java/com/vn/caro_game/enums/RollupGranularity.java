@@ -0,0 +1,7 @@
+package com.vn.caro_game.enums;
+
+public enum RollupGranularity {
+    HOUR,
+    
+    DAY
+}
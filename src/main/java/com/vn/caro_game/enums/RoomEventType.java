@@ -0,0 +1,71 @@
+package com.vn.caro_game.enums;
+
+/**
+ * Enum representing the kinds of room and match state transitions
+ */
+public enum RoomEventType {
+    /**
+     * Room was created; the event user is the host
+     */
+    ROOM_CREATED,
+    
+    /**
+     * A player was added to the room
+     */
+    PLAYER_JOINED,
+    
+    /**
+     * A player was removed from the room
+     */
+    PLAYER_LEFT,
+    
+    /**
+     * Host role moved to another player
+     */
+    HOST_CHANGED,
+    
+    /**
+     * A player marked themselves ready
+     */
+    PLAYER_READY,
+    
+    /**
+     * Room moved into play
+     */
+    GAME_STARTED,
+    
+    /**
+     * A match was created with its X and O players
+     */
+    MATCH_STARTED,
+    
+    /**
+     * A move was placed on the board
+     */
+    MOVE_MADE,
+    
+    /**
+     * Game ended by win, draw, surrender or leave
+     */
+    GAME_ENDED,
+    
+    /**
+     * Board was reset and players must ready up again
+     */
+    GAME_RESET,
+    
+    /**
+     * A player asked for a rematch
+     */
+    REMATCH_REQUESTED,
+    
+    /**
+     * Room status or game state was corrected without other changes
+     */
+    STATE_CHANGED,
+    
+    /**
+     * Room was deleted or is no longer live
+     */
+    ROOM_CLOSED
+}
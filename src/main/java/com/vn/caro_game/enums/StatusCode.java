@@ -76,7 +76,11 @@ public enum StatusCode {
     INVALID_GAME_MOVE(4037, "Invalid game move"),
     NOT_PLAYER_TURN(4038, "It's not your turn"),
     PLAYER_NOT_IN_ROOM(4039, "Player is not in this room"),
-    NO_ACTIVE_MATCH(4040, "No active match found");
+    NO_ACTIVE_MATCH(4040, "No active match found"),
+    
+    // Concurrency errors
+    MOVE_CONFLICT(4042, "Another move was made first, please refresh the board"),
+    CONCURRENT_UPDATE(4043, "The room was changed by another request, please try again");
 
     int code;
     String message;
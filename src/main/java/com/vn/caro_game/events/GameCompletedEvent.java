@@ -0,0 +1,37 @@
+package com.vn.caro_game.events;
+
+import com.vn.caro_game.entities.GameHistory;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Published right after a {@link GameHistory} row is written, inside the same transaction.
+ *
+ * <p>Draw histories carry no player IDs, so the event names both players itself: the
+ * winner and loser of a decided game, or the two players of a draw.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@ToString
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class GameCompletedEvent {
+
+    GameHistory history;
+    Long firstPlayerId;
+    Long secondPlayerId;
+    boolean draw;
+
+    public static GameCompletedEvent decided(GameHistory history) {
+        return new GameCompletedEvent(history, history.getWinnerId(), history.getLoserId(), false);
+    }
+
+    public static GameCompletedEvent draw(GameHistory history, Long firstPlayerId, Long secondPlayerId) {
+        return new GameCompletedEvent(history, firstPlayerId, secondPlayerId, true);
+    }
+}
@@ -0,0 +1,66 @@
+package com.vn.caro_game.events;
+
+import com.vn.caro_game.enums.GameState;
+import com.vn.caro_game.enums.RoomEventType;
+import com.vn.caro_game.enums.RoomStatus;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * A single room or match state transition, published by the room and game services.
+ *
+ * <p>Events carry the room status and game state the room ended up in (when they
+ * changed), so consumers never have to re-derive business rules. Unused fields are
+ * null. Listeners run after the surrounding transaction commits.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Getter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@ToString
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RoomEvent {
+
+    RoomEventType type;
+    Long roomId;
+    Long userId;
+    Long secondUserId;
+    Long matchId;
+    Integer xPosition;
+    Integer yPosition;
+    Integer moveNumber;
+    RoomStatus roomStatus;
+    GameState gameState;
+    long occurredAt;
+
+    public static RoomEvent of(RoomEventType type, Long roomId, Long userId) {
+        return builder().type(type).roomId(roomId).userId(userId).occurredAt(System.currentTimeMillis()).build();
+    }
+
+    /**
+     * Creates an event that also records the room's resulting status and game state
+     */
+    public static RoomEvent of(RoomEventType type, Long roomId, Long userId, RoomStatus roomStatus, GameState gameState) {
+        return builder().type(type).roomId(roomId).userId(userId)
+                .roomStatus(roomStatus).gameState(gameState)
+                .occurredAt(System.currentTimeMillis()).build();
+    }
+
+    public static RoomEvent matchStarted(Long roomId, Long matchId, Long playerXId, Long playerOId) {
+        return builder().type(RoomEventType.MATCH_STARTED).roomId(roomId).matchId(matchId)
+                .userId(playerXId).secondUserId(playerOId)
+                .occurredAt(System.currentTimeMillis()).build();
+    }
+
+    public static RoomEvent moveMade(Long roomId, Long matchId, Long userId, int xPosition, int yPosition, int moveNumber) {
+        return builder().type(RoomEventType.MOVE_MADE).roomId(roomId).matchId(matchId).userId(userId)
+                .xPosition(xPosition).yPosition(yPosition).moveNumber(moveNumber)
+                .occurredAt(System.currentTimeMillis()).build();
+    }
+}
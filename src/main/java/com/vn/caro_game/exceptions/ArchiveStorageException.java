@@ -0,0 +1,32 @@
+package com.vn.caro_game.exceptions;
+
+/**
+ * Exception thrown when reading or writing archive segment files fails.
+ *
+ * <p>Archive I/O happens in background jobs and read fallbacks, so failures are
+ * surfaced as unchecked exceptions and logged by the caller.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public class ArchiveStorageException extends RuntimeException {
+
+    /**
+     * Constructs a new ArchiveStorageException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ArchiveStorageException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new ArchiveStorageException with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause the cause of the exception
+     */
+    public ArchiveStorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
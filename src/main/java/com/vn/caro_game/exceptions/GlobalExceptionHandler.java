@@ -7,6 +7,7 @@ import com.vn.caro_game.enums.StatusCode;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -68,6 +69,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
     
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Object>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        log.warn("Concurrent update rejected: {}", ex.getMessage());
+        
+        ApiResponse<Object> response = ApiResponse.error(
+            StatusCode.CONCURRENT_UPDATE.getMessage(),
+            StatusCode.CONCURRENT_UPDATE.name(),
+            HttpStatusConstants.CONFLICT
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Object>> handleGenericException(Exception ex) {
         log.error("Unexpected exception occurred", ex);
@@ -89,6 +103,7 @@ public class GlobalExceptionHandler {
             case UNAUTHORIZED, INVALID_CREDENTIALS, INVALID_REFRESH_TOKEN -> HttpStatus.UNAUTHORIZED;
             case FORBIDDEN, ACCOUNT_LOCKED -> HttpStatus.FORBIDDEN;
             case NOT_FOUND, USER_NOT_FOUND, EMAIL_NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case MOVE_CONFLICT, CONCURRENT_UPDATE -> HttpStatus.CONFLICT;
             case TOO_MANY_REQUESTS, OTP_ATTEMPTS_EXCEEDED -> HttpStatus.TOO_MANY_REQUESTS;
             default -> HttpStatus.INTERNAL_SERVER_ERROR;
         };
@@ -102,6 +117,7 @@ public class GlobalExceptionHandler {
             case UNAUTHORIZED, INVALID_CREDENTIALS, INVALID_REFRESH_TOKEN -> HttpStatusConstants.UNAUTHORIZED;
             case FORBIDDEN, ACCOUNT_LOCKED -> HttpStatusConstants.FORBIDDEN;
             case NOT_FOUND, USER_NOT_FOUND, EMAIL_NOT_FOUND -> HttpStatusConstants.NOT_FOUND;
+            case MOVE_CONFLICT, CONCURRENT_UPDATE -> HttpStatusConstants.CONFLICT;
             case TOO_MANY_REQUESTS, OTP_ATTEMPTS_EXCEEDED -> HttpStatusConstants.TOO_MANY_REQUESTS;
             default -> HttpStatusConstants.INTERNAL_SERVER_ERROR;
         };
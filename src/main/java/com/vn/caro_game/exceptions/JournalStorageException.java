@@ -0,0 +1,32 @@
+package com.vn.caro_game.exceptions;
+
+/**
+ * Exception thrown when reading or writing the room event journal fails.
+ *
+ * <p>Journal writes happen after the database transaction has committed, so failures
+ * are surfaced as unchecked exceptions and only cost the in-memory copy of a room.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public class JournalStorageException extends RuntimeException {
+
+    /**
+     * Constructs a new JournalStorageException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public JournalStorageException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new JournalStorageException with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause the cause of the exception
+     */
+    public JournalStorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,29 @@
+package com.vn.caro_game.integrations.archive;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A match and its moves as stored in an archive segment.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Getter
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ArchivedMatch {
+    Long matchId;
+    Long roomId;
+    Long playerXId;
+    Long playerOId;
+    LocalDateTime startTime;
+    LocalDateTime endTime;
+    String result;
+    List<ArchivedMove> moves;
+}
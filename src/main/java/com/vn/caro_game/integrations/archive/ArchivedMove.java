@@ -0,0 +1,26 @@
+package com.vn.caro_game.integrations.archive;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * A move read back from an archive segment.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ArchivedMove {
+    Long id;
+    Integer moveNumber;
+    Integer xPosition;
+    Integer yPosition;
+    Long playerId;
+    LocalDateTime createdAt;
+}
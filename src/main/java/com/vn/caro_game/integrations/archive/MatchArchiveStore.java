@@ -0,0 +1,62 @@
+package com.vn.caro_game.integrations.archive;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cold storage for finished matches and old chat messages.
+ *
+ * <p>Records are appended to compressed, append-only segment files and located
+ * through an in-memory offset index, so rows can be removed from the hot tables
+ * while replay and export still find them.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface MatchArchiveStore {
+
+    /**
+     * Appends a match with its moves. A later append for the same match replaces the earlier one.
+     */
+    void appendMatch(ArchivedMatch match);
+
+    /**
+     * Appends a batch of chat messages belonging to one room.
+     */
+    void appendChatMessages(Long roomId, List<ArchivedChatMessage> messages);
+
+    /**
+     * Reads an archived match, if present.
+     */
+    Optional<ArchivedMatch> findMatch(Long matchId);
+
+    /**
+     * Reads all archived chat messages of a room ordered by sent time.
+     */
+    List<ArchivedChatMessage> findChatMessages(Long roomId);
+
+    /**
+     * Reads a slice of a room's archived chat newest first. Only the records holding the
+     * slice are read.
+     *
+     * @param skip number of newest archived messages to skip
+     * @param limit maximum number of messages to return
+     */
+    List<ArchivedChatMessage> findLatestChatMessages(Long roomId, long skip, int limit);
+
+    /**
+     * Counts the archived chat messages of a room from the index, without reading them.
+     */
+    long countChatMessages(Long roomId);
+
+    /**
+     * Checks whether a match has been archived, without reading it.
+     */
+    boolean containsMatch(Long matchId);
+
+    /**
+     * Forces everything appended so far to disk. Callers sync once per batch, before
+     * removing the archived rows from the hot tables.
+     */
+    void sync();
+}
@@ -0,0 +1,585 @@
+package com.vn.caro_game.integrations.archive;
+
+import com.vn.caro_game.exceptions.ArchiveStorageException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Segment-file implementation of {@link MatchArchiveStore}.
+ *
+ * <p>Layout on disk:</p>
+ * <pre>{@code
+ * segment-000001.seg  records: [magic:int][type:byte][key:long][rawLen:int][dataLen:int][deflated data]
+ * segment-000001.idx  entries: [type:byte][key:long][offset:long][recordLen:int]
+ * }</pre>
+ *
+ * <p>Only the last segment is written to; it rolls over once it exceeds the configured
+ * size. Segments are read through read-only memory mappings. The index file is a
+ * cache of the segment headers: on startup any records past the last indexed offset
+ * (e.g. after a crash between the two writes) are recovered by scanning the segment.</p>
+ *
+ * <p>Each chat record's message count is kept with its pointer, read from the first
+ * inflated bytes of the record on startup, so a room's archived chat is counted and
+ * paged without decoding the records a page does not reach.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class MatchArchiveStoreImpl implements MatchArchiveStore {
+
+    static final int RECORD_MAGIC = 0x43415243; // "CARC"
+    static final int RECORD_HEADER_BYTES = 4 + 1 + 8 + 4 + 4;
+    static final int INDEX_ENTRY_BYTES = 1 + 8 + 8 + 4;
+    static final byte TYPE_MATCH = 1;
+    static final byte TYPE_CHAT = 2;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{6})\\.seg");
+    private static final long NULL_TIME = Long.MIN_VALUE;
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+
+    private final Map<Long, RecordPointer> matchIndex = new ConcurrentHashMap<>();
+    private final Map<Long, List<RecordPointer>> chatIndex = new ConcurrentHashMap<>();
+    private final Map<Integer, MappedByteBuffer> mappings = new ConcurrentHashMap<>();
+
+    private int activeSegmentId;
+    private FileChannel activeSegment;
+    private FileChannel activeIndex;
+
+    public MatchArchiveStoreImpl(@Value("${app.archive.dir:data/archive}") String directory,
+                                 @Value("${app.archive.segment-max-bytes:67108864}") long maxSegmentBytes) {
+        this.directory = Paths.get(directory);
+        this.maxSegmentBytes = maxSegmentBytes;
+    }
+
+    /**
+     * Loads the offset index of every segment and opens the last one for appends
+     */
+    @PostConstruct
+    public synchronized void open() {
+        try {
+            Files.createDirectories(directory);
+            List<Integer> segmentIds = listSegmentIds();
+            for (int segmentId : segmentIds) {
+                loadIndex(segmentId);
+            }
+            openActiveSegment(segmentIds.isEmpty() ? 1 : segmentIds.get(segmentIds.size() - 1));
+            log.info("Match archive opened at {} with {} segments, {} matches, {} chat rooms",
+                    directory.toAbsolutePath(), Math.max(segmentIds.size(), 1), matchIndex.size(), chatIndex.size());
+        } catch (IOException e) {
+            throw new ArchiveStorageException("Failed to open archive at " + directory, e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        forceQuietly();
+        closeQuietly(activeSegment);
+        closeQuietly(activeIndex);
+        activeSegment = null;
+        activeIndex = null;
+        mappings.clear();
+    }
+
+    @Override
+    public void appendMatch(ArchivedMatch match) {
+        RecordPointer pointer = append(TYPE_MATCH, match.getMatchId(), encodeMatch(match));
+        matchIndex.put(match.getMatchId(), pointer);
+    }
+
+    @Override
+    public void appendChatMessages(Long roomId, List<ArchivedChatMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        // A batch is archived again if its delete was rolled back, so drop what the room
+        // already holds and keep each record's count exact
+        Set<Long> archivedIds = findChatMessages(roomId).stream()
+                .map(ArchivedChatMessage::getId)
+                .collect(Collectors.toSet());
+        List<ArchivedChatMessage> added = messages.stream()
+                .filter(message -> !archivedIds.contains(message.getId()))
+                .collect(Collectors.toList());
+        if (added.isEmpty()) {
+            return;
+        }
+        RecordPointer pointer = append(TYPE_CHAT, roomId, encodeChat(added)).withCount(added.size());
+        chatIndex.computeIfAbsent(roomId, id -> new CopyOnWriteArrayList<>()).add(pointer);
+    }
+
+    @Override
+    public Optional<ArchivedMatch> findMatch(Long matchId) {
+        RecordPointer pointer = matchIndex.get(matchId);
+        if (pointer == null) {
+            return Optional.empty();
+        }
+        return Optional.of(decodeMatch(read(pointer)));
+    }
+
+    @Override
+    public List<ArchivedChatMessage> findChatMessages(Long roomId) {
+        List<RecordPointer> pointers = chatIndex.get(roomId);
+        if (pointers == null) {
+            return List.of();
+        }
+        // A batch may have been archived twice if its delete was rolled back, so dedupe by ID
+        Map<Long, ArchivedChatMessage> messages = new LinkedHashMap<>();
+        for (RecordPointer pointer : pointers) {
+            for (ArchivedChatMessage message : decodeChat(read(pointer))) {
+                messages.putIfAbsent(message.getId(), message);
+            }
+        }
+        List<ArchivedChatMessage> result = new ArrayList<>(messages.values());
+        result.sort(Comparator.comparing(ArchivedChatMessage::getSentAt,
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+        return result;
+    }
+
+    @Override
+    public List<ArchivedChatMessage> findLatestChatMessages(Long roomId, long skip, int limit) {
+        List<RecordPointer> pointers = chatIndex.getOrDefault(roomId, List.of());
+        // Archival moves a room's oldest messages first, so later records hold newer messages
+        Map<Long, ArchivedChatMessage> messages = new LinkedHashMap<>();
+        long newerThanRecord = 0;
+        long toSkip = skip;
+        for (int i = pointers.size() - 1; i >= 0 && newerThanRecord < skip + limit; i--) {
+            RecordPointer pointer = pointers.get(i);
+            if (newerThanRecord + pointer.count <= skip) {
+                toSkip -= pointer.count;
+            } else {
+                for (ArchivedChatMessage message : decodeChat(read(pointer))) {
+                    messages.putIfAbsent(message.getId(), message);
+                }
+            }
+            newerThanRecord += pointer.count;
+        }
+        return messages.values().stream()
+                .sorted(Comparator.comparing(ArchivedChatMessage::getSentAt,
+                        Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).reversed())
+                .skip(toSkip)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long countChatMessages(Long roomId) {
+        return chatIndex.getOrDefault(roomId, List.of()).stream()
+                .mapToLong(pointer -> pointer.count)
+                .sum();
+    }
+
+    @Override
+    public boolean containsMatch(Long matchId) {
+        return matchIndex.containsKey(matchId);
+    }
+
+    @Override
+    public synchronized void sync() {
+        try {
+            force();
+        } catch (IOException e) {
+            throw new ArchiveStorageException("Failed to sync archive segment " + activeSegmentId, e);
+        }
+    }
+
+    // Segment I/O
+
+    private synchronized RecordPointer append(byte type, long key, byte[] raw) {
+        byte[] data = deflate(raw);
+        int recordLength = RECORD_HEADER_BYTES + data.length;
+        try {
+            if (activeSegment.size() > 0 && activeSegment.size() + recordLength > maxSegmentBytes) {
+                openActiveSegment(activeSegmentId + 1);
+            }
+            long offset = activeSegment.size();
+
+            ByteBuffer record = ByteBuffer.allocate(recordLength);
+            record.putInt(RECORD_MAGIC).put(type).putLong(key).putInt(raw.length).putInt(data.length).put(data);
+            record.flip();
+            writeFully(activeSegment, record);
+
+            ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+            entry.put(type).putLong(key).putLong(offset).putInt(recordLength);
+            entry.flip();
+            writeFully(activeIndex, entry);
+
+            return new RecordPointer(activeSegmentId, offset, recordLength);
+        } catch (IOException e) {
+            throw new ArchiveStorageException("Failed to append archive record " + type + ":" + key, e);
+        }
+    }
+
+    private byte[] read(RecordPointer pointer) {
+        ByteBuffer buffer = mapping(pointer).duplicate();
+        buffer.position((int) pointer.offset);
+        if (buffer.getInt() != RECORD_MAGIC) {
+            throw new ArchiveStorageException("Corrupt archive record at segment "
+                    + pointer.segmentId + " offset " + pointer.offset);
+        }
+        buffer.get();
+        buffer.getLong();
+        int rawLength = buffer.getInt();
+        byte[] data = new byte[buffer.getInt()];
+        buffer.get(data);
+        return inflate(data, rawLength);
+    }
+
+    /**
+     * Reads the message count of a chat record, which leads its data, without inflating the rest
+     */
+    private int readChatCount(RecordPointer pointer) {
+        ByteBuffer buffer = mapping(pointer).duplicate();
+        buffer.position((int) pointer.offset + RECORD_HEADER_BYTES - 4);
+        byte[] data = new byte[buffer.getInt()];
+        buffer.get(data);
+        return ByteBuffer.wrap(inflate(data, Integer.BYTES)).getInt();
+    }
+
+    private MappedByteBuffer mapping(RecordPointer pointer) {
+        long end = pointer.offset + pointer.length;
+        MappedByteBuffer mapped = mappings.get(pointer.segmentId);
+        if (mapped != null && mapped.capacity() >= end) {
+            return mapped;
+        }
+        // The active segment grows, so its mapping is refreshed when a read goes past it
+        try (FileChannel channel = FileChannel.open(segmentPath(pointer.segmentId), StandardOpenOption.READ)) {
+            MappedByteBuffer remapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mappings.put(pointer.segmentId, remapped);
+            return remapped;
+        } catch (IOException e) {
+            throw new ArchiveStorageException("Failed to map archive segment " + pointer.segmentId, e);
+        }
+    }
+
+    private void openActiveSegment(int segmentId) throws IOException {
+        // A full segment is synced once as it rolls over; the new one is synced by the next sync()
+        force();
+        closeQuietly(activeSegment);
+        closeQuietly(activeIndex);
+        activeSegmentId = segmentId;
+        activeSegment = FileChannel.open(segmentPath(segmentId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        activeIndex = FileChannel.open(indexPath(segmentId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void force() throws IOException {
+        if (activeSegment != null) {
+            activeSegment.force(false);
+        }
+        if (activeIndex != null) {
+            activeIndex.force(false);
+        }
+    }
+
+    private void forceQuietly() {
+        try {
+            force();
+        } catch (IOException e) {
+            log.warn("Failed to sync archive on close: {}", e.getMessage());
+        }
+    }
+
+    private void loadIndex(int segmentId) throws IOException {
+        long indexedEnd = 0;
+        Path indexPath = indexPath(segmentId);
+        if (Files.exists(indexPath)) {
+            ByteBuffer entries = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+            while (entries.remaining() >= INDEX_ENTRY_BYTES) {
+                byte type = entries.get();
+                long key = entries.getLong();
+                long offset = entries.getLong();
+                int length = entries.getInt();
+                register(type, key, new RecordPointer(segmentId, offset, length));
+                indexedEnd = Math.max(indexedEnd, offset + length);
+            }
+        }
+        recoverUnindexedRecords(segmentId, indexedEnd);
+    }
+
+    /**
+     * Scans the segment tail after the last indexed record and re-indexes complete records
+     */
+    private void recoverUnindexedRecords(int segmentId, long from) throws IOException {
+        try (FileChannel segment = FileChannel.open(segmentPath(segmentId), StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileChannel index = FileChannel.open(indexPath(segmentId),
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long size = segment.size();
+            long offset = from;
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+            while (offset + RECORD_HEADER_BYTES <= size) {
+                header.clear();
+                segment.read(header, offset);
+                header.flip();
+                if (header.getInt() != RECORD_MAGIC) {
+                    break;
+                }
+                byte type = header.get();
+                long key = header.getLong();
+                header.getInt();
+                int length = RECORD_HEADER_BYTES + header.getInt();
+                if (offset + length > size) {
+                    break;
+                }
+                register(type, key, new RecordPointer(segmentId, offset, length));
+                ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+                entry.put(type).putLong(key).putLong(offset).putInt(length);
+                entry.flip();
+                writeFully(index, entry);
+                offset += length;
+            }
+            if (offset < size) {
+                log.warn("Truncating {} bytes of incomplete archive data in segment {}", size - offset, segmentId);
+                segment.truncate(offset);
+            }
+        }
+    }
+
+    private void register(byte type, long key, RecordPointer pointer) {
+        if (type == TYPE_MATCH) {
+            matchIndex.put(key, pointer);
+        } else if (type == TYPE_CHAT) {
+            chatIndex.computeIfAbsent(key, id -> new CopyOnWriteArrayList<>()).add(pointer.withCount(readChatCount(pointer)));
+        }
+    }
+
+    private List<Integer> listSegmentIds() throws IOException {
+        List<Integer> ids = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    ids.add(Integer.parseInt(matcher.group(1)));
+                }
+            });
+        }
+        ids.sort(null);
+        return ids;
+    }
+
+    private Path segmentPath(int segmentId) {
+        return directory.resolve(String.format("segment-%06d.seg", segmentId));
+    }
+
+    private Path indexPath(int segmentId) {
+        return directory.resolve(String.format("segment-%06d.idx", segmentId));
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close archive file: {}", e.getMessage());
+        }
+    }
+
+    // Record encoding
+
+    private static byte[] encodeMatch(ArchivedMatch match) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(match.getMatchId());
+            writeNullableLong(out, match.getRoomId());
+            writeNullableLong(out, match.getPlayerXId());
+            writeNullableLong(out, match.getPlayerOId());
+            out.writeLong(toEpochMillis(match.getStartTime()));
+            out.writeLong(toEpochMillis(match.getEndTime()));
+            out.writeUTF(match.getResult() != null ? match.getResult() : "");
+            out.writeInt(match.getMoves().size());
+            for (ArchivedMove move : match.getMoves()) {
+                out.writeLong(move.getId());
+                out.writeInt(move.getMoveNumber());
+                out.writeByte(move.getXPosition());
+                out.writeByte(move.getYPosition());
+                out.writeLong(move.getPlayerId());
+                out.writeLong(toEpochMillis(move.getCreatedAt()));
+            }
+        } catch (IOException e) {
+            throw new ArchiveStorageException("Failed to encode match " + match.getMatchId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ArchivedMatch decodeMatch(byte[] raw) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw))) {
+            ArchivedMatch.ArchivedMatchBuilder builder = ArchivedMatch.builder()
+                    .matchId(in.readLong())
+                    .roomId(readNullableLong(in))
+                    .playerXId(readNullableLong(in))
+                    .playerOId(readNullableLong(in))
+                    .startTime(fromEpochMillis(in.readLong()))
+                    .endTime(fromEpochMillis(in.readLong()));
+            String result = in.readUTF();
+            builder.result(result.isEmpty() ? null : result);
+            int moveCount = in.readInt();
+            List<ArchivedMove> moves = new ArrayList<>(moveCount);
+            for (int i = 0; i < moveCount; i++) {
+                moves.add(new ArchivedMove(in.readLong(), in.readInt(), (int) in.readByte(), (int) in.readByte(),
+                        in.readLong(), fromEpochMillis(in.readLong())));
+            }
+            return builder.moves(moves).build();
+        } catch (IOException e) {
+            throw new ArchiveStorageException("Failed to decode archived match", e);
+        }
+    }
+
+    private static byte[] encodeChat(List<ArchivedChatMessage> messages) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(messages.size());
+            for (ArchivedChatMessage message : messages) {
+                out.writeLong(message.getId());
+                out.writeLong(message.getRoomId());
+                out.writeLong(message.getSenderId());
+                out.writeLong(toEpochMillis(message.getSentAt()));
+                byte[] content = message.getContent().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(content.length);
+                out.write(content);
+            }
+        } catch (IOException e) {
+            throw new ArchiveStorageException("Failed to encode chat messages", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<ArchivedChatMessage> decodeChat(byte[] raw) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw))) {
+            int count = in.readInt();
+            List<ArchivedChatMessage> messages = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                long roomId = in.readLong();
+                long senderId = in.readLong();
+                LocalDateTime sentAt = fromEpochMillis(in.readLong());
+                byte[] content = new byte[in.readInt()];
+                in.readFully(content);
+                messages.add(new ArchivedChatMessage(id, roomId, senderId,
+                        new String(content, StandardCharsets.UTF_8), sentAt));
+            }
+            return messages;
+        } catch (IOException e) {
+            throw new ArchiveStorageException("Failed to decode archived chat messages", e);
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(raw.length / 2 + 16);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, new Deflater(Deflater.BEST_COMPRESSION))) {
+            out.write(raw);
+        } catch (IOException e) {
+            throw new ArchiveStorageException("Failed to compress archive record", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] data, int rawLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                read += inflater.inflate(raw, read, rawLength - read);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new ArchiveStorageException("Corrupt compressed archive record", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeNullableLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        out.writeLong(value != null ? value : 0L);
+    }
+
+    private static Long readNullableLong(DataInputStream in) throws IOException {
+        boolean present = in.readBoolean();
+        long value = in.readLong();
+        return present ? value : null;
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : NULL_TIME;
+    }
+
+    private static LocalDateTime fromEpochMillis(long millis) {
+        return millis != NULL_TIME ? LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC) : null;
+    }
+
+    /**
+     * Location of one record inside a segment
+     */
+    private static final class RecordPointer {
+        final int segmentId;
+        final long offset;
+        final int length;
+        // Messages in a chat record; unused for matches
+        final int count;
+
+        RecordPointer(int segmentId, long offset, int length) {
+            this(segmentId, offset, length, 0);
+        }
+
+        RecordPointer(int segmentId, long offset, int length, int count) {
+            this.segmentId = segmentId;
+            this.offset = offset;
+            this.length = length;
+            this.count = count;
+        }
+
+        RecordPointer withCount(int messageCount) {
+            return new RecordPointer(segmentId, offset, length, messageCount);
+        }
+    }
+}
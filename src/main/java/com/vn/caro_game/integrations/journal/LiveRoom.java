@@ -0,0 +1,232 @@
+package com.vn.caro_game.integrations.journal;
+
+import com.vn.caro_game.constants.CaroGameConstants;
+import com.vn.caro_game.enums.GameState;
+import com.vn.caro_game.enums.PlayerReadyState;
+import com.vn.caro_game.enums.RoomStatus;
+import com.vn.caro_game.events.RoomEvent;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * In-memory state of one live room, rebuilt from {@link RoomEvent}s.
+ *
+ * <p>Instances held by the journal are only touched under its lock; callers always
+ * receive copies. The board uses one byte per cell with the values of
+ * {@link CaroGameConstants#PLAYER_X_VALUE} and {@link CaroGameConstants#PLAYER_O_VALUE}.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public final class LiveRoom {
+
+    private static final long NONE = -1L;
+
+    private final long roomId;
+    private RoomStatus status = RoomStatus.WAITING;
+    private GameState gameState = GameState.WAITING_FOR_PLAYERS;
+    private final Map<Long, PlayerReadyState> players = new LinkedHashMap<>();
+    private Long hostId;
+    private Long rematchRequesterId;
+    private Long matchId;
+    private Long playerXId;
+    private Long playerOId;
+    private int moveCount;
+    private final byte[] board = new byte[CaroGameConstants.BOARD_SIZE * CaroGameConstants.BOARD_SIZE];
+
+    LiveRoom(long roomId) {
+        this.roomId = roomId;
+    }
+
+    /**
+     * Applies one event to this room
+     */
+    void apply(RoomEvent event) {
+        if (event.getRoomStatus() != null) {
+            status = event.getRoomStatus();
+        }
+        if (event.getGameState() != null) {
+            gameState = event.getGameState();
+        }
+        switch (event.getType()) {
+            case ROOM_CREATED -> {
+                hostId = event.getUserId();
+                clearMatch();
+            }
+            case PLAYER_JOINED -> players.put(event.getUserId(), PlayerReadyState.NOT_READY);
+            case PLAYER_LEFT -> {
+                players.remove(event.getUserId());
+                if (Objects.equals(hostId, event.getUserId())) {
+                    hostId = null;
+                }
+            }
+            case HOST_CHANGED -> hostId = event.getUserId();
+            case PLAYER_READY -> players.computeIfPresent(event.getUserId(), (id, state) -> PlayerReadyState.READY);
+            case GAME_STARTED -> {
+                players.replaceAll((id, state) -> PlayerReadyState.IN_GAME);
+                rematchRequesterId = null;
+            }
+            case MATCH_STARTED -> {
+                clearMatch();
+                matchId = event.getMatchId();
+                playerXId = event.getUserId();
+                playerOId = event.getSecondUserId();
+            }
+            case MOVE_MADE -> applyMove(event);
+            case GAME_RESET -> {
+                players.replaceAll((id, state) -> PlayerReadyState.NOT_READY);
+                clearMatch();
+            }
+            case REMATCH_REQUESTED -> rematchRequesterId = event.getUserId();
+            default -> {
+                // GAME_ENDED and STATE_CHANGED only carry the new status and state
+            }
+        }
+    }
+
+    private void applyMove(RoomEvent event) {
+        if (!Objects.equals(matchId, event.getMatchId())) {
+            return;
+        }
+        byte value = (byte) (Objects.equals(event.getUserId(), playerXId)
+                ? CaroGameConstants.PLAYER_X_VALUE
+                : CaroGameConstants.PLAYER_O_VALUE);
+        board[event.getXPosition() * CaroGameConstants.BOARD_SIZE + event.getYPosition()] = value;
+        moveCount = Math.max(moveCount, event.getMoveNumber());
+    }
+
+    private void clearMatch() {
+        matchId = null;
+        playerXId = null;
+        playerOId = null;
+        moveCount = 0;
+        Arrays.fill(board, (byte) 0);
+    }
+
+    /**
+     * A finished room nobody sits in any more is no longer live
+     */
+    boolean isDead() {
+        return players.isEmpty() && status == RoomStatus.FINISHED;
+    }
+
+    LiveRoom copy() {
+        LiveRoom copy = new LiveRoom(roomId);
+        copy.status = status;
+        copy.gameState = gameState;
+        copy.players.putAll(players);
+        copy.hostId = hostId;
+        copy.rematchRequesterId = rematchRequesterId;
+        copy.matchId = matchId;
+        copy.playerXId = playerXId;
+        copy.playerOId = playerOId;
+        copy.moveCount = moveCount;
+        System.arraycopy(board, 0, copy.board, 0, board.length);
+        return copy;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(roomId);
+        out.writeUTF(status.name());
+        out.writeUTF(gameState.name());
+        out.writeLong(orNone(hostId));
+        out.writeLong(orNone(rematchRequesterId));
+        out.writeLong(orNone(matchId));
+        out.writeLong(orNone(playerXId));
+        out.writeLong(orNone(playerOId));
+        out.writeInt(moveCount);
+        out.write(board);
+        out.writeInt(players.size());
+        for (Map.Entry<Long, PlayerReadyState> player : players.entrySet()) {
+            out.writeLong(player.getKey());
+            out.writeUTF(player.getValue().name());
+        }
+    }
+
+    static LiveRoom readFrom(DataInput in) throws IOException {
+        LiveRoom room = new LiveRoom(in.readLong());
+        room.status = RoomStatus.valueOf(in.readUTF());
+        room.gameState = GameState.valueOf(in.readUTF());
+        room.hostId = fromNone(in.readLong());
+        room.rematchRequesterId = fromNone(in.readLong());
+        room.matchId = fromNone(in.readLong());
+        room.playerXId = fromNone(in.readLong());
+        room.playerOId = fromNone(in.readLong());
+        room.moveCount = in.readInt();
+        in.readFully(room.board);
+        int playerCount = in.readInt();
+        for (int i = 0; i < playerCount; i++) {
+            room.players.put(in.readLong(), PlayerReadyState.valueOf(in.readUTF()));
+        }
+        return room;
+    }
+
+    private static long orNone(Long value) {
+        return value != null ? value : NONE;
+    }
+
+    private static Long fromNone(long value) {
+        return value == NONE ? null : value;
+    }
+
+    /**
+     * Returns the board as a fresh {@code int[x][y]} array
+     */
+    public int[][] toBoard() {
+        int size = CaroGameConstants.BOARD_SIZE;
+        int[][] result = new int[size][size];
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                result[x][y] = board[x * size + y];
+            }
+        }
+        return result;
+    }
+
+    public long getRoomId() {
+        return roomId;
+    }
+
+    public RoomStatus getStatus() {
+        return status;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public Map<Long, PlayerReadyState> getPlayers() {
+        return Collections.unmodifiableMap(players);
+    }
+
+    public Long getHostId() {
+        return hostId;
+    }
+
+    public Long getRematchRequesterId() {
+        return rematchRequesterId;
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public Long getPlayerXId() {
+        return playerXId;
+    }
+
+    public Long getPlayerOId() {
+        return playerOId;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+}
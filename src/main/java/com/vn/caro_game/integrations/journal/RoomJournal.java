@@ -0,0 +1,39 @@
+package com.vn.caro_game.integrations.journal;
+
+import com.vn.caro_game.events.RoomEvent;
+
+import java.util.Optional;
+
+/**
+ * Append-only journal of room and match state transitions.
+ *
+ * <p>Every {@link RoomEvent} is written to a local journal and applied to an in-memory
+ * {@link LiveRoom}. Periodic snapshots bound recovery time: on restart the latest
+ * snapshot is loaded and only the journal tail after it is replayed.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface RoomJournal {
+
+    /**
+     * Writes an event to the journal and applies it to the live room.
+     *
+     * @return the sequence number of the event, or 0 when the journal is disabled
+     */
+    long append(RoomEvent event);
+
+    /**
+     * Returns a copy of the live state of a room, if it is tracked.
+     */
+    Optional<LiveRoom> findRoom(Long roomId);
+
+    /**
+     * Writes a snapshot of all live rooms and drops the journal segments it covers.
+     */
+    void snapshot();
+
+    long getLastSequence();
+
+    int getLiveRoomCount();
+}
@@ -0,0 +1,547 @@
+package com.vn.caro_game.integrations.journal;
+
+import com.vn.caro_game.enums.GameState;
+import com.vn.caro_game.enums.RoomEventType;
+import com.vn.caro_game.enums.RoomStatus;
+import com.vn.caro_game.events.RoomEvent;
+import com.vn.caro_game.exceptions.JournalStorageException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-mapped implementation of {@link RoomJournal}.
+ *
+ * <p>Layout on disk:</p>
+ * <pre>{@code
+ * journal-<first seq>.log   records: [length:int][crc32:int][seq:long][payload], a zero length ends the segment
+ * snapshot-<last seq>.bin   [magic:int][seq:long][roomCount:int][rooms...]
+ * }</pre>
+ *
+ * <p>Segments are pre-sized and mapped read-write, so an append is a memory copy. The
+ * length field is written last; a record torn by a crash has a zero length or a bad
+ * checksum and recovery stops there. Mapped pages survive a process crash but are only
+ * forced to disk on roll-over, snapshot and shutdown. Every {@code snapshot-every}
+ * appends the live rooms are snapshotted, a new segment is started and everything the
+ * snapshot covers is deleted, so a restart replays at most one segment.</p>
+ *
+ * <p>Appends only serialize on the copy into the segment. Applying an event to its room
+ * holds that room's lock stripe, so events of one room are applied in sequence order
+ * while other rooms proceed; snapshots take the journal lock exclusively.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class RoomJournalImpl implements RoomJournal {
+
+    static final int SNAPSHOT_MAGIC = 0x43524A53; // "CRJS"
+    static final int RECORD_HEADER_BYTES = 4 + 4 + 8;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("journal-(\\d{20})\\.log");
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d{20})\\.bin");
+    private static final byte[] ZEROES = new byte[8192];
+    private static final int ROOM_LOCK_STRIPES = 64;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentBytes;
+    private final int snapshotEvery;
+
+    private final Map<Long, LiveRoom> rooms = new ConcurrentHashMap<>();
+
+    // Appends and reads share the lock; open, snapshot and close take it exclusively
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object[] roomLocks = new Object[ROOM_LOCK_STRIPES];
+    // Guards the sequence counter and the write position of the active segment
+    private final Object segmentLock = new Object();
+
+    private volatile long lastSequence;
+    private long appendsSinceSnapshot;
+    private long activeFirstSequence;
+    private FileChannel activeChannel;
+    private MappedByteBuffer activeSegment;
+
+    public RoomJournalImpl(@Value("${app.journal.enabled:true}") boolean enabled,
+                           @Value("${app.journal.dir:data/journal}") String directory,
+                           @Value("${app.journal.segment-bytes:16777216}") int segmentBytes,
+                           @Value("${app.journal.snapshot-every:10000}") int snapshotEvery) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+        this.snapshotEvery = snapshotEvery;
+        for (int i = 0; i < roomLocks.length; i++) {
+            roomLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Loads the latest snapshot, replays the journal tail and opens the last segment for appends
+     */
+    @PostConstruct
+    public void open() {
+        if (!enabled) {
+            log.info("Room journal is disabled");
+            return;
+        }
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            Files.createDirectories(directory);
+            long snapshotSequence = loadLatestSnapshot();
+            lastSequence = snapshotSequence;
+
+            List<Long> segments = listSequences(SEGMENT_NAME);
+            int replayed = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                boolean last = i == segments.size() - 1;
+                replayed += replaySegment(segments.get(i), snapshotSequence, last);
+            }
+            if (activeSegment == null) {
+                openSegment(lastSequence + 1);
+            }
+            log.info("Room journal opened at {}: {} live rooms from snapshot {} plus {} events in {} ms",
+                    directory.toAbsolutePath(), rooms.size(), snapshotSequence, replayed,
+                    System.currentTimeMillis() - started);
+        } catch (IOException e) {
+            throw new JournalStorageException("Failed to open room journal at " + directory, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (activeSegment == null) {
+                return;
+            }
+            if (appendsSinceSnapshot > 0) {
+                snapshot();
+            }
+            activeSegment.force();
+            closeQuietly(activeChannel);
+            activeChannel = null;
+            activeSegment = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Journals room events once the transaction that produced them has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomEvent(RoomEvent event) {
+        try {
+            append(event);
+        } catch (JournalStorageException e) {
+            log.error("Failed to journal {} for room {}: {}", event.getType(), event.getRoomId(), e.getMessage());
+            evict(event.getRoomId());
+        }
+    }
+
+    @Override
+    public long append(RoomEvent event) {
+        if (!enabled) {
+            return 0;
+        }
+        byte[] payload = encodeEvent(event);
+        long sequence;
+        boolean snapshotDue;
+        lock.readLock().lock();
+        try {
+            if (activeSegment == null) {
+                return 0;
+            }
+            synchronized (roomLock(event.getRoomId())) {
+                synchronized (segmentLock) {
+                    sequence = write(payload);
+                    snapshotDue = ++appendsSinceSnapshot >= snapshotEvery;
+                }
+                apply(event);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (snapshotDue) {
+            snapshotIfDue();
+        }
+        return sequence;
+    }
+
+    /**
+     * Copies one record into the active segment, rolling over when it is full. Called under the segment lock.
+     */
+    private long write(byte[] payload) {
+        long sequence = lastSequence + 1;
+        int length = RECORD_HEADER_BYTES + payload.length;
+        if (length + 4 > segmentBytes) {
+            throw new JournalStorageException("Journal record of " + length + " bytes exceeds segment size");
+        }
+        try {
+            if (activeSegment.position() + length + 4 > segmentBytes) {
+                activeSegment.force();
+                openSegment(sequence);
+            }
+        } catch (IOException e) {
+            throw new JournalStorageException("Failed to roll room journal segment", e);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        int offset = activeSegment.position();
+        activeSegment.position(offset + 4);
+        activeSegment.putInt((int) crc.getValue()).putLong(sequence).put(payload);
+        // Publishing the length last makes the record visible to recovery only once it is complete
+        activeSegment.putInt(offset, length);
+
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    @Override
+    public Optional<LiveRoom> findRoom(Long roomId) {
+        lock.readLock().lock();
+        try {
+            synchronized (roomLock(roomId)) {
+                LiveRoom room = rooms.get(roomId);
+                return room != null ? Optional.of(room.copy()) : Optional.empty();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void snapshot() {
+        lock.writeLock().lock();
+        try {
+            writeSnapshot();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Snapshots unless another append has already done so since this one found it due
+     */
+    private void snapshotIfDue() {
+        lock.writeLock().lock();
+        try {
+            if (appendsSinceSnapshot >= snapshotEvery) {
+                writeSnapshot();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void writeSnapshot() {
+        if (activeSegment == null) {
+            return;
+        }
+        try {
+            Path target = snapshotPath(lastSequence);
+            Path temp = directory.resolve(target.getFileName() + ".tmp");
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(lastSequence);
+                out.writeInt(rooms.size());
+                for (LiveRoom room : rooms.values()) {
+                    room.writeTo(out);
+                }
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            if (activeSegment.position() > 0) {
+                activeSegment.force();
+                openSegment(lastSequence + 1);
+            }
+            deleteCoveredFiles(lastSequence);
+            appendsSinceSnapshot = 0;
+            log.debug("Room journal snapshot {} written with {} rooms", lastSequence, rooms.size());
+        } catch (IOException e) {
+            throw new JournalStorageException("Failed to write room journal snapshot " + lastSequence, e);
+        }
+    }
+
+    @Override
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    @Override
+    public int getLiveRoomCount() {
+        return rooms.size();
+    }
+
+    private void evict(Long roomId) {
+        lock.readLock().lock();
+        try {
+            synchronized (roomLock(roomId)) {
+                rooms.remove(roomId);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Object roomLock(Long roomId) {
+        return roomLocks[Math.floorMod(Long.hashCode(roomId), ROOM_LOCK_STRIPES)];
+    }
+
+    // Projection
+
+    private void apply(RoomEvent event) {
+        LiveRoom room = rooms.get(event.getRoomId());
+        if (room == null) {
+            // Rooms created before the journal was enabled (or evicted) are left to the database
+            if (event.getType() != RoomEventType.ROOM_CREATED) {
+                return;
+            }
+            room = new LiveRoom(event.getRoomId());
+            rooms.put(event.getRoomId(), room);
+        }
+        room.apply(event);
+        if (event.getType() == RoomEventType.ROOM_CLOSED || room.isDead()) {
+            rooms.remove(event.getRoomId());
+        }
+    }
+
+    // Recovery
+
+    private long loadLatestSnapshot() throws IOException {
+        List<Long> snapshots = listSequences(SNAPSHOT_NAME);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Path path = snapshotPath(snapshots.get(i));
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                if (in.readInt() != SNAPSHOT_MAGIC) {
+                    throw new IOException("bad magic");
+                }
+                long sequence = in.readLong();
+                int count = in.readInt();
+                Map<Long, LiveRoom> loaded = new HashMap<>();
+                for (int r = 0; r < count; r++) {
+                    LiveRoom room = LiveRoom.readFrom(in);
+                    loaded.put(room.getRoomId(), room);
+                }
+                rooms.putAll(loaded);
+                return sequence;
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Skipping unreadable room journal snapshot {}: {}", path.getFileName(), e.getMessage());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Replays the records of one segment newer than the snapshot. The last segment stays open for appends.
+     */
+    private int replaySegment(long firstSequence, long snapshotSequence, boolean last) throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath(firstSequence), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), segmentBytes));
+        int replayed = 0;
+        int offset = 0;
+        while (offset + RECORD_HEADER_BYTES <= segment.capacity()) {
+            int length = segment.getInt(offset);
+            if (length < RECORD_HEADER_BYTES || offset + length > segment.capacity()) {
+                break;
+            }
+            int crc = segment.getInt(offset + 4);
+            long sequence = segment.getLong(offset + 8);
+            byte[] payload = new byte[length - RECORD_HEADER_BYTES];
+            segment.get(offset + RECORD_HEADER_BYTES, payload);
+            CRC32 actual = new CRC32();
+            actual.update(payload);
+            if ((int) actual.getValue() != crc) {
+                log.warn("Room journal record {} in segment {} failed its checksum", sequence, firstSequence);
+                break;
+            }
+            if (sequence > snapshotSequence) {
+                try {
+                    apply(decodeEvent(payload));
+                } catch (IOException | IllegalArgumentException e) {
+                    log.warn("Skipping undecodable room journal record {}: {}", sequence, e.getMessage());
+                }
+                lastSequence = Math.max(lastSequence, sequence);
+                appendsSinceSnapshot++;
+                replayed++;
+            }
+            offset += length;
+        }
+
+        if (!last) {
+            closeQuietly(channel);
+            return replayed;
+        }
+        // Wipe whatever a crash left after the last good record so appends start from a clean end marker
+        for (int position = offset; position < segment.capacity(); position += ZEROES.length) {
+            segment.put(position, ZEROES, 0, Math.min(ZEROES.length, segment.capacity() - position));
+        }
+        segment.position(offset);
+        activeFirstSequence = firstSequence;
+        activeChannel = channel;
+        activeSegment = segment;
+        return replayed;
+    }
+
+    // Segment files
+
+    private void openSegment(long firstSequence) throws IOException {
+        closeQuietly(activeChannel);
+        activeFirstSequence = firstSequence;
+        activeChannel = FileChannel.open(segmentPath(firstSequence),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        activeSegment = activeChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+    }
+
+    private void deleteCoveredFiles(long snapshotSequence) throws IOException {
+        for (long firstSequence : listSequences(SEGMENT_NAME)) {
+            if (firstSequence < activeFirstSequence) {
+                Files.deleteIfExists(segmentPath(firstSequence));
+            }
+        }
+        for (long sequence : listSequences(SNAPSHOT_NAME)) {
+            if (sequence < snapshotSequence) {
+                Files.deleteIfExists(snapshotPath(sequence));
+            }
+        }
+    }
+
+    private List<Long> listSequences(Pattern pattern) throws IOException {
+        List<Long> sequences = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = pattern.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    sequences.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        sequences.sort(null);
+        return sequences;
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("journal-%020d.log", firstSequence));
+    }
+
+    private Path snapshotPath(long sequence) {
+        return directory.resolve(String.format("snapshot-%020d.bin", sequence));
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close journal file: {}", e.getMessage());
+        }
+    }
+
+    // Event encoding
+
+    static byte[] encodeEvent(RoomEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(event.getType().name());
+            out.writeLong(event.getRoomId());
+            out.writeLong(event.getOccurredAt());
+            writeNullableLong(out, event.getUserId());
+            writeNullableLong(out, event.getSecondUserId());
+            writeNullableLong(out, event.getMatchId());
+            writeNullableInt(out, event.getXPosition());
+            writeNullableInt(out, event.getYPosition());
+            writeNullableInt(out, event.getMoveNumber());
+            out.writeUTF(event.getRoomStatus() != null ? event.getRoomStatus().name() : "");
+            out.writeUTF(event.getGameState() != null ? event.getGameState().name() : "");
+        } catch (IOException e) {
+            throw new JournalStorageException("Failed to encode " + event.getType(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static RoomEvent decodeEvent(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        RoomEvent.RoomEventBuilder builder = RoomEvent.builder()
+                .type(RoomEventType.valueOf(in.readUTF()))
+                .roomId(in.readLong())
+                .occurredAt(in.readLong())
+                .userId(readNullableLong(in))
+                .secondUserId(readNullableLong(in))
+                .matchId(readNullableLong(in))
+                .xPosition(readNullableInt(in))
+                .yPosition(readNullableInt(in))
+                .moveNumber(readNullableInt(in));
+        String status = in.readUTF();
+        String state = in.readUTF();
+        return builder
+                .roomStatus(status.isEmpty() ? null : RoomStatus.valueOf(status))
+                .gameState(state.isEmpty() ? null : GameState.valueOf(state))
+                .build();
+    }
+
+    private static void writeNullableLong(DataOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readNullableLong(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeNullableInt(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readNullableInt(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+}
@@ -2,6 +2,8 @@ package com.vn.caro_game.integrations.jwt;
 
 import com.vn.caro_game.entities.User;
 
+import java.util.Date;
+
 public interface JwtService {
     String generateAccessToken(User user);
     String generateRefreshToken(User user);
@@ -11,8 +13,14 @@ public interface JwtService {
     boolean isTokenExpired(String token);
     void invalidateToken(String token);
     boolean isTokenBlacklisted(String token);
+    String getRevocationId(String token);
+    
+    // Single-parse access for per-request authentication
+    TokenClaims parseToken(String token);
+    boolean isTokenBlacklisted(TokenClaims claims);
     
     // Methods from JwtUtil
     Long getUserIdFromToken(String token);
     boolean validateToken(String token);
+    Date getExpirationFromToken(String token);
 }
@@ -1,5 +1,6 @@
 package com.vn.caro_game.integrations.jwt;
 
+import com.vn.caro_game.constants.ApplicationConstants;
 import com.vn.caro_game.entities.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
@@ -13,9 +14,16 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
@@ -29,7 +37,8 @@ import java.util.function.Function;
  * <h3>Token Structure:</h3>
  * <ul>
  *   <li><strong>Subject:</strong> User's email address</li>
- *   <li><strong>Claims:</strong> userId, username (for access tokens)</li>
+ *   <li><strong>ID:</strong> Random {@code jti}, hashed to key the blacklist</li>
+ *   <li><strong>Claims:</strong> userId, username, roles (for access tokens)</li>
  *   <li><strong>Security:</strong> HMAC SHA-256 signature</li>
  * </ul>
  * 
@@ -42,6 +51,9 @@ import java.util.function.Function;
  * <h3>Security Features:</h3>
  * <ul>
  *   <li>Token blacklisting in Redis for logout functionality</li>
+ *   <li>Blacklist entries keyed by a short hash of the token's {@code jti} claim</li>
+ *   <li>Local Bloom filter in front of the blacklist, so Redis is only asked on a hit</li>
+ *   <li>Revocation broadcast on Redis Pub/Sub, so open WebSocket sessions drop the token</li>
  *   <li>Automatic token expiration handling</li>
  *   <li>Bearer token prefix support</li>
  *   <li>Secure token validation with exception handling</li>
@@ -58,6 +70,7 @@ import java.util.function.Function;
 public class JwtServiceImpl implements JwtService {
     
     final RedisTemplate<String, Object> redisTemplate;
+    final TokenBlacklistCache blacklistCache;
     
     @Value("${jwt.secret}")
     String secretKey;
@@ -68,13 +81,15 @@ public class JwtServiceImpl implements JwtService {
     @Value("${jwt.refresh-token.expiration}")
     Long refreshTokenExpiration;
     
-    static final String BLACKLIST_PREFIX = "blacklist:";
+    static final String BLACKLIST_PREFIX = ApplicationConstants.REDIS_KEY_TOKEN_BLACKLIST_PREFIX;
+    static final int REVOCATION_ID_BYTES = 12;
     
     @Override
     public String generateAccessToken(User user) {
         Map<String, Object> extraClaims = new HashMap<>();
         extraClaims.put("userId", user.getId());
         extraClaims.put("username", user.getUsername());
+        extraClaims.put("roles", List.of(ApplicationConstants.DEFAULT_ROLE));
         
         return generateToken(extraClaims, user.getEmail(), accessTokenExpiration);
     }
@@ -107,21 +122,48 @@ public class JwtServiceImpl implements JwtService {
     
     @Override
     public void invalidateToken(String token) {
-        Date expiration = extractExpiration(token);
-        long ttl = expiration.getTime() - System.currentTimeMillis();
+        Claims claims = extractAllClaims(token);
+        long ttl = claims.getExpiration().getTime() - System.currentTimeMillis();
         if (ttl > 0) {
+            String revocationId = getRevocationId(claims, token);
             redisTemplate.opsForValue().set(
-                BLACKLIST_PREFIX + token, 
+                BLACKLIST_PREFIX + revocationId, 
                 "blacklisted", 
                 ttl, 
                 TimeUnit.MILLISECONDS
             );
+            blacklistCache.add(revocationId);
+            redisTemplate.convertAndSend(ApplicationConstants.REDIS_CHANNEL_TOKEN_REVOKED, revocationId);
         }
     }
     
     @Override
     public boolean isTokenBlacklisted(String token) {
-        return Boolean.TRUE.equals(redisTemplate.hasKey(BLACKLIST_PREFIX + token));
+        return isBlacklisted(getRevocationId(extractAllClaims(token), token));
+    }
+    
+    @Override
+    public String getRevocationId(String token) {
+        return getRevocationId(extractAllClaims(token), token);
+    }
+    
+    @Override
+    public TokenClaims parseToken(String token) {
+        Claims claims = extractAllClaims(token);
+        List<?> roles = claims.get("roles", List.class);
+        return new TokenClaims(
+            claims.get("userId", Long.class),
+            claims.getSubject(),
+            claims.get("username", String.class),
+            roles != null ? roles.stream().map(String::valueOf).toList() : List.of(),
+            getRevocationId(claims, token),
+            claims.getExpiration()
+        );
+    }
+    
+    @Override
+    public boolean isTokenBlacklisted(TokenClaims claims) {
+        return isBlacklisted(claims.revocationId());
     }
     
     // Implementation from JwtUtil
@@ -134,13 +176,49 @@ public class JwtServiceImpl implements JwtService {
     @Override
     public boolean validateToken(String token) {
         try {
-            extractAllClaims(cleanToken(token));
-            return !isTokenBlacklisted(token);
+            Claims claims = extractAllClaims(cleanToken(token));
+            return !isBlacklisted(getRevocationId(claims, token));
         } catch (Exception e) {
             return false;
         }
     }
     
+    @Override
+    public Date getExpirationFromToken(String token) {
+        return extractExpiration(cleanToken(token));
+    }
+    
+    /**
+     * Asks Redis only when the local blacklist filter cannot rule the token out
+     */
+    private boolean isBlacklisted(String revocationId) {
+        if (!blacklistCache.mightBeBlacklisted(revocationId)) {
+            return false;
+        }
+        long revocationCount = blacklistCache.getRevocationCount();
+        boolean blacklisted = Boolean.TRUE.equals(redisTemplate.hasKey(BLACKLIST_PREFIX + revocationId));
+        if (!blacklisted) {
+            blacklistCache.recordNotBlacklisted(revocationId, revocationCount);
+        }
+        return blacklisted;
+    }
+    
+    /**
+     * Gets the short ID a token is blacklisted under: a hash of its {@code jti} claim, or
+     * the token itself for tokens issued before the claim was added
+     */
+    private String getRevocationId(Claims claims, String token) {
+        if (claims.getId() == null) {
+            return cleanToken(token);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(claims.getId().getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, REVOCATION_ID_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
     // Helper method to clean token (remove "Bearer " prefix if present)
     private String cleanToken(String token) {
         return token.replace("Bearer ", "");
@@ -159,6 +237,7 @@ public class JwtServiceImpl implements JwtService {
         return Jwts.builder()
                 .setClaims(extraClaims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
@@ -0,0 +1,159 @@
+package com.vn.caro_game.integrations.jwt;
+
+import com.vn.caro_game.constants.ApplicationConstants;
+import com.vn.caro_game.utils.BloomFilter;
+import com.vn.caro_game.utils.LruCache;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process front for the Redis token blacklist.
+ *
+ * <p>A {@link BloomFilter} holds the revocation IDs of all blacklisted tokens, so a token
+ * it has never seen is known to be valid without asking Redis. IDs that hit the filter but
+ * were found absent in Redis are kept in a small negative cache. Revocations on any instance
+ * reach this one through Redis Pub/Sub and are added to the filter and dropped from the
+ * negative cache.</p>
+ *
+ * <p>The filter is built from a scan of the blacklist keys once the application is ready
+ * and rebuilt periodically, which drops expired entries and repairs any missed message.
+ * Each rebuild starts an empty negative cache along with the new filter. Until the first
+ * build every lookup goes to Redis.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ * @see JwtServiceImpl
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TokenBlacklistCache {
+
+    static final int SCAN_BATCH_SIZE = 1000;
+
+    final RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${app.jwt.blacklist.expected-entries:100000}")
+    int expectedEntries;
+
+    @Value("${app.jwt.blacklist.false-positive-rate:0.001}")
+    double falsePositiveRate;
+
+    @Value("${app.jwt.blacklist.negative-cache-size:10000}")
+    int negativeCacheSize;
+
+    volatile BloomFilter filter;
+    volatile BloomFilter rebuilding;
+    volatile LruCache<String, Boolean> notBlacklisted;
+    final AtomicLong revocations = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            log.warn("Could not load the token blacklist, checking Redis until the next rebuild: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the filter from the blacklist keys in Redis. Revocations that arrive while
+     * the keys are scanned go into both the old and the new filter.
+     */
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        BloomFilter rebuilt = new BloomFilter(expectedEntries, falsePositiveRate);
+        rebuilding = rebuilt;
+        int entries = 0;
+        try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions()
+                .match(ApplicationConstants.REDIS_KEY_TOKEN_BLACKLIST_PREFIX + "*")
+                .count(SCAN_BATCH_SIZE)
+                .build())) {
+            while (keys.hasNext()) {
+                rebuilt.add(keys.next().substring(ApplicationConstants.REDIS_KEY_TOKEN_BLACKLIST_PREFIX.length()));
+                entries++;
+            }
+            // IDs cached as valid may have been revoked in a message this instance missed
+            notBlacklisted = new LruCache<>(negativeCacheSize);
+            // Swap before clearing the rebuild target, so no revocation misses both filters
+            filter = rebuilt;
+        } finally {
+            rebuilding = null;
+        }
+
+        if (entries > expectedEntries) {
+            log.warn("Token blacklist holds {} entries, more than the {} it is sized for", entries, expectedEntries);
+        }
+        log.debug("Token blacklist filter rebuilt with {} entries in {} ms", entries, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Whether Redis has to be asked about a revocation ID
+     *
+     * @return false if the ID is certainly not blacklisted
+     */
+    public boolean mightBeBlacklisted(String revocationId) {
+        BloomFilter current = filter;
+        if (current == null) {
+            return true;
+        }
+        return current.mightContain(revocationId) && notBlacklisted.get(revocationId) == null;
+    }
+
+    /**
+     * Gets a marker to pass to {@link #recordNotBlacklisted} after asking Redis
+     */
+    public long getRevocationCount() {
+        return revocations.get();
+    }
+
+    /**
+     * Remembers that Redis did not have a revocation ID, unless a token was revoked since
+     * the lookup started
+     *
+     * @param revocationCount the value of {@link #getRevocationCount()} before the lookup
+     */
+    public void recordNotBlacklisted(String revocationId, long revocationCount) {
+        LruCache<String, Boolean> cache = notBlacklisted;
+        if (cache == null) {
+            return;
+        }
+        synchronized (cache) {
+            if (revocations.get() == revocationCount) {
+                cache.put(revocationId, Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * Adds a revoked token's ID to the filter
+     */
+    public void add(String revocationId) {
+        revocations.incrementAndGet();
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.add(revocationId);
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(revocationId);
+        }
+        LruCache<String, Boolean> cache = notBlacklisted;
+        if (cache != null) {
+            cache.remove(revocationId);
+        }
+    }
+}
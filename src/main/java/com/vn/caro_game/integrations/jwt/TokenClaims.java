@@ -0,0 +1,20 @@
+package com.vn.caro_game.integrations.jwt;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The claims of a verified token, read in a single parse.
+ *
+ * @param userId the user's ID, null for refresh tokens
+ * @param email the subject
+ * @param username the username, null for refresh tokens
+ * @param roles the granted roles, empty for tokens issued without them
+ * @param revocationId the ID the token is blacklisted under
+ * @param expiresAt when the token expires
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public record TokenClaims(Long userId, String email, String username, List<String> roles, String revocationId,
+                          Date expiresAt) {
+}
@@ -0,0 +1,42 @@
+package com.vn.caro_game.integrations.redis;
+
+import com.vn.caro_game.configs.WebSocketSessionAuthenticator;
+import com.vn.caro_game.integrations.jwt.TokenBlacklistCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies token revocations from any instance: the token's ID joins the local blacklist
+ * filter and the WebSocket sessions opened with it are cut off.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ * @see WebSocketSessionAuthenticator
+ * @see TokenBlacklistCache
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationRedisSubscriber implements RedisSubscriber, MessageListener {
+    private final WebSocketSessionAuthenticator sessionAuthenticator;
+    private final TokenBlacklistCache tokenBlacklistCache;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Override
+    public void onMessage(String channel, String message) {
+        tokenBlacklistCache.add(message);
+        sessionAuthenticator.revoke(message);
+    }
+
+    @Override
+    public void onMessage(Message message, @Nullable byte[] pattern) {
+        // Published through the template, so the token ID arrives in its value encoding
+        Object revocationId = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (revocationId != null) {
+            onMessage(new String(message.getChannel()), revocationId.toString());
+        }
+    }
+}
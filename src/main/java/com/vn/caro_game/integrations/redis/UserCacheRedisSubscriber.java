@@ -0,0 +1,37 @@
+package com.vn.caro_game.integrations.redis;
+
+import com.vn.caro_game.services.interfaces.UserCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops users changed on any instance from this instance's local user cache.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ * @see UserCacheService
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheRedisSubscriber implements RedisSubscriber, MessageListener {
+    private final UserCacheService userCacheService;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Override
+    public void onMessage(String channel, String message) {
+        userCacheService.evictLocal(Long.valueOf(message));
+    }
+
+    @Override
+    public void onMessage(Message message, @Nullable byte[] pattern) {
+        // Published through the template, so the user ID arrives in its value encoding
+        Object userId = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (userId != null) {
+            onMessage(new String(message.getChannel()), userId.toString());
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.vn.caro_game.mappers;
 
 import com.vn.caro_game.constants.GameRoomConstants;
+import com.vn.caro_game.dtos.LobbyRoomSummary;
 import com.vn.caro_game.dtos.response.*;
 import com.vn.caro_game.entities.ChatMessage;
 import com.vn.caro_game.entities.GameRoom;
 import com.vn.caro_game.entities.RoomPlayer;
 import com.vn.caro_game.entities.User;
+import com.vn.caro_game.integrations.archive.ArchivedChatMessage;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -129,6 +131,29 @@ public class GameRoomMapper {
         );
     }
 
+    /**
+     * Maps a lobby room summary to PublicRoomResponse DTO.
+     * 
+     * @param summary the lobby room summary
+     * @return PublicRoomResponse DTO
+     */
+    public PublicRoomResponse mapToPublicRoomResponse(LobbyRoomSummary summary) {
+        if (summary == null) {
+            return null;
+        }
+        int currentPlayerCount = summary.playerCount() != null ? summary.playerCount().intValue() : 0;
+        return new PublicRoomResponse(
+            summary.id(),
+            summary.name(),
+            com.vn.caro_game.enums.RoomStatus.WAITING,
+            summary.createdByName(),
+            summary.createdAt(),
+            currentPlayerCount,
+            GameRoomConstants.MAX_PLAYERS_PER_ROOM,
+            currentPlayerCount < GameRoomConstants.MAX_PLAYERS_PER_ROOM
+        );
+    }
+
     /**
      * Maps ChatMessage entity to ChatMessageResponse DTO.
      * 
@@ -147,6 +172,25 @@ public class GameRoomMapper {
         );
     }
 
+    /**
+     * Maps an archived chat message to ChatMessageResponse DTO.
+     * 
+     * @param message the message read back from the archive
+     * @param sender the sender, loaded separately since the archive only keeps its ID
+     * @return ChatMessageResponse DTO
+     */
+    public ChatMessageResponse mapToChatMessageResponse(ArchivedChatMessage message, User sender) {
+        if (message == null) {
+            return null;
+        }
+        return new ChatMessageResponse(
+            message.getId(),
+            mapToUserSummaryResponse(sender),
+            message.getContent(),
+            message.getSentAt()
+        );
+    }
+
     /**
      * Maps list of ChatMessage entities to list of ChatMessageResponse DTOs.
      * 
@@ -1,5 +1,6 @@
 package com.vn.caro_game.mappers;
 
+import com.vn.caro_game.dtos.CachedUser;
 import com.vn.caro_game.dtos.request.UpdateProfileRequest;
 import com.vn.caro_game.dtos.request.UserCreation;
 import com.vn.caro_game.dtos.response.UserProfileResponse;
@@ -68,6 +69,16 @@ public class UserMapper {
      * @return UserProfileResponse DTO containing user profile information
      */
     public UserProfileResponse toProfileResponse(User user) {
+        return toCachedProfileResponse(toCachedUser(user));
+    }
+
+    /**
+     * Converts a cached user snapshot to UserProfileResponse DTO.
+     *
+     * @param user the cached user to convert
+     * @return UserProfileResponse DTO containing user profile information
+     */
+    public UserProfileResponse toCachedProfileResponse(CachedUser user) {
         if (user == null) {
             return null;
         }
@@ -82,6 +93,27 @@ public class UserMapper {
                 .build();
     }
 
+    /**
+     * Converts User entity to the snapshot kept in the user cache.
+     *
+     * @param user the user entity to convert
+     * @return CachedUser without password or rating
+     */
+    public CachedUser toCachedUser(User user) {
+        if (user == null) {
+            return null;
+        }
+
+        return CachedUser.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .displayName(user.getDisplayName())
+                .avatarUrl(user.getAvatarUrl())
+                .createdAt(user.getCreatedAt())
+                .build();
+    }
+
     /**
      * Updates User entity with data from UpdateProfileRequest.
      *
@@ -0,0 +1,32 @@
+package com.vn.caro_game.repositories;
+
+import com.vn.caro_game.entities.AchievementProgress;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AchievementProgressRepository extends JpaRepository<AchievementProgress, Long> {
+
+    /**
+     * Create an empty progress row for a user unless one exists; never blocks on or fails
+     * because of a concurrent insert of the same row
+     */
+    @Modifying
+    @Query(value = "INSERT INTO achievement_progress (user_id, games_played, current_win_streak, best_win_streak, " +
+                   "unlocked) VALUES (:userId, 0, 0, 0, 0) ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+
+    /**
+     * Find a user's achievement progress and lock it until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM AchievementProgress p WHERE p.userId = :userId")
+    Optional<AchievementProgress> findByUserIdForUpdate(@Param("userId") Long userId);
+}
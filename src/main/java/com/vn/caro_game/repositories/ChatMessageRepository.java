@@ -1,9 +1,11 @@
 package com.vn.caro_game.repositories;
 
 import com.vn.caro_game.entities.ChatMessage;
+import com.vn.caro_game.enums.GameState;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -71,4 +73,54 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
      */
     @Query("SELECT COUNT(cm) FROM ChatMessage cm WHERE cm.room.id = :roomId")
     Long countByRoomId(@Param("roomId") Long roomId);
+    
+    /**
+     * Finds chat messages of a room sent since a time, newest first. Passing the room creation
+     * time as the bound lets PostgreSQL prune the monthly partitions of chat_messages.
+     */
+    @Query("SELECT cm FROM ChatMessage cm WHERE cm.room.id = :roomId AND cm.sentAt >= :since " +
+           "ORDER BY cm.sentAt DESC")
+    Page<ChatMessage> findByRoomIdSinceOrderBySentAtDesc(@Param("roomId") Long roomId,
+                                                        @Param("since") LocalDateTime since,
+                                                        Pageable pageable);
+    
+    /**
+     * Finds the latest chat messages of a room sent since a time (partition-pruned).
+     */
+    @Query("SELECT cm FROM ChatMessage cm WHERE cm.room.id = :roomId AND cm.sentAt >= :since " +
+           "ORDER BY cm.sentAt DESC LIMIT :limit")
+    List<ChatMessage> findLatestMessagesByRoomIdSince(@Param("roomId") Long roomId,
+                                                     @Param("since") LocalDateTime since,
+                                                     @Param("limit") int limit);
+    
+    /**
+     * Finds rooms that still hold chat messages older than the cutoff and are not in a game.
+     */
+    @Query("SELECT DISTINCT cm.room.id FROM ChatMessage cm WHERE cm.sentAt < :cutoff " +
+           "AND cm.room.gameState <> :activeState")
+    List<Long> findArchivableRoomIds(@Param("cutoff") LocalDateTime cutoff,
+                                     @Param("activeState") GameState activeState,
+                                     Pageable pageable);
+    
+    /**
+     * Finds chat messages in a room sent before the cutoff, oldest first.
+     */
+    @Query("SELECT cm FROM ChatMessage cm WHERE cm.room.id = :roomId AND cm.sentAt < :cutoff " +
+           "ORDER BY cm.sentAt ASC")
+    List<ChatMessage> findByRoomIdAndSentAtBefore(@Param("roomId") Long roomId,
+                                                  @Param("cutoff") LocalDateTime cutoff);
+    
+    /**
+     * Deletes chat messages in a room sent before the cutoff.
+     */
+    @Modifying
+    @Query("DELETE FROM ChatMessage cm WHERE cm.room.id = :roomId AND cm.sentAt < :cutoff")
+    int deleteByRoomIdAndSentAtBefore(@Param("roomId") Long roomId, @Param("cutoff") LocalDateTime cutoff);
+    
+    /**
+     * Deletes all chat messages of the given rooms.
+     */
+    @Modifying
+    @Query("DELETE FROM ChatMessage cm WHERE cm.room.id IN :roomIds")
+    int deleteByRoomIdIn(@Param("roomIds") List<Long> roomIds);
 }
@@ -0,0 +1,28 @@
+package com.vn.caro_game.repositories;
+
+import com.vn.caro_game.entities.DailyActivityRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyActivityRollupRepository extends JpaRepository<DailyActivityRollup, LocalDateTime> {
+
+    /**
+     * Find the buckets starting in [from, to), oldest first
+     */
+    List<DailyActivityRollup> findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+            LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Delete the buckets starting before the cutoff
+     */
+    @Modifying
+    @Query("DELETE FROM DailyActivityRollup r WHERE r.bucketStart < :cutoff")
+    int deleteByBucketStartBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,27 @@
+package com.vn.caro_game.repositories;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.time.LocalDateTime;
+
+/**
+ * Streaming read of finished games for export, mixed into {@link GameHistoryRepository}.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface GameExportRepository {
+
+    /**
+     * Streams one row per move of each game that ended in the range, ordered by game and
+     * move number. A game whose match has no moves left in the table yields a single row
+     * with a null move number. Rows are handed over as they are fetched, so the caller
+     * must be inside a transaction for the driver to use a cursor.
+     *
+     * @param playerId only games this player took part in, or all games when null
+     * @param from inclusive lower bound on the end time, or null
+     * @param to exclusive upper bound on the end time, or null
+     * @param handler receives each row
+     */
+    void streamExportRows(Long playerId, LocalDateTime from, LocalDateTime to, RowCallbackHandler handler);
+}
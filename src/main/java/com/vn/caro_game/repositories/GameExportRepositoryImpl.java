@@ -0,0 +1,124 @@
+package com.vn.caro_game.repositories;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link GameExportRepository}.
+ *
+ * <p>Games are read with a single forward-only cursor, so an export never holds more
+ * than one fetch of rows in memory.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class GameExportRepositoryImpl implements GameExportRepository {
+
+    static final String GAME_SELECT =
+            "SELECT gh.id, gh.room_id, gh.winner_id, gh.loser_id, gh.end_reason, " +
+            "       gh.game_started_at, gh.game_ended_at FROM game_history gh WHERE ";
+
+    // A player's games are the union of three disjoint branches, so each can use its own index
+    // instead of one OR across the history and match columns. Draws have no winner or loser and
+    // are found through the rooms the player had a match in.
+    static final String PLAYER_GAMES_WINNER = "gh.winner_id = ?";
+    static final String PLAYER_GAMES_LOSER = "gh.loser_id = ? AND (gh.winner_id IS NULL OR gh.winner_id <> ?)";
+    static final String PLAYER_GAMES_DRAW = "gh.winner_id IS NULL AND gh.loser_id IS NULL AND gh.room_id IN (" +
+            "SELECT room_id FROM game_matches WHERE player_x_id = ? " +
+            "UNION ALL SELECT room_id FROM game_matches WHERE player_o_id = ?)";
+
+    // The match of a history row is the latest match started in the room before the game ended,
+    // so rooms with rematches export each game with its own moves. It is resolved in one grouped
+    // join over the selected games rather than a subquery per row.
+    static final String EXPORT_SQL_BODY =
+            "), game_match AS (" +
+            "    SELECT g.id AS game_id, MAX(m.id) AS match_id FROM games g " +
+            "    JOIN game_matches m ON m.room_id = g.room_id " +
+            "    AND (g.game_ended_at IS NULL OR m.start_time IS NULL OR m.start_time <= g.game_ended_at) " +
+            "    GROUP BY g.id) " +
+            "SELECT gh.id AS game_id, gh.room_id, gh.winner_id, gh.loser_id, gh.end_reason, " +
+            "       gh.game_started_at, gh.game_ended_at, gm.id AS match_id, " +
+            "       gm.player_x_id, gm.player_o_id, ux.username AS x_name, uo.username AS o_name, " +
+            "       mv.move_number, mv.x_position, mv.y_position " +
+            "FROM games gh " +
+            "LEFT JOIN game_match gmx ON gmx.game_id = gh.id " +
+            "LEFT JOIN game_matches gm ON gm.id = gmx.match_id " +
+            "LEFT JOIN users ux ON ux.id = gm.player_x_id " +
+            "LEFT JOIN users uo ON uo.id = gm.player_o_id " +
+            "LEFT JOIN moves mv ON mv.match_id = gm.id " +
+            "WHERE 1 = 1";
+
+    static final String EXPORT_SQL_ORDER = " ORDER BY gh.id, mv.move_number";
+
+    final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.export.fetch-size:500}")
+    int fetchSize;
+
+    public GameExportRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void streamExportRows(Long playerId, LocalDateTime from, LocalDateTime to, RowCallbackHandler handler) {
+        StringBuilder sql = new StringBuilder("WITH games AS (");
+        List<Object> params = new ArrayList<>();
+        if (playerId == null) {
+            appendGames(sql, params, "1 = 1", from, to);
+        } else {
+            appendGames(sql, params, PLAYER_GAMES_WINNER, from, to, playerId);
+            sql.append(" UNION ALL ");
+            appendGames(sql, params, PLAYER_GAMES_LOSER, from, to, playerId, playerId);
+            sql.append(" UNION ALL ");
+            appendGames(sql, params, PLAYER_GAMES_DRAW, from, to, playerId, playerId);
+        }
+        sql.append(EXPORT_SQL_BODY);
+        if (playerId != null) {
+            // A draw counts only if the player was in the match the game resolved to
+            sql.append(" AND (gh.winner_id IS NOT NULL OR gh.loser_id IS NOT NULL " +
+                    "OR gm.player_x_id = ? OR gm.player_o_id = ?)");
+            params.add(playerId);
+            params.add(playerId);
+        }
+        sql.append(EXPORT_SQL_ORDER);
+
+        // Postgres only streams with a cursor when a fetch size is set inside a transaction
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, handler);
+    }
+
+    /**
+     * Appends one branch of the games to export, with the end time range
+     */
+    private static void appendGames(StringBuilder sql, List<Object> params, String condition,
+                                    LocalDateTime from, LocalDateTime to, Object... conditionParams) {
+        sql.append(GAME_SELECT).append(condition);
+        params.addAll(List.of(conditionParams));
+        if (from != null) {
+            sql.append(" AND gh.game_ended_at >= ?");
+            params.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND gh.game_ended_at < ?");
+            params.add(Timestamp.valueOf(to));
+        }
+    }
+}
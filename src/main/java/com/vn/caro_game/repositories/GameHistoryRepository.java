@@ -1,5 +1,7 @@
 package com.vn.caro_game.repositories;
 
+import com.vn.caro_game.dtos.AchievementGame;
+import com.vn.caro_game.dtos.OpeningGame;
 import com.vn.caro_game.entities.GameHistory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,9 +11,10 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface GameHistoryRepository extends JpaRepository<GameHistory, Long> {
+public interface GameHistoryRepository extends JpaRepository<GameHistory, Long>, GameExportRepository {
     
     /**
      * Find all game history for a specific user (either winner or loser) with pagination
@@ -41,4 +44,42 @@ public interface GameHistoryRepository extends JpaRepository<GameHistory, Long>
      */
     @Query("SELECT COUNT(gh) FROM GameHistory gh WHERE gh.loserId = :userId")
     Long getLossCountByUserId(@Param("userId") Long userId);
+
+    /**
+     * Find game history after a keyset cursor, in the order it was written
+     */
+    List<GameHistory> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // The match of a history row is the latest match started in the room before the game ended,
+    // the same rule the game export uses
+    String OPENING_GAME_SELECT =
+            "SELECT new com.vn.caro_game.dtos.OpeningGame(gh.id, gm.id, gm.playerX.id, gm.playerO.id, " +
+            "gh.winnerId, gh.loserId, gm.startTime) " +
+            "FROM GameHistory gh, GameMatch gm WHERE gm.id = (SELECT MAX(m2.id) FROM GameMatch m2 " +
+            "WHERE m2.room.id = gh.roomId AND (gh.gameEndedAt IS NULL OR m2.startTime IS NULL " +
+            "OR m2.startTime <= gh.gameEndedAt)) ";
+
+    /**
+     * Find finished games with their matches after a keyset cursor, in the order they were written
+     */
+    @Query(OPENING_GAME_SELECT + "AND gh.id > :afterId ORDER BY gh.id ASC")
+    List<OpeningGame> findOpeningGames(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Find one finished game with its match
+     */
+    @Query(OPENING_GAME_SELECT + "AND gh.id = :historyId")
+    Optional<OpeningGame> findOpeningGame(@Param("historyId") Long historyId);
+
+    /**
+     * Find game history with its match's players and move count after a keyset cursor,
+     * in the order it was written; games without a match are included with nulls
+     */
+    @Query("SELECT new com.vn.caro_game.dtos.AchievementGame(gh.id, gh.winnerId, gh.loserId, gh.endReason, " +
+           "gm.playerX.id, gm.playerO.id, gm.moveCount, COALESCE(gh.gameEndedAt, gh.createdAt)) " +
+           "FROM GameHistory gh LEFT JOIN GameMatch gm ON gm.id = (SELECT MAX(m2.id) FROM GameMatch m2 " +
+           "WHERE m2.room.id = gh.roomId AND (gh.gameEndedAt IS NULL OR m2.startTime IS NULL " +
+           "OR m2.startTime <= gh.gameEndedAt)) " +
+           "WHERE gh.id > :afterId ORDER BY gh.id ASC")
+    List<AchievementGame> findAchievementGames(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -3,11 +3,15 @@ package com.vn.caro_game.repositories;
 import com.vn.caro_game.entities.GameMatch;
 import com.vn.caro_game.entities.GameRoom;
 import com.vn.caro_game.enums.GameResult;
+import com.vn.caro_game.enums.GameState;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +29,10 @@ public interface GameMatchRepository extends JpaRepository<GameMatch, Long> {
     Optional<GameMatch> findByRoomIdAndResult(@Param("roomId") Long roomId, 
                                             @Param("result") GameResult result);
     
+    @Query("SELECT gm.playerX.id, gm.playerO.id FROM GameMatch gm WHERE gm.room.id = :roomId " +
+           "AND gm.result = com.vn.caro_game.enums.GameResult.DRAW ORDER BY gm.endTime DESC")
+    List<Object[]> findDrawPlayerIds(@Param("roomId") Long roomId, Pageable pageable);
+
     @Query("SELECT gm FROM GameMatch gm WHERE (gm.playerX.id = :userId OR gm.playerO.id = :userId) " +
            "AND gm.result = :result ORDER BY gm.startTime DESC")
     List<GameMatch> findByPlayerIdAndResult(@Param("userId") Long userId, 
@@ -35,4 +43,25 @@ public interface GameMatchRepository extends JpaRepository<GameMatch, Long> {
     
     @Query("SELECT COUNT(gm) FROM GameMatch gm WHERE gm.playerO.id = :userId AND gm.result = 'O_WIN'")
     long countWinsByPlayerO(@Param("userId") Long userId);
+    
+    @Query("SELECT gm.id FROM GameMatch gm WHERE gm.startTime < :cutoff AND gm.room.gameState <> :activeState " +
+           "AND EXISTS (SELECT 1 FROM Move m WHERE m.match = gm) ORDER BY gm.id ASC")
+    List<Long> findArchivableMatchIds(@Param("cutoff") LocalDateTime cutoff,
+                                      @Param("activeState") GameState activeState,
+                                      Pageable pageable);
+    
+    // Latest match started in the room by the given time first, the match a game history belongs to
+    @Query("SELECT gm.moveCount FROM GameMatch gm WHERE gm.room.id = :roomId " +
+           "AND (gm.startTime IS NULL OR gm.startTime <= :endedAt) ORDER BY gm.id DESC")
+    List<Integer> findMoveCounts(@Param("roomId") Long roomId, @Param("endedAt") LocalDateTime endedAt,
+                                 Pageable pageable);
+    
+    @Query("SELECT gm FROM GameMatch gm WHERE gm.room.id = :roomId " +
+           "AND (gm.startTime IS NULL OR gm.startTime <= :endedAt) ORDER BY gm.id DESC")
+    List<GameMatch> findHistoryMatches(@Param("roomId") Long roomId, @Param("endedAt") LocalDateTime endedAt,
+                                       Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM GameMatch gm WHERE gm.room.id IN :roomIds")
+    int deleteByRoomIdIn(@Param("roomIds") List<Long> roomIds);
 }
@@ -1,14 +1,22 @@
 package com.vn.caro_game.repositories;
 
+import com.vn.caro_game.dtos.LobbyRoomSummary;
 import com.vn.caro_game.entities.GameRoom;
+import com.vn.caro_game.enums.GameState;
 import com.vn.caro_game.enums.RoomStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -76,6 +84,45 @@ public interface GameRoomRepository extends JpaRepository<GameRoom, Long> {
            "ORDER BY r.createdAt DESC")
     Page<GameRoom> findPublicWaitingRooms(Pageable pageable);
 
+    /**
+     * Lists public waiting rooms together with their player counts in one query.
+     * 
+     * @param pageable pagination information
+     * @return page of lobby room summaries
+     */
+    @Query(value = "SELECT new com.vn.caro_game.dtos.LobbyRoomSummary(r.id, r.name, u.displayName, r.createdAt, COUNT(rp)) " +
+           "FROM GameRoom r JOIN r.createdBy u LEFT JOIN r.roomPlayers rp " +
+           "WHERE r.isPrivate = false AND r.status = com.vn.caro_game.enums.RoomStatus.WAITING " +
+           "GROUP BY r.id, r.name, u.displayName, r.createdAt " +
+           "ORDER BY r.createdAt DESC",
+           countQuery = "SELECT COUNT(r) FROM GameRoom r " +
+           "WHERE r.isPrivate = false AND r.status = com.vn.caro_game.enums.RoomStatus.WAITING")
+    Page<LobbyRoomSummary> findPublicWaitingRoomSummaries(Pageable pageable);
+
+    /**
+     * Lists all public waiting rooms with their player counts, for warming the lobby index.
+     * 
+     * @return lobby room summaries
+     */
+    @Query("SELECT new com.vn.caro_game.dtos.LobbyRoomSummary(r.id, r.name, u.displayName, r.createdAt, COUNT(rp)) " +
+           "FROM GameRoom r JOIN r.createdBy u LEFT JOIN r.roomPlayers rp " +
+           "WHERE r.isPrivate = false AND r.status = com.vn.caro_game.enums.RoomStatus.WAITING " +
+           "GROUP BY r.id, r.name, u.displayName, r.createdAt")
+    List<LobbyRoomSummary> findAllPublicWaitingRoomSummaries();
+
+    /**
+     * Reads the lobby summary of one room if it is public and waiting.
+     * 
+     * @param roomId the room ID
+     * @return the summary, or empty if the room is private, not waiting or missing
+     */
+    @Query("SELECT new com.vn.caro_game.dtos.LobbyRoomSummary(r.id, r.name, u.displayName, r.createdAt, COUNT(rp)) " +
+           "FROM GameRoom r JOIN r.createdBy u LEFT JOIN r.roomPlayers rp " +
+           "WHERE r.id = :roomId AND r.isPrivate = false " +
+           "AND r.status = com.vn.caro_game.enums.RoomStatus.WAITING " +
+           "GROUP BY r.id, r.name, u.displayName, r.createdAt")
+    Optional<LobbyRoomSummary> findLobbyRoomSummary(@Param("roomId") Long roomId);
+
     /**
      * Finds rooms created by a specific user with pagination.
      * 
@@ -197,4 +244,58 @@ public interface GameRoomRepository extends JpaRepository<GameRoom, Long> {
            "COUNT(CASE WHEN rp.readyState = com.vn.caro_game.enums.PlayerReadyState.READY THEN 1 END) = 2) " +
            "FROM RoomPlayer rp WHERE rp.room.id = :roomId")
     boolean areBothPlayersReady(@Param("roomId") Long roomId);
+
+    /**
+     * Finds rooms with no game history that are past their grace period, locking them
+     * and skipping rows a live request already holds. Keyset-paged by ID.
+     * 
+     * @param afterId only rooms with a greater ID are returned
+     * @param activeState game state of rooms that must never be reaped
+     * @param emptyBefore empty rooms created before this time qualify
+     * @param staleBefore any room created before this time qualifies
+     * @param pageable batch size
+     * @return rooms ordered by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM GameRoom r WHERE r.id > :afterId AND r.gameState <> :activeState " +
+           "AND NOT EXISTS (SELECT 1 FROM GameHistory gh WHERE gh.roomId = r.id) " +
+           "AND (r.createdAt < :staleBefore OR (r.createdAt < :emptyBefore " +
+           "AND NOT EXISTS (SELECT 1 FROM RoomPlayer rp WHERE rp.room = r))) " +
+           "ORDER BY r.id ASC")
+    List<GameRoom> findReapableRoomsForUpdate(@Param("afterId") Long afterId,
+                                              @Param("activeState") GameState activeState,
+                                              @Param("emptyBefore") LocalDateTime emptyBefore,
+                                              @Param("staleBefore") LocalDateTime staleBefore,
+                                              Pageable pageable);
+
+    /**
+     * Finds finished rooms idle since before the cutoff that still have players attached,
+     * locking them and skipping rows a live request already holds. Keyset-paged by ID.
+     * 
+     * @param afterId only rooms with a greater ID are returned
+     * @param finishedStatus status of finished rooms
+     * @param activeState game state of rooms that must never be touched
+     * @param idleBefore rooms whose game ended (or that were created) before this time qualify
+     * @param pageable batch size
+     * @return rooms ordered by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM GameRoom r WHERE r.id > :afterId AND r.status = :finishedStatus " +
+           "AND r.gameState <> :activeState AND COALESCE(r.gameEndedAt, r.createdAt) < :idleBefore " +
+           "AND EXISTS (SELECT 1 FROM RoomPlayer rp WHERE rp.room = r) " +
+           "ORDER BY r.id ASC")
+    List<GameRoom> findIdleFinishedRoomsForUpdate(@Param("afterId") Long afterId,
+                                                  @Param("finishedStatus") RoomStatus finishedStatus,
+                                                  @Param("activeState") GameState activeState,
+                                                  @Param("idleBefore") LocalDateTime idleBefore,
+                                                  Pageable pageable);
+
+    /**
+     * Deletes rooms by ID. Child rows must be removed first.
+     */
+    @Modifying
+    @Query("DELETE FROM GameRoom r WHERE r.id IN :roomIds")
+    int deleteByIdIn(@Param("roomIds") List<Long> roomIds);
 }
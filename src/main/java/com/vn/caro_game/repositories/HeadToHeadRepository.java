@@ -0,0 +1,22 @@
+package com.vn.caro_game.repositories;
+
+import com.vn.caro_game.entities.HeadToHead;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface HeadToHeadRepository extends JpaRepository<HeadToHead, HeadToHead.HeadToHeadId> {
+
+    /**
+     * Find a pair's record and lock it until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM HeadToHead h WHERE h.id = :id")
+    Optional<HeadToHead> findByIdForUpdate(@Param("id") HeadToHead.HeadToHeadId id);
+}
@@ -0,0 +1,53 @@
+package com.vn.caro_game.repositories;
+
+import com.vn.caro_game.entities.HourlyActivityRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface HourlyActivityRollupRepository extends JpaRepository<HourlyActivityRollup, LocalDateTime> {
+
+    /**
+     * Find the buckets starting in [from, to), oldest first
+     */
+    List<HourlyActivityRollup> findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+            LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Create an empty bucket unless one exists; never blocks on or fails because of a
+     * concurrent insert of the same bucket
+     */
+    @Modifying
+    @Query(value = "INSERT INTO activity_rollup_hourly (bucket_start) VALUES (:bucketStart) " +
+                   "ON CONFLICT (bucket_start) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("bucketStart") LocalDateTime bucketStart);
+
+    /**
+     * Find a bucket and lock it until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM HourlyActivityRollup r WHERE r.bucketStart = :bucketStart")
+    Optional<HourlyActivityRollup> findByBucketStartForUpdate(@Param("bucketStart") LocalDateTime bucketStart);
+
+    /**
+     * Find the start of the oldest bucket, or null when there is none
+     */
+    @Query("SELECT MIN(r.bucketStart) FROM HourlyActivityRollup r")
+    LocalDateTime findOldestBucketStart();
+
+    /**
+     * Delete the buckets starting before the cutoff
+     */
+    @Modifying
+    @Query("DELETE FROM HourlyActivityRollup r WHERE r.bucketStart < :cutoff")
+    int deleteByBucketStartBefore(@Param("cutoff") LocalDateTime cutoff);
+}
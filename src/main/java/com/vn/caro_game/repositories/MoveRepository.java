@@ -1,22 +1,54 @@
 package com.vn.caro_game.repositories;
 
+import com.vn.caro_game.dtos.HeatmapMove;
+import com.vn.caro_game.dtos.OpeningMove;
 import com.vn.caro_game.entities.Move;
 import com.vn.caro_game.entities.GameMatch;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static com.vn.caro_game.utils.PartitionBounds.lowerBound;
+
 @Repository
 public interface MoveRepository extends JpaRepository<Move, Long> {
     
     List<Move> findByMatchIdOrderByMoveNumberAsc(Long matchId);
     
-    List<Move> findByMatchOrderByMoveNumber(GameMatch match);
+    // moves is range-partitioned by created_at; the match-based methods below bound it by the
+    // match start time so PostgreSQL only scans the partitions the match can live in
+    
+    default List<Move> findByMatchOrderByMoveNumber(GameMatch match) {
+        return findByMatchIdSince(match.getId(), lowerBound(match.getStartTime()));
+    }
+    
+    default int countByMatch(GameMatch match) {
+        return (int) countMovesByMatchIdSince(match.getId(), lowerBound(match.getStartTime()));
+    }
+    
+    default List<Move> findMoveRange(GameMatch match, Integer fromMove, Integer toMove) {
+        return findMoveRangeSince(match.getId(), lowerBound(match.getStartTime()), fromMove, toMove);
+    }
+    
+    @Query("SELECT m FROM Move m WHERE m.match.id = :matchId AND m.createdAt >= :since " +
+           "ORDER BY m.moveNumber ASC")
+    List<Move> findByMatchIdSince(@Param("matchId") Long matchId, @Param("since") LocalDateTime since);
+    
+    @Query("SELECT COUNT(m) FROM Move m WHERE m.match.id = :matchId AND m.createdAt >= :since")
+    long countMovesByMatchIdSince(@Param("matchId") Long matchId, @Param("since") LocalDateTime since);
     
-    int countByMatch(GameMatch match);
+    @Query("SELECT m FROM Move m JOIN FETCH m.player WHERE m.match.id = :matchId AND m.createdAt >= :since " +
+           "AND m.moveNumber BETWEEN :fromMove AND :toMove ORDER BY m.moveNumber ASC")
+    List<Move> findMoveRangeSince(@Param("matchId") Long matchId,
+                                  @Param("since") LocalDateTime since,
+                                  @Param("fromMove") Integer fromMove,
+                                  @Param("toMove") Integer toMove);
     
     @Query("SELECT m FROM Move m WHERE m.match.id = :matchId AND m.player.id = :playerId " +
            "ORDER BY m.moveNumber ASC")
@@ -35,4 +67,27 @@ public interface MoveRepository extends JpaRepository<Move, Long> {
     boolean existsByMatchIdAndXPositionAndYPosition(@Param("matchId") Long matchId, 
                                                    @Param("xPosition") Integer xPosition, 
                                                    @Param("yPosition") Integer yPosition);
+    
+    // Keyset page over one ID range of the heatmap backfill; reads only the columns it needs
+    @Query("SELECT new com.vn.caro_game.dtos.HeatmapMove(m.id, m.player.id, m.xPosition, m.yPosition, m.moveNumber) " +
+           "FROM Move m WHERE m.id > :afterId AND m.id <= :toId ORDER BY m.id ASC")
+    List<HeatmapMove> findHeatmapMoves(@Param("afterId") Long afterId, @Param("toId") Long toId, Pageable pageable);
+    
+    @Query("SELECT MAX(m.id) FROM Move m")
+    Long findMaxId();
+    
+    @Query("SELECT new com.vn.caro_game.dtos.OpeningMove(m.match.id, m.moveNumber, m.xPosition, m.yPosition) " +
+           "FROM Move m WHERE m.match.id IN :matchIds AND m.createdAt >= :since AND m.moveNumber <= :maxMoveNumber " +
+           "ORDER BY m.match.id ASC, m.moveNumber ASC")
+    List<OpeningMove> findOpeningMoves(@Param("matchIds") List<Long> matchIds,
+                                       @Param("since") LocalDateTime since,
+                                       @Param("maxMoveNumber") Integer maxMoveNumber);
+    
+    @Modifying
+    @Query("DELETE FROM Move m WHERE m.match.id = :matchId AND m.createdAt >= :since")
+    int deleteByMatchIdSince(@Param("matchId") Long matchId, @Param("since") LocalDateTime since);
+    
+    @Modifying
+    @Query("DELETE FROM Move m WHERE m.match.id IN (SELECT gm.id FROM GameMatch gm WHERE gm.room.id IN :roomIds)")
+    int deleteByRoomIdIn(@Param("roomIds") List<Long> roomIds);
 }
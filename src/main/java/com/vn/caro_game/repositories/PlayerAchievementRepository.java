@@ -0,0 +1,13 @@
+package com.vn.caro_game.repositories;
+
+import com.vn.caro_game.entities.PlayerAchievement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PlayerAchievementRepository extends JpaRepository<PlayerAchievement, Long> {
+
+    List<PlayerAchievement> findByUserId(Long userId);
+}
@@ -0,0 +1,32 @@
+package com.vn.caro_game.repositories;
+
+import com.vn.caro_game.entities.PlayerHeatmap;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PlayerHeatmapRepository extends JpaRepository<PlayerHeatmap, Long> {
+
+    /**
+     * Create an empty heatmap row for a user unless one exists; never blocks on or fails
+     * because of a concurrent insert of the same row
+     */
+    @Modifying
+    @Query(value = "INSERT INTO player_heatmap (user_id, move_count) VALUES (:userId, 0) " +
+                   "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+
+    /**
+     * Find a user's heatmap row and lock it until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM PlayerHeatmap h WHERE h.userId = :userId")
+    Optional<PlayerHeatmap> findByUserIdForUpdate(@Param("userId") Long userId);
+}
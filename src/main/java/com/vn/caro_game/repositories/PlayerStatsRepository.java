@@ -0,0 +1,50 @@
+package com.vn.caro_game.repositories;
+
+import com.vn.caro_game.dtos.LeaderboardEntry;
+import com.vn.caro_game.entities.PlayerStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PlayerStatsRepository extends JpaRepository<PlayerStats, Long> {
+
+    /**
+     * Create an empty statistics row for a user unless one exists; never blocks on or fails
+     * because of a concurrent insert of the same row
+     */
+    @Modifying
+    @Query(value = "INSERT INTO player_stats (user_id, wins, losses, draws, timed_games, total_duration_minutes, " +
+                   "current_win_streak, best_win_streak) VALUES (:userId, 0, 0, 0, 0, 0, 0, 0) " +
+                   "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+
+    /**
+     * Find a user's statistics row and lock it until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ps FROM PlayerStats ps WHERE ps.userId = :userId")
+    Optional<PlayerStats> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    /**
+     * Find the leaderboard figures of every player with at least the given number of games
+     */
+    @Query("SELECT new com.vn.caro_game.dtos.LeaderboardEntry(ps.userId, ps.wins, ps.wins + ps.losses + ps.draws, " +
+           "COALESCE(ps.lastGameHistoryId, 0L)) FROM PlayerStats ps WHERE ps.wins + ps.losses + ps.draws >= :minGames")
+    List<LeaderboardEntry> findLeaderboardEntries(@Param("minGames") long minGames);
+
+    /**
+     * Find the leaderboard figures of the given players
+     */
+    @Query("SELECT new com.vn.caro_game.dtos.LeaderboardEntry(ps.userId, ps.wins, ps.wins + ps.losses + ps.draws, " +
+           "COALESCE(ps.lastGameHistoryId, 0L)) FROM PlayerStats ps WHERE ps.userId IN :userIds")
+    List<LeaderboardEntry> findLeaderboardEntriesByUserIds(@Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,32 @@
+package com.vn.caro_game.repositories;
+
+import com.vn.caro_game.entities.PlayerThinkTime;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PlayerThinkTimeRepository extends JpaRepository<PlayerThinkTime, Long> {
+
+    /**
+     * Create an empty think time row for a user unless one exists; never blocks on or fails
+     * because of a concurrent insert of the same row
+     */
+    @Modifying
+    @Query(value = "INSERT INTO player_think_time (user_id, move_count, total_think_ms) VALUES (:userId, 0, 0) " +
+                   "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+
+    /**
+     * Find a user's think time row and lock it until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM PlayerThinkTime t WHERE t.userId = :userId")
+    Optional<PlayerThinkTime> findByUserIdForUpdate(@Param("userId") Long userId);
+}
@@ -0,0 +1,16 @@
+package com.vn.caro_game.repositories;
+
+import com.vn.caro_game.entities.RatingHistory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RatingHistoryRepository extends JpaRepository<RatingHistory, Long> {
+
+    /**
+     * Find a user's rating changes, newest first
+     */
+    Page<RatingHistory> findByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+}
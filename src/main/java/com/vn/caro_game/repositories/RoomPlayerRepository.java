@@ -88,4 +88,22 @@ public interface RoomPlayerRepository extends JpaRepository<RoomPlayer, RoomPlay
      * @return number of players in the room
      */
     Integer countByRoom_Id(Long roomId);
+
+    /**
+     * Removes all players from the given rooms.
+     * 
+     * @param roomIds the room IDs
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM RoomPlayer rp WHERE rp.room.id IN :roomIds")
+    int deleteByRoomIdIn(@Param("roomIds") List<Long> roomIds);
+
+    /**
+     * Lists every seat as {@code [roomId, roomStatus, userId]}, for warming the in-memory room registry.
+     * 
+     * @return one row per room player
+     */
+    @Query("SELECT rp.id.roomId, r.status, rp.id.userId FROM RoomPlayer rp JOIN rp.room r")
+    List<Object[]> findAllSeats();
 }
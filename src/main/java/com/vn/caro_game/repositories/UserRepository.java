@@ -34,4 +34,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
            "u.id IN (SELECT gh.winnerId FROM GameHistory gh WHERE gh.winnerId IS NOT NULL) OR " +
            "u.id IN (SELECT gh.loserId FROM GameHistory gh WHERE gh.loserId IS NOT NULL)")
     List<User> findUsersWithGameHistory();
+
+    @Modifying
+    @Query("UPDATE User u SET u.rating = :rating, u.ratedGames = :ratedGames WHERE u.id = :userId")
+    int updateRating(@Param("userId") Long userId, @Param("rating") int rating, @Param("ratedGames") int ratedGames);
+
+    @Modifying
+    @Query("UPDATE User u SET u.rating = :rating, u.ratedGames = 0")
+    int resetRatings(@Param("rating") int rating);
 }
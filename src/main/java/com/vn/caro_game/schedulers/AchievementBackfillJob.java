@@ -0,0 +1,158 @@
+package com.vn.caro_game.schedulers;
+
+import com.vn.caro_game.dtos.AchievementGame;
+import com.vn.caro_game.entities.AchievementProgress;
+import com.vn.caro_game.entities.PlayerAchievement;
+import com.vn.caro_game.enums.Achievement;
+import com.vn.caro_game.enums.GameEndReason;
+import com.vn.caro_game.enums.GameResult;
+import com.vn.caro_game.services.interfaces.AchievementService;
+import com.vn.caro_game.utils.AchievementTracker;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * One-off job that rebuilds every player's achievement progress and unlocks by replaying
+ * the game history.
+ *
+ * <p>Games are read in the order they were written, a page at a time, with their match's
+ * players and move count, and replayed in memory, because streaks depend on the order of a
+ * player's games. The replay is cheap; the writes are not, so each page of unlocks and the
+ * final progress rows are saved by a pool of writers, one transaction per batch.</p>
+ *
+ * <p>Enable {@code app.achievements.backfill.enabled} for one start, then switch it off
+ * again. Games that finish while the job runs are overwritten by the replay, so run it
+ * while the game is closed.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AchievementBackfillJob {
+
+    final AchievementService achievementService;
+
+    @Value("${app.achievements.backfill.enabled:false}")
+    boolean enabled;
+
+    @Value("${app.achievements.backfill.batch-size:500}")
+    int batchSize;
+
+    @Value("${app.achievements.backfill.threads:4}")
+    int threads;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    public void backfill() {
+        long started = System.currentTimeMillis();
+        achievementService.resetAchievements();
+
+        Map<Long, AchievementProgress> progress = new HashMap<>();
+        List<Future<?>> writes = new ArrayList<>();
+        ExecutorService writers = Executors.newFixedThreadPool(threads);
+        int replayed = 0;
+        int unlocked = 0;
+        try {
+            long cursor = 0;
+            List<AchievementGame> games;
+            while (!(games = achievementService.findGamesToReplay(cursor, batchSize)).isEmpty()) {
+                List<PlayerAchievement> unlocks = new ArrayList<>();
+                for (AchievementGame game : games) {
+                    cursor = game.historyId();
+                    if (replay(game, progress, unlocks)) {
+                        replayed++;
+                    }
+                }
+                if (!unlocks.isEmpty()) {
+                    unlocked += unlocks.size();
+                    writes.add(writers.submit(() -> achievementService.saveReplayedUnlocks(unlocks)));
+                }
+            }
+
+            List<AchievementProgress> rows = new ArrayList<>(progress.values());
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                List<AchievementProgress> batch = rows.subList(from, Math.min(from + batchSize, rows.size()));
+                writes.add(writers.submit(() -> achievementService.saveReplayedProgress(batch)));
+            }
+            awaitAll(writes);
+        } finally {
+            writers.shutdown();
+        }
+
+        log.info("Achievement backfill finished: {} games replayed, {} unlocks, {} players, took {} ms",
+                replayed, unlocked, progress.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Applies one game to both players' in-memory progress and collects its unlocks
+     *
+     * @return false if the game's players are unknown
+     */
+    private boolean replay(AchievementGame game, Map<Long, AchievementProgress> progress,
+                           List<PlayerAchievement> unlocks) {
+        Long firstId = game.isDraw() ? game.playerXId() : game.winnerId();
+        Long secondId = game.isDraw() ? game.playerOId() : game.loserId();
+        if (firstId == null || secondId == null || firstId.equals(secondId)) {
+            return false;
+        }
+        boolean quickWin = game.endReason() == GameEndReason.WIN && AchievementTracker.isQuickWin(game.moveCount());
+        advance(progress, firstId, game.isDraw() ? GameResult.DRAW : GameResult.WIN, quickWin, game, unlocks);
+        advance(progress, secondId, game.isDraw() ? GameResult.DRAW : GameResult.LOSE, false, game, unlocks);
+        return true;
+    }
+
+    private static void advance(Map<Long, AchievementProgress> progress, Long userId, GameResult result,
+                                boolean quickWin, AchievementGame game, List<PlayerAchievement> unlocks) {
+        AchievementProgress player = progress.computeIfAbsent(userId, AchievementBackfillJob::initial);
+        for (Achievement achievement : AchievementTracker.advance(player, result, quickWin, game.historyId())) {
+            PlayerAchievement unlock = new PlayerAchievement();
+            unlock.setUserId(userId);
+            unlock.setAchievement(achievement);
+            unlock.setGameHistoryId(game.historyId());
+            unlock.setUnlockedAt(game.playedAt());
+            unlocks.add(unlock);
+        }
+    }
+
+    private static AchievementProgress initial(Long userId) {
+        AchievementProgress progress = new AchievementProgress();
+        progress.setUserId(userId);
+        return progress;
+    }
+
+    private void awaitAll(List<Future<?>> writes) {
+        for (Future<?> write : writes) {
+            try {
+                write.get();
+            } catch (ExecutionException e) {
+                log.error("Achievement backfill write failed: {}", e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
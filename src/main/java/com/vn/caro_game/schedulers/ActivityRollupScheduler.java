@@ -0,0 +1,70 @@
+package com.vn.caro_game.schedulers;
+
+import com.vn.caro_game.entities.ActivityRollup;
+import com.vn.caro_game.services.interfaces.ActivityRollupService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Flushes the in-memory activity counters into the hourly rollups and downsamples them.
+ *
+ * <p>Every interval the number of active rooms is sampled and completed minutes are added to
+ * their hour's row. If the write fails the counters are put back and retried on the next
+ * flush. Once a night hourly rows are summed into daily rows and both are trimmed to their
+ * retention windows.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ActivityRollupScheduler {
+
+    final ActivityRollupService activityRollupService;
+
+    @Value("${app.activity.enabled:true}")
+    boolean enabled;
+
+    @Value("${app.activity.hourly-retention-days:14}")
+    int hourlyRetentionDays;
+
+    @Value("${app.activity.daily-retention-days:730}")
+    int dailyRetentionDays;
+
+    @Scheduled(fixedDelayString = "${app.activity.flush-interval-ms:60000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        activityRollupService.sampleActiveRooms();
+        List<ActivityRollup> completed = activityRollupService.drainCompleted();
+        if (completed.isEmpty()) {
+            return;
+        }
+        try {
+            activityRollupService.writeHourly(completed);
+        } catch (DataAccessException e) {
+            log.warn("Failed to flush {} activity rollup hours, retrying on the next flush: {}",
+                    completed.size(), e.getMessage());
+            activityRollupService.restore(completed);
+        }
+    }
+
+    @Scheduled(cron = "${app.activity.downsample-cron:0 15 0 * * *}")
+    public void downsample() {
+        if (!enabled) {
+            return;
+        }
+        activityRollupService.downsample(hourlyRetentionDays, dailyRetentionDays);
+    }
+}
@@ -0,0 +1,71 @@
+package com.vn.caro_game.schedulers;
+
+import com.vn.caro_game.services.interfaces.MatchArchivalService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Nightly job that moves matches and chat older than the retention window to cold storage.
+ *
+ * <p>Work is split into small transactions so row locks on {@code moves} and
+ * {@code chat_messages} are held only briefly.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ArchivalScheduler {
+
+    final MatchArchivalService matchArchivalService;
+
+    @Value("${app.archive.enabled:false}")
+    boolean enabled;
+
+    @Value("${app.archive.retention-days:90}")
+    int retentionDays;
+
+    @Value("${app.archive.batch-size:100}")
+    int batchSize;
+
+    @Value("${app.archive.max-batches-per-run:1000}")
+    int maxBatchesPerRun;
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void archiveOldMatches() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long started = System.currentTimeMillis();
+
+        int matches = 0;
+        int rooms = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int archived = matchArchivalService.archiveMatchBatch(cutoff, batchSize);
+            matches += archived;
+            if (archived < batchSize) {
+                break;
+            }
+        }
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int archived = matchArchivalService.archiveChatBatch(cutoff, batchSize);
+            rooms += archived;
+            if (archived < batchSize) {
+                break;
+            }
+        }
+
+        log.info("Archival run finished: {} matches, chat of {} rooms, cutoff {}, took {} ms",
+                matches, rooms, cutoff, System.currentTimeMillis() - started);
+    }
+}
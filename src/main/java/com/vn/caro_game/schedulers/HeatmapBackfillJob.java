@@ -0,0 +1,111 @@
+package com.vn.caro_game.schedulers;
+
+import com.vn.caro_game.services.interfaces.HeatmapService;
+import com.vn.caro_game.utils.BoardHeatmap;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * One-off job that rebuilds every board heatmap from the moves table.
+ *
+ * <p>The move IDs are split into one range per thread, and each thread reads its range a
+ * page at a time by ID, counting into its own heatmaps, so the threads share nothing until
+ * their results are merged. The heatmaps are then swapped in with one transaction.</p>
+ *
+ * <p>Enable {@code app.heatmap.backfill.enabled} for one start, then switch it off again.
+ * Moves of archived matches are no longer in the moves table and are not counted. Moves
+ * played while the job runs may be lost from the heatmaps, so run it while the game is
+ * closed.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class HeatmapBackfillJob {
+
+    final HeatmapService heatmapService;
+
+    @Value("${app.heatmap.backfill.enabled:false}")
+    boolean enabled;
+
+    @Value("${app.heatmap.backfill.batch-size:5000}")
+    int batchSize;
+
+    @Value("${app.heatmap.backfill.threads:4}")
+    int threads;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    public void backfill() {
+        long started = System.currentTimeMillis();
+        long lastMoveId = heatmapService.findLastMoveId();
+        long rangeSize = Math.max(1, (lastMoveId + threads - 1) / threads);
+
+        Map<Long, BoardHeatmap> heatmaps = new HashMap<>();
+        List<Future<Map<Long, BoardHeatmap>>> scans = new ArrayList<>();
+        ExecutorService readers = Executors.newFixedThreadPool(threads);
+        try {
+            for (long afterId = 0; afterId < lastMoveId; afterId += rangeSize) {
+                long from = afterId;
+                long to = Math.min(afterId + rangeSize, lastMoveId);
+                scans.add(readers.submit(() -> heatmapService.computeFromMoves(from, to, batchSize)));
+            }
+            if (!awaitAll(scans, heatmaps)) {
+                log.error("Board heatmap backfill aborted; stored heatmaps were left unchanged");
+                return;
+            }
+        } finally {
+            readers.shutdown();
+        }
+
+        heatmapService.replaceAll(heatmaps);
+        log.info("Board heatmap backfill finished: {} players from moves up to ID {}, took {} ms",
+                heatmaps.size(), lastMoveId, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Merges each range's heatmaps as it finishes
+     *
+     * @return false if a range failed, since the heatmaps would then be missing moves
+     */
+    private boolean awaitAll(List<Future<Map<Long, BoardHeatmap>>> scans, Map<Long, BoardHeatmap> heatmaps) {
+        for (Future<Map<Long, BoardHeatmap>> scan : scans) {
+            try {
+                scan.get().forEach((userId, heatmap) -> heatmaps.merge(userId, heatmap, (merged, range) -> {
+                    merged.merge(range);
+                    return merged;
+                }));
+            } catch (ExecutionException e) {
+                log.error("Board heatmap backfill scan failed: {}", e.getCause().getMessage());
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+}
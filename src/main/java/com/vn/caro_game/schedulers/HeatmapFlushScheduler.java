@@ -0,0 +1,45 @@
+package com.vn.caro_game.schedulers;
+
+import com.vn.caro_game.services.interfaces.HeatmapService;
+import com.vn.caro_game.utils.BoardHeatmap;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Flushes the board heatmap counts kept in memory into the players' heatmap rows.
+ *
+ * <p>If the write fails the counts are put back and retried on the next flush.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class HeatmapFlushScheduler {
+
+    final HeatmapService heatmapService;
+
+    @Scheduled(fixedDelayString = "${app.heatmap.flush-interval-ms:30000}")
+    public void flush() {
+        Map<Long, BoardHeatmap> pending = heatmapService.drainPending();
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            heatmapService.writePending(pending);
+        } catch (DataAccessException e) {
+            log.warn("Failed to flush board heatmaps of {} players, retrying on the next flush: {}",
+                    pending.size(), e.getMessage());
+            heatmapService.restore(pending);
+        }
+    }
+}
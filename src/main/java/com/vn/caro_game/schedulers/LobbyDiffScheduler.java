@@ -0,0 +1,102 @@
+package com.vn.caro_game.schedulers;
+
+import com.vn.caro_game.dtos.response.PublicRoomResponse;
+import com.vn.caro_game.dtos.websocket.LobbyDiffMessage;
+import com.vn.caro_game.enums.LobbyFilter;
+import com.vn.caro_game.mappers.GameRoomMapper;
+import com.vn.caro_game.services.interfaces.LobbyIndexService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes coalesced lobby diffs.
+ *
+ * <p>Every interval the rooms whose lobby entry changed are collected from the
+ * {@link LobbyIndexService} and one diff per {@link LobbyFilter} is sent to that filter's
+ * topic, carrying the current state of each changed room that matches the filter and the
+ * IDs of changed rooms that do not (any more). A room that changes many times within an
+ * interval is sent once, and views without changes get no frame.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+public class LobbyDiffScheduler {
+
+    private final LobbyIndexService lobbyIndexService;
+    private final GameRoomMapper gameRoomMapper;
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final Map<LobbyFilter, AtomicLong> sequences = new EnumMap<>(LobbyFilter.class);
+    // Per view: whether each room was last sent as present; rooms never sent are unknown
+    private final Map<LobbyFilter, Map<Long, Boolean>> lastSent = new EnumMap<>(LobbyFilter.class);
+
+    public LobbyDiffScheduler(LobbyIndexService lobbyIndexService, GameRoomMapper gameRoomMapper,
+                              SimpMessageSendingOperations messagingTemplate) {
+        this.lobbyIndexService = lobbyIndexService;
+        this.gameRoomMapper = gameRoomMapper;
+        this.messagingTemplate = messagingTemplate;
+        for (LobbyFilter filter : LobbyFilter.values()) {
+            sequences.put(filter, new AtomicLong());
+            lastSent.put(filter, new HashMap<>());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.lobby.diff-interval-ms:1000}")
+    public void publishDiffs() {
+        List<Long> changedRoomIds = lobbyIndexService.drainChangedRoomIds();
+        if (changedRoomIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, PublicRoomResponse> current = new LinkedHashMap<>();
+        for (Long roomId : changedRoomIds) {
+            Optional<PublicRoomResponse> room = lobbyIndexService.findRoom(roomId)
+                    .map(gameRoomMapper::mapToPublicRoomResponse);
+            current.put(roomId, room.orElse(null));
+        }
+
+        for (LobbyFilter filter : LobbyFilter.values()) {
+            Map<Long, Boolean> sent = lastSent.get(filter);
+            List<PublicRoomResponse> upserted = new ArrayList<>();
+            List<Long> removed = new ArrayList<>();
+            current.forEach((roomId, room) -> {
+                if (room != null && filter.matches(room)) {
+                    upserted.add(room);
+                    sent.put(roomId, true);
+                } else if (!Boolean.FALSE.equals(sent.get(roomId))) {
+                    removed.add(roomId);
+                    if (room != null) {
+                        sent.put(roomId, false);
+                    } else {
+                        sent.remove(roomId);
+                    }
+                } else if (room == null) {
+                    sent.remove(roomId);
+                }
+            });
+            if (upserted.isEmpty() && removed.isEmpty()) {
+                continue;
+            }
+            LobbyDiffMessage diff = new LobbyDiffMessage(sequences.get(filter).incrementAndGet(),
+                    upserted, removed, System.currentTimeMillis());
+            try {
+                messagingTemplate.convertAndSend(filter.getDestination(), diff);
+            } catch (Exception e) {
+                log.error("Error broadcasting lobby diff to {}: {}", filter.getDestination(), e.getMessage());
+            }
+        }
+        log.debug("Published lobby diffs for {} rooms", changedRoomIds.size());
+    }
+}
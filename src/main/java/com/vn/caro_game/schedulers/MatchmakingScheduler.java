@@ -0,0 +1,29 @@
+package com.vn.caro_game.schedulers;
+
+import com.vn.caro_game.services.interfaces.MatchmakingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the quick play pairing tick.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class MatchmakingScheduler {
+
+    private final MatchmakingService matchmakingService;
+
+    @Scheduled(fixedDelayString = "${app.matchmaking.tick-ms:1000}")
+    public void pairPlayers() {
+        int rooms = matchmakingService.runPairingTick();
+        if (rooms > 0) {
+            log.debug("Matchmaking created {} rooms, {} players still waiting", rooms, matchmakingService.getQueueSize());
+        }
+    }
+}
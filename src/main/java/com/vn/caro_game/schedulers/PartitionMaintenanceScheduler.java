@@ -0,0 +1,67 @@
+package com.vn.caro_game.schedulers;
+
+import com.vn.caro_game.services.interfaces.PartitionMaintenanceService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Keeps the monthly partitions of moves and chat_messages ahead of time and, when
+ * {@code app.partitioning.retire-expired} is set, drops expired partitions the archive has emptied.
+ *
+ * <p>Runs once at startup, so a server that was down over a month boundary never inserts
+ * into a missing partition, and then daily.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PartitionMaintenanceScheduler {
+
+    final PartitionMaintenanceService partitionMaintenanceService;
+
+    @Value("${app.partitioning.enabled:false}")
+    boolean enabled;
+
+    @Value("${app.partitioning.months-ahead:3}")
+    int monthsAhead;
+
+    @Value("${app.partitioning.retention-months:12}")
+    int retentionMonths;
+
+    @Value("${app.partitioning.retire-expired:false}")
+    boolean retireExpired;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${app.partitioning.cron:0 0 2 * * *}")
+    public void maintainPartitions() {
+        if (!enabled) {
+            return;
+        }
+        if (!partitionMaintenanceService.isPartitioningAvailable()) {
+            log.debug("Skipping partition maintenance: tables are not partitioned");
+            return;
+        }
+        YearMonth currentMonth = YearMonth.now();
+        int created = partitionMaintenanceService.createFuturePartitions(currentMonth, monthsAhead);
+        int retired = retireExpired
+                ? partitionMaintenanceService.retireExpiredPartitions(currentMonth, retentionMonths)
+                : 0;
+        log.info("Partition maintenance finished: {} created, {} retired", created, retired);
+    }
+}
@@ -0,0 +1,71 @@
+package com.vn.caro_game.schedulers;
+
+import com.vn.caro_game.entities.HeadToHead;
+import com.vn.caro_game.entities.PlayerStats;
+import com.vn.caro_game.services.interfaces.HeadToHeadService;
+import com.vn.caro_game.services.interfaces.LeaderboardService;
+import com.vn.caro_game.services.interfaces.PlayerStatsService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * One-off job that recomputes every player's statistics and head-to-head records from the
+ * game history.
+ *
+ * <p>The statistics are built in memory and swapped in with one transaction, so readers
+ * see either the old rows or the new ones. It runs by itself on a start that finds no
+ * statistics but some game history, as after creating the {@code player_stats} and
+ * {@code head_to_head} tables; enable {@code app.stats.rebuild.enabled} for one start to
+ * force it, then switch it off again.
+ * The leaderboard is reloaded from the new rows.
+ * Games that finish while the job runs are lost from the statistics, so run it while the
+ * game is closed.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PlayerStatsRebuildJob {
+
+    final PlayerStatsService playerStatsService;
+    final HeadToHeadService headToHeadService;
+    final LeaderboardService leaderboardService;
+
+    @Value("${app.stats.rebuild.enabled:false}")
+    boolean enabled;
+
+    @Value("${app.stats.rebuild.batch-size:500}")
+    int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        } else if (playerStatsService.isMissingStats()) {
+            log.info("No player statistics stored yet, computing them from the game history");
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        Collection<PlayerStats> stats = playerStatsService.computeFromHistory(batchSize);
+        playerStatsService.replaceAll(stats);
+        leaderboardService.reload();
+        Collection<HeadToHead> records = headToHeadService.computeFromHistory(batchSize);
+        headToHeadService.replaceAll(records);
+        log.info("Player statistics rebuilt for {} players and {} pairs, took {} ms",
+                stats.size(), records.size(), System.currentTimeMillis() - started);
+    }
+}
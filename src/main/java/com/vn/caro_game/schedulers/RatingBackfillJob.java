@@ -0,0 +1,178 @@
+package com.vn.caro_game.schedulers;
+
+import com.vn.caro_game.constants.GameRoomConstants;
+import com.vn.caro_game.dtos.PlayerRating;
+import com.vn.caro_game.dtos.RatedGame;
+import com.vn.caro_game.entities.RatingHistory;
+import com.vn.caro_game.services.interfaces.RatingService;
+import com.vn.caro_game.utils.EloRating;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * One-off job that rebuilds every rating by replaying the game history.
+ *
+ * <p>Games are read in the order they were written, a page at a time, and replayed in
+ * memory, because each result depends on the ratings left by the games before it. The
+ * replay itself is cheap; the writes are not, so each page of rating history and the final
+ * ratings are saved by a pool of writers, one transaction per batch. A failed write
+ * stops the job before the final ratings are saved, and it has to be run again.</p>
+ *
+ * <p>Enable {@code app.rating.backfill.enabled} for one start, then switch it off again.
+ * Games that finish while the job runs are overwritten by the replay, so run it while
+ * the game is closed.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RatingBackfillJob {
+
+    final RatingService ratingService;
+
+    @Value("${app.rating.backfill.enabled:false}")
+    boolean enabled;
+
+    @Value("${app.rating.backfill.batch-size:500}")
+    int batchSize;
+
+    @Value("${app.rating.backfill.threads:4}")
+    int threads;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    public void backfill() {
+        long started = System.currentTimeMillis();
+        ratingService.resetRatings();
+
+        Map<Long, PlayerRating> ratings = new HashMap<>();
+        List<Future<?>> writes = new ArrayList<>();
+        ExecutorService writers = Executors.newFixedThreadPool(threads);
+        int rated = 0;
+        int skipped = 0;
+        boolean completed;
+        try {
+            long cursor = 0;
+            List<RatedGame> games;
+            while (!(games = ratingService.findGamesToReplay(cursor, batchSize)).isEmpty()) {
+                List<RatingHistory> entries = new ArrayList<>(games.size() * 2);
+                for (RatedGame game : games) {
+                    cursor = game.historyId();
+                    if (game.isRateable()) {
+                        replay(game, ratings, entries);
+                        rated++;
+                    } else {
+                        skipped++;
+                    }
+                }
+                if (!entries.isEmpty()) {
+                    writes.add(writers.submit(() -> ratingService.saveReplayedHistory(entries)));
+                }
+            }
+            // The final ratings are only written once the whole history is in
+            completed = awaitAll(writes) && awaitAll(saveRatings(ratings, writers));
+        } finally {
+            // Drops writes still queued behind a failed one
+            writers.shutdownNow();
+        }
+
+        if (!completed) {
+            log.error("Rating backfill aborted; ratings were reset and stay incomplete until it is run again");
+            return;
+        }
+        log.info("Rating backfill finished: {} games rated, {} skipped, {} players, took {} ms",
+                rated, skipped, ratings.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Submits the final ratings in batches
+     */
+    private List<Future<?>> saveRatings(Map<Long, PlayerRating> ratings, ExecutorService writers) {
+        List<PlayerRating> finalRatings = new ArrayList<>(ratings.values());
+        List<Future<?>> writes = new ArrayList<>();
+        for (int from = 0; from < finalRatings.size(); from += batchSize) {
+            List<PlayerRating> batch = finalRatings.subList(from, Math.min(from + batchSize, finalRatings.size()));
+            writes.add(writers.submit(() -> ratingService.saveReplayedRatings(batch)));
+        }
+        return writes;
+    }
+
+    /**
+     * Applies one game to the in-memory ratings and collects its history rows
+     */
+    private void replay(RatedGame game, Map<Long, PlayerRating> ratings, List<RatingHistory> entries) {
+        PlayerRating first = ratings.getOrDefault(game.firstPlayerId(), initial(game.firstPlayerId()));
+        PlayerRating second = ratings.getOrDefault(game.secondPlayerId(), initial(game.secondPlayerId()));
+        double firstScore = game.draw() ? EloRating.DRAW : EloRating.WIN;
+
+        PlayerRating firstAfter = new PlayerRating(first.userId(),
+                EloRating.newRating(first.rating(), first.ratedGames(), second.rating(), firstScore),
+                first.ratedGames() + 1);
+        PlayerRating secondAfter = new PlayerRating(second.userId(),
+                EloRating.newRating(second.rating(), second.ratedGames(), first.rating(), 1 - firstScore),
+                second.ratedGames() + 1);
+        ratings.put(first.userId(), firstAfter);
+        ratings.put(second.userId(), secondAfter);
+
+        entries.add(entry(game, first, firstAfter, second.userId()));
+        entries.add(entry(game, second, secondAfter, first.userId()));
+    }
+
+    private static PlayerRating initial(Long userId) {
+        return new PlayerRating(userId, GameRoomConstants.DEFAULT_RATING, 0);
+    }
+
+    private static RatingHistory entry(RatedGame game, PlayerRating before, PlayerRating after, Long opponentId) {
+        RatingHistory entry = new RatingHistory();
+        entry.setUserId(before.userId());
+        entry.setGameHistoryId(game.historyId());
+        entry.setOpponentId(opponentId);
+        entry.setRatingBefore(before.rating());
+        entry.setRatingAfter(after.rating());
+        entry.setRatedAt(game.playedAt());
+        return entry;
+    }
+
+    /**
+     * Waits for each write in turn
+     *
+     * @return false if a write failed, since the stored ratings would then be missing games
+     */
+    private boolean awaitAll(List<Future<?>> writes) {
+        for (Future<?> write : writes) {
+            try {
+                write.get();
+            } catch (ExecutionException e) {
+                log.error("Rating backfill write failed: {}", e.getCause().getMessage());
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,159 @@
+package com.vn.caro_game.schedulers;
+
+import com.vn.caro_game.services.interfaces.RoomReaperService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Background job that purges abandoned rooms and releases idle finished rooms.
+ *
+ * <p>Rooms are walked in ID order with a keyset cursor, one small batch per transaction.
+ * The cursor survives between runs, so a backlog larger than one run's batch budget is
+ * finished by the following runs instead of being rescanned from the start. After each
+ * batch the job sleeps at least as long as the batch took, keeping it idle at least half
+ * the time and leaving room for live traffic on the same tables.</p>
+ *
+ * <p>Progress is published as {@code caro.reaper.*} meters.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RoomReaperScheduler {
+
+    final RoomReaperService roomReaperService;
+    final Counter deletedRooms;
+    final Counter releasedRooms;
+    final Counter batches;
+    final Timer runTimer;
+    final AtomicLong abandonedCursor = new AtomicLong();
+    final AtomicLong finishedCursor = new AtomicLong();
+    final AtomicInteger running = new AtomicInteger();
+
+    @Value("${app.reaper.enabled:false}")
+    boolean enabled;
+
+    @Value("${app.reaper.empty-grace-minutes:10}")
+    int emptyGraceMinutes;
+
+    @Value("${app.reaper.stale-hours:24}")
+    int staleHours;
+
+    @Value("${app.reaper.finished-idle-hours:6}")
+    int finishedIdleHours;
+
+    @Value("${app.reaper.batch-size:100}")
+    int batchSize;
+
+    @Value("${app.reaper.max-batches-per-run:50}")
+    int maxBatchesPerRun;
+
+    @Value("${app.reaper.min-pause-millis:200}")
+    long minPauseMillis;
+
+    public RoomReaperScheduler(RoomReaperService roomReaperService, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.roomReaperService = roomReaperService;
+        // Slices without actuator (e.g. repository tests) have no registry
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        this.deletedRooms = Counter.builder("caro.reaper.rooms")
+                .tag("action", "deleted")
+                .description("Abandoned rooms deleted by the reaper")
+                .register(meterRegistry);
+        this.releasedRooms = Counter.builder("caro.reaper.rooms")
+                .tag("action", "released")
+                .description("Idle finished rooms whose players were released")
+                .register(meterRegistry);
+        this.batches = Counter.builder("caro.reaper.batches")
+                .description("Reaper batches committed")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("caro.reaper.run")
+                .description("Duration of reaper runs")
+                .register(meterRegistry);
+        meterRegistry.gauge("caro.reaper.cursor", List.of(Tag.of("phase", "abandoned")),
+                abandonedCursor);
+        meterRegistry.gauge("caro.reaper.cursor", List.of(Tag.of("phase", "finished")),
+                finishedCursor);
+        meterRegistry.gauge("caro.reaper.running", running);
+    }
+
+    @Scheduled(fixedDelayString = "${app.reaper.interval-ms:300000}", initialDelayString = "${app.reaper.initial-delay-ms:60000}")
+    public void reapRooms() {
+        if (!enabled) {
+            return;
+        }
+        running.set(1);
+        try {
+            runTimer.record(this::runOnce);
+        } finally {
+            running.set(0);
+        }
+    }
+
+    void runOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime emptyBefore = now.minusMinutes(emptyGraceMinutes);
+        LocalDateTime staleBefore = now.minusHours(staleHours);
+        LocalDateTime idleBefore = now.minusHours(finishedIdleHours);
+
+        int deleted = sweep(abandonedCursor, deletedRooms,
+                afterId -> roomReaperService.reapAbandonedRooms(afterId, emptyBefore, staleBefore, batchSize));
+        int released = sweep(finishedCursor, releasedRooms,
+                afterId -> roomReaperService.releaseIdleFinishedRooms(afterId, idleBefore, batchSize));
+
+        if (deleted > 0 || released > 0) {
+            log.info("Room reaper run finished: {} rooms deleted, {} rooms released", deleted, released);
+        }
+    }
+
+    /**
+     * Runs batches from the cursor until the table is exhausted or the batch budget is spent
+     */
+    private int sweep(AtomicLong cursor, Counter counter, LongFunction<List<Long>> batch) {
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            long started = System.currentTimeMillis();
+            List<Long> roomIds = batch.apply(cursor.get());
+            batches.increment();
+            if (roomIds.isEmpty()) {
+                // Reached the end; start the next pass from the beginning
+                cursor.set(0);
+                break;
+            }
+            total += roomIds.size();
+            counter.increment(roomIds.size());
+            cursor.set(roomIds.get(roomIds.size() - 1));
+            if (!pause(Math.max(minPauseMillis, System.currentTimeMillis() - started))) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.vn.caro_game.schedulers;
+
+import com.vn.caro_game.services.interfaces.ThinkTimeService;
+import com.vn.caro_game.utils.ThinkTimeSamples;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Flushes the think times kept in memory into the players' think time rows.
+ *
+ * <p>If the write fails the think times are put back and retried on the next flush.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ThinkTimeFlushScheduler {
+
+    final ThinkTimeService thinkTimeService;
+
+    @Scheduled(fixedDelayString = "${app.think-time.flush-interval-ms:30000}")
+    public void flush() {
+        Map<Long, ThinkTimeSamples> pending = thinkTimeService.drainPending();
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            thinkTimeService.writePending(pending);
+        } catch (DataAccessException e) {
+            log.warn("Failed to flush think times of {} players, retrying on the next flush: {}",
+                    pending.size(), e.getMessage());
+            thinkTimeService.restore(pending);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.vn.caro_game.schedulers;
+
+import com.vn.caro_game.integrations.jwt.TokenBlacklistCache;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the local token blacklist filter from Redis.
+ *
+ * <p>Drops the IDs of blacklist entries that have expired and picks up any revocation
+ * whose Pub/Sub message was missed. If Redis is unreachable the current filter is kept.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TokenBlacklistRebuildScheduler {
+
+    final TokenBlacklistCache tokenBlacklistCache;
+
+    @Scheduled(fixedDelayString = "${app.jwt.blacklist.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.jwt.blacklist.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        try {
+            tokenBlacklistCache.rebuild();
+        } catch (DataAccessException e) {
+            log.warn("Failed to rebuild the token blacklist filter, keeping the current one: {}", e.getMessage());
+        }
+    }
+}
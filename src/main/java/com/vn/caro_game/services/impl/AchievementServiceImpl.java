@@ -0,0 +1,167 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.dtos.AchievementGame;
+import com.vn.caro_game.dtos.response.AchievementResponse;
+import com.vn.caro_game.entities.AchievementProgress;
+import com.vn.caro_game.entities.GameHistory;
+import com.vn.caro_game.entities.PlayerAchievement;
+import com.vn.caro_game.enums.Achievement;
+import com.vn.caro_game.enums.GameEndReason;
+import com.vn.caro_game.enums.GameResult;
+import com.vn.caro_game.events.GameCompletedEvent;
+import com.vn.caro_game.repositories.AchievementProgressRepository;
+import com.vn.caro_game.repositories.GameHistoryRepository;
+import com.vn.caro_game.repositories.GameMatchRepository;
+import com.vn.caro_game.repositories.PlayerAchievementRepository;
+import com.vn.caro_game.services.interfaces.AchievementService;
+import com.vn.caro_game.utils.AchievementTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of AchievementService.
+ *
+ * <p>Once a game has committed, a transaction of its own advances its two players'
+ * {@code achievement_progress} rows, locked for the update, so badges never need the game
+ * history re-read. The rows carry a bit per unlocked badge, which is what decides whether a
+ * badge is unlocked; the unlock records with their time and game are inserted in the same
+ * transaction, so a progress bit is never set without its record. A match's move count is
+ * only read for a win by five in a row of a player who has no quick win yet.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AchievementServiceImpl implements AchievementService {
+
+    private final AchievementProgressRepository achievementProgressRepository;
+    private final PlayerAchievementRepository playerAchievementRepository;
+    private final GameHistoryRepository gameHistoryRepository;
+    private final GameMatchRepository gameMatchRepository;
+
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordGame(GameCompletedEvent event) {
+        Long firstId = event.getFirstPlayerId();
+        Long secondId = event.getSecondPlayerId();
+        GameHistory history = event.getHistory();
+        if (firstId == null || secondId == null || firstId.equals(secondId)) {
+            log.debug("Game history {} has no two players to count", history.getId());
+            return;
+        }
+
+        List<PlayerAchievement> unlocks = new ArrayList<>();
+        // Lock the two rows in user ID order, so games sharing a player cannot deadlock
+        boolean firstLocksFirst = firstId < secondId;
+        GameResult firstResult = event.isDraw() ? GameResult.DRAW : GameResult.WIN;
+        GameResult secondResult = event.isDraw() ? GameResult.DRAW : GameResult.LOSE;
+        record(firstLocksFirst ? firstId : secondId, firstLocksFirst ? firstResult : secondResult, history, unlocks);
+        record(firstLocksFirst ? secondId : firstId, firstLocksFirst ? secondResult : firstResult, history, unlocks);
+        if (!unlocks.isEmpty()) {
+            playerAchievementRepository.saveAll(unlocks);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AchievementResponse> getAchievements(Long userId) {
+        AchievementProgress progress = achievementProgressRepository.findById(userId).orElseGet(() -> empty(userId));
+        Map<Achievement, PlayerAchievement> unlocks = new EnumMap<>(Achievement.class);
+        playerAchievementRepository.findByUserId(userId).forEach(unlock -> unlocks.put(unlock.getAchievement(), unlock));
+
+        List<AchievementResponse> responses = new ArrayList<>(Achievement.values().length);
+        for (Achievement achievement : Achievement.values()) {
+            boolean unlocked = AchievementTracker.isUnlocked(progress, achievement);
+            PlayerAchievement unlock = unlocked ? unlocks.get(achievement) : null;
+            responses.add(AchievementResponse.builder()
+                    .achievement(achievement)
+                    .unlocked(unlocked)
+                    .progress(AchievementTracker.getProgress(progress, achievement))
+                    .target(AchievementTracker.getTarget(achievement))
+                    .unlockedAt(unlock != null ? unlock.getUnlockedAt() : null)
+                    .gameHistoryId(unlock != null ? unlock.getGameHistoryId() : null)
+                    .build());
+        }
+        return responses;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AchievementGame> findGamesToReplay(long afterHistoryId, int batchSize) {
+        return gameHistoryRepository.findAchievementGames(afterHistoryId, PageRequest.of(0, batchSize));
+    }
+
+    @Override
+    @Transactional
+    public void resetAchievements() {
+        playerAchievementRepository.deleteAllInBatch();
+        achievementProgressRepository.deleteAllInBatch();
+        log.info("Reset all achievement progress and unlocks");
+    }
+
+    @Override
+    @Transactional
+    public void saveReplayedProgress(List<AchievementProgress> progress) {
+        achievementProgressRepository.saveAll(progress);
+    }
+
+    @Override
+    @Transactional
+    public void saveReplayedUnlocks(List<PlayerAchievement> unlocks) {
+        playerAchievementRepository.saveAll(unlocks);
+    }
+
+    private void record(Long userId, GameResult result, GameHistory history, List<PlayerAchievement> unlocks) {
+        achievementProgressRepository.insertIfAbsent(userId);
+        AchievementProgress progress = achievementProgressRepository.findByUserIdForUpdate(userId).orElseThrow();
+        if (progress.getLastGameHistoryId() != null && progress.getLastGameHistoryId() >= history.getId()) {
+            log.debug("Game history {} already counted for user {}", history.getId(), userId);
+            return;
+        }
+        boolean quickWin = result == GameResult.WIN && history.getEndReason() == GameEndReason.WIN
+                && !AchievementTracker.isUnlocked(progress, Achievement.QUICK_WIN)
+                && AchievementTracker.isQuickWin(findMoveCount(history));
+        LocalDateTime unlockedAt = history.getGameEndedAt() != null ? history.getGameEndedAt() : LocalDateTime.now();
+        for (Achievement achievement : AchievementTracker.advance(progress, result, quickWin, history.getId())) {
+            unlocks.add(unlock(userId, achievement, history.getId(), unlockedAt));
+            log.info("User {} unlocked {} in game history {}", userId, achievement, history.getId());
+        }
+        achievementProgressRepository.save(progress);
+    }
+
+    private Integer findMoveCount(GameHistory history) {
+        LocalDateTime endedAt = history.getGameEndedAt() != null ? history.getGameEndedAt() : LocalDateTime.now();
+        return gameMatchRepository.findMoveCounts(history.getRoomId(), endedAt, PageRequest.of(0, 1))
+                .stream().findFirst().orElse(null);
+    }
+
+    private static AchievementProgress empty(Long userId) {
+        AchievementProgress progress = new AchievementProgress();
+        progress.setUserId(userId);
+        return progress;
+    }
+
+    private static PlayerAchievement unlock(Long userId, Achievement achievement, Long historyId, LocalDateTime unlockedAt) {
+        PlayerAchievement unlock = new PlayerAchievement();
+        unlock.setUserId(userId);
+        unlock.setAchievement(achievement);
+        unlock.setGameHistoryId(historyId);
+        unlock.setUnlockedAt(unlockedAt);
+        return unlock;
+    }
+}
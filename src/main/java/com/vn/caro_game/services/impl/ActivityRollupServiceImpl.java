@@ -0,0 +1,284 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.dtos.response.ActivityRollupResponse;
+import com.vn.caro_game.entities.ActivityRollup;
+import com.vn.caro_game.entities.DailyActivityRollup;
+import com.vn.caro_game.entities.GameHistory;
+import com.vn.caro_game.entities.HourlyActivityRollup;
+import com.vn.caro_game.enums.GameEndReason;
+import com.vn.caro_game.enums.RollupGranularity;
+import com.vn.caro_game.enums.RoomEventType;
+import com.vn.caro_game.enums.StatusCode;
+import com.vn.caro_game.events.GameCompletedEvent;
+import com.vn.caro_game.events.RoomEvent;
+import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.repositories.DailyActivityRollupRepository;
+import com.vn.caro_game.repositories.HourlyActivityRollupRepository;
+import com.vn.caro_game.services.interfaces.ActivityRollupService;
+import com.vn.caro_game.services.interfaces.RoomRegistryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Implementation of ActivityRollupService.
+ *
+ * <p>Events only touch an in-memory counter for the current minute. Completed minutes are
+ * added to their hour's row under a row lock, so several instances can flush into the same
+ * hour. Daily rows are recomputed from the hourly rows that are still kept, which makes
+ * downsampling safe to repeat.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ActivityRollupServiceImpl implements ActivityRollupService {
+
+    private static final long MAX_HOURLY_BUCKETS = 31L * 24;
+    private static final long MAX_DAILY_BUCKETS = 731L;
+    private static final long DEFAULT_HOURLY_RANGE_HOURS = 24L;
+    private static final long DEFAULT_DAILY_RANGE_DAYS = 30L;
+
+    private final HourlyActivityRollupRepository hourlyRepository;
+    private final DailyActivityRollupRepository dailyRepository;
+    private final RoomRegistryService roomRegistryService;
+
+    private final TreeMap<LocalDateTime, ActivityRollup> minutes = new TreeMap<>();
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * Counts a finished game once its transaction has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameCompleted(GameCompletedEvent event) {
+        GameHistory history = event.getHistory();
+        synchronized (minutes) {
+            ActivityRollup counters = currentMinute();
+            counters.setGamesCompleted(counters.getGamesCompleted() + 1);
+            if (event.isDraw()) {
+                counters.setDraws(counters.getDraws() + 1);
+            }
+            if (history.getGameStartedAt() != null && history.getGameEndedAt() != null) {
+                counters.setTimedGames(counters.getTimedGames() + 1);
+                counters.setTotalDurationSeconds(counters.getTotalDurationSeconds()
+                        + Duration.between(history.getGameStartedAt(), history.getGameEndedAt()).toSeconds());
+            }
+            if (history.getEndReason() != null) {
+                countEndReason(counters, history.getEndReason());
+            }
+        }
+    }
+
+    /**
+     * Counts created rooms and started games once their transaction has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomEvent(RoomEvent event) {
+        if (event.getType() != RoomEventType.ROOM_CREATED && event.getType() != RoomEventType.GAME_STARTED) {
+            return;
+        }
+        synchronized (minutes) {
+            ActivityRollup counters = currentMinute();
+            if (event.getType() == RoomEventType.ROOM_CREATED) {
+                counters.setRoomsCreated(counters.getRoomsCreated() + 1);
+            } else {
+                counters.setGamesStarted(counters.getGamesStarted() + 1);
+            }
+        }
+    }
+
+    @Override
+    public void sampleActiveRooms() {
+        int activeRooms = roomRegistryService.getRoomCount();
+        synchronized (minutes) {
+            ActivityRollup counters = currentMinute();
+            counters.setPeakActiveRooms(Math.max(counters.getPeakActiveRooms(), activeRooms));
+            counters.setActiveRoomSampleSum(counters.getActiveRoomSampleSum() + activeRooms);
+            counters.setActiveRoomSamples(counters.getActiveRoomSamples() + 1);
+        }
+    }
+
+    @Override
+    public List<ActivityRollup> drainCompleted() {
+        LocalDateTime currentMinute = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MINUTES);
+        Map<LocalDateTime, ActivityRollup> hours = new TreeMap<>();
+        synchronized (minutes) {
+            Map<LocalDateTime, ActivityRollup> completed = minutes.headMap(currentMinute);
+            for (Map.Entry<LocalDateTime, ActivityRollup> minute : completed.entrySet()) {
+                LocalDateTime hour = minute.getKey().truncatedTo(ChronoUnit.HOURS);
+                add(hours.computeIfAbsent(hour, ActivityRollupServiceImpl::counters), minute.getValue());
+            }
+            completed.clear();
+        }
+        return new ArrayList<>(hours.values());
+    }
+
+    @Override
+    @Transactional
+    public void writeHourly(List<ActivityRollup> counters) {
+        for (ActivityRollup hour : counters) {
+            // Create the hour first, so instances flushing a new hour together both end up adding to one row
+            hourlyRepository.insertIfAbsent(hour.getBucketStart());
+            HourlyActivityRollup rollup = hourlyRepository.findByBucketStartForUpdate(hour.getBucketStart())
+                    .orElseThrow();
+            add(rollup, hour);
+            hourlyRepository.save(rollup);
+        }
+    }
+
+    @Override
+    public void restore(List<ActivityRollup> counters) {
+        synchronized (minutes) {
+            for (ActivityRollup hour : counters) {
+                add(minutes.computeIfAbsent(hour.getBucketStart(), ActivityRollupServiceImpl::counters), hour);
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public int downsample(int hourlyRetentionDays, int dailyRetentionDays) {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate hourlyCutoff = today.minusDays(hourlyRetentionDays);
+        LocalDateTime oldest = hourlyRepository.findOldestBucketStart();
+
+        int days = 0;
+        if (oldest != null) {
+            LocalDate firstDay = oldest.toLocalDate().isBefore(hourlyCutoff) ? hourlyCutoff : oldest.toLocalDate();
+            for (LocalDate day = firstDay; day.isBefore(today); day = day.plusDays(1)) {
+                rollUpDay(day);
+                days++;
+            }
+        }
+
+        int hourlyDeleted = hourlyRepository.deleteByBucketStartBefore(hourlyCutoff.atStartOfDay());
+        int dailyDeleted = dailyRepository.deleteByBucketStartBefore(today.minusDays(dailyRetentionDays).atStartOfDay());
+        log.info("Activity rollups downsampled: {} days recomputed, {} hourly and {} daily rows expired",
+                days, hourlyDeleted, dailyDeleted);
+        return days;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ActivityRollupResponse> getActivity(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        if (to == null) {
+            to = LocalDateTime.now(clock);
+        }
+        if (from == null) {
+            from = granularity == RollupGranularity.DAY ? to.minusDays(DEFAULT_DAILY_RANGE_DAYS) : to.minusHours(DEFAULT_HOURLY_RANGE_HOURS);
+        }
+        if (!from.isBefore(to)) {
+            throw new CustomException(StatusCode.INVALID_REQUEST);
+        }
+        List<? extends ActivityRollup> rollups;
+        if (granularity == RollupGranularity.DAY) {
+            if (ChronoUnit.DAYS.between(from, to) > MAX_DAILY_BUCKETS) {
+                throw new CustomException(StatusCode.INVALID_REQUEST);
+            }
+            rollups = dailyRepository.findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(from, to);
+        } else {
+            if (ChronoUnit.HOURS.between(from, to) > MAX_HOURLY_BUCKETS) {
+                throw new CustomException(StatusCode.INVALID_REQUEST);
+            }
+            rollups = hourlyRepository.findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(from, to);
+        }
+        return rollups.stream().map(rollup -> toResponse(rollup, granularity)).toList();
+    }
+
+    /**
+     * Replaces a day's daily row with the sum of its hourly rows
+     */
+    private void rollUpDay(LocalDate day) {
+        List<HourlyActivityRollup> hours = hourlyRepository
+                .findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+                        day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        if (hours.isEmpty()) {
+            return;
+        }
+        DailyActivityRollup daily = new DailyActivityRollup();
+        daily.setBucketStart(day.atStartOfDay());
+        hours.forEach(hour -> add(daily, hour));
+        dailyRepository.save(daily);
+    }
+
+    private ActivityRollup currentMinute() {
+        return minutes.computeIfAbsent(LocalDateTime.now(clock).truncatedTo(ChronoUnit.MINUTES),
+                ActivityRollupServiceImpl::counters);
+    }
+
+    private static ActivityRollup counters(LocalDateTime bucketStart) {
+        ActivityRollup counters = new ActivityRollup() {
+        };
+        counters.setBucketStart(bucketStart);
+        return counters;
+    }
+
+    private static void countEndReason(ActivityRollup counters, GameEndReason reason) {
+        switch (reason) {
+            case WIN -> counters.setEndedByWin(counters.getEndedByWin() + 1);
+            case SURRENDER -> counters.setEndedBySurrender(counters.getEndedBySurrender() + 1);
+            case LEAVE -> counters.setEndedByLeave(counters.getEndedByLeave() + 1);
+            case TIMEOUT -> counters.setEndedByTimeout(counters.getEndedByTimeout() + 1);
+            case SYSTEM -> counters.setEndedBySystem(counters.getEndedBySystem() + 1);
+        }
+    }
+
+    /**
+     * Adds one bucket's counters to another; peaks are combined with max
+     */
+    private static void add(ActivityRollup target, ActivityRollup source) {
+        target.setGamesCompleted(target.getGamesCompleted() + source.getGamesCompleted());
+        target.setDraws(target.getDraws() + source.getDraws());
+        target.setTimedGames(target.getTimedGames() + source.getTimedGames());
+        target.setTotalDurationSeconds(target.getTotalDurationSeconds() + source.getTotalDurationSeconds());
+        target.setEndedByWin(target.getEndedByWin() + source.getEndedByWin());
+        target.setEndedBySurrender(target.getEndedBySurrender() + source.getEndedBySurrender());
+        target.setEndedByLeave(target.getEndedByLeave() + source.getEndedByLeave());
+        target.setEndedByTimeout(target.getEndedByTimeout() + source.getEndedByTimeout());
+        target.setEndedBySystem(target.getEndedBySystem() + source.getEndedBySystem());
+        target.setRoomsCreated(target.getRoomsCreated() + source.getRoomsCreated());
+        target.setGamesStarted(target.getGamesStarted() + source.getGamesStarted());
+        target.setPeakActiveRooms(Math.max(target.getPeakActiveRooms(), source.getPeakActiveRooms()));
+        target.setActiveRoomSampleSum(target.getActiveRoomSampleSum() + source.getActiveRoomSampleSum());
+        target.setActiveRoomSamples(target.getActiveRoomSamples() + source.getActiveRoomSamples());
+    }
+
+    private static ActivityRollupResponse toResponse(ActivityRollup rollup, RollupGranularity granularity) {
+        Map<GameEndReason, Long> endReasons = new EnumMap<>(GameEndReason.class);
+        endReasons.put(GameEndReason.WIN, rollup.getEndedByWin());
+        endReasons.put(GameEndReason.SURRENDER, rollup.getEndedBySurrender());
+        endReasons.put(GameEndReason.LEAVE, rollup.getEndedByLeave());
+        endReasons.put(GameEndReason.TIMEOUT, rollup.getEndedByTimeout());
+        endReasons.put(GameEndReason.SYSTEM, rollup.getEndedBySystem());
+        return ActivityRollupResponse.builder()
+                .bucketStart(rollup.getBucketStart())
+                .granularity(granularity)
+                .gamesCompleted(rollup.getGamesCompleted())
+                .draws(rollup.getDraws())
+                .averageDurationSeconds(rollup.getTimedGames() > 0
+                        ? rollup.getTotalDurationSeconds().doubleValue() / rollup.getTimedGames() : 0.0)
+                .endReasons(endReasons)
+                .roomsCreated(rollup.getRoomsCreated())
+                .gamesStarted(rollup.getGamesStarted())
+                .peakActiveRooms(rollup.getPeakActiveRooms())
+                .averageActiveRooms(rollup.getActiveRoomSamples() > 0
+                        ? rollup.getActiveRoomSampleSum().doubleValue() / rollup.getActiveRoomSamples() : 0.0)
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.services.interfaces.BroadcastOutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Implementation of BroadcastOutboxService with a per-transaction outbox.
+ *
+ * <p>Inside a transaction, frames are collected and only sent after it commits, so
+ * clients never see moves or room states that are rolled back and the broker is not
+ * called while database locks are held. A rollback discards the outbox. Room updates
+ * sent with {@link #sendCoalesced} of the same room, destination and update type are
+ * collapsed to the latest one, sent at the position of the latest. Outside a transaction
+ * frames are sent immediately.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BroadcastOutboxServiceImpl implements BroadcastOutboxService {
+
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    @Override
+    public void send(String destination, Object payload) {
+        Outbox outbox = currentOutbox();
+        if (outbox == null) {
+            messagingTemplate.convertAndSend(destination, payload);
+            return;
+        }
+        outbox.frames.put(outbox.sequence++, new Frame(destination, payload));
+    }
+
+    @Override
+    public void sendCoalesced(Long roomId, String updateType, String destination, Object payload) {
+        Outbox outbox = currentOutbox();
+        if (outbox == null) {
+            messagingTemplate.convertAndSend(destination, payload);
+            return;
+        }
+        // Removing first moves the replacement to the end, after everything sent since the earlier update
+        RoomKey key = new RoomKey(roomId, destination, updateType);
+        outbox.frames.remove(key);
+        outbox.frames.put(key, new Frame(destination, payload));
+    }
+
+    /**
+     * Returns the outbox bound to the current transaction, creating it on first use
+     */
+    private Outbox currentOutbox() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Outbox outbox = (Outbox) TransactionSynchronizationManager.getResource(this);
+        if (outbox != null) {
+            return outbox;
+        }
+        Outbox created = new Outbox();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sendAll(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(BroadcastOutboxServiceImpl.this);
+                if (status != STATUS_COMMITTED && !created.frames.isEmpty()) {
+                    log.debug("Discarded {} broadcasts of rolled back transaction", created.frames.size());
+                }
+            }
+        });
+        return created;
+    }
+
+    private void sendAll(Outbox outbox) {
+        for (Frame frame : outbox.frames.values()) {
+            try {
+                messagingTemplate.convertAndSend(frame.destination(), frame.payload());
+            } catch (Exception e) {
+                log.error("Error broadcasting to {}: {}", frame.destination(), e.getMessage());
+            }
+        }
+        outbox.frames.clear();
+    }
+
+    /**
+     * Frames of one transaction in send order
+     */
+    private static final class Outbox {
+        final Map<Object, Frame> frames = new LinkedHashMap<>();
+        int sequence;
+    }
+
+    private record RoomKey(Long roomId, String destination, String updateType) {
+    }
+
+    private record Frame(String destination, Object payload) {
+    }
+}
@@ -13,24 +13,36 @@ import com.vn.caro_game.enums.GameState;
 import com.vn.caro_game.enums.StatusCode;
 import com.vn.caro_game.enums.GameEndReason;
 import com.vn.caro_game.enums.PlayerReadyState;
+import com.vn.caro_game.enums.RoomEventType;
 import com.vn.caro_game.enums.RoomStatus;
+import com.vn.caro_game.events.GameCompletedEvent;
+import com.vn.caro_game.events.RoomEvent;
 import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.integrations.journal.LiveRoom;
+import com.vn.caro_game.integrations.journal.RoomJournal;
 import com.vn.caro_game.repositories.GameMatchRepository;
 import com.vn.caro_game.repositories.GameRoomRepository;
 import com.vn.caro_game.repositories.MoveRepository;
 import com.vn.caro_game.repositories.UserRepository;
 import com.vn.caro_game.repositories.GameHistoryRepository;
 import com.vn.caro_game.repositories.RoomPlayerRepository;
+import com.vn.caro_game.services.interfaces.BroadcastOutboxService;
 import com.vn.caro_game.services.interfaces.CaroGameService;
+import com.vn.caro_game.services.interfaces.ThinkTimeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Implementation of CaroGameService for handling Caro game logic.
@@ -47,9 +59,12 @@ public class CaroGameServiceImpl implements CaroGameService {
     private final GameMatchRepository gameMatchRepository;
     private final MoveRepository moveRepository;
     private final UserRepository userRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final BroadcastOutboxService broadcastOutboxService;
     private final GameHistoryRepository gameHistoryRepository;
     private final RoomPlayerRepository roomPlayerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RoomJournal roomJournal;
+    private final ThinkTimeService thinkTimeService;
 
     @Override
     @Transactional
@@ -80,7 +95,7 @@ public class CaroGameServiceImpl implements CaroGameService {
             throw new CustomException(StatusCode.GAME_NOT_ACTIVE);
         }
         
-        // Get current active match with pessimistic locking to prevent race conditions
+        // Concurrent moves are resolved when the move is claimed on the versioned match
         GameMatch currentMatch = getCurrentActiveMatch(room);
         
         // If players are not loaded (lazy loading), reload with players for turn validation
@@ -99,7 +114,9 @@ public class CaroGameServiceImpl implements CaroGameService {
         }
         
         // Save the move to database FIRST to ensure consistency
-        Move move = createAndSaveMove(currentMatch, userId, request);
+        Move move = createAndSaveMove(room, currentMatch, userId, request);
+        eventPublisher.publishEvent(RoomEvent.moveMade(roomId, currentMatch.getId(), userId,
+                move.getXPosition(), move.getYPosition(), move.getMoveNumber()));
         
         // Update in-memory board state
         int playerValue = getPlayerValueByUser(currentMatch, userId);
@@ -130,6 +147,13 @@ public class CaroGameServiceImpl implements CaroGameService {
                 .orElseThrow(() -> new CustomException(StatusCode.ROOM_NOT_FOUND));
         
         GameMatch currentMatch = getCurrentActiveMatch(room);
+
+        // The journaled board is only trusted when it has seen every committed move of this match
+        Optional<LiveRoom> liveRoom = roomJournal.findRoom(roomId);
+        if (liveRoom.isPresent() && Objects.equals(liveRoom.get().getMatchId(), currentMatch.getId())
+                && liveRoom.get().getMoveCount() == currentMatch.getMoveCount()) {
+            return liveRoom.get().toBoard();
+        }
         
         // Initialize empty board
         int[][] board = initializeBoard();
@@ -231,6 +255,8 @@ public class CaroGameServiceImpl implements CaroGameService {
         }
         
         gameRoomRepository.save(room);
+        eventPublisher.publishEvent(RoomEvent.of(RoomEventType.GAME_RESET, roomId, null,
+                room.getStatus(), room.getGameState()));
         
         log.info("Game board reset for room {}", roomId);
     }
@@ -279,6 +305,8 @@ public class CaroGameServiceImpl implements CaroGameService {
         assignPlayersToMatch(newMatch, room);
         
         GameMatch savedMatch = gameMatchRepository.save(newMatch);
+        eventPublisher.publishEvent(RoomEvent.matchStarted(room.getId(), savedMatch.getId(),
+                newMatch.getPlayerX().getId(), newMatch.getPlayerO().getId()));
         log.info("Created new GameMatch with ID: {} for room {}", savedMatch.getId(), room.getId());
         return savedMatch;
     }
@@ -311,7 +339,7 @@ public class CaroGameServiceImpl implements CaroGameService {
 
     /**
      * Validates that the player is in the room and it's their turn.
-     * Uses database count to ensure thread safety.
+     * Uses the match's move counter; a stale read is caught when the move is claimed.
      */
     private void validatePlayerTurn(GameRoom room, GameMatch currentMatch, Long userId) {
         // Check if player is in the room
@@ -329,8 +357,7 @@ public class CaroGameServiceImpl implements CaroGameService {
             throw new CustomException(StatusCode.INVALID_GAME_STATE);
         }
         
-        // Use database count for thread-safe turn validation
-        int moveCount = moveRepository.countByMatch(currentMatch);
+        int moveCount = currentMatch.getMoveCount();
         boolean isPlayerXTurn = moveCount % 2 == 0; // X goes first, even moves
         
         int playerValue = getPlayerValueByUser(currentMatch, userId);
@@ -352,9 +379,12 @@ public class CaroGameServiceImpl implements CaroGameService {
     }
 
     /**
-     * Creates and saves a move to the database.
+     * Claims the next move number on the match and saves the move.
+     * The losing side of a concurrent move fails on the match version or on the unique
+     * move constraints and is rejected with MOVE_CONFLICT, without retrying.
+     * The move's think time is added to the match's per-side totals and to the player's figures.
      */
-    private Move createAndSaveMove(GameMatch match, Long userId, GameMoveRequest request) {
+    private Move createAndSaveMove(GameRoom room, GameMatch match, Long userId, GameMoveRequest request) {
         Move move = new Move();
         move.setMatch(match);
         move.setPlayer(userRepository.findById(userId)
@@ -362,11 +392,59 @@ public class CaroGameServiceImpl implements CaroGameService {
         move.setXPosition(request.getXPosition());
         move.setYPosition(request.getYPosition());
         
-        // Calculate move number
-        int moveCount = moveRepository.countByMatch(match);
-        move.setMoveNumber(moveCount + 1);
+        int moveNumber = match.getMoveCount() + 1;
+        move.setMoveNumber(moveNumber);
+        match.setMoveCount(moveNumber);
+        
+        LocalDateTime now = LocalDateTime.now();
+        Long thinkTime = calculateThinkTime(room, match, now);
+        move.setThinkTimeMillis(thinkTime);
+        match.setLastMoveAt(now);
+        if (thinkTime != null) {
+            addThinkTime(match, userId, thinkTime);
+        }
+        
+        Move saved;
+        try {
+            // Flush the versioned counter first so a lost race fails before the move row is written
+            gameMatchRepository.saveAndFlush(match);
+            saved = moveRepository.save(move);
+        } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+            log.info("Rejected concurrent move {} in match {} by user {}: {}", moveNumber, match.getId(), userId, e.getMessage());
+            throw new CustomException(StatusCode.MOVE_CONFLICT);
+        }
         
-        return moveRepository.save(move);
+        if (thinkTime != null) {
+            thinkTimeService.recordMove(userId, thinkTime);
+        }
+        return saved;
+    }
+
+    /**
+     * Gets the time since the previous move of the match, or since the game started for the first move
+     */
+    private Long calculateThinkTime(GameRoom room, GameMatch match, LocalDateTime now) {
+        LocalDateTime since = match.getLastMoveAt();
+        if (since == null) {
+            since = room.getGameStartedAt() != null ? room.getGameStartedAt() : match.getStartTime();
+        }
+        if (since == null) {
+            return null;
+        }
+        return Math.max(0, Duration.between(since, now).toMillis());
+    }
+
+    /**
+     * Adds a move's think time to its side's total; matches from before think times were recorded are skipped
+     */
+    private void addThinkTime(GameMatch match, Long userId, long thinkTime) {
+        if (getPlayerValueByUser(match, userId) == CaroGameConstants.PLAYER_X_VALUE) {
+            if (match.getPlayerXThinkMillis() != null) {
+                match.setPlayerXThinkMillis(match.getPlayerXThinkMillis() + thinkTime);
+            }
+        } else if (match.getPlayerOThinkMillis() != null) {
+            match.setPlayerOThinkMillis(match.getPlayerOThinkMillis() + thinkTime);
+        }
     }
 
     /**
@@ -403,6 +481,8 @@ public class CaroGameServiceImpl implements CaroGameService {
         // Save entities in correct order
         gameMatchRepository.save(match);
         gameRoomRepository.save(room);
+        eventPublisher.publishEvent(RoomEvent.of(RoomEventType.GAME_ENDED, room.getId(), winnerId,
+                room.getStatus(), room.getGameState()));
         
         log.info("Game ended in room {}: isDraw={}, winnerId={}", room.getId(), isDraw, winnerId);
     }
@@ -424,6 +504,7 @@ public class CaroGameServiceImpl implements CaroGameService {
             gameHistory.setGameEndedAt(room.getGameEndedAt());
             
             gameHistoryRepository.save(gameHistory);
+            eventPublisher.publishEvent(GameCompletedEvent.decided(gameHistory));
             log.info("Game history saved successfully for room {}", room.getId());
         } catch (Exception e) {
             log.error("Error saving game history for room {}: {}", room.getId(), e.getMessage());
@@ -447,6 +528,8 @@ public class CaroGameServiceImpl implements CaroGameService {
                 gameHistory.setGameEndedAt(room.getGameEndedAt());
                 
                 gameHistoryRepository.save(gameHistory);
+                eventPublisher.publishEvent(GameCompletedEvent.draw(gameHistory,
+                        players.get(0).getUser().getId(), players.get(1).getUser().getId()));
                 log.info("Draw game history saved for room {}", room.getId());
             }
         } catch (Exception e) {
@@ -494,16 +577,16 @@ public class CaroGameServiceImpl implements CaroGameService {
     }
 
     /**
-     * Broadcasts the move to all players in the room via WebSocket.
+     * Broadcasts the move to all players in the room via WebSocket once the move is committed.
      */
     private void broadcastMove(Long roomId, GameMoveResponse response) {
         String topic = String.format(CaroGameConstants.TOPIC_GAME_MOVE, roomId);
-        messagingTemplate.convertAndSend(topic, response);
+        broadcastOutboxService.send(topic, response);
         
         // If game ended, also send to game end topic
         if (response.getGameState() == GameState.FINISHED) {
             String endTopic = String.format(CaroGameConstants.TOPIC_GAME_END, roomId);
-            messagingTemplate.convertAndSend(endTopic, response);
+            broadcastOutboxService.send(endTopic, response);
         }
     }
 
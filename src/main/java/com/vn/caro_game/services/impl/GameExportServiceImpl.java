@@ -0,0 +1,193 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.constants.CaroGameConstants;
+import com.vn.caro_game.integrations.archive.ArchivedMatch;
+import com.vn.caro_game.integrations.archive.ArchivedMove;
+import com.vn.caro_game.integrations.archive.MatchArchiveStore;
+import com.vn.caro_game.repositories.GameHistoryRepository;
+import com.vn.caro_game.services.interfaces.GameExportService;
+import com.vn.caro_game.utils.GameNotationWriter;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementation of GameExportService.
+ *
+ * <p>Games are streamed from the history repository ordered by game and move number,
+ * and each row is written to the gzip stream as soon as it is read. Only the
+ * current game's header is held in memory, so export size is bounded by the client,
+ * not by the heap. Matches whose moves were moved to cold storage are filled in from
+ * the archive when their game is closed.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class GameExportServiceImpl implements GameExportService {
+
+    static final DateTimeFormatter TAG_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+
+    final GameHistoryRepository gameHistoryRepository;
+    final MatchArchiveStore matchArchiveStore;
+
+    @Value("${app.export.analyst-user-ids:}")
+    Set<Long> analystUserIds;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportGames(Long playerId, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        log.info("Exporting games for player {} between {} and {}", playerId, from, to);
+
+        GZIPOutputStream gzip = new GZIPOutputStream(out, 8192);
+        GameNotationWriter writer = new GameNotationWriter(
+                new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8)));
+        ExportRowHandler handler = new ExportRowHandler(writer, matchArchiveStore);
+
+        try {
+            gameHistoryRepository.streamExportRows(playerId, from, to, handler);
+            handler.finish();
+        } catch (UncheckedIOException e) {
+            // Client disconnected mid-download; nothing left to send
+            throw e.getCause();
+        }
+
+        writer.flush();
+        gzip.finish();
+        log.info("Exported {} games for player {}", writer.getGamesWritten(), playerId);
+        return writer.getGamesWritten();
+    }
+
+    @Override
+    public boolean canExportAllGames(Long userId) {
+        return userId != null && analystUserIds != null && analystUserIds.contains(userId);
+    }
+
+    /**
+     * Turns the ordered result rows into notation, one game at a time
+     */
+    private static class ExportRowHandler implements RowCallbackHandler {
+
+        private final GameNotationWriter writer;
+        private final MatchArchiveStore matchArchiveStore;
+        private Long currentGameId;
+        private Long currentMatchId;
+        private String currentResult;
+        private int currentMoveCount;
+
+        ExportRowHandler(GameNotationWriter writer, MatchArchiveStore matchArchiveStore) {
+            this.writer = writer;
+            this.matchArchiveStore = matchArchiveStore;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                long gameId = rs.getLong("game_id");
+                if (currentGameId == null || currentGameId != gameId) {
+                    finish();
+                    startGame(rs, gameId);
+                }
+                int moveNumber = rs.getInt("move_number");
+                if (!rs.wasNull()) {
+                    writer.move(moveNumber, rs.getInt("x_position"), rs.getInt("y_position"));
+                    currentMoveCount++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish() {
+            if (currentGameId == null) {
+                return;
+            }
+            try {
+                if (currentMoveCount == 0 && currentMatchId != null) {
+                    writeArchivedMoves();
+                }
+                writer.endGame(currentResult);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            currentGameId = null;
+        }
+
+        private void startGame(ResultSet rs, long gameId) throws SQLException, IOException {
+            Long winnerId = getNullableLong(rs, "winner_id");
+            Long loserId = getNullableLong(rs, "loser_id");
+            Long playerXId = getNullableLong(rs, "player_x_id");
+            Long playerOId = getNullableLong(rs, "player_o_id");
+            Timestamp endedAt = rs.getTimestamp("game_ended_at");
+
+            Map<String, String> tags = new LinkedHashMap<>();
+            tags.put("Game", Long.toString(gameId));
+            tags.put("Room", Long.toString(rs.getLong("room_id")));
+            tags.put("Date", endedAt != null ? endedAt.toLocalDateTime().format(TAG_DATE_FORMAT) : "????.??.??");
+            tags.put("X", rs.getString("x_name"));
+            tags.put("O", rs.getString("o_name"));
+            tags.put("BoardSize", Integer.toString(CaroGameConstants.BOARD_SIZE));
+            tags.put("EndReason", rs.getString("end_reason"));
+
+            currentResult = resolveResult(winnerId, loserId, playerXId, playerOId);
+            tags.put("Result", currentResult);
+
+            writer.startGame(tags);
+            currentGameId = gameId;
+            currentMatchId = getNullableLong(rs, "match_id");
+            currentMoveCount = 0;
+        }
+
+        private void writeArchivedMoves() throws IOException {
+            List<ArchivedMove> moves = matchArchiveStore.findMatch(currentMatchId)
+                    .map(ArchivedMatch::getMoves)
+                    .orElse(List.of());
+            for (ArchivedMove move : moves) {
+                writer.move(move.getMoveNumber(), move.getXPosition(), move.getYPosition());
+            }
+        }
+
+        private static String resolveResult(Long winnerId, Long loserId, Long playerXId, Long playerOId) {
+            if (winnerId == null) {
+                return loserId == null ? GameNotationWriter.RESULT_DRAW : GameNotationWriter.RESULT_UNKNOWN;
+            }
+            if (winnerId.equals(playerXId)) {
+                return GameNotationWriter.RESULT_X_WIN;
+            }
+            if (winnerId.equals(playerOId)) {
+                return GameNotationWriter.RESULT_O_WIN;
+            }
+            return GameNotationWriter.RESULT_UNKNOWN;
+        }
+
+        private static Long getNullableLong(ResultSet rs, String column) throws SQLException {
+            long value = rs.getLong(column);
+            return rs.wasNull() ? null : value;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.vn.caro_game.services.impl;
 
 import com.vn.caro_game.constants.GameRoomConstants;
+import com.vn.caro_game.dtos.LobbyRoomSummary;
 import com.vn.caro_game.dtos.request.*;
 import com.vn.caro_game.dtos.response.*;
 import com.vn.caro_game.dtos.websocket.GameResultMessage;
@@ -8,13 +9,23 @@ import com.vn.caro_game.dtos.websocket.RoomInvitationMessage;
 import com.vn.caro_game.dtos.websocket.RoomUpdateMessage;
 import com.vn.caro_game.entities.*;
 import com.vn.caro_game.enums.*;
+import com.vn.caro_game.events.GameCompletedEvent;
+import com.vn.caro_game.events.RoomEvent;
 import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.integrations.archive.ArchivedChatMessage;
+import com.vn.caro_game.integrations.archive.MatchArchiveStore;
 import com.vn.caro_game.integrations.redis.RedisService;
 import com.vn.caro_game.mappers.GameRoomMapper;
 import com.vn.caro_game.repositories.*;
+import com.vn.caro_game.services.interfaces.BroadcastOutboxService;
 import com.vn.caro_game.services.interfaces.GameRoomService;
+import com.vn.caro_game.services.interfaces.HeadToHeadService;
+import com.vn.caro_game.services.interfaces.LobbyIndexService;
+import com.vn.caro_game.services.interfaces.RoomRegistryService;
+import com.vn.caro_game.utils.PartitionBounds;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -25,6 +36,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -51,7 +63,13 @@ public class GameRoomServiceImpl implements GameRoomService {
     private final GameHistoryRepository gameHistoryRepository;
     private final GameRoomMapper gameRoomMapper;
     private final RedisService redisService;
+    private final HeadToHeadService headToHeadService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final BroadcastOutboxService broadcastOutboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RoomRegistryService roomRegistryService;
+    private final LobbyIndexService lobbyIndexService;
+    private final MatchArchiveStore matchArchiveStore;
 
     private static final SecureRandom secureRandom = new SecureRandom();
 
@@ -65,7 +83,7 @@ public class GameRoomServiceImpl implements GameRoomService {
         log.info("Creating room for user: {}", userId);
 
         // Check if user is already in an active room
-        if (gameRoomRepository.existsActiveRoomByUserId(userId)) {
+        if (isInActiveRoom(userId)) {
             throw new CustomException(StatusCode.ALREADY_IN_ROOM);
         }
 
@@ -87,6 +105,8 @@ public class GameRoomServiceImpl implements GameRoomService {
 
         // Save room
         room = gameRoomRepository.save(room);
+        eventPublisher.publishEvent(RoomEvent.of(RoomEventType.ROOM_CREATED, room.getId(), userId,
+                room.getStatus(), room.getGameState()));
 
         // Add creator as host
         addPlayerToRoom(room, user, true);
@@ -112,7 +132,7 @@ public class GameRoomServiceImpl implements GameRoomService {
         log.info("User {} joining room {}", userId, roomId);
 
         // Check if user is already in an active room
-        if (gameRoomRepository.existsActiveRoomByUserId(userId)) {
+        if (isInActiveRoom(userId)) {
             throw new CustomException(StatusCode.ALREADY_IN_ROOM);
         }
 
@@ -152,7 +172,7 @@ public class GameRoomServiceImpl implements GameRoomService {
         log.info("User {} joining room with code: {}", userId, request.getJoinCode());
 
         // Check if user is already in an active room
-        if (gameRoomRepository.existsActiveRoomByUserId(userId)) {
+        if (isInActiveRoom(userId)) {
             throw new CustomException(StatusCode.ALREADY_IN_ROOM);
         }
 
@@ -182,37 +202,44 @@ public class GameRoomServiceImpl implements GameRoomService {
     }
 
     /**
-     * Finds an available public room or creates a new one for quick play.
+     * Creates a room for two players paired by matchmaking, seating both in the same transaction.
      */
     @Override
     @Transactional
-    public GameRoomResponse findOrCreatePublicRoom(Long userId) {
-        log.info("Finding or creating public room for user: {}", userId);
+    public GameRoomResponse createMatchedRoom(Long hostUserId, Long guestUserId) {
+        log.info("Creating matched room for users {} and {}", hostUserId, guestUserId);
 
-        // Check if user is already in an active room (get the most recent one)
-        List<GameRoom> activeRooms = gameRoomRepository.findActiveRoomsByUserId(userId, 
-            PageRequest.of(0, 1)); // Get only the first result
-        
-        if (!activeRooms.isEmpty()) {
-            GameRoom existingRoom = activeRooms.get(0);
-            List<RoomPlayerResponse> players = buildRoomPlayerResponses(existingRoom.getId());
-            return gameRoomMapper.mapToGameRoomResponse(existingRoom, players);
+        if (isInActiveRoom(hostUserId) || isInActiveRoom(guestUserId)) {
+            throw new CustomException(StatusCode.ALREADY_IN_ROOM);
         }
 
-        // Find available public room
-        List<GameRoom> availableRooms = gameRoomRepository.findAvailablePublicRooms(
-            PageRequest.of(0, 1)); // Get only the first result
+        User host = getUserById(hostUserId);
+        User guest = getUserById(guestUserId);
 
-        if (!availableRooms.isEmpty()) {
-            // Join existing room
-            return joinRoom(availableRooms.get(0).getId(), userId);
-        } else {
-            // Create new public room
-            CreateRoomRequest request = new CreateRoomRequest();
-            request.setName("Quick Play Room");
-            request.setIsPrivate(false);
-            return createRoom(request, userId);
-        }
+        // Private, so the room never shows up in the lobby or takes a third player
+        GameRoom room = new GameRoom();
+        room.setName(GameRoomConstants.MATCHED_ROOM_NAME);
+        room.setIsPrivate(true);
+        room.setJoinCode(generateJoinCode());
+        room.setStatus(RoomStatus.WAITING);
+        room.setGameState(GameState.WAITING_FOR_PLAYERS);
+        room.setCreatedBy(host);
+
+        room = gameRoomRepository.save(room);
+        eventPublisher.publishEvent(RoomEvent.of(RoomEventType.ROOM_CREATED, room.getId(), hostUserId,
+                room.getStatus(), room.getGameState()));
+
+        addPlayerToRoom(room, host, true);
+        addPlayerToRoom(room, guest, false);
+
+        log.info("Matched room {} created", room.getId());
+
+        List<RoomPlayerResponse> players = buildRoomPlayerResponses(room.getId());
+        GameRoomResponse response = gameRoomMapper.mapToGameRoomResponse(room, players);
+
+        broadcastRoomUpdate(room.getId(), "ROOM_CREATED");
+
+        return response;
     }
 
     /**
@@ -253,6 +280,9 @@ public class GameRoomServiceImpl implements GameRoomService {
         room.setGameState(GameState.ENDED_BY_LEAVE);
         room.setGameEndedAt(LocalDateTime.now());
         gameRoomRepository.save(room);
+        eventPublisher.publishEvent(RoomEvent.of(RoomEventType.GAME_ENDED, room.getId(), userId,
+                room.getStatus(), room.getGameState()));
+        eventPublisher.publishEvent(RoomEvent.of(RoomEventType.PLAYER_LEFT, room.getId(), userId));
         
         log.info("Game ended due to player {} leaving room {}", userId, room.getId());
         broadcastRoomUpdate(room.getId(), "GAME_ENDED_BY_LEAVE");
@@ -264,6 +294,7 @@ public class GameRoomServiceImpl implements GameRoomService {
     private void handleLeaveFromFinishedGame(GameRoom room, RoomPlayer roomPlayer, boolean wasHost, Long userId) {
         log.info("User {} leaving finished game room {} - preserving history", userId, room.getId());
         roomPlayerRepository.delete(roomPlayer);
+        eventPublisher.publishEvent(RoomEvent.of(RoomEventType.PLAYER_LEFT, room.getId(), userId));
         
         List<RoomPlayer> remainingPlayers = roomPlayerRepository.findByRoom_Id(room.getId());
         
@@ -282,6 +313,7 @@ public class GameRoomServiceImpl implements GameRoomService {
     private void handleLeaveFromWaitingRoom(GameRoom room, RoomPlayer roomPlayer, boolean wasHost, Long userId) {
         log.info("User {} leaving waiting room {} - no game history to preserve", userId, room.getId());
         roomPlayerRepository.delete(roomPlayer);
+        eventPublisher.publishEvent(RoomEvent.of(RoomEventType.PLAYER_LEFT, room.getId(), userId));
         
         handlePlayerLeaving(room, wasHost);
         
@@ -296,6 +328,7 @@ public class GameRoomServiceImpl implements GameRoomService {
         RoomPlayer newHost = remainingPlayers.get(0);
         newHost.setIsHost(true);
         roomPlayerRepository.save(newHost);
+        eventPublisher.publishEvent(RoomEvent.of(RoomEventType.HOST_CHANGED, roomId, newHost.getUser().getId()));
         log.info("Host transferred to user {} in finished room {}", newHost.getUser().getId(), roomId);
     }
 
@@ -331,6 +364,8 @@ public class GameRoomServiceImpl implements GameRoomService {
         room.setGameState(GameState.ENDED_BY_SURRENDER);
         room.setGameEndedAt(LocalDateTime.now());
         gameRoomRepository.save(room);
+        eventPublisher.publishEvent(RoomEvent.of(RoomEventType.GAME_ENDED, roomId, userId,
+                room.getStatus(), room.getGameState()));
         
         log.info("User {} surrendered in room {}, game ended", userId, roomId);
         broadcastRoomUpdate(roomId, "GAME_ENDED_BY_SURRENDER");
@@ -396,6 +431,9 @@ public class GameRoomServiceImpl implements GameRoomService {
         }
         
         newRoom = gameRoomRepository.save(newRoom);
+        eventPublisher.publishEvent(RoomEvent.of(RoomEventType.ROOM_CREATED, newRoom.getId(),
+                oldRoom.getCreatedBy() != null ? oldRoom.getCreatedBy().getId() : null,
+                newRoom.getStatus(), newRoom.getGameState()));
         log.info("Created rematch room {} for old room {}", newRoom.getId(), oldRoom.getId());
         return newRoom;
     }
@@ -413,6 +451,10 @@ public class GameRoomServiceImpl implements GameRoomService {
             newPlayer.setIsHost(oldPlayer.getUser().getId().equals(requesterId));
             newPlayer.setGameResult(GameResult.NONE);
             roomPlayerRepository.save(newPlayer);
+            eventPublisher.publishEvent(RoomEvent.of(RoomEventType.PLAYER_JOINED, newRoom.getId(), oldPlayer.getUser().getId()));
+            if (newPlayer.getIsHost()) {
+                eventPublisher.publishEvent(RoomEvent.of(RoomEventType.HOST_CHANGED, newRoom.getId(), requesterId));
+            }
             
             log.info("Added player {} to rematch room {}", oldPlayer.getUser().getId(), newRoom.getId());
         }
@@ -437,6 +479,19 @@ public class GameRoomServiceImpl implements GameRoomService {
         return gameRoomMapper.mapToGameRoomResponse(room, players);
     }
 
+    /**
+     * Finds a room by its join code without joining it.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public GameRoomResponse findRoomByJoinCode(String joinCode) {
+        GameRoom room = gameRoomRepository.findByJoinCode(joinCode)
+                .orElseThrow(() -> new CustomException(StatusCode.INVALID_JOIN_CODE));
+
+        List<RoomPlayerResponse> players = buildRoomPlayerResponses(room.getId());
+        return gameRoomMapper.mapToGameRoomResponse(room, players);
+    }
+
     /**
      * Gets list of public rooms available for joining.
      */
@@ -445,16 +500,12 @@ public class GameRoomServiceImpl implements GameRoomService {
     public Page<PublicRoomResponse> getPublicRooms(Pageable pageable) {
         log.info("Getting public rooms with pagination: {}", pageable);
 
-        Page<GameRoom> roomsPage = gameRoomRepository.findPublicWaitingRooms(pageable);
-        
-        List<PublicRoomResponse> publicRooms = roomsPage.getContent().stream()
-                .map(room -> {
-                    Integer playerCount = gameRoomRepository.countPlayersByRoomId(room.getId());
-                    return gameRoomMapper.mapToPublicRoomResponse(room, playerCount);
-                })
-                .collect(Collectors.toList());
+        // Served from the lobby index; before it is loaded, one projection query with player counts
+        Page<LobbyRoomSummary> roomsPage = lobbyIndexService.canServe(pageable)
+                ? lobbyIndexService.getPage(pageable)
+                : gameRoomRepository.findPublicWaitingRoomSummaries(pageable);
 
-        return new PageImpl<>(publicRooms, pageable, roomsPage.getTotalElements());
+        return roomsPage.map(gameRoomMapper::mapToPublicRoomResponse);
     }
 
     /**
@@ -495,7 +546,7 @@ public class GameRoomServiceImpl implements GameRoomService {
         validateFriendship(userId, request.getFriendUserId());
 
         // Check if friend is not already in a room
-        if (gameRoomRepository.existsActiveRoomByUserId(request.getFriendUserId())) {
+        if (isInActiveRoom(request.getFriendUserId())) {
             throw new CustomException(StatusCode.USER_ALREADY_IN_ROOM);
         }
 
@@ -562,7 +613,7 @@ public class GameRoomServiceImpl implements GameRoomService {
 
         // Broadcast message to room
         String chatTopic = String.format(GameRoomConstants.TOPIC_ROOM_CHAT, roomId);
-        messagingTemplate.convertAndSend(chatTopic, response);
+        broadcastOutboxService.send(chatTopic, response);
 
         return response;
     }
@@ -580,13 +631,22 @@ public class GameRoomServiceImpl implements GameRoomService {
             throw new CustomException(StatusCode.NOT_ROOM_MEMBER);
         }
 
-        Page<ChatMessage> messagesPage = chatMessageRepository.findByRoomIdOrderBySentAtDesc(roomId, pageable);
+        Page<ChatMessage> messagesPage = chatMessageRepository.findByRoomIdSinceOrderBySentAtDesc(
+                roomId, getChatLowerBound(roomId), pageable);
         
         List<ChatMessageResponse> chatResponses = messagesPage.getContent().stream()
                 .map(gameRoomMapper::mapToChatMessageResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        // Archived messages are older than every live one, so they continue the history after its last page
+        long archivedCount = matchArchiveStore.countChatMessages(roomId);
+        if (archivedCount > 0 && chatResponses.size() < pageable.getPageSize()) {
+            long archivedOffset = Math.max(0, pageable.getOffset() - messagesPage.getTotalElements());
+            chatResponses.addAll(mapArchivedChatMessages(matchArchiveStore.findLatestChatMessages(
+                    roomId, archivedOffset, pageable.getPageSize() - chatResponses.size())));
+        }
 
-        return new PageImpl<>(chatResponses, pageable, messagesPage.getTotalElements());
+        return new PageImpl<>(chatResponses, pageable, messagesPage.getTotalElements() + archivedCount);
     }
 
     /**
@@ -602,8 +662,14 @@ public class GameRoomServiceImpl implements GameRoomService {
             throw new CustomException(StatusCode.NOT_ROOM_MEMBER);
         }
 
-        List<ChatMessage> messages = chatMessageRepository.findLatestMessagesByRoomId(roomId, limit);
-        return gameRoomMapper.mapToChatMessageResponseList(messages);
+        List<ChatMessage> messages = chatMessageRepository.findLatestMessagesByRoomIdSince(
+                roomId, getChatLowerBound(roomId), limit);
+        List<ChatMessageResponse> responses = new ArrayList<>(gameRoomMapper.mapToChatMessageResponseList(messages));
+        if (responses.size() < limit) {
+            responses.addAll(mapArchivedChatMessages(matchArchiveStore.findLatestChatMessages(
+                    roomId, 0, limit - responses.size())));
+        }
+        return responses;
     }
 
     /**
@@ -614,11 +680,10 @@ public class GameRoomServiceImpl implements GameRoomService {
     public GameRoomResponse getCurrentUserRoom(Long userId) {
         log.info("Getting current room for user: {}", userId);
 
-        List<GameRoom> activeRooms = gameRoomRepository.findActiveRoomsByUserId(userId, 
-            PageRequest.of(0, 1)); // Get only the first result
+        Optional<GameRoom> activeRoom = findActiveRoom(userId);
         
-        if (!activeRooms.isEmpty()) {
-            GameRoom currentRoom = activeRooms.get(0);
+        if (activeRoom.isPresent()) {
+            GameRoom currentRoom = activeRoom.get();
             List<RoomPlayerResponse> players = buildRoomPlayerResponses(currentRoom.getId());
             return gameRoomMapper.mapToGameRoomResponse(currentRoom, players);
         }
@@ -652,6 +717,8 @@ public class GameRoomServiceImpl implements GameRoomService {
 
         // Update room status
         room.setStatus(RoomStatus.PLAYING);
+        eventPublisher.publishEvent(RoomEvent.of(RoomEventType.GAME_STARTED, roomId, userId,
+                room.getStatus(), room.getGameState()));
         room = gameRoomRepository.save(room);
 
         log.info("Game started in room: {}", roomId);
@@ -687,6 +754,8 @@ public class GameRoomServiceImpl implements GameRoomService {
     /**
      * Gets room player by room and user ID or throws exception if not found.
      * Tries repository first, falls back to room collection for mocked tests.
+     * The room registry is not consulted: the seat row is needed anyway, and the
+     * database stays the authority when the registry has not caught up yet.
      */
     private RoomPlayer getRoomPlayerByRoomAndUser(Long roomId, Long userId) {
         // Try repository first (works with real database)
@@ -766,7 +835,11 @@ public class GameRoomServiceImpl implements GameRoomService {
         if (currentPlayerCount >= 2 && room.getGameState() == GameState.WAITING_FOR_PLAYERS) {
             room.setGameState(GameState.WAITING_FOR_READY);
             gameRoomRepository.save(room);
+            eventPublisher.publishEvent(RoomEvent.of(RoomEventType.PLAYER_JOINED, room.getId(), user.getId(),
+                    room.getStatus(), room.getGameState()));
             log.info("Room {} now has {} players - changed state to WAITING_FOR_READY", room.getId(), currentPlayerCount);
+        } else {
+            eventPublisher.publishEvent(RoomEvent.of(RoomEventType.PLAYER_JOINED, room.getId(), user.getId()));
         }
     }
 
@@ -776,21 +849,94 @@ public class GameRoomServiceImpl implements GameRoomService {
     private List<RoomPlayerResponse> buildRoomPlayerResponses(Long roomId) {
         List<RoomPlayer> roomPlayers = roomPlayerRepository.findByRoom_Id(roomId);
         
-        return roomPlayers.stream()
+        List<RoomPlayerResponse> players = roomPlayers.stream()
                 .map(roomPlayer -> {
                     boolean isOnline = redisService.isUserOnline(roomPlayer.getUser().getId());
                     return gameRoomMapper.mapToRoomPlayerResponse(roomPlayer, isOnline);
                 })
                 .collect(Collectors.toList());
+        attachHeadToHead(roomPlayers, players);
+        return players;
+    }
+
+    /**
+     * Sets each player's record against the other when two players sit in the room.
+     */
+    private void attachHeadToHead(List<RoomPlayer> roomPlayers, List<RoomPlayerResponse> players) {
+        if (roomPlayers.size() != 2) {
+            return;
+        }
+        Long firstId = roomPlayers.get(0).getUser().getId();
+        Long secondId = roomPlayers.get(1).getUser().getId();
+        if (players.get(0) != null) {
+            players.get(0).setHeadToHead(headToHeadService.getRecord(firstId, secondId));
+        }
+        if (players.get(1) != null) {
+            players.get(1).setHeadToHead(headToHeadService.getRecord(secondId, firstId));
+        }
     }
 
     /**
      * Checks if a user is in a specific room.
      */
     private boolean isUserInRoom(Long roomId, Long userId) {
+        if (roomRegistryService.isAuthoritative()) {
+            return roomRegistryService.isPlayerInRoom(roomId, userId);
+        }
         return roomPlayerRepository.existsByRoomIdAndUserId(roomId, userId);
     }
 
+    /**
+     * Checks if a user sits in a WAITING or PLAYING room, from the room registry when it can answer.
+     */
+    private boolean isInActiveRoom(Long userId) {
+        if (roomRegistryService.isAuthoritative()) {
+            return roomRegistryService.findActiveRoomId(userId) != RoomRegistryService.NO_ROOM;
+        }
+        return gameRoomRepository.existsActiveRoomByUserId(userId);
+    }
+
+    /**
+     * Finds the user's current active room; with the room registry this is a primary key lookup.
+     */
+    private Optional<GameRoom> findActiveRoom(Long userId) {
+        if (roomRegistryService.isAuthoritative()) {
+            long roomId = roomRegistryService.findActiveRoomId(userId);
+            if (roomId == RoomRegistryService.NO_ROOM) {
+                return Optional.empty();
+            }
+            return gameRoomRepository.findById(roomId)
+                    .filter(room -> room.getStatus() == RoomStatus.WAITING || room.getStatus() == RoomStatus.PLAYING);
+        }
+        return gameRoomRepository.findActiveRoomsByUserId(userId, PageRequest.of(0, 1)).stream().findFirst();
+    }
+
+    /**
+     * Maps archived chat messages with their senders, keeping their order.
+     */
+    private List<ChatMessageResponse> mapArchivedChatMessages(List<ArchivedChatMessage> selected) {
+        if (selected.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, User> senders = userRepository.findAllById(selected.stream()
+                        .map(ArchivedChatMessage::getSenderId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        return selected.stream()
+                .map(message -> gameRoomMapper.mapToChatMessageResponse(message, senders.get(message.getSenderId())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the partition-pruning lower bound for a room's chat (messages never predate the room).
+     */
+    private LocalDateTime getChatLowerBound(Long roomId) {
+        return PartitionBounds.lowerBound(gameRoomRepository.findById(roomId)
+                .map(GameRoom::getCreatedAt)
+                .orElse(null));
+    }
+
     /**
      * Validates friendship between two users.
      */
@@ -819,12 +965,14 @@ public class GameRoomServiceImpl implements GameRoomService {
         if (remainingPlayers.isEmpty()) {
             // Delete empty room
             gameRoomRepository.delete(room);
+            eventPublisher.publishEvent(RoomEvent.of(RoomEventType.ROOM_CLOSED, room.getId(), null));
             log.info("Room {} deleted due to no remaining players", room.getId());
         } else if (wasHost && !remainingPlayers.isEmpty()) {
             // Transfer host to another player
             RoomPlayer newHost = remainingPlayers.get(0);
             newHost.setIsHost(true);
             roomPlayerRepository.save(newHost);
+            eventPublisher.publishEvent(RoomEvent.of(RoomEventType.HOST_CHANGED, room.getId(), newHost.getUser().getId()));
             log.info("Host transferred to user {} in room {}", newHost.getUser().getId(), room.getId());
         }
     }
@@ -837,12 +985,9 @@ public class GameRoomServiceImpl implements GameRoomService {
             // Build room update message
             RoomUpdateMessage updateMessage = new RoomUpdateMessage(roomId, updateType);
             
-            // Broadcast to room topic
+            // Broadcast to room topic; lobby clients get coalesced diffs from LobbyDiffScheduler instead
             String roomTopic = GameRoomConstants.TOPIC_ROOM_UPDATE + roomId;
-            messagingTemplate.convertAndSend(roomTopic, updateMessage);
-            
-            // Broadcast to general room updates topic
-            messagingTemplate.convertAndSend("/topic/room-updates", updateMessage);
+            broadcastOutboxService.sendCoalesced(roomId, updateType, roomTopic, updateMessage);
             
             log.debug("Broadcasted room update: {} for room: {}", updateType, roomId);
         } catch (Exception e) {
@@ -910,7 +1055,7 @@ public class GameRoomServiceImpl implements GameRoomService {
                     System.currentTimeMillis()
                 );
                 
-                messagingTemplate.convertAndSend("/topic/room/" + roomId + "/updates", resultMessage);
+                broadcastOutboxService.send("/topic/room/" + roomId + "/updates", resultMessage);
                 log.info("Player {} wins game in room {} due to opponent leaving/surrendering", winner.getUser().getId(), roomId);
             }
         } catch (Exception e) {
@@ -943,6 +1088,7 @@ public class GameRoomServiceImpl implements GameRoomService {
         // Mark player as ready
         player.setReadyState(PlayerReadyState.READY);
         roomPlayerRepository.save(player);
+        eventPublisher.publishEvent(RoomEvent.of(RoomEventType.PLAYER_READY, roomId, userId));
 
         log.info("User {} marked as ready in room {}", userId, roomId);
 
@@ -992,6 +1138,7 @@ public class GameRoomServiceImpl implements GameRoomService {
         room.setRematchState(RematchState.REQUESTED);
         room.setRematchRequesterId(userId);
         gameRoomRepository.save(room);
+        eventPublisher.publishEvent(RoomEvent.of(RoomEventType.REMATCH_REQUESTED, roomId, userId));
 
         User requester = getUserById(userId);
         String requesterName = requester.getDisplayName() != null ? requester.getDisplayName() : requester.getUsername();
@@ -1120,6 +1267,8 @@ public class GameRoomServiceImpl implements GameRoomService {
         room.setGameState(GameState.FINISHED);
         room.setGameEndedAt(LocalDateTime.now());
         gameRoomRepository.save(room);
+        eventPublisher.publishEvent(RoomEvent.of(RoomEventType.GAME_ENDED, roomId, winnerId,
+                room.getStatus(), room.getGameState()));
         
         log.info("Game completed in room {} - winner: {}, loser: {}", roomId, winnerId, loserId);
         broadcastRoomUpdate(roomId, "GAME_COMPLETED");
@@ -1152,6 +1301,8 @@ public class GameRoomServiceImpl implements GameRoomService {
         });
 
         gameRoomRepository.save(room);
+        eventPublisher.publishEvent(RoomEvent.of(RoomEventType.GAME_STARTED, room.getId(), null,
+                room.getStatus(), room.getGameState()));
 
         // Broadcast game started
         Map<String, Object> updateData = Map.of(
@@ -1190,9 +1341,18 @@ public class GameRoomServiceImpl implements GameRoomService {
         for (RoomPlayer oldPlayer : oldPlayers) {
             log.debug("Removing player {} from old room {}", oldPlayer.getUser().getId(), oldRoom.getId());
             roomPlayerRepository.delete(oldPlayer);
+            eventPublisher.publishEvent(RoomEvent.of(RoomEventType.PLAYER_LEFT, oldRoom.getId(), oldPlayer.getUser().getId()));
         }
         roomPlayerRepository.flush(); // Force the deletion to be committed immediately
 
+        Long newHostId = oldPlayers.stream()
+            .filter(RoomPlayer::getIsHost)
+            .map(p -> p.getUser().getId())
+            .findFirst()
+            .orElse(null);
+        eventPublisher.publishEvent(RoomEvent.of(RoomEventType.ROOM_CREATED, newRoom.getId(), newHostId,
+                newRoom.getStatus(), newRoom.getGameState()));
+
         // Now add same players to new room (they are no longer in old room)
         log.info("Adding players to new rematch room {}", newRoom.getId());
         for (RoomPlayer oldPlayer : oldPlayers) {
@@ -1207,6 +1367,7 @@ public class GameRoomServiceImpl implements GameRoomService {
             newPlayer.setGameResult(GameResult.NONE);
 
             roomPlayerRepository.save(newPlayer);
+            eventPublisher.publishEvent(RoomEvent.of(RoomEventType.PLAYER_JOINED, newRoom.getId(), oldPlayer.getUser().getId()));
             log.debug("Added player {} to new rematch room {}", oldPlayer.getUser().getId(), newRoom.getId());
         }
         
@@ -1275,7 +1436,7 @@ public class GameRoomServiceImpl implements GameRoomService {
             updateData.putAll(additionalData);
         }
 
-        messagingTemplate.convertAndSend("/topic/room/" + roomId + "/updates", updateData);
+        broadcastOutboxService.sendCoalesced(roomId, updateType, "/topic/room/" + roomId + "/updates", updateData);
         log.debug("Broadcasted room update: {} for room {}", updateType, roomId);
     }
 
@@ -1290,6 +1451,8 @@ public class GameRoomServiceImpl implements GameRoomService {
         if (playerCount >= 2 && room.getGameState() == GameState.WAITING_FOR_PLAYERS) {
             room.setGameState(GameState.WAITING_FOR_READY);
             gameRoomRepository.save(room);
+            eventPublisher.publishEvent(RoomEvent.of(RoomEventType.STATE_CHANGED, roomId, null,
+                    room.getStatus(), room.getGameState()));
             log.info("Fixed room {} state: {} players -> WAITING_FOR_READY", roomId, playerCount);
         }
     }
@@ -1319,6 +1482,7 @@ public class GameRoomServiceImpl implements GameRoomService {
             gameHistory.setGameEndedAt(room.getGameEndedAt());
             
             gameHistoryRepository.save(gameHistory);
+            eventPublisher.publishEvent(GameCompletedEvent.decided(gameHistory));
             
             log.info("Game history saved successfully for room {} - winner: {}, loser: {}", 
                 room.getId(), winnerId, loserId);
@@ -1352,6 +1516,7 @@ public class GameRoomServiceImpl implements GameRoomService {
                 log.info("Cleaning up old finished room {} players", roomId);
                 for (RoomPlayer player : players) {
                     roomPlayerRepository.delete(player);
+                    eventPublisher.publishEvent(RoomEvent.of(RoomEventType.PLAYER_LEFT, roomId, player.getUser().getId()));
                 }
                 roomPlayerRepository.flush(); // Ensure immediate deletion
                 log.info("Cleanup completed for room {}", roomId);
@@ -1373,6 +1538,7 @@ public class GameRoomServiceImpl implements GameRoomService {
                 log.info("Safely removing player {} from room {}", userId, roomId);
                 roomPlayerRepository.delete(roomPlayer);
                 roomPlayerRepository.flush(); // Force immediate deletion
+                eventPublisher.publishEvent(RoomEvent.of(RoomEventType.PLAYER_LEFT, roomId, userId));
                 log.info("Player {} successfully removed from room {}", userId, roomId);
             } else {
                 log.debug("Player {} was not found in room {}, no removal needed", userId, roomId);
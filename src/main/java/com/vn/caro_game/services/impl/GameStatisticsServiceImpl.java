@@ -1,18 +1,35 @@
 package com.vn.caro_game.services.impl;
 
+import com.vn.caro_game.constants.CaroGameConstants;
+import com.vn.caro_game.constants.GameRoomConstants;
+import com.vn.caro_game.dtos.LeaderboardEntry;
+import com.vn.caro_game.dtos.LeaderboardPosition;
 import com.vn.caro_game.dtos.response.GameReplayResponse;
 import com.vn.caro_game.dtos.response.GameStatisticsResponse;
 import com.vn.caro_game.dtos.response.SimpleMoveResponse;
 import com.vn.caro_game.dtos.response.GameHistorySummaryResponse;
+import com.vn.caro_game.dtos.response.PercentileBandResponse;
+import com.vn.caro_game.dtos.response.RankingResponse;
+import com.vn.caro_game.dtos.response.ReplayMoveChunkResponse;
+import com.vn.caro_game.dtos.response.ReplayPositionResponse;
 import com.vn.caro_game.entities.*;
+import com.vn.caro_game.enums.GameResult;
 import com.vn.caro_game.enums.StatusCode;
 import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.integrations.archive.ArchivedMatch;
+import com.vn.caro_game.integrations.archive.MatchArchiveStore;
 import com.vn.caro_game.repositories.*;
 import com.vn.caro_game.services.interfaces.GameStatisticsService;
+import com.vn.caro_game.services.interfaces.LeaderboardService;
+import com.vn.caro_game.utils.BoardKeyframes;
+import com.vn.caro_game.utils.EloRating;
+import com.vn.caro_game.utils.LruCache;
+import com.vn.caro_game.utils.ThinkTimeSketch;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +38,9 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -39,6 +59,15 @@ public class GameStatisticsServiceImpl implements GameStatisticsService {
     private final MoveRepository moveRepository;
     private final UserRepository userRepository;
     private final GameRoomRepository gameRoomRepository;
+    private final MatchArchiveStore matchArchiveStore;
+    private final PlayerStatsRepository playerStatsRepository;
+    private final PlayerThinkTimeRepository playerThinkTimeRepository;
+    private final LeaderboardService leaderboardService;
+
+    // Finished matches never change, so their keyframes can be cached by match ID; matches still
+    // in progress are never cached
+    private final LruCache<Long, BoardKeyframes> replayKeyframes =
+            new LruCache<>(CaroGameConstants.REPLAY_KEYFRAME_CACHE_SIZE);
 
     @Override
     @Transactional(readOnly = true)
@@ -46,47 +75,15 @@ public class GameStatisticsServiceImpl implements GameStatisticsService {
         log.info("Getting game statistics for user {}", userId);
 
         // Validate user exists
-        getUserById(userId);
-
-        // Get basic statistics
-        Long totalWins = gameHistoryRepository.getWinCountByUserId(userId);
-        Long totalLosses = gameHistoryRepository.getLossCountByUserId(userId);
-        Long totalDraws = calculateDrawCount(userId);
-        Long totalGames = totalWins + totalLosses + totalDraws;
-
-        // Calculate percentages
-        Double winRate = totalGames > 0 ? (totalWins.doubleValue() / totalGames) * 100 : 0.0;
-        Double lossRate = totalGames > 0 ? (totalLosses.doubleValue() / totalGames) * 100 : 0.0;
-        Double drawRate = totalGames > 0 ? (totalDraws.doubleValue() / totalGames) * 100 : 0.0;
-
-        // Get game duration statistics
-        List<GameHistory> userGames = gameHistoryRepository.findByUserIdList(userId);
-        GameTimeStatistics timeStats = calculateGameTimeStatistics(userGames);
+        User user = getUserById(userId);
 
-        // Calculate streaks
-        StreakStatistics streakStats = calculateStreakStatistics(userId);
-
-        // Build response
-        GameStatisticsResponse response = new GameStatisticsResponse();
-        response.setUserId(userId);
-        response.setTotalGamesPlayed(totalGames);
-        response.setTotalWins(totalWins);
-        response.setTotalLosses(totalLosses);
-        response.setTotalDraws(totalDraws);
-        response.setWinRate(Math.round(winRate * 100.0) / 100.0);
-        response.setLossRate(Math.round(lossRate * 100.0) / 100.0);
-        response.setDrawRate(Math.round(drawRate * 100.0) / 100.0);
-        response.setTotalGameTimeMinutes(timeStats.totalTimeMinutes);
-        response.setAverageGameDurationMinutes(timeStats.averageDurationMinutes);
-        response.setLongestGameDurationMinutes(timeStats.longestDurationMinutes);
-        response.setShortestGameDurationMinutes(timeStats.shortestDurationMinutes);
-        response.setCurrentWinStreak(streakStats.currentWinStreak);
-        response.setBestWinStreak(streakStats.bestWinStreak);
-        response.setPlayerRank(calculatePlayerRank(winRate, totalGames));
-        response.setTotalScore(calculateTotalScore(totalWins, totalDraws, totalGames));
+        // Every figure comes from the player's statistics row; no history is read
+        PlayerStats stats = playerStatsRepository.findById(userId).orElseGet(PlayerStats::new);
+        PlayerThinkTime thinkTime = playerThinkTimeRepository.findById(userId).orElse(null);
+        GameStatisticsResponse response = toStatisticsResponse(user, stats, thinkTime);
 
         log.info("Game statistics calculated for user {} - {} games played, {} wins", 
-                userId, totalGames, totalWins);
+                userId, response.getTotalGamesPlayed(), response.getTotalWins());
 
         return response;
     }
@@ -96,29 +93,23 @@ public class GameStatisticsServiceImpl implements GameStatisticsService {
     public GameReplayResponse getGameReplay(Long gameId, Long userId) {
         log.info("Getting game replay for history {} by user {}", gameId, userId);
 
-        // Get game history
-        GameHistory gameHistory = gameHistoryRepository.findById(gameId)
-                .orElseThrow(() -> new CustomException(StatusCode.NOT_FOUND));
-
-        // Validate user has access to this game
-        if (!userId.equals(gameHistory.getWinnerId()) && !userId.equals(gameHistory.getLoserId())) {
-            throw new CustomException(StatusCode.FORBIDDEN);
-        }
+        // Get game history the user took part in
+        GameHistory gameHistory = getAccessibleHistory(gameId, userId);
 
         // Get game room for additional info
         GameRoom room = gameRoomRepository.findById(gameHistory.getRoomId())
                 .orElseThrow(() -> new CustomException(StatusCode.ROOM_NOT_FOUND));
 
         // Find the game match
-        List<GameMatch> matches = gameMatchRepository.findByRoomId(gameHistory.getRoomId());
-        if (matches.isEmpty()) {
-            throw new CustomException(StatusCode.NOT_FOUND);
-        }
-
-        GameMatch gameMatch = matches.get(matches.size() - 1); // Get the latest match
+        GameMatch gameMatch = getReplayMatch(gameHistory);
 
         // Get all moves for this match
-        List<Move> moves = moveRepository.findByMatchIdOrderByMoveNumberAsc(gameMatch.getId());
+        List<Move> moves = loadMatchMoves(gameMatch);
+
+        // Moves are already loaded, so keyframes for later seeks come almost for free
+        if (isFinished(gameMatch)) {
+            replayKeyframes.put(gameMatch.getId(), buildKeyframes(moves, gameMatch));
+        }
 
         // Build detailed move responses
         List<SimpleMoveResponse> moveDetails = buildSimpleMoveList(moves, gameMatch);
@@ -130,8 +121,10 @@ public class GameStatisticsServiceImpl implements GameStatisticsService {
         String gameResult = determineGameResult(gameHistory, gameMatch);
 
         // Build player info
-        GameReplayResponse.PlayerInfo playerXInfo = buildPlayerInfo(gameMatch.getPlayerX(), "X", moves);
-        GameReplayResponse.PlayerInfo playerOInfo = buildPlayerInfo(gameMatch.getPlayerO(), "O", moves);
+        GameReplayResponse.PlayerInfo playerXInfo = buildPlayerInfo(gameMatch.getPlayerX(), "X", moves,
+                gameMatch.getPlayerXThinkMillis());
+        GameReplayResponse.PlayerInfo playerOInfo = buildPlayerInfo(gameMatch.getPlayerO(), "O", moves,
+                gameMatch.getPlayerOThinkMillis());
 
         // Calculate game duration
         Long duration = calculateGameDuration(gameHistory.getGameStartedAt(), gameHistory.getGameEndedAt());
@@ -160,6 +153,86 @@ public class GameStatisticsServiceImpl implements GameStatisticsService {
         return response;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ReplayMoveChunkResponse getGameReplayMoves(Long gameId, Long userId, int fromMove, int limit) {
+        log.debug("Getting replay moves for history {} from move {} (limit {})", gameId, fromMove, limit);
+
+        if (fromMove < 1) {
+            throw new CustomException(StatusCode.INVALID_REQUEST);
+        }
+        int chunkSize = limit <= 0 ? CaroGameConstants.REPLAY_DEFAULT_CHUNK_SIZE
+                : Math.min(limit, CaroGameConstants.REPLAY_MAX_CHUNK_SIZE);
+
+        GameHistory gameHistory = getAccessibleHistory(gameId, userId);
+        GameMatch gameMatch = getReplayMatch(gameHistory);
+
+        // Reuse the cached move count when keyframes exist, otherwise ask the database
+        BoardKeyframes keyframes = replayKeyframes.get(gameMatch.getId());
+        int totalMoves = keyframes != null
+                ? keyframes.getTotalMoves()
+                : moveRepository.countByMatch(gameMatch);
+        if (totalMoves == 0) {
+            totalMoves = findArchivedMoves(gameMatch).map(List::size).orElse(0);
+        }
+
+        int toMove = Math.min(totalMoves, fromMove + chunkSize - 1);
+        List<Move> moves = fromMove <= totalMoves
+                ? loadMoveRange(gameMatch, fromMove, toMove)
+                : List.of();
+        boolean hasMore = toMove < totalMoves;
+
+        ReplayMoveChunkResponse response = new ReplayMoveChunkResponse();
+        response.setGameId(gameId);
+        response.setTotalMoves(totalMoves);
+        response.setFromMove(fromMove);
+        response.setToMove(moves.isEmpty() ? null : moves.get(moves.size() - 1).getMoveNumber());
+        response.setHasMore(hasMore);
+        response.setNextFromMove(hasMore ? toMove + 1 : null);
+        response.setMoves(buildSimpleMoveList(moves, gameMatch));
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReplayPositionResponse getGameReplayPosition(Long gameId, Long userId, int moveNumber) {
+        log.debug("Seeking replay for history {} to move {}", gameId, moveNumber);
+
+        GameHistory gameHistory = getAccessibleHistory(gameId, userId);
+        GameMatch gameMatch = getReplayMatch(gameHistory);
+
+        BoardKeyframes keyframes = isFinished(gameMatch)
+                ? replayKeyframes.computeIfAbsent(gameMatch.getId(), matchId -> buildKeyframes(loadMatchMoves(gameMatch), gameMatch))
+                : buildKeyframes(loadMatchMoves(gameMatch), gameMatch);
+
+        if (moveNumber < 0 || moveNumber > keyframes.getTotalMoves()) {
+            throw new CustomException(StatusCode.INVALID_REQUEST);
+        }
+
+        // Start from the nearest keyframe and replay only the moves after it
+        int keyframeMove = keyframes.nearestKeyframe(moveNumber);
+        int[][] board = keyframes.boardAt(keyframeMove);
+        List<Move> deltas = moveNumber == 0 ? List.of()
+                : loadMoveRange(gameMatch, Math.min(keyframeMove + 1, moveNumber), moveNumber);
+        for (Move move : deltas) {
+            if (move.getMoveNumber() > keyframeMove) {
+                board[move.getXPosition()][move.getYPosition()] = getPlayerValue(move.getPlayer(), gameMatch);
+            }
+        }
+
+        ReplayPositionResponse response = new ReplayPositionResponse();
+        response.setGameId(gameId);
+        response.setMoveNumber(moveNumber);
+        response.setTotalMoves(keyframes.getTotalMoves());
+        response.setKeyframeMoveNumber(keyframeMove);
+        response.setBoard(board);
+        if (!deltas.isEmpty()) {
+            List<SimpleMoveResponse> last = buildSimpleMoveList(deltas.subList(deltas.size() - 1, deltas.size()), gameMatch);
+            response.setLastMove(last.get(0));
+        }
+        return response;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<GameHistorySummaryResponse> getUserGameReplays(Long userId, Pageable pageable) {
@@ -181,18 +254,30 @@ public class GameStatisticsServiceImpl implements GameStatisticsService {
     public Page<GameStatisticsResponse> getTopPlayersByWinRate(int limit, Pageable pageable) {
         log.info("Getting top {} players by win rate", limit);
 
-        // Get all users with games
-        List<User> usersWithGames = userRepository.findUsersWithGameHistory();
-        
-        // Calculate statistics for each user and sort by win rate
-        List<GameStatisticsResponse> topPlayers = usersWithGames.stream()
-                .map(user -> getUserGameStatistics(user.getId()))
-                .filter(stats -> stats.getTotalGamesPlayed() >= 5) // Minimum 5 games
-                .sorted((a, b) -> Double.compare(b.getWinRate(), a.getWinRate()))
-                .limit(limit)
+        // Page within the top N of the leaderboard; only the players on the page are loaded
+        int total = Math.min(Math.max(limit, 0), leaderboardService.size());
+        int offset = (int) Math.min(pageable.getOffset(), total);
+        List<LeaderboardEntry> entries = leaderboardService.getRange(offset,
+                Math.min(pageable.getPageSize(), total - offset));
+        if (entries.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        List<Long> userIds = entries.stream().map(LeaderboardEntry::userId).toList();
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, PlayerStats> stats = playerStatsRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(PlayerStats::getUserId, Function.identity()));
+        Map<Long, PlayerThinkTime> thinkTimes = playerThinkTimeRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(PlayerThinkTime::getUserId, Function.identity()));
+
+        List<GameStatisticsResponse> topPlayers = userIds.stream()
+                .filter(users::containsKey)
+                .map(userId -> toStatisticsResponse(users.get(userId),
+                        stats.getOrDefault(userId, new PlayerStats()), thinkTimes.get(userId)))
                 .collect(Collectors.toList());
 
-        return new PageImpl<>(topPlayers, pageable, topPlayers.size());
+        return new PageImpl<>(topPlayers, pageable, total);
     }
 
     @Override
@@ -200,22 +285,57 @@ public class GameStatisticsServiceImpl implements GameStatisticsService {
     public Long getUserRanking(Long userId) {
         log.info("Getting ranking for user {}", userId);
 
-        // Get user's win rate
-        GameStatisticsResponse userStats = getUserGameStatistics(userId);
-        
-        if (userStats.getTotalGamesPlayed() < 5) {
-            return null; // Not enough games to rank
-        }
+        // Validate user exists
+        getUserById(userId);
 
-        // Count users with better win rate
-        List<User> allUsers = userRepository.findUsersWithGameHistory();
-        long betterUsers = allUsers.stream()
-                .map(user -> getUserGameStatistics(user.getId()))
-                .filter(stats -> stats.getTotalGamesPlayed() >= 5)
-                .filter(stats -> stats.getWinRate() > userStats.getWinRate())
-                .count();
+        // Null when the user has too few games to be listed
+        return leaderboardService.getRank(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RankingResponse getUserRankingDetails(Long userId) {
+        log.info("Getting ranking details for user {}", userId);
+
+        // Validate user exists
+        getUserById(userId);
+
+        LeaderboardPosition position = leaderboardService.getPosition(userId);
+        if (position == null) {
+            return null;
+        }
+        double topPercent = position.rank() * 100.0 / position.total();
+        return RankingResponse.builder()
+                .rank(position.rank())
+                .totalRanked(position.total())
+                .percentile(Math.round((position.total() - position.rank()) * 10000.0 / position.total()) / 100.0)
+                .band(bandLabel(bandFor(topPercent)))
+                .build();
+    }
 
-        return betterUsers + 1; // Ranking starts from 1
+    @Override
+    public List<PercentileBandResponse> getPercentileBands() {
+        int total = leaderboardService.size();
+        List<PercentileBandResponse> bands = new ArrayList<>();
+        if (total == 0) {
+            return bands;
+        }
+        for (int topPercent : GameRoomConstants.LEADERBOARD_PERCENTILE_BANDS) {
+            // Each band is one position lookup in the leaderboard
+            int lastRank = Math.max(1, (int) Math.floor(total * topPercent / 100.0));
+            List<LeaderboardEntry> last = leaderboardService.getRange(lastRank - 1, 1);
+            if (last.isEmpty()) {
+                continue;
+            }
+            LeaderboardEntry entry = last.get(0);
+            bands.add(PercentileBandResponse.builder()
+                    .band(bandLabel(topPercent))
+                    .topPercent(topPercent)
+                    .lastRank((long) lastRank)
+                    .minWinRate(Math.round(entry.wins() * 10000.0 / entry.totalGames()) / 100.0)
+                    .build());
+        }
+        return bands;
     }
 
     // Helper methods
@@ -229,77 +349,153 @@ public class GameStatisticsServiceImpl implements GameStatisticsService {
     }
 
     /**
-     * Calculates draw count for a user
+     * Gets game history by ID and checks the user played in it
      */
-    private Long calculateDrawCount(Long userId) {
-        // Count games where user participated but there's no winner (draw)
-        return gameHistoryRepository.findByUserIdList(userId).stream()
-                .filter(history -> history.getWinnerId() == null && history.getLoserId() == null)
-                .count();
+    private GameHistory getAccessibleHistory(Long gameId, Long userId) {
+        GameHistory gameHistory = gameHistoryRepository.findById(gameId)
+                .orElseThrow(() -> new CustomException(StatusCode.NOT_FOUND));
+
+        if (!userId.equals(gameHistory.getWinnerId()) && !userId.equals(gameHistory.getLoserId())) {
+            throw new CustomException(StatusCode.FORBIDDEN);
+        }
+        return gameHistory;
     }
 
     /**
-     * Calculates game time statistics
+     * Gets the match a game history belongs to: the latest one started in its room by the time
+     * the game ended, so a rematch played later in the same room is never picked
      */
-    private GameTimeStatistics calculateGameTimeStatistics(List<GameHistory> games) {
-        if (games.isEmpty()) {
-            return new GameTimeStatistics(0L, 0.0, 0L, 0L);
-        }
+    private GameMatch getReplayMatch(GameHistory gameHistory) {
+        LocalDateTime endedAt = gameHistory.getGameEndedAt() != null ? gameHistory.getGameEndedAt()
+                : gameHistory.getCreatedAt() != null ? gameHistory.getCreatedAt() : LocalDateTime.now();
+        return gameMatchRepository.findHistoryMatches(gameHistory.getRoomId(), endedAt, PageRequest.of(0, 1))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new CustomException(StatusCode.NOT_FOUND));
+    }
 
-        List<Long> durations = games.stream()
-                .filter(game -> game.getGameStartedAt() != null && game.getGameEndedAt() != null)
-                .map(game -> Duration.between(game.getGameStartedAt(), game.getGameEndedAt()).toMinutes())
-                .collect(Collectors.toList());
+    /**
+     * Whether a match has a final result, so its moves can no longer change
+     */
+    private static boolean isFinished(GameMatch gameMatch) {
+        GameResult result = gameMatch.getResult();
+        return result == GameResult.X_WIN || result == GameResult.O_WIN || result == GameResult.DRAW;
+    }
 
-        if (durations.isEmpty()) {
-            return new GameTimeStatistics(0L, 0.0, 0L, 0L);
+    /**
+     * Loads all moves of a match, falling back to the cold-storage archive once its rows are gone
+     */
+    private List<Move> loadMatchMoves(GameMatch gameMatch) {
+        List<Move> moves = moveRepository.findByMatchOrderByMoveNumber(gameMatch);
+        if (!moves.isEmpty()) {
+            return moves;
         }
+        return findArchivedMoves(gameMatch).orElse(moves);
+    }
 
-        Long totalTime = durations.stream().mapToLong(Long::longValue).sum();
-        Double averageTime = durations.stream().mapToLong(Long::longValue).average().orElse(0.0);
-        Long longestTime = durations.stream().mapToLong(Long::longValue).max().orElse(0L);
-        Long shortestTime = durations.stream().mapToLong(Long::longValue).min().orElse(0L);
+    /**
+     * Loads moves fromMove..toMove of a match from the database or the archive
+     */
+    private List<Move> loadMoveRange(GameMatch gameMatch, int fromMove, int toMove) {
+        List<Move> moves = moveRepository.findMoveRange(gameMatch, fromMove, toMove);
+        if (!moves.isEmpty() || !matchArchiveStore.containsMatch(gameMatch.getId())) {
+            return moves;
+        }
+        return findArchivedMoves(gameMatch).orElse(List.of()).stream()
+                .filter(move -> move.getMoveNumber() >= fromMove && move.getMoveNumber() <= toMove)
+                .collect(Collectors.toList());
+    }
 
-        return new GameTimeStatistics(totalTime, averageTime, longestTime, shortestTime);
+    /**
+     * Reads archived moves of a match as detached Move entities
+     */
+    private Optional<List<Move>> findArchivedMoves(GameMatch gameMatch) {
+        Optional<ArchivedMatch> archived = matchArchiveStore.findMatch(gameMatch.getId());
+        return archived.map(match -> match.getMoves().stream()
+                .map(archivedMove -> {
+                    Move move = new Move();
+                    move.setId(archivedMove.getId());
+                    move.setMatch(gameMatch);
+                    move.setPlayer(archivedMove.getPlayerId().equals(gameMatch.getPlayerX().getId())
+                            ? gameMatch.getPlayerX() : gameMatch.getPlayerO());
+                    move.setXPosition(archivedMove.getXPosition());
+                    move.setYPosition(archivedMove.getYPosition());
+                    move.setMoveNumber(archivedMove.getMoveNumber());
+                    move.setCreatedAt(archivedMove.getCreatedAt());
+                    return move;
+                })
+                .collect(Collectors.toList()));
     }
 
     /**
-     * Calculates win streak statistics
+     * Builds the statistics response of a user from their statistics and think time rows
      */
-    private StreakStatistics calculateStreakStatistics(Long userId) {
-        List<GameHistory> recentGames = gameHistoryRepository.findByUserIdList(userId);
-        
-        int currentStreak = 0;
-        int bestStreak = 0;
-        int tempStreak = 0;
-
-        // Calculate current win streak (from most recent games)
-        for (int i = 0; i < recentGames.size(); i++) {
-            GameHistory game = recentGames.get(i);
-            if (userId.equals(game.getWinnerId())) {
-                if (i == 0) currentStreak++; // Only count if it's the most recent games
-                tempStreak++;
-                bestStreak = Math.max(bestStreak, tempStreak);
-            } else {
-                if (i == 0) currentStreak = 0; // Reset current streak if latest game was not a win
-                tempStreak = 0;
-            }
+    private GameStatisticsResponse toStatisticsResponse(User user, PlayerStats stats, PlayerThinkTime thinkTime) {
+        Long totalWins = stats.getWins();
+        Long totalLosses = stats.getLosses();
+        Long totalDraws = stats.getDraws();
+        Long totalGames = stats.getTotalGames();
+
+        // Calculate percentages
+        Double winRate = totalGames > 0 ? (totalWins.doubleValue() / totalGames) * 100 : 0.0;
+        Double lossRate = totalGames > 0 ? (totalLosses.doubleValue() / totalGames) * 100 : 0.0;
+        Double drawRate = totalGames > 0 ? (totalDraws.doubleValue() / totalGames) * 100 : 0.0;
+        Double averageDuration = stats.getTimedGames() > 0
+                ? stats.getTotalDurationMinutes().doubleValue() / stats.getTimedGames() : 0.0;
+
+        // Build response
+        GameStatisticsResponse response = new GameStatisticsResponse();
+        response.setUserId(user.getId());
+        response.setTotalGamesPlayed(totalGames);
+        response.setTotalWins(totalWins);
+        response.setTotalLosses(totalLosses);
+        response.setTotalDraws(totalDraws);
+        response.setWinRate(Math.round(winRate * 100.0) / 100.0);
+        response.setLossRate(Math.round(lossRate * 100.0) / 100.0);
+        response.setDrawRate(Math.round(drawRate * 100.0) / 100.0);
+        response.setTotalGameTimeMinutes(stats.getTotalDurationMinutes());
+        response.setAverageGameDurationMinutes(averageDuration);
+        response.setLongestGameDurationMinutes(stats.getLongestDurationMinutes() != null ? stats.getLongestDurationMinutes() : 0L);
+        response.setShortestGameDurationMinutes(stats.getShortestDurationMinutes() != null ? stats.getShortestDurationMinutes() : 0L);
+        response.setCurrentWinStreak(stats.getCurrentWinStreak());
+        response.setBestWinStreak(stats.getBestWinStreak());
+        int rating = user.getRating() != null ? user.getRating() : GameRoomConstants.DEFAULT_RATING;
+        int ratedGames = user.getRatedGames() != null ? user.getRatedGames() : 0;
+        response.setRating(rating);
+        response.setPlayerRank(EloRating.rankLabel(rating, ratedGames));
+        response.setTotalScore(calculateTotalScore(totalWins, totalDraws, totalGames));
+
+        if (thinkTime != null && thinkTime.getMoveCount() > 0) {
+            ThinkTimeSketch sketch = ThinkTimeSketch.fromBytes(thinkTime.getSketch());
+            response.setAverageThinkTimeSeconds(toSeconds(thinkTime.getTotalThinkMillis().doubleValue() / thinkTime.getMoveCount()));
+            response.setMedianThinkTimeSeconds(toSeconds(sketch.quantile(0.5)));
+            response.setP90ThinkTimeSeconds(toSeconds(sketch.quantile(0.9)));
         }
 
-        return new StreakStatistics(currentStreak, bestStreak);
+        return response;
     }
 
     /**
-     * Calculates player rank based on win rate and games played
+     * Converts milliseconds to seconds rounded to one decimal, keeping null
      */
-    private String calculatePlayerRank(Double winRate, Long totalGames) {
-        if (totalGames < 5) return "Unranked";
-        if (winRate >= 80) return "Master";
-        if (winRate >= 70) return "Expert";
-        if (winRate >= 60) return "Advanced";
-        if (winRate >= 50) return "Intermediate";
-        if (winRate >= 40) return "Novice";
-        return "Beginner";
+    private static Double toSeconds(Number millis) {
+        return millis != null ? Math.round(millis.doubleValue() / 100.0) / 10.0 : null;
+    }
+
+    /**
+     * Gets the narrowest percentile band containing a position in the top {@code topPercent}
+     */
+    private int bandFor(double topPercent) {
+        for (int band : GameRoomConstants.LEADERBOARD_PERCENTILE_BANDS) {
+            if (topPercent <= band) {
+                return band;
+            }
+        }
+        return 100;
+    }
+
+    private String bandLabel(int topPercent) {
+        return topPercent >= 100 ? "All players" : "Top " + topPercent + "%";
     }
 
     /**
@@ -325,6 +521,7 @@ public class GameStatisticsServiceImpl implements GameStatisticsService {
             simpleMove.setYPosition(move.getYPosition());
             simpleMove.setMoveNumber(move.getMoveNumber());
             simpleMove.setMoveTime(move.getCreatedAt());
+            simpleMove.setThinkTimeMillis(move.getThinkTimeMillis());
 
             simpleMoves.add(simpleMove);
         }
@@ -353,7 +550,7 @@ public class GameStatisticsServiceImpl implements GameStatisticsService {
      * Reconstructs the final board state from moves
      */
     private int[][] reconstructBoardFromMoves(List<Move> moves, GameMatch gameMatch) {
-        int[][] board = new int[15][15];
+        int[][] board = new int[CaroGameConstants.BOARD_SIZE][CaroGameConstants.BOARD_SIZE];
 
         for (Move move : moves) {
             int playerValue = getPlayerValue(move.getPlayer(), gameMatch);
@@ -363,10 +560,19 @@ public class GameStatisticsServiceImpl implements GameStatisticsService {
         return board;
     }
 
+    /**
+     * Builds board keyframes every REPLAY_KEYFRAME_INTERVAL moves for seeking
+     */
+    private BoardKeyframes buildKeyframes(List<Move> moves, GameMatch gameMatch) {
+        return BoardKeyframes.build(moves, move -> getPlayerValue(move.getPlayer(), gameMatch),
+                CaroGameConstants.BOARD_SIZE, CaroGameConstants.REPLAY_KEYFRAME_INTERVAL);
+    }
+
     /**
      * Builds player information for replay
      */
-    private GameReplayResponse.PlayerInfo buildPlayerInfo(User player, String symbol, List<Move> allMoves) {
+    private GameReplayResponse.PlayerInfo buildPlayerInfo(User player, String symbol, List<Move> allMoves,
+                                                          Long thinkTimeMillis) {
         GameReplayResponse.PlayerInfo info = new GameReplayResponse.PlayerInfo();
         info.setPlayerId(player.getId());
         info.setPlayerName(player.getUsername());
@@ -381,8 +587,9 @@ public class GameStatisticsServiceImpl implements GameStatisticsService {
 
         info.setMoveCount(playerMoves.size());
 
-        // Calculate average move time (simplified - use default value)
-        info.setAverageMoveTime(25.0); // Default average move time in seconds
+        // Average think time from the match's per-side total; unknown for matches played before it was kept
+        info.setAverageMoveTime(thinkTimeMillis != null && !playerMoves.isEmpty()
+                ? toSeconds(thinkTimeMillis.doubleValue() / playerMoves.size()) : null);
 
         return info;
     }
@@ -468,36 +675,4 @@ public class GameStatisticsServiceImpl implements GameStatisticsService {
         }
         return Duration.between(startTime, endTime).toMinutes();
     }
-
-    // Helper classes for internal use
-
-    /**
-     * Internal class for game time statistics
-     */
-    private static class GameTimeStatistics {
-        final Long totalTimeMinutes;
-        final Double averageDurationMinutes;
-        final Long longestDurationMinutes;
-        final Long shortestDurationMinutes;
-
-        GameTimeStatistics(Long totalTime, Double averageTime, Long longestTime, Long shortestTime) {
-            this.totalTimeMinutes = totalTime;
-            this.averageDurationMinutes = averageTime;
-            this.longestDurationMinutes = longestTime;
-            this.shortestDurationMinutes = shortestTime;
-        }
-    }
-
-    /**
-     * Internal class for streak statistics
-     */
-    private static class StreakStatistics {
-        final Integer currentWinStreak;
-        final Integer bestWinStreak;
-
-        StreakStatistics(Integer currentStreak, Integer bestStreak) {
-            this.currentWinStreak = currentStreak;
-            this.bestWinStreak = bestStreak;
-        }
-    }
 }
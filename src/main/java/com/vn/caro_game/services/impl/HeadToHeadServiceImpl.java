@@ -0,0 +1,206 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.constants.GameRoomConstants;
+import com.vn.caro_game.dtos.HeadToHeadRecord;
+import com.vn.caro_game.dtos.response.HeadToHeadResponse;
+import com.vn.caro_game.entities.GameHistory;
+import com.vn.caro_game.entities.HeadToHead;
+import com.vn.caro_game.entities.HeadToHead.HeadToHeadId;
+import com.vn.caro_game.enums.StatusCode;
+import com.vn.caro_game.events.GameCompletedEvent;
+import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.repositories.GameHistoryRepository;
+import com.vn.caro_game.repositories.GameMatchRepository;
+import com.vn.caro_game.repositories.HeadToHeadRepository;
+import com.vn.caro_game.services.interfaces.HeadToHeadService;
+import com.vn.caro_game.utils.LruCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of HeadToHeadService.
+ *
+ * <p>Each finished game adds to one {@code head_to_head} row keyed by the ordered pair of
+ * user IDs, locked for the update, in a transaction of its own once the game has committed.
+ * Records are served from a small LRU cache; after each
+ * committed game the pair's record is re-read into it by primary key, since the two players
+ * often stay for a rematch. Records carry the ID of the newest game they count, so a slower
+ * read never replaces a newer one.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class HeadToHeadServiceImpl implements HeadToHeadService {
+
+    private final HeadToHeadRepository headToHeadRepository;
+    private final GameHistoryRepository gameHistoryRepository;
+    private final GameMatchRepository gameMatchRepository;
+
+    private final LruCache<HeadToHeadId, HeadToHeadRecord> cache =
+            new LruCache<>(GameRoomConstants.HEAD_TO_HEAD_CACHE_SIZE);
+
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void recordGame(GameCompletedEvent event) {
+        Long firstId = event.getFirstPlayerId();
+        Long secondId = event.getSecondPlayerId();
+        GameHistory history = event.getHistory();
+        if (firstId == null || secondId == null || firstId.equals(secondId)) {
+            log.debug("Game history {} has no two players to count", history.getId());
+            return;
+        }
+
+        HeadToHeadId id = HeadToHeadId.of(firstId, secondId);
+        HeadToHead record = headToHeadRepository.findByIdForUpdate(id).orElseGet(() -> empty(id));
+        if (record.getLastGameHistoryId() != null && record.getLastGameHistoryId() >= history.getId()) {
+            log.debug("Game history {} already counted for players {} and {}", history.getId(), firstId, secondId);
+            return;
+        }
+        apply(record, event.isDraw() ? null : firstId, history);
+        headToHeadRepository.save(record);
+    }
+
+    /**
+     * Refreshes the pair's cached record once the game and its record have committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameCompleted(GameCompletedEvent event) {
+        Long firstId = event.getFirstPlayerId();
+        Long secondId = event.getSecondPlayerId();
+        if (firstId == null || secondId == null || firstId.equals(secondId)) {
+            return;
+        }
+        load(HeadToHeadId.of(firstId, secondId));
+    }
+
+    @Override
+    public HeadToHeadResponse getRecord(Long playerId, Long opponentId) {
+        if (playerId == null || opponentId == null || playerId.equals(opponentId)) {
+            throw new CustomException(StatusCode.INVALID_REQUEST);
+        }
+        HeadToHeadId id = HeadToHeadId.of(playerId, opponentId);
+        HeadToHeadRecord record = cache.get(id);
+        if (record == null) {
+            record = load(id);
+        }
+        return toResponse(record, playerId);
+    }
+
+    /**
+     * Reads the history a page at a time in its own short transactions, so nothing but
+     * the records being built is held in memory.
+     */
+    @Override
+    public Collection<HeadToHead> computeFromHistory(int batchSize) {
+        Map<HeadToHeadId, HeadToHead> records = new HashMap<>();
+        long cursor = 0;
+        List<GameHistory> page;
+        while (!(page = gameHistoryRepository.findByIdGreaterThanOrderByIdAsc(cursor,
+                PageRequest.of(0, batchSize))).isEmpty()) {
+            for (GameHistory history : page) {
+                cursor = history.getId();
+                if (history.getWinnerId() != null && history.getLoserId() != null) {
+                    HeadToHeadId id = HeadToHeadId.of(history.getWinnerId(), history.getLoserId());
+                    apply(records.computeIfAbsent(id, this::empty), history.getWinnerId(), history);
+                } else if (history.getWinnerId() == null && history.getLoserId() == null) {
+                    // Draw histories do not name the players; the drawn match does
+                    Object[] players = gameMatchRepository.findDrawPlayerIds(history.getRoomId(), PageRequest.of(0, 1))
+                            .stream().findFirst().orElse(new Object[2]);
+                    if (players[0] != null && players[1] != null && !players[0].equals(players[1])) {
+                        HeadToHeadId id = HeadToHeadId.of((Long) players[0], (Long) players[1]);
+                        apply(records.computeIfAbsent(id, this::empty), null, history);
+                    }
+                }
+            }
+        }
+        return records.values();
+    }
+
+    @Override
+    @Transactional
+    public void replaceAll(Collection<HeadToHead> records) {
+        headToHeadRepository.deleteAllInBatch();
+        headToHeadRepository.saveAll(records);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.clear();
+                }
+            });
+        } else {
+            cache.clear();
+        }
+        log.info("Replaced head-to-head records of {} pairs", records.size());
+    }
+
+    private HeadToHeadRecord load(HeadToHeadId id) {
+        HeadToHeadRecord loaded = headToHeadRepository.findById(id)
+                .map(HeadToHeadServiceImpl::toRecord)
+                .orElseGet(() -> new HeadToHeadRecord(id.getLowPlayerId(), id.getHighPlayerId(), 0, 0, 0, null, 0));
+        return cache.merge(id, loaded, (cached, fresh) -> fresh.version() >= cached.version() ? fresh : cached);
+    }
+
+    private HeadToHead empty(HeadToHeadId id) {
+        HeadToHead record = new HeadToHead();
+        record.setId(id);
+        return record;
+    }
+
+    /**
+     * Adds one game to a pair's record; a null winner counts a draw
+     */
+    private static void apply(HeadToHead record, Long winnerId, GameHistory history) {
+        if (winnerId == null) {
+            record.setDraws(record.getDraws() + 1);
+        } else if (winnerId.equals(record.getId().getLowPlayerId())) {
+            record.setLowPlayerWins(record.getLowPlayerWins() + 1);
+        } else {
+            record.setHighPlayerWins(record.getHighPlayerWins() + 1);
+        }
+        if (history.getGameEndedAt() != null && (record.getLastGameAt() == null
+                || history.getGameEndedAt().isAfter(record.getLastGameAt()))) {
+            record.setLastGameAt(history.getGameEndedAt());
+        }
+        record.setLastGameHistoryId(history.getId());
+    }
+
+    private static HeadToHeadRecord toRecord(HeadToHead record) {
+        return new HeadToHeadRecord(record.getId().getLowPlayerId(), record.getId().getHighPlayerId(),
+                record.getLowPlayerWins(), record.getHighPlayerWins(), record.getDraws(), record.getLastGameAt(),
+                record.getLastGameHistoryId() != null ? record.getLastGameHistoryId() : 0);
+    }
+
+    private static HeadToHeadResponse toResponse(HeadToHeadRecord record, Long playerId) {
+        boolean low = playerId.equals(record.lowPlayerId());
+        return HeadToHeadResponse.builder()
+                .playerId(playerId)
+                .opponentId(low ? record.highPlayerId() : record.lowPlayerId())
+                .wins(low ? record.lowPlayerWins() : record.highPlayerWins())
+                .losses(low ? record.highPlayerWins() : record.lowPlayerWins())
+                .draws(record.draws())
+                .totalGames(record.lowPlayerWins() + record.highPlayerWins() + record.draws())
+                .lastPlayedAt(record.lastGameAt())
+                .build();
+    }
+}
@@ -0,0 +1,172 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.constants.CaroGameConstants;
+import com.vn.caro_game.dtos.HeatmapMove;
+import com.vn.caro_game.dtos.response.HeatmapResponse;
+import com.vn.caro_game.entities.PlayerHeatmap;
+import com.vn.caro_game.enums.HeatmapSlice;
+import com.vn.caro_game.enums.RoomEventType;
+import com.vn.caro_game.events.RoomEvent;
+import com.vn.caro_game.repositories.MoveRepository;
+import com.vn.caro_game.repositories.PlayerHeatmapRepository;
+import com.vn.caro_game.services.interfaces.HeatmapService;
+import com.vn.caro_game.utils.BoardHeatmap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Implementation of HeatmapService.
+ *
+ * <p>Accepted moves only touch an in-memory heatmap of their player. The scheduler drains
+ * them and adds them to each player's {@code player_heatmap} row under a row lock, in user
+ * ID order so instances flushing the same players never deadlock. Reading a heatmap decodes
+ * one row and adds this instance's pending counts; the moves are never read.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class HeatmapServiceImpl implements HeatmapService {
+
+    private final PlayerHeatmapRepository playerHeatmapRepository;
+    private final MoveRepository moveRepository;
+
+    private final Map<Long, BoardHeatmap> pending = new HashMap<>();
+
+    /**
+     * Counts an accepted move once its transaction has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomEvent(RoomEvent event) {
+        if (event.getType() != RoomEventType.MOVE_MADE || event.getUserId() == null || event.getMoveNumber() == null) {
+            return;
+        }
+        synchronized (pending) {
+            pending.computeIfAbsent(event.getUserId(), userId -> new BoardHeatmap())
+                    .add(event.getMoveNumber(), event.getXPosition(), event.getYPosition());
+        }
+    }
+
+    @Override
+    public Map<Long, BoardHeatmap> drainPending() {
+        synchronized (pending) {
+            Map<Long, BoardHeatmap> drained = new TreeMap<>(pending);
+            pending.clear();
+            return drained;
+        }
+    }
+
+    @Override
+    @Transactional
+    public void writePending(Map<Long, BoardHeatmap> counts) {
+        for (Map.Entry<Long, BoardHeatmap> entry : new TreeMap<>(counts).entrySet()) {
+            // Create the row first, so instances flushing a player's first moves together add to one row
+            playerHeatmapRepository.insertIfAbsent(entry.getKey());
+            PlayerHeatmap row = playerHeatmapRepository.findByUserIdForUpdate(entry.getKey()).orElseThrow();
+            BoardHeatmap heatmap = BoardHeatmap.fromBytes(row.getCounts());
+            heatmap.merge(entry.getValue());
+            row.setCounts(heatmap.toBytes());
+            row.setMoveCount(row.getMoveCount() + entry.getValue().getTotal());
+            playerHeatmapRepository.save(row);
+        }
+    }
+
+    @Override
+    public void restore(Map<Long, BoardHeatmap> counts) {
+        synchronized (pending) {
+            counts.forEach((userId, heatmap) -> pending.computeIfAbsent(userId, id -> new BoardHeatmap()).merge(heatmap));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public HeatmapResponse getHeatmap(Long userId) {
+        BoardHeatmap heatmap = playerHeatmapRepository.findById(userId)
+                .map(row -> BoardHeatmap.fromBytes(row.getCounts()))
+                .orElseGet(BoardHeatmap::new);
+        synchronized (pending) {
+            BoardHeatmap local = pending.get(userId);
+            if (local != null) {
+                heatmap.merge(local);
+            }
+        }
+        return toResponse(userId, heatmap);
+    }
+
+    @Override
+    public long findLastMoveId() {
+        Long maxId = moveRepository.findMaxId();
+        return maxId != null ? maxId : 0;
+    }
+
+    @Override
+    public Map<Long, BoardHeatmap> computeFromMoves(long afterId, long toId, int batchSize) {
+        Map<Long, BoardHeatmap> heatmaps = new HashMap<>();
+        long cursor = afterId;
+        int skipped = 0;
+        List<HeatmapMove> page;
+        while (!(page = moveRepository.findHeatmapMoves(cursor, toId, PageRequest.of(0, batchSize))).isEmpty()) {
+            for (HeatmapMove move : page) {
+                cursor = move.id();
+                if (!heatmaps.computeIfAbsent(move.playerId(), userId -> new BoardHeatmap())
+                        .add(move.moveNumber(), move.xPosition(), move.yPosition())) {
+                    skipped++;
+                }
+            }
+        }
+        if (skipped > 0) {
+            log.warn("Skipped {} moves off the board between IDs {} and {}", skipped, afterId, toId);
+        }
+        return heatmaps;
+    }
+
+    @Override
+    @Transactional
+    public void replaceAll(Map<Long, BoardHeatmap> heatmaps) {
+        playerHeatmapRepository.deleteAllInBatch();
+        List<PlayerHeatmap> rows = new ArrayList<>(heatmaps.size());
+        heatmaps.forEach((userId, heatmap) -> {
+            PlayerHeatmap row = empty(userId);
+            row.setCounts(heatmap.toBytes());
+            row.setMoveCount(heatmap.getTotal());
+            rows.add(row);
+        });
+        playerHeatmapRepository.saveAll(rows);
+        log.info("Replaced board heatmaps of {} players", rows.size());
+    }
+
+    private static PlayerHeatmap empty(Long userId) {
+        PlayerHeatmap row = new PlayerHeatmap();
+        row.setUserId(userId);
+        return row;
+    }
+
+    private static HeatmapResponse toResponse(Long userId, BoardHeatmap heatmap) {
+        Map<HeatmapSlice, Long> moves = new EnumMap<>(HeatmapSlice.class);
+        Map<HeatmapSlice, int[][]> cells = new EnumMap<>(HeatmapSlice.class);
+        for (HeatmapSlice slice : HeatmapSlice.values()) {
+            moves.put(slice, heatmap.getTotal(slice));
+            cells.put(slice, heatmap.toGrid(slice));
+        }
+        return HeatmapResponse.builder()
+                .userId(userId)
+                .openingMoves(CaroGameConstants.HEATMAP_OPENING_MOVES)
+                .totalMoves(heatmap.getTotal())
+                .moves(moves)
+                .cells(cells)
+                .build();
+    }
+}
@@ -0,0 +1,218 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.constants.GameRoomConstants;
+import com.vn.caro_game.dtos.LeaderboardEntry;
+import com.vn.caro_game.dtos.LeaderboardPosition;
+import com.vn.caro_game.events.GameCompletedEvent;
+import com.vn.caro_game.repositories.PlayerStatsRepository;
+import com.vn.caro_game.services.interfaces.LeaderboardService;
+import com.vn.caro_game.utils.IndexedSkipList;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementation of LeaderboardService.
+ *
+ * <p>Players are kept in an {@link IndexedSkipList}, so a page or a player's rank costs
+ * O(log n) plus the page size however many players there are. Each committed game re-reads
+ * its two players' figures by primary key and moves them; figures carry the ID of the
+ * newest game they count, so an older read never replaces a newer one. Players touched
+ * while the leaderboard is loading are re-read once it is in place.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    // Higher win rate first, compared exactly as wins1 * games2 against wins2 * games1
+    static final Comparator<LeaderboardEntry> BY_WIN_RATE = ((Comparator<LeaderboardEntry>) (a, b) ->
+            Long.compare(b.wins() * a.totalGames(), a.wins() * b.totalGames()))
+            .thenComparing(LeaderboardEntry::totalGames, Comparator.reverseOrder())
+            .thenComparing(LeaderboardEntry::userId);
+
+    private final PlayerStatsRepository playerStatsRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, LeaderboardEntry> entriesByUser = new HashMap<>();
+    private final IndexedSkipList<LeaderboardEntry> entries = new IndexedSkipList<>(BY_WIN_RATE);
+
+    private volatile boolean ready;
+    private Set<Long> touchedWhileLoading;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    @Override
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            touchedWhileLoading = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<LeaderboardEntry> loaded;
+        try {
+            loaded = playerStatsRepository.findLeaderboardEntries(GameRoomConstants.LEADERBOARD_MIN_GAMES);
+        } catch (DataAccessException e) {
+            log.warn("Could not load leaderboard: {}", e.getMessage());
+            lock.writeLock().lock();
+            try {
+                touchedWhileLoading = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        Set<Long> touched;
+        lock.writeLock().lock();
+        try {
+            entriesByUser.clear();
+            entries.clear();
+            loaded.forEach(this::put);
+            touched = touchedWhileLoading;
+            touchedWhileLoading = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (!touched.isEmpty()) {
+            refresh(touched);
+        }
+        log.info("Leaderboard loaded: {} players (+{} refreshed)", loaded.size(), touched.size());
+    }
+
+    /**
+     * Moves both players of a game once its transaction has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameCompleted(GameCompletedEvent event) {
+        Set<Long> userIds = new HashSet<>();
+        if (event.getFirstPlayerId() != null) {
+            userIds.add(event.getFirstPlayerId());
+        }
+        if (event.getSecondPlayerId() != null) {
+            userIds.add(event.getSecondPlayerId());
+        }
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (touchedWhileLoading != null) {
+                touchedWhileLoading.addAll(userIds);
+                return;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        refresh(userIds);
+    }
+
+    @Override
+    public List<LeaderboardEntry> getRange(int offset, int count) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return entries.range(offset, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Long getRank(Long userId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            LeaderboardEntry entry = entriesByUser.get(userId);
+            return entry != null ? entries.indexOf(entry) + 1L : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public LeaderboardPosition getPosition(Long userId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            LeaderboardEntry entry = entriesByUser.get(userId);
+            return entry != null ? new LeaderboardPosition(entries.indexOf(entry) + 1L, entries.size()) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!ready) {
+            reload();
+        }
+    }
+
+    /**
+     * Re-reads players' figures outside the lock and applies any that are newer
+     */
+    private void refresh(Set<Long> userIds) {
+        List<LeaderboardEntry> current;
+        try {
+            current = playerStatsRepository.findLeaderboardEntriesByUserIds(userIds);
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh leaderboard for users {}: {}", userIds, e.getMessage());
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            current.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(LeaderboardEntry entry) {
+        LeaderboardEntry previous = entriesByUser.get(entry.userId());
+        if (previous != null) {
+            if (previous.version() >= entry.version()) {
+                return;
+            }
+            entries.remove(previous);
+            entriesByUser.remove(entry.userId());
+        }
+        if (entry.totalGames() >= GameRoomConstants.LEADERBOARD_MIN_GAMES) {
+            entries.add(entry);
+            entriesByUser.put(entry.userId(), entry);
+        }
+    }
+}
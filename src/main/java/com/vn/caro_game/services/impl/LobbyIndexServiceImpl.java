@@ -0,0 +1,346 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.dtos.LobbyRoomSummary;
+import com.vn.caro_game.enums.RoomEventType;
+import com.vn.caro_game.enums.RoomStatus;
+import com.vn.caro_game.events.RoomEvent;
+import com.vn.caro_game.repositories.GameRoomRepository;
+import com.vn.caro_game.services.interfaces.LobbyIndexService;
+import com.vn.caro_game.services.interfaces.RoomRegistryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementation of LobbyIndexService.
+ *
+ * <p>Rooms enter the index when they are created (or go back to WAITING) and turn out to
+ * be public, which costs one primary key query per room rather than one per lobby poll.
+ * They leave it when their status changes away from WAITING or they are closed. Player
+ * counts are read from the room registry when a page is built, so joins and leaves are only
+ * recorded as changes. Every room whose lobby entry was added, changed
+ * or removed is remembered until the lobby diff stream drains it. Events that arrive while
+ * the index is loading are replayed afterwards.</p>
+ *
+ * <p>Summaries are read outside the lock. Each room being read has a version that every
+ * event applied to it meanwhile bumps; a read that was overtaken is retried, so a stale
+ * summary never goes back into the index after the event that removed it.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class LobbyIndexServiceImpl implements LobbyIndexService {
+
+    static final Sort LOBBY_ORDER = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    private static final Comparator<LobbyRoomSummary> NEWEST_FIRST = Comparator
+            .comparing(LobbyRoomSummary::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(LobbyRoomSummary::id, Comparator.reverseOrder());
+
+    private final GameRoomRepository gameRoomRepository;
+    private final RoomRegistryService roomRegistryService;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, LobbyRoomSummary> roomsById = new HashMap<>();
+    private final TreeSet<LobbyRoomSummary> rooms = new TreeSet<>(NEWEST_FIRST);
+    private final Set<Long> changedRoomIds = new LinkedHashSet<>();
+    private final Map<Long, RoomLookUp> lookUpsInFlight = new HashMap<>();
+
+    private volatile boolean ready;
+    private List<RoomEvent> pendingEvents;
+
+    public LobbyIndexServiceImpl(GameRoomRepository gameRoomRepository, RoomRegistryService roomRegistryService,
+                                 @Value("${app.lobby-index.enabled:true}") boolean enabled) {
+        this.gameRoomRepository = gameRoomRepository;
+        this.roomRegistryService = roomRegistryService;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            reload();
+        } else {
+            log.info("Lobby index is disabled");
+        }
+    }
+
+    @Override
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            pendingEvents = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<LobbyRoomSummary> summaries;
+        try {
+            summaries = gameRoomRepository.findAllPublicWaitingRoomSummaries();
+        } catch (DataAccessException e) {
+            log.warn("Could not load lobby index, the lobby will be queried from the database: {}", e.getMessage());
+            lock.writeLock().lock();
+            try {
+                pendingEvents = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            roomsById.clear();
+            rooms.clear();
+            changedRoomIds.clear();
+            summaries.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Replay the events queued meanwhile in rounds, reading their summaries outside the lock
+        int replayed = 0;
+        while (true) {
+            List<RoomEvent> events;
+            lock.writeLock().lock();
+            try {
+                if (pendingEvents.isEmpty()) {
+                    pendingEvents = null;
+                    ready = true;
+                    log.info("Lobby index loaded: {} public waiting rooms (+{} replayed events)", rooms.size(), replayed);
+                    return;
+                }
+                events = pendingEvents;
+                pendingEvents = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            List<LobbyRoomSummary> added = new ArrayList<>(events.size());
+            events.forEach(event -> added.add(lookUp(event)));
+            lock.writeLock().lock();
+            try {
+                for (int i = 0; i < events.size(); i++) {
+                    apply(events.get(i), added.get(i));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            replayed += events.size();
+        }
+    }
+
+    /**
+     * Applies a room event once its transaction has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomEvent(RoomEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Long roomId = event.getRoomId();
+        while (true) {
+            long version;
+            lock.writeLock().lock();
+            try {
+                if (pendingEvents != null) {
+                    pendingEvents.add(event);
+                    return;
+                }
+                if (!ready) {
+                    return;
+                }
+                if (!needsLookUp(event)) {
+                    apply(event, null);
+                    return;
+                }
+                RoomLookUp lookUp = lookUpsInFlight.computeIfAbsent(roomId, id -> new RoomLookUp());
+                lookUp.readers++;
+                version = lookUp.version;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            // Read the room outside the lock so lobby pages are not held up by the query
+            LobbyRoomSummary added = lookUp(event);
+            lock.writeLock().lock();
+            try {
+                RoomLookUp lookUp = lookUpsInFlight.get(roomId);
+                boolean overtaken = lookUp.version != version;
+                if (--lookUp.readers == 0) {
+                    lookUpsInFlight.remove(roomId);
+                }
+                if (pendingEvents != null) {
+                    pendingEvents.add(event);
+                    return;
+                }
+                if (!overtaken) {
+                    apply(event, added);
+                    return;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.debug("Re-reading room {} for the lobby index: a later event was applied meanwhile", roomId);
+        }
+    }
+
+    @Override
+    public boolean canServe(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        return ready && roomRegistryService.isAuthoritative() && (sort.isUnsorted() || LOBBY_ORDER.equals(sort));
+    }
+
+    @Override
+    public Page<LobbyRoomSummary> getPage(Pageable pageable) {
+        List<LobbyRoomSummary> content = new ArrayList<>(pageable.getPageSize());
+        int total;
+        lock.readLock().lock();
+        try {
+            total = rooms.size();
+            Iterator<LobbyRoomSummary> iterator = rooms.iterator();
+            for (long skipped = 0; skipped < pageable.getOffset() && iterator.hasNext(); skipped++) {
+                iterator.next();
+            }
+            while (content.size() < pageable.getPageSize() && iterator.hasNext()) {
+                content.add(iterator.next());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new PageImpl<>(content.stream().map(this::withPlayerCount).toList(), pageable, total);
+    }
+
+    @Override
+    public Optional<LobbyRoomSummary> findRoom(Long roomId) {
+        LobbyRoomSummary room;
+        lock.readLock().lock();
+        try {
+            room = roomsById.get(roomId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Optional.ofNullable(room).map(this::withPlayerCount);
+    }
+
+    @Override
+    public List<Long> drainChangedRoomIds() {
+        lock.writeLock().lock();
+        try {
+            List<Long> changed = new ArrayList<>(changedRoomIds);
+            changedRoomIds.clear();
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private LobbyRoomSummary withPlayerCount(LobbyRoomSummary room) {
+        return new LobbyRoomSummary(room.id(), room.name(), room.createdByName(), room.createdAt(),
+                (long) roomRegistryService.getPlayerCount(room.id()));
+    }
+
+    @Override
+    public int getRoomCount() {
+        lock.readLock().lock();
+        try {
+            return rooms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the lobby summary of a room the event may bring into the lobby, or returns null
+     */
+    private LobbyRoomSummary lookUp(RoomEvent event) {
+        if (!needsLookUp(event)) {
+            return null;
+        }
+        try {
+            return gameRoomRepository.findLobbyRoomSummary(event.getRoomId()).orElse(null);
+        } catch (DataAccessException e) {
+            log.warn("Could not add room {} to the lobby index: {}", event.getRoomId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the event may bring the room into the lobby, so its summary has to be read
+     */
+    private static boolean needsLookUp(RoomEvent event) {
+        boolean reopened = event.getRoomStatus() == RoomStatus.WAITING
+                && (event.getType() == RoomEventType.GAME_RESET || event.getType() == RoomEventType.STATE_CHANGED);
+        return event.getType() == RoomEventType.ROOM_CREATED || reopened;
+    }
+
+    /**
+     * Applies one event and the summary read for it; callers hold the write lock
+     */
+    private void apply(RoomEvent event, LobbyRoomSummary added) {
+        RoomLookUp lookUp = lookUpsInFlight.get(event.getRoomId());
+        if (lookUp != null) {
+            lookUp.version++;
+        }
+        RoomStatus status = event.getRoomStatus();
+        if (event.getType() == RoomEventType.ROOM_CLOSED || (status != null && status != RoomStatus.WAITING)) {
+            if (remove(event.getRoomId())) {
+                changedRoomIds.add(event.getRoomId());
+            }
+        } else if (added != null) {
+            put(added);
+            changedRoomIds.add(added.id());
+        } else if (roomsById.containsKey(event.getRoomId())
+                && (event.getType() == RoomEventType.PLAYER_JOINED || event.getType() == RoomEventType.PLAYER_LEFT)) {
+            // The player count shown in the lobby changed
+            changedRoomIds.add(event.getRoomId());
+        }
+    }
+
+    private void put(LobbyRoomSummary summary) {
+        remove(summary.id());
+        roomsById.put(summary.id(), summary);
+        rooms.add(summary);
+    }
+
+    private boolean remove(Long roomId) {
+        LobbyRoomSummary previous = roomsById.remove(roomId);
+        if (previous != null) {
+            rooms.remove(previous);
+        }
+        return previous != null;
+    }
+
+    /**
+     * Summary reads of one room in progress, and the number of events applied to it since they started
+     */
+    private static final class RoomLookUp {
+        int readers;
+        long version;
+    }
+}
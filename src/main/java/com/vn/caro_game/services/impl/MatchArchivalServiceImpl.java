@@ -0,0 +1,114 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.entities.ChatMessage;
+import com.vn.caro_game.entities.GameMatch;
+import com.vn.caro_game.entities.Move;
+import com.vn.caro_game.enums.GameState;
+import com.vn.caro_game.integrations.archive.ArchivedChatMessage;
+import com.vn.caro_game.integrations.archive.ArchivedMatch;
+import com.vn.caro_game.integrations.archive.ArchivedMove;
+import com.vn.caro_game.integrations.archive.MatchArchiveStore;
+import com.vn.caro_game.repositories.ChatMessageRepository;
+import com.vn.caro_game.repositories.GameMatchRepository;
+import com.vn.caro_game.repositories.MoveRepository;
+import com.vn.caro_game.services.interfaces.MatchArchivalService;
+import com.vn.caro_game.utils.PartitionBounds;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of MatchArchivalService.
+ *
+ * <p>Each record is written to the archive before its rows are deleted, inside the
+ * same transaction. If the delete rolls back the record is simply archived again on
+ * the next run; the archive keeps the latest copy of a match and dedupes chat by ID.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MatchArchivalServiceImpl implements MatchArchivalService {
+
+    private final GameMatchRepository gameMatchRepository;
+    private final MoveRepository moveRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final MatchArchiveStore matchArchiveStore;
+
+    @Override
+    @Transactional
+    public int archiveMatchBatch(LocalDateTime cutoff, int batchSize) {
+        List<Long> matchIds = gameMatchRepository.findArchivableMatchIds(
+                cutoff, GameState.IN_PROGRESS, PageRequest.of(0, batchSize));
+
+        for (Long matchId : matchIds) {
+            GameMatch match = gameMatchRepository.findById(matchId).orElse(null);
+            if (match == null) {
+                continue;
+            }
+            List<Move> moves = moveRepository.findByMatchOrderByMoveNumber(match);
+            matchArchiveStore.appendMatch(toArchivedMatch(match, moves));
+            int deleted = moveRepository.deleteByMatchIdSince(
+                    matchId, PartitionBounds.lowerBound(match.getStartTime()));
+            log.debug("Archived match {} with {} moves", matchId, deleted);
+        }
+
+        if (!matchIds.isEmpty()) {
+            // One sync per batch, before the move deletes commit
+            matchArchiveStore.sync();
+            log.info("Archived {} matches started before {}", matchIds.size(), cutoff);
+        }
+        return matchIds.size();
+    }
+
+    @Override
+    @Transactional
+    public int archiveChatBatch(LocalDateTime cutoff, int batchSize) {
+        List<Long> roomIds = chatMessageRepository.findArchivableRoomIds(
+                cutoff, GameState.IN_PROGRESS, PageRequest.of(0, batchSize));
+
+        for (Long roomId : roomIds) {
+            List<ChatMessage> messages = chatMessageRepository.findByRoomIdAndSentAtBefore(roomId, cutoff);
+            matchArchiveStore.appendChatMessages(roomId, messages.stream()
+                    .map(message -> new ArchivedChatMessage(message.getId(), roomId,
+                            message.getSender().getId(), message.getContent(), message.getSentAt()))
+                    .collect(Collectors.toList()));
+            chatMessageRepository.deleteByRoomIdAndSentAtBefore(roomId, cutoff);
+        }
+
+        if (!roomIds.isEmpty()) {
+            // One sync per batch, before the chat deletes commit
+            matchArchiveStore.sync();
+            log.info("Archived chat of {} rooms sent before {}", roomIds.size(), cutoff);
+        }
+        return roomIds.size();
+    }
+
+    /**
+     * Converts a match and its moves to the archive format
+     */
+    private ArchivedMatch toArchivedMatch(GameMatch match, List<Move> moves) {
+        return ArchivedMatch.builder()
+                .matchId(match.getId())
+                .roomId(match.getRoom() != null ? match.getRoom().getId() : null)
+                .playerXId(match.getPlayerX() != null ? match.getPlayerX().getId() : null)
+                .playerOId(match.getPlayerO() != null ? match.getPlayerO().getId() : null)
+                .startTime(match.getStartTime())
+                .endTime(match.getEndTime())
+                .result(match.getResult() != null ? match.getResult().name() : null)
+                .moves(moves.stream()
+                        .map(move -> new ArchivedMove(move.getId(), move.getMoveNumber(),
+                                move.getXPosition(), move.getYPosition(),
+                                move.getPlayer().getId(), move.getCreatedAt()))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
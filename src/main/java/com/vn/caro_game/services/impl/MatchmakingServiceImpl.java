@@ -0,0 +1,292 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.constants.GameRoomConstants;
+import com.vn.caro_game.dtos.response.GameRoomResponse;
+import com.vn.caro_game.dtos.response.MatchmakingStatusResponse;
+import com.vn.caro_game.dtos.websocket.MatchFoundMessage;
+import com.vn.caro_game.entities.GameRoom;
+import com.vn.caro_game.entities.User;
+import com.vn.caro_game.enums.RoomEventType;
+import com.vn.caro_game.enums.StatusCode;
+import com.vn.caro_game.events.RoomEvent;
+import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.repositories.GameRoomRepository;
+import com.vn.caro_game.repositories.UserRepository;
+import com.vn.caro_game.services.interfaces.GameRoomService;
+import com.vn.caro_game.services.interfaces.MatchmakingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of MatchmakingService.
+ *
+ * <p>Each pairing tick sorts the waiting players by rating and walks neighbours, so every
+ * player is only compared with the closest ratings instead of with the whole queue. Two
+ * neighbours are paired when their rating ranges overlap; a range starts at
+ * {@code app.matchmaking.base-band} on either side and widens by
+ * {@code app.matchmaking.band-widen-per-second} up to {@code app.matchmaking.max-band}.
+ * Rooms are created outside the queue lock, one transaction per pair. If a pair cannot be
+ * seated, the players who are still free go back to the queue with their original wait
+ * time.</p>
+ *
+ * <p>A ticket lives as long as its player shows signs of life: joining again or polling
+ * the status refreshes it, a WebSocket disconnect removes it, and a ticket not refreshed
+ * for {@code app.matchmaking.ticket-ttl-seconds} is dropped on the next pairing tick.</p>
+ *
+ * <p>Pairing is published as {@code caro.matchmaking.*} meters.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class MatchmakingServiceImpl implements MatchmakingService {
+
+    private static final Comparator<Ticket> BY_RATING = Comparator.comparingInt(Ticket::rating)
+            .thenComparingLong(Ticket::enqueuedAt);
+
+    private final GameRoomService gameRoomService;
+    private final GameRoomRepository gameRoomRepository;
+    private final UserRepository userRepository;
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final Counter pairs;
+    private final Counter failedPairs;
+    private final Timer waitTimer;
+    private final Timer tickTimer;
+    private final Clock clock;
+
+    private final Map<Long, Ticket> tickets = new HashMap<>();
+
+    @Value("${app.matchmaking.base-band:50}")
+    private int baseBand;
+
+    @Value("${app.matchmaking.band-widen-per-second:5}")
+    private int bandWidenPerSecond;
+
+    @Value("${app.matchmaking.max-band:300}")
+    private int maxBand;
+
+    @Value("${app.matchmaking.ticket-ttl-seconds:120}")
+    private int ticketTtlSeconds;
+
+    public MatchmakingServiceImpl(GameRoomService gameRoomService, GameRoomRepository gameRoomRepository,
+                                  UserRepository userRepository, SimpMessageSendingOperations messagingTemplate,
+                                  ObjectProvider<MeterRegistry> meterRegistryProvider, Clock clock) {
+        this.gameRoomService = gameRoomService;
+        this.gameRoomRepository = gameRoomRepository;
+        this.userRepository = userRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.clock = clock;
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        this.pairs = Counter.builder("caro.matchmaking.pairs")
+                .description("Pairs seated in a matched room")
+                .register(meterRegistry);
+        this.failedPairs = Counter.builder("caro.matchmaking.failed-pairs")
+                .description("Pairs whose room could not be created")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("caro.matchmaking.wait")
+                .description("Time players waited in the queue before being paired")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.tickTimer = Timer.builder("caro.matchmaking.tick")
+                .description("Duration of pairing ticks")
+                .register(meterRegistry);
+        meterRegistry.gauge("caro.matchmaking.queue", this, MatchmakingServiceImpl::getQueueSize);
+    }
+
+    @Override
+    public MatchmakingStatusResponse joinQueue(Long userId) {
+        Optional<GameRoom> activeRoom = gameRoomRepository.findActiveRoomsByUserId(userId, PageRequest.of(0, 1))
+                .stream().findFirst();
+        if (activeRoom.isPresent()) {
+            return MatchmakingStatusResponse.builder()
+                    .queued(false)
+                    .roomId(activeRoom.get().getId())
+                    .queueSize(getQueueSize())
+                    .build();
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new CustomException(StatusCode.USER_NOT_FOUND));
+        long now = clock.millis();
+        synchronized (tickets) {
+            // Joining again keeps the original place and counts as a heartbeat
+            Ticket ticket = tickets.compute(userId, (id, queued) -> queued != null ? queued.seenAt(now)
+                    : new Ticket(id, user.getUsername(),
+                    user.getRating() != null ? user.getRating() : GameRoomConstants.DEFAULT_RATING, now, now));
+            log.info("User {} waiting for quick play with rating {}", userId, ticket.rating());
+            return toStatus(ticket, now);
+        }
+    }
+
+    @Override
+    public void leaveQueue(Long userId) {
+        synchronized (tickets) {
+            if (tickets.remove(userId) != null) {
+                log.info("User {} left the quick play queue", userId);
+            }
+        }
+    }
+
+    @Override
+    public MatchmakingStatusResponse getStatus(Long userId) {
+        long now = clock.millis();
+        synchronized (tickets) {
+            Ticket ticket = tickets.computeIfPresent(userId, (id, queued) -> queued.seenAt(now));
+            if (ticket == null) {
+                return MatchmakingStatusResponse.builder().queued(false).queueSize(tickets.size()).build();
+            }
+            return toStatus(ticket, now);
+        }
+    }
+
+    @Override
+    public int getQueueSize() {
+        synchronized (tickets) {
+            return tickets.size();
+        }
+    }
+
+    /**
+     * Takes a player out of the queue once they sit in a room, however they got there
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomEvent(RoomEvent event) {
+        if (event.getType() == RoomEventType.PLAYER_JOINED && event.getUserId() != null) {
+            leaveQueue(event.getUserId());
+        }
+    }
+
+    /**
+     * Takes a player out of the queue when their WebSocket session closes, since the match could not reach them
+     */
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        Map<String, Object> sessionAttributes = StompHeaderAccessor.wrap(event.getMessage()).getSessionAttributes();
+        if (sessionAttributes != null && sessionAttributes.get("userId") instanceof Long userId) {
+            leaveQueue(userId);
+        }
+    }
+
+    @Override
+    public int runPairingTick() {
+        long started = System.nanoTime();
+        long now = clock.millis();
+        List<Ticket[]> matched = new ArrayList<>();
+        synchronized (tickets) {
+            long expiredBefore = now - TimeUnit.SECONDS.toMillis(ticketTtlSeconds);
+            if (tickets.values().removeIf(ticket -> ticket.lastSeenAt() < expiredBefore)) {
+                log.info("Dropped quick play tickets not refreshed for {} seconds", ticketTtlSeconds);
+            }
+            if (tickets.size() < 2) {
+                return 0;
+            }
+            List<Ticket> waiting = new ArrayList<>(tickets.values());
+            waiting.sort(BY_RATING);
+            int i = 0;
+            while (i + 1 < waiting.size()) {
+                Ticket lower = waiting.get(i);
+                Ticket higher = waiting.get(i + 1);
+                if (higher.rating() - lower.rating() <= band(lower, now) + band(higher, now)) {
+                    tickets.remove(lower.userId());
+                    tickets.remove(higher.userId());
+                    // The longer waiter hosts
+                    matched.add(lower.enqueuedAt() <= higher.enqueuedAt()
+                            ? new Ticket[]{lower, higher} : new Ticket[]{higher, lower});
+                    i += 2;
+                } else {
+                    i++;
+                }
+            }
+        }
+
+        int created = 0;
+        for (Ticket[] pair : matched) {
+            if (seat(pair[0], pair[1], now)) {
+                created++;
+            }
+        }
+        tickTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return created;
+    }
+
+    private boolean seat(Ticket host, Ticket guest, long now) {
+        GameRoomResponse room;
+        try {
+            room = gameRoomService.createMatchedRoom(host.userId(), guest.userId());
+        } catch (CustomException | DataAccessException e) {
+            failedPairs.increment();
+            log.warn("Could not seat users {} and {}: {}", host.userId(), guest.userId(), e.getMessage());
+            requeueIfFree(host);
+            requeueIfFree(guest);
+            return false;
+        }
+        pairs.increment();
+        notifyMatched(host, room, now);
+        notifyMatched(guest, room, now);
+        return true;
+    }
+
+    private void requeueIfFree(Ticket ticket) {
+        if (!gameRoomRepository.existsActiveRoomByUserId(ticket.userId())) {
+            synchronized (tickets) {
+                tickets.putIfAbsent(ticket.userId(), ticket);
+            }
+        }
+    }
+
+    private void notifyMatched(Ticket ticket, GameRoomResponse room, long now) {
+        long waitMillis = now - ticket.enqueuedAt();
+        waitTimer.record(waitMillis, TimeUnit.MILLISECONDS);
+        try {
+            messagingTemplate.convertAndSendToUser(ticket.username(), GameRoomConstants.QUEUE_MATCHMAKING,
+                    new MatchFoundMessage(room, waitMillis, now));
+        } catch (Exception e) {
+            log.error("Error notifying user {} of match: {}", ticket.userId(), e.getMessage());
+        }
+    }
+
+    private int band(Ticket ticket, long now) {
+        long waitSeconds = (now - ticket.enqueuedAt()) / 1000;
+        return (int) Math.min(maxBand, baseBand + bandWidenPerSecond * waitSeconds);
+    }
+
+    private MatchmakingStatusResponse toStatus(Ticket ticket, long now) {
+        return MatchmakingStatusResponse.builder()
+                .queued(true)
+                .rating(ticket.rating())
+                .ratingBand(band(ticket, now))
+                .waitSeconds((now - ticket.enqueuedAt()) / 1000)
+                .queueSize(tickets.size())
+                .build();
+    }
+
+    private record Ticket(Long userId, String username, int rating, long enqueuedAt, long lastSeenAt) {
+
+        Ticket seenAt(long now) {
+            return new Ticket(userId, username, rating, enqueuedAt, now);
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.constants.CaroGameConstants;
+import com.vn.caro_game.dtos.OpeningGame;
+import com.vn.caro_game.dtos.OpeningMove;
+import com.vn.caro_game.dtos.response.OpeningContinuationResponse;
+import com.vn.caro_game.dtos.response.OpeningExplorerResponse;
+import com.vn.caro_game.enums.GameResult;
+import com.vn.caro_game.enums.StatusCode;
+import com.vn.caro_game.events.GameCompletedEvent;
+import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.integrations.archive.ArchivedMatch;
+import com.vn.caro_game.integrations.archive.ArchivedMove;
+import com.vn.caro_game.integrations.archive.MatchArchiveStore;
+import com.vn.caro_game.repositories.GameHistoryRepository;
+import com.vn.caro_game.repositories.MoveRepository;
+import com.vn.caro_game.services.interfaces.OpeningExplorerService;
+import com.vn.caro_game.utils.BoardSymmetry;
+import com.vn.caro_game.utils.OpeningTree;
+import com.vn.caro_game.utils.PartitionBounds;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementation of OpeningExplorerService.
+ *
+ * <p>The first {@link CaroGameConstants#OPENING_TREE_DEPTH} moves of every finished game
+ * are counted in an {@link OpeningTree} held in memory. Each game is turned by the board
+ * symmetry that gives its smallest move sequence first, so openings that differ only by a
+ * rotation or reflection share one path. Queries are turned the same way, walk the tree and
+ * turn the continuations back, without touching the database.</p>
+ *
+ * <p>The tree is loaded from the game history on start and each committed game is added
+ * to it; games that finish while it loads are added once it is in place.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OpeningExplorerServiceImpl implements OpeningExplorerService {
+
+    private static final int DEPTH = CaroGameConstants.OPENING_TREE_DEPTH;
+    private static final int SIZE = CaroGameConstants.BOARD_SIZE;
+
+    private final GameHistoryRepository gameHistoryRepository;
+    private final MoveRepository moveRepository;
+    private final MatchArchiveStore matchArchiveStore;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private OpeningTree tree = new OpeningTree();
+    private List<Long> completedWhileLoading;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    @Override
+    public void reload() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            completedWhileLoading = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        OpeningTree loaded = new OpeningTree();
+        long cursor = 0;
+        int games = 0;
+        try {
+            List<OpeningGame> page;
+            while (!(page = gameHistoryRepository.findOpeningGames(cursor,
+                    PageRequest.of(0, CaroGameConstants.OPENING_TREE_LOAD_BATCH_SIZE))).isEmpty()) {
+                cursor = page.get(page.size() - 1).historyId();
+                for (Opening opening : readOpenings(page)) {
+                    loaded.add(opening.cells(), opening.result());
+                    games++;
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not load opening tree, keeping the current one: {}", e.getMessage());
+            loaded = null;
+        }
+
+        List<Long> missed;
+        lock.writeLock().lock();
+        try {
+            if (loaded != null) {
+                tree = loaded;
+            }
+            missed = completedWhileLoading;
+            completedWhileLoading = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        for (Long historyId : missed) {
+            if (loaded == null || historyId > cursor) {
+                addGame(historyId);
+            }
+        }
+        if (loaded != null) {
+            log.info("Opening tree loaded: {} games, {} nodes, took {} ms",
+                    games, loaded.size(), System.currentTimeMillis() - started);
+        }
+    }
+
+    /**
+     * Adds a finished game once its transaction has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameCompleted(GameCompletedEvent event) {
+        Long historyId = event.getHistory().getId();
+        if (historyId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (completedWhileLoading != null) {
+                completedWhileLoading.add(historyId);
+                return;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        addGame(historyId);
+    }
+
+    @Override
+    public OpeningExplorerResponse explore(List<Integer> moves) {
+        int[] cells = toCells(moves);
+        int symmetry = BoardSymmetry.canonical(cells);
+        int back = BoardSymmetry.inverse(symmetry);
+        // X makes the odd moves, so X is to move after an even number of moves
+        boolean xToMove = cells.length % 2 == 0;
+
+        lock.readLock().lock();
+        try {
+            int node = cells.length <= DEPTH ? tree.find(BoardSymmetry.apply(symmetry, cells)) : OpeningTree.NONE;
+            List<OpeningContinuationResponse> continuations = new ArrayList<>();
+            if (node == OpeningTree.NONE) {
+                return toResponse(cells.length, 0, 0, 0, continuations);
+            }
+            for (int child = tree.getFirstChild(node); child != OpeningTree.NONE; child = tree.getNextSibling(child)) {
+                int cell = BoardSymmetry.transform(back, tree.getMove(child));
+                int games = tree.getGames(child);
+                int moverWins = xToMove ? tree.getXWins(child) : tree.getOWins(child);
+                continuations.add(OpeningContinuationResponse.builder()
+                        .xPosition(cell / SIZE)
+                        .yPosition(cell % SIZE)
+                        .games(games)
+                        .xWins(tree.getXWins(child))
+                        .oWins(tree.getOWins(child))
+                        .draws(tree.getDraws(child))
+                        .winRate(games > 0 ? (double) moverWins / games : 0.0)
+                        .build());
+            }
+            continuations.sort(Comparator.comparing(OpeningContinuationResponse::getGames, Comparator.reverseOrder())
+                    .thenComparing(OpeningContinuationResponse::getXPosition)
+                    .thenComparing(OpeningContinuationResponse::getYPosition));
+            return toResponse(cells.length, tree.getGames(node), tree.getXWins(node), tree.getOWins(node),
+                    continuations);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addGame(Long historyId) {
+        try {
+            List<Opening> openings = gameHistoryRepository.findOpeningGame(historyId)
+                    .map(game -> readOpenings(List.of(game)))
+                    .orElse(List.of());
+            lock.writeLock().lock();
+            try {
+                openings.forEach(opening -> tree.add(opening.cells(), opening.result()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not add game history {} to the opening tree: {}", historyId, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the opening cells of a page of games, in canonical form. Matches whose moves
+     * were moved to cold storage are read from the archive. Games without a known result
+     * or without moves are left out.
+     */
+    private List<Opening> readOpenings(List<OpeningGame> games) {
+        List<Long> matchIds = new ArrayList<>(games.size());
+        LocalDateTime since = null;
+        for (OpeningGame game : games) {
+            matchIds.add(game.matchId());
+            LocalDateTime bound = PartitionBounds.lowerBound(game.startTime());
+            if (since == null || bound.isBefore(since)) {
+                since = bound;
+            }
+        }
+
+        Map<Long, List<int[]>> movesByMatch = new HashMap<>();
+        for (OpeningMove move : moveRepository.findOpeningMoves(matchIds, since, DEPTH)) {
+            movesByMatch.computeIfAbsent(move.matchId(), matchId -> new ArrayList<>())
+                    .add(new int[]{move.moveNumber(), move.xPosition(), move.yPosition()});
+        }
+
+        List<Opening> openings = new ArrayList<>(games.size());
+        for (OpeningGame game : games) {
+            GameResult result = game.result();
+            if (result == null) {
+                continue;
+            }
+            List<int[]> moves = movesByMatch.get(game.matchId());
+            if (moves == null) {
+                moves = readArchivedMoves(game.matchId());
+            }
+            int[] cells = toOpeningCells(moves);
+            if (cells.length > 0) {
+                openings.add(new Opening(BoardSymmetry.apply(BoardSymmetry.canonical(cells), cells), result));
+            }
+        }
+        return openings;
+    }
+
+    private List<int[]> readArchivedMoves(Long matchId) {
+        return matchArchiveStore.findMatch(matchId)
+                .map(ArchivedMatch::getMoves)
+                .map(moves -> moves.stream()
+                        .filter(move -> move.getMoveNumber() <= DEPTH)
+                        .sorted(Comparator.comparing(ArchivedMove::getMoveNumber))
+                        .map(move -> new int[]{move.getMoveNumber(), move.getXPosition(), move.getYPosition()})
+                        .toList())
+                .orElse(List.of());
+    }
+
+    /**
+     * Turns moves ordered by number into cells, stopping at a gap or a cell off the board
+     */
+    private static int[] toOpeningCells(List<int[]> moves) {
+        int[] cells = new int[Math.min(moves.size(), DEPTH)];
+        int count = 0;
+        for (int[] move : moves) {
+            if (count == cells.length || move[0] != count + 1 || !isOnBoard(move[1]) || !isOnBoard(move[2])) {
+                break;
+            }
+            cells[count++] = move[1] * SIZE + move[2];
+        }
+        return count == cells.length ? cells : Arrays.copyOf(cells, count);
+    }
+
+    /**
+     * Turns the query's x and y positions into cells
+     *
+     * @throws CustomException if a position is missing, off the board or played twice
+     */
+    private static int[] toCells(List<Integer> moves) {
+        if (moves == null) {
+            return new int[0];
+        }
+        if (moves.size() % 2 != 0) {
+            throw new CustomException(StatusCode.INVALID_REQUEST);
+        }
+        int[] cells = new int[moves.size() / 2];
+        boolean[] taken = new boolean[SIZE * SIZE];
+        for (int i = 0; i < cells.length; i++) {
+            Integer x = moves.get(2 * i);
+            Integer y = moves.get(2 * i + 1);
+            if (x == null || y == null || !isOnBoard(x) || !isOnBoard(y) || taken[x * SIZE + y]) {
+                throw new CustomException(StatusCode.INVALID_REQUEST);
+            }
+            cells[i] = x * SIZE + y;
+            taken[cells[i]] = true;
+        }
+        return cells;
+    }
+
+    private static boolean isOnBoard(int position) {
+        return position >= 0 && position < SIZE;
+    }
+
+    private static OpeningExplorerResponse toResponse(int movesPlayed, int games, int xWins, int oWins,
+                                                      List<OpeningContinuationResponse> continuations) {
+        return OpeningExplorerResponse.builder()
+                .movesPlayed(movesPlayed)
+                .maxDepth(DEPTH)
+                .games(games)
+                .xWins(xWins)
+                .oWins(oWins)
+                .draws(games - xWins - oWins)
+                .continuations(continuations)
+                .build();
+    }
+
+    /**
+     * A game's opening cells in canonical form and its result
+     */
+    private record Opening(int[] cells, GameResult result) {
+    }
+}
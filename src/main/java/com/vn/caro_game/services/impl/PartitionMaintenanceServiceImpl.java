@@ -0,0 +1,159 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.services.interfaces.PartitionMaintenanceService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of PartitionMaintenanceService.
+ *
+ * <p>Partitions are named {@code <table>_pYYYY_MM} and cover one calendar month of
+ * {@code created_at}/{@code sent_at}, as set up by
+ * {@code db/partitioning/partition_moves_and_chat_messages.sql}. An expired partition
+ * is dropped only once it is empty, i.e. once the archival job has moved its rows to cold
+ * storage. A partition that still holds rows stays attached, so replay and chat keep
+ * reading them until they are archived.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PartitionMaintenanceServiceImpl implements PartitionMaintenanceService {
+
+    static final List<String> PARTITIONED_TABLES = List.of("moves", "chat_messages");
+
+    // Unique indexes on a partitioned table must include the partition key, so these are created per partition
+    static final Map<String, Map<String, String>> PARTITION_UNIQUE_INDEXES = Map.of(
+            "moves", Map.of(
+                    "uk_match_move_number", "match_id, move_number",
+                    "uk_match_position", "match_id, x_position, y_position"));
+
+    static final Pattern PARTITION_SUFFIX = Pattern.compile("_p(\\d{4})_(\\d{2})$");
+
+    static final String PARTITIONED_TABLE_SQL =
+            "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+            "WHERE c.relname = ? AND pg_table_is_visible(c.oid)";
+
+    static final String LIST_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = ? AND pg_table_is_visible(p.oid) ORDER BY c.relname";
+
+    JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean isPartitioningAvailable() {
+        try {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equalsIgnoreCase(product)) {
+                return false;
+            }
+            for (String table : PARTITIONED_TABLES) {
+                Integer count = jdbcTemplate.queryForObject(PARTITIONED_TABLE_SQL, Integer.class, table);
+                if (count == null || count == 0) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Could not check table partitioning: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public int createFuturePartitions(YearMonth currentMonth, int monthsAhead) {
+        int created = 0;
+        for (String table : PARTITIONED_TABLES) {
+            List<String> existing = listPartitions(table);
+            for (int i = 0; i <= monthsAhead; i++) {
+                YearMonth month = currentMonth.plusMonths(i);
+                String partition = partitionName(table, month);
+                if (existing.contains(partition)) {
+                    continue;
+                }
+                try {
+                    jdbcTemplate.execute(String.format(
+                            "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                            partition, table, month.atDay(1), month.plusMonths(1).atDay(1)));
+                    createUniqueIndexes(table, partition);
+                    created++;
+                    log.info("Created partition {}", partition);
+                } catch (DataAccessException e) {
+                    log.error("Failed to create partition {}: {}", partition, e.getMessage());
+                }
+            }
+        }
+        return created;
+    }
+
+    @Override
+    public int retireExpiredPartitions(YearMonth currentMonth, int retentionMonths) {
+        YearMonth oldestKept = currentMonth.minusMonths(retentionMonths);
+        int retired = 0;
+        for (String table : PARTITIONED_TABLES) {
+            for (String partition : listPartitions(table)) {
+                YearMonth month = parsePartitionMonth(partition);
+                if (month == null || !month.isBefore(oldestKept)) {
+                    continue;
+                }
+                try {
+                    Boolean empty = jdbcTemplate.queryForObject(
+                            "SELECT NOT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class);
+                    if (!Boolean.TRUE.equals(empty)) {
+                        log.warn("Keeping expired partition {}: it still holds rows that are not archived yet", partition);
+                        continue;
+                    }
+                    jdbcTemplate.execute("DROP TABLE " + partition);
+                    log.info("Dropped expired partition {}", partition);
+                    retired++;
+                } catch (DataAccessException e) {
+                    log.error("Failed to retire partition {}: {}", partition, e.getMessage());
+                }
+            }
+        }
+        return retired;
+    }
+
+    private void createUniqueIndexes(String table, String partition) {
+        PARTITION_UNIQUE_INDEXES.getOrDefault(table, Map.of()).forEach((suffix, columns) ->
+                jdbcTemplate.execute(String.format("CREATE UNIQUE INDEX IF NOT EXISTS %s_%s ON %s (%s)",
+                        partition, suffix, partition, columns)));
+    }
+
+    private List<String> listPartitions(String table) {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class, table);
+    }
+
+    static String partitionName(String table, YearMonth month) {
+        return String.format("%s_p%04d_%02d", table, month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * Parses the month out of a partition name, or returns null if it does not follow the naming scheme
+     */
+    static YearMonth parsePartitionMonth(String partition) {
+        Matcher matcher = PARTITION_SUFFIX.matcher(partition);
+        if (!matcher.find()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+}
@@ -0,0 +1,168 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.entities.GameHistory;
+import com.vn.caro_game.entities.PlayerStats;
+import com.vn.caro_game.events.GameCompletedEvent;
+import com.vn.caro_game.repositories.GameHistoryRepository;
+import com.vn.caro_game.repositories.GameMatchRepository;
+import com.vn.caro_game.repositories.PlayerStatsRepository;
+import com.vn.caro_game.services.interfaces.PlayerStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of PlayerStatsService.
+ *
+ * <p>Each finished game adds to one {@code player_stats} row per player, locked for the
+ * update, so reading a player's statistics never has to look at their history. Games are
+ * counted in a transaction of their own once the game has committed, before the leaderboard
+ * re-reads the rows. A player's row is created with an insert that ignores an existing one,
+ * so two first games of the same player cannot both try to insert it.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PlayerStatsServiceImpl implements PlayerStatsService {
+
+    private final PlayerStatsRepository playerStatsRepository;
+    private final GameHistoryRepository gameHistoryRepository;
+    private final GameMatchRepository gameMatchRepository;
+
+    private enum Outcome { WIN, LOSS, DRAW }
+
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void recordGame(GameCompletedEvent event) {
+        Long firstId = event.getFirstPlayerId();
+        Long secondId = event.getSecondPlayerId();
+        GameHistory history = event.getHistory();
+        if (firstId == null || secondId == null || firstId.equals(secondId)) {
+            log.debug("Game history {} has no two players to count", history.getId());
+            return;
+        }
+
+        Long duration = durationMinutes(history);
+        record(firstId, event.isDraw() ? Outcome.DRAW : Outcome.WIN, duration, history.getId());
+        record(secondId, event.isDraw() ? Outcome.DRAW : Outcome.LOSS, duration, history.getId());
+    }
+
+    /**
+     * Reads the history a page at a time in its own short transactions, so nothing but
+     * the statistics being built is held in memory.
+     */
+    @Override
+    public Collection<PlayerStats> computeFromHistory(int batchSize) {
+        Map<Long, PlayerStats> stats = new HashMap<>();
+        long cursor = 0;
+        List<GameHistory> page;
+        while (!(page = gameHistoryRepository.findByIdGreaterThanOrderByIdAsc(cursor,
+                PageRequest.of(0, batchSize))).isEmpty()) {
+            for (GameHistory history : page) {
+                cursor = history.getId();
+                Long duration = durationMinutes(history);
+                if (history.getWinnerId() != null && history.getLoserId() != null) {
+                    apply(stats.computeIfAbsent(history.getWinnerId(), this::empty), Outcome.WIN, duration, cursor);
+                    apply(stats.computeIfAbsent(history.getLoserId(), this::empty), Outcome.LOSS, duration, cursor);
+                } else if (history.getWinnerId() == null && history.getLoserId() == null) {
+                    // Draw histories do not name the players; the drawn match does
+                    Object[] players = gameMatchRepository.findDrawPlayerIds(history.getRoomId(), PageRequest.of(0, 1))
+                            .stream().findFirst().orElse(new Object[2]);
+                    for (Object player : players) {
+                        if (player != null) {
+                            apply(stats.computeIfAbsent((Long) player, this::empty), Outcome.DRAW, duration, cursor);
+                        }
+                    }
+                }
+            }
+        }
+        return stats.values();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isMissingStats() {
+        return playerStatsRepository.count() == 0
+                && !gameHistoryRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 1)).isEmpty();
+    }
+
+    @Override
+    @Transactional
+    public void replaceAll(Collection<PlayerStats> stats) {
+        playerStatsRepository.deleteAllInBatch();
+        playerStatsRepository.saveAll(stats);
+        log.info("Replaced statistics of {} players", stats.size());
+    }
+
+    private void record(Long userId, Outcome outcome, Long duration, Long historyId) {
+        playerStatsRepository.insertIfAbsent(userId);
+        PlayerStats stats = playerStatsRepository.findByUserIdForUpdate(userId).orElseThrow();
+        if (stats.getLastGameHistoryId() != null && stats.getLastGameHistoryId() >= historyId) {
+            log.debug("Game history {} already counted for user {}", historyId, userId);
+            return;
+        }
+        apply(stats, outcome, duration, historyId);
+        playerStatsRepository.save(stats);
+    }
+
+    private PlayerStats empty(Long userId) {
+        PlayerStats stats = new PlayerStats();
+        stats.setUserId(userId);
+        return stats;
+    }
+
+    /**
+     * Adds one game to a player's statistics; games must be applied in the order they ended
+     */
+    private static void apply(PlayerStats stats, Outcome outcome, Long duration, Long historyId) {
+        switch (outcome) {
+            case WIN -> {
+                stats.setWins(stats.getWins() + 1);
+                stats.setCurrentWinStreak(stats.getCurrentWinStreak() + 1);
+                stats.setBestWinStreak(Math.max(stats.getBestWinStreak(), stats.getCurrentWinStreak()));
+            }
+            case LOSS -> {
+                stats.setLosses(stats.getLosses() + 1);
+                stats.setCurrentWinStreak(0);
+            }
+            case DRAW -> {
+                stats.setDraws(stats.getDraws() + 1);
+                stats.setCurrentWinStreak(0);
+            }
+        }
+        if (duration != null) {
+            stats.setTimedGames(stats.getTimedGames() + 1);
+            stats.setTotalDurationMinutes(stats.getTotalDurationMinutes() + duration);
+            stats.setShortestDurationMinutes(stats.getShortestDurationMinutes() == null
+                    ? duration : Math.min(stats.getShortestDurationMinutes(), duration));
+            stats.setLongestDurationMinutes(stats.getLongestDurationMinutes() == null
+                    ? duration : Math.max(stats.getLongestDurationMinutes(), duration));
+        }
+        stats.setLastGameHistoryId(historyId);
+    }
+
+    private static Long durationMinutes(GameHistory history) {
+        if (history.getGameStartedAt() == null || history.getGameEndedAt() == null) {
+            return null;
+        }
+        return Duration.between(history.getGameStartedAt(), history.getGameEndedAt()).toMinutes();
+    }
+}
@@ -0,0 +1,142 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.constants.GameRoomConstants;
+import com.vn.caro_game.dtos.PlayerRating;
+import com.vn.caro_game.dtos.RatedGame;
+import com.vn.caro_game.entities.GameHistory;
+import com.vn.caro_game.entities.RatingHistory;
+import com.vn.caro_game.entities.User;
+import com.vn.caro_game.events.GameCompletedEvent;
+import com.vn.caro_game.repositories.GameHistoryRepository;
+import com.vn.caro_game.repositories.GameMatchRepository;
+import com.vn.caro_game.repositories.RatingHistoryRepository;
+import com.vn.caro_game.repositories.UserRepository;
+import com.vn.caro_game.services.interfaces.RatingService;
+import com.vn.caro_game.utils.EloRating;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of RatingService.
+ *
+ * <p>A game is rated by loading its two players by primary key, so the cost does not grow
+ * with the number of games they have played. Rating runs in its own transaction after the
+ * game has committed, so a failure here never undoes the game, and only the rating columns
+ * of the players are written.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RatingServiceImpl implements RatingService {
+
+    private final UserRepository userRepository;
+    private final RatingHistoryRepository ratingHistoryRepository;
+    private final GameHistoryRepository gameHistoryRepository;
+    private final GameMatchRepository gameMatchRepository;
+
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void rateGame(GameCompletedEvent event) {
+        Long firstId = event.getFirstPlayerId();
+        Long secondId = event.getSecondPlayerId();
+        if (firstId == null || secondId == null || firstId.equals(secondId)) {
+            log.debug("Game history {} has no two players to rate", event.getHistory().getId());
+            return;
+        }
+        Optional<User> first = userRepository.findById(firstId);
+        Optional<User> second = userRepository.findById(secondId);
+        if (first.isEmpty() || second.isEmpty()) {
+            return;
+        }
+
+        GameHistory history = event.getHistory();
+        LocalDateTime ratedAt = history.getGameEndedAt() != null ? history.getGameEndedAt() : LocalDateTime.now();
+        double firstScore = event.isDraw() ? EloRating.DRAW : EloRating.WIN;
+        int firstBefore = first.get().getRating();
+        int secondBefore = second.get().getRating();
+
+        RatingHistory firstEntry = rate(first.get(), secondBefore, firstScore, history.getId(), secondId, ratedAt);
+        RatingHistory secondEntry = rate(second.get(), firstBefore, 1 - firstScore, history.getId(), firstId, ratedAt);
+        ratingHistoryRepository.saveAll(List.of(firstEntry, secondEntry));
+
+        log.info("Rated game history {}: user {} {} -> {}, user {} {} -> {}", history.getId(),
+                firstId, firstBefore, firstEntry.getRatingAfter(), secondId, secondBefore, secondEntry.getRatingAfter());
+    }
+
+    @Override
+    @Transactional
+    public void resetRatings() {
+        ratingHistoryRepository.deleteAllInBatch();
+        int users = userRepository.resetRatings(GameRoomConstants.DEFAULT_RATING);
+        log.info("Reset ratings of {} users", users);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RatedGame> findGamesToReplay(long afterHistoryId, int limit) {
+        List<GameHistory> histories = gameHistoryRepository.findByIdGreaterThanOrderByIdAsc(afterHistoryId,
+                PageRequest.of(0, limit));
+        List<RatedGame> games = new ArrayList<>(histories.size());
+        for (GameHistory history : histories) {
+            LocalDateTime playedAt = history.getGameEndedAt() != null ? history.getGameEndedAt() : history.getCreatedAt();
+            if (history.getWinnerId() == null && history.getLoserId() == null) {
+                // Draw histories do not name the players; the drawn match does
+                Object[] players = gameMatchRepository.findDrawPlayerIds(history.getRoomId(), PageRequest.of(0, 1))
+                        .stream().findFirst().orElse(new Object[2]);
+                games.add(new RatedGame(history.getId(), (Long) players[0], (Long) players[1], true, playedAt));
+            } else {
+                games.add(new RatedGame(history.getId(), history.getWinnerId(), history.getLoserId(), false, playedAt));
+            }
+        }
+        return games;
+    }
+
+    @Override
+    @Transactional
+    public void saveReplayedHistory(List<RatingHistory> entries) {
+        ratingHistoryRepository.saveAll(entries);
+    }
+
+    @Override
+    @Transactional
+    public void saveReplayedRatings(List<PlayerRating> ratings) {
+        for (PlayerRating rating : ratings) {
+            userRepository.updateRating(rating.userId(), rating.rating(), rating.ratedGames());
+        }
+    }
+
+    /**
+     * Applies one result to a user's rating columns and returns the history row for it
+     */
+    private RatingHistory rate(User user, int opponentRating, double score, Long historyId, Long opponentId,
+                               LocalDateTime ratedAt) {
+        int before = user.getRating();
+        int games = user.getRatedGames();
+        int after = EloRating.newRating(before, games, opponentRating, score);
+        userRepository.updateRating(user.getId(), after, games + 1);
+
+        RatingHistory entry = new RatingHistory();
+        entry.setUserId(user.getId());
+        entry.setGameHistoryId(historyId);
+        entry.setOpponentId(opponentId);
+        entry.setRatingBefore(before);
+        entry.setRatingAfter(after);
+        entry.setRatedAt(ratedAt);
+        return entry;
+    }
+}
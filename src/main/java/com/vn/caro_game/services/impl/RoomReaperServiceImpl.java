@@ -0,0 +1,91 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.entities.GameRoom;
+import com.vn.caro_game.enums.GameState;
+import com.vn.caro_game.enums.RoomEventType;
+import com.vn.caro_game.enums.RoomStatus;
+import com.vn.caro_game.events.RoomEvent;
+import com.vn.caro_game.repositories.ChatMessageRepository;
+import com.vn.caro_game.repositories.GameMatchRepository;
+import com.vn.caro_game.repositories.GameRoomRepository;
+import com.vn.caro_game.repositories.MoveRepository;
+import com.vn.caro_game.repositories.RoomPlayerRepository;
+import com.vn.caro_game.services.interfaces.RoomReaperService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of RoomReaperService.
+ *
+ * <p>Each batch runs in its own short transaction. Candidate rooms are locked with
+ * {@code FOR UPDATE SKIP LOCKED}, so a room a player is acting on right now is skipped
+ * instead of waited for, and picked up again on a later run. Rooms that appear in
+ * {@code game_history} are never deleted: the history rows and replays still point at them.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RoomReaperServiceImpl implements RoomReaperService {
+
+    private final GameRoomRepository gameRoomRepository;
+    private final RoomPlayerRepository roomPlayerRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final GameMatchRepository gameMatchRepository;
+    private final MoveRepository moveRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public List<Long> reapAbandonedRooms(Long afterId, LocalDateTime emptyBefore, LocalDateTime staleBefore, int batchSize) {
+        List<Long> roomIds = toIds(gameRoomRepository.findReapableRoomsForUpdate(
+                afterId, GameState.IN_PROGRESS, emptyBefore, staleBefore, PageRequest.of(0, batchSize)));
+        if (roomIds.isEmpty()) {
+            return roomIds;
+        }
+
+        // Children first; bulk deletes skip JPA cascades
+        moveRepository.deleteByRoomIdIn(roomIds);
+        gameMatchRepository.deleteByRoomIdIn(roomIds);
+        chatMessageRepository.deleteByRoomIdIn(roomIds);
+        roomPlayerRepository.deleteByRoomIdIn(roomIds);
+        int deleted = gameRoomRepository.deleteByIdIn(roomIds);
+        publishClosed(roomIds);
+
+        log.debug("Reaped {} abandoned rooms ({}..{})", deleted, roomIds.get(0), roomIds.get(roomIds.size() - 1));
+        return roomIds;
+    }
+
+    @Override
+    @Transactional
+    public List<Long> releaseIdleFinishedRooms(Long afterId, LocalDateTime idleBefore, int batchSize) {
+        List<Long> roomIds = toIds(gameRoomRepository.findIdleFinishedRoomsForUpdate(
+                afterId, RoomStatus.FINISHED, GameState.IN_PROGRESS, idleBefore, PageRequest.of(0, batchSize)));
+        if (roomIds.isEmpty()) {
+            return roomIds;
+        }
+
+        int players = roomPlayerRepository.deleteByRoomIdIn(roomIds);
+        publishClosed(roomIds);
+        log.debug("Released {} players from {} idle finished rooms", players, roomIds.size());
+        return roomIds;
+    }
+
+    private void publishClosed(List<Long> roomIds) {
+        roomIds.forEach(roomId -> eventPublisher.publishEvent(RoomEvent.of(RoomEventType.ROOM_CLOSED, roomId, null)));
+    }
+
+    private static List<Long> toIds(List<GameRoom> rooms) {
+        return rooms.stream().map(GameRoom::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,299 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.enums.RoomEventType;
+import com.vn.caro_game.enums.RoomStatus;
+import com.vn.caro_game.events.RoomEvent;
+import com.vn.caro_game.repositories.RoomPlayerRepository;
+import com.vn.caro_game.services.interfaces.RoomRegistryService;
+import com.vn.caro_game.utils.LongLongHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementation of RoomRegistryService.
+ *
+ * <p>Tracks every room that has at least one player (plus rooms just created), keyed by
+ * room ID, and keeps a primitive {@code userId -> roomId} index for the players of WAITING
+ * and PLAYING rooms. Room events are applied after their transaction commits; events that
+ * arrive while the registry is being (re)loaded are buffered and replayed on top of the
+ * loaded state. A transaction that has published a room event reads from the database
+ * for the rest of its life, since the registry does not see its changes before commit.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+public class RoomRegistryServiceImpl implements RoomRegistryService {
+
+    private static final Object DIRTY_TRANSACTION_KEY = RoomRegistryServiceImpl.class;
+
+    private final RoomPlayerRepository roomPlayerRepository;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, TrackedRoom> rooms = new HashMap<>();
+    private final LongLongHashMap activeRoomByUser = new LongLongHashMap(1024, NO_ROOM);
+
+    private volatile boolean ready;
+    private List<RoomEvent> pendingEvents;
+
+    public RoomRegistryServiceImpl(RoomPlayerRepository roomPlayerRepository,
+                                   @Value("${app.room-registry.enabled:true}") boolean enabled) {
+        this.roomPlayerRepository = roomPlayerRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            reload();
+        } else {
+            log.info("Room registry is disabled");
+        }
+    }
+
+    @Override
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            pendingEvents = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Object[]> seats;
+        try {
+            seats = roomPlayerRepository.findAllSeats();
+        } catch (DataAccessException e) {
+            log.warn("Could not load room registry, room checks will use the database: {}", e.getMessage());
+            lock.writeLock().lock();
+            try {
+                pendingEvents = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            rooms.clear();
+            activeRoomByUser.clear();
+            for (Object[] seat : seats) {
+                long roomId = (Long) seat[0];
+                TrackedRoom room = rooms.computeIfAbsent(roomId, id -> new TrackedRoom((RoomStatus) seat[1]));
+                room.players.add((Long) seat[2]);
+            }
+            rooms.forEach(this::index);
+            // Events committed while the seats were being read; applying them again is harmless
+            pendingEvents.forEach(this::apply);
+            log.info("Room registry loaded: {} rooms, {} players in active rooms (+{} replayed events)",
+                    rooms.size(), activeRoomByUser.size(), pendingEvents.size());
+            pendingEvents = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the publishing transaction as having unseen room changes
+     */
+    @EventListener
+    public void onRoomEventPublished(RoomEvent event) {
+        if (!enabled || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(DIRTY_TRANSACTION_KEY)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(DIRTY_TRANSACTION_KEY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(DIRTY_TRANSACTION_KEY);
+            }
+        });
+    }
+
+    /**
+     * Applies a room event once its transaction has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomEvent(RoomEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            } else if (ready) {
+                apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isAuthoritative() {
+        return ready && !TransactionSynchronizationManager.hasResource(DIRTY_TRANSACTION_KEY);
+    }
+
+    @Override
+    public long findActiveRoomId(long userId) {
+        lock.readLock().lock();
+        try {
+            return activeRoomByUser.get(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isPlayerInRoom(long roomId, long userId) {
+        lock.readLock().lock();
+        try {
+            TrackedRoom room = rooms.get(roomId);
+            return room != null && room.players.contains(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getPlayerCount(long roomId) {
+        lock.readLock().lock();
+        try {
+            TrackedRoom room = rooms.get(roomId);
+            return room != null ? room.players.size() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public RoomStatus getStatus(long roomId) {
+        lock.readLock().lock();
+        try {
+            TrackedRoom room = rooms.get(roomId);
+            return room != null ? room.status : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getRoomCount() {
+        lock.readLock().lock();
+        try {
+            return rooms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getActiveUserCount() {
+        lock.readLock().lock();
+        try {
+            return activeRoomByUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies one event; callers hold the write lock
+     */
+    private void apply(RoomEvent event) {
+        long roomId = event.getRoomId();
+        TrackedRoom room = rooms.get(roomId);
+        switch (event.getType()) {
+            case ROOM_CREATED -> {
+                if (room != null) {
+                    unindex(roomId, room);
+                }
+                room = new TrackedRoom(event.getRoomStatus() != null ? event.getRoomStatus() : RoomStatus.WAITING);
+                rooms.put(roomId, room);
+            }
+            case ROOM_CLOSED -> {
+                if (room != null) {
+                    unindex(roomId, room);
+                    rooms.remove(roomId);
+                }
+                return;
+            }
+            case PLAYER_JOINED -> {
+                if (room == null) {
+                    // Created before the registry was loaded and empty at the time; only WAITING rooms accept players
+                    room = new TrackedRoom(RoomStatus.WAITING);
+                    rooms.put(roomId, room);
+                }
+            }
+            default -> {
+                if (room == null) {
+                    return;
+                }
+            }
+        }
+
+        unindex(roomId, room);
+        if (event.getRoomStatus() != null) {
+            room.status = event.getRoomStatus();
+        }
+        switch (event.getType()) {
+            case PLAYER_JOINED -> room.players.add(event.getUserId());
+            case PLAYER_LEFT -> room.players.remove(event.getUserId());
+            default -> {
+                // Other events only change the status
+            }
+        }
+        if (room.players.isEmpty() && event.getType() == RoomEventType.PLAYER_LEFT) {
+            rooms.remove(roomId);
+            return;
+        }
+        index(roomId, room);
+    }
+
+    private void index(long roomId, TrackedRoom room) {
+        if (room.isActive()) {
+            room.players.forEach(userId -> activeRoomByUser.put(userId, roomId));
+        }
+    }
+
+    private void unindex(long roomId, TrackedRoom room) {
+        room.players.forEach(userId -> activeRoomByUser.remove(userId, roomId));
+    }
+
+    private static final class TrackedRoom {
+
+        private RoomStatus status;
+        private final Set<Long> players = new LinkedHashSet<>(4);
+
+        private TrackedRoom(RoomStatus status) {
+            this.status = status;
+        }
+
+        private boolean isActive() {
+            return status == RoomStatus.WAITING || status == RoomStatus.PLAYING;
+        }
+    }
+}
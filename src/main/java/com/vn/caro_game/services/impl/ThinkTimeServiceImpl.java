@@ -0,0 +1,88 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.entities.PlayerThinkTime;
+import com.vn.caro_game.repositories.PlayerThinkTimeRepository;
+import com.vn.caro_game.services.interfaces.ThinkTimeService;
+import com.vn.caro_game.utils.ThinkTimeSamples;
+import com.vn.caro_game.utils.ThinkTimeSketch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Implementation of ThinkTimeService.
+ *
+ * <p>Accepted moves only add to an in-memory {@link ThinkTimeSamples} of their player, so a
+ * move never waits for a row lock. The scheduler drains them and adds them to each player's
+ * {@code player_think_time} row under a row lock, in user ID order so instances flushing the
+ * same players never deadlock: a move count, a total and a {@link ThinkTimeSketch} for the
+ * percentiles. Reading a player's think times never touches their moves.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+public class ThinkTimeServiceImpl implements ThinkTimeService {
+
+    private final PlayerThinkTimeRepository playerThinkTimeRepository;
+
+    private final Map<Long, ThinkTimeSamples> pending = new HashMap<>();
+
+    @Override
+    public void recordMove(Long userId, long thinkTimeMillis) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    count(userId, thinkTimeMillis);
+                }
+            });
+        } else {
+            count(userId, thinkTimeMillis);
+        }
+    }
+
+    @Override
+    public Map<Long, ThinkTimeSamples> drainPending() {
+        synchronized (pending) {
+            Map<Long, ThinkTimeSamples> drained = new TreeMap<>(pending);
+            pending.clear();
+            return drained;
+        }
+    }
+
+    @Override
+    @Transactional
+    public void writePending(Map<Long, ThinkTimeSamples> samples) {
+        for (Map.Entry<Long, ThinkTimeSamples> entry : new TreeMap<>(samples).entrySet()) {
+            playerThinkTimeRepository.insertIfAbsent(entry.getKey());
+            PlayerThinkTime thinkTime = playerThinkTimeRepository.findByUserIdForUpdate(entry.getKey()).orElseThrow();
+            ThinkTimeSketch sketch = ThinkTimeSketch.fromBytes(thinkTime.getSketch());
+            sketch.merge(entry.getValue().getSketch());
+            thinkTime.setSketch(sketch.toBytes());
+            thinkTime.setMoveCount(thinkTime.getMoveCount() + entry.getValue().getCount());
+            thinkTime.setTotalThinkMillis(thinkTime.getTotalThinkMillis() + entry.getValue().getTotalMillis());
+            playerThinkTimeRepository.save(thinkTime);
+        }
+    }
+
+    @Override
+    public void restore(Map<Long, ThinkTimeSamples> samples) {
+        synchronized (pending) {
+            samples.forEach((userId, drained) -> pending.computeIfAbsent(userId, id -> new ThinkTimeSamples()).merge(drained));
+        }
+    }
+
+    private void count(Long userId, long thinkTimeMillis) {
+        synchronized (pending) {
+            pending.computeIfAbsent(userId, id -> new ThinkTimeSamples()).add(thinkTimeMillis);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.vn.caro_game.services.impl;
+
+import com.vn.caro_game.constants.UserProfileConstants;
+import com.vn.caro_game.dtos.CachedUser;
+import com.vn.caro_game.enums.StatusCode;
+import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.mappers.UserMapper;
+import com.vn.caro_game.repositories.UserRepository;
+import com.vn.caro_game.services.interfaces.UserCacheService;
+import com.vn.caro_game.utils.LruCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of UserCacheService.
+ *
+ * <p>The first tier is a bounded LRU cache in this instance whose entries live for a minute;
+ * the second is a JSON copy in Redis shared by all instances, with a ten minute TTL. A miss in
+ * both loads the user from the database and fills both tiers. If Redis is unreachable the
+ * cache falls back to the database instead of failing.</p>
+ *
+ * <p>An eviction deletes the Redis copy and tells every instance to drop its local entry
+ * through Redis Pub/Sub. Inside a transaction it waits for the commit, and until then that
+ * transaction reads the user from the database and caches nothing. Loads that overlap an eviction on this instance are not cached,
+ * so they cannot put back the value read before the change. Evictions on any instance also
+ * bump a per-user generation in Redis before deleting the copy; a load only writes the
+ * shared copy if the generation it read before going to the database is unchanged, and
+ * deletes its write again if the generation moved meanwhile, so a slow load on one instance
+ * never leaves a stale profile for the others.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class UserCacheServiceImpl implements UserCacheService {
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final LruCache<Long, LocalEntry> cache = new LruCache<>(UserProfileConstants.USER_CACHE_SIZE);
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Override
+    public CachedUser getUser(Long userId) {
+        PendingEvictions pending = findPendingEvictions();
+        if (pending != null && pending.userIds.contains(userId)) {
+            // This transaction changed the user, so it reads its own write and caches nothing
+            return load(userId);
+        }
+
+        LocalEntry entry = cache.get(userId);
+        if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+            return entry.user();
+        }
+
+        long evictionCount = evictions.get();
+        CachedUser user = readShared(userId);
+        if (user == null) {
+            Long generation = readGeneration(userId);
+            user = load(userId);
+            if (generation != null && evictions.get() == evictionCount) {
+                writeShared(user, generation);
+            }
+        }
+        synchronized (cache) {
+            if (evictions.get() == evictionCount) {
+                cache.put(userId, new LocalEntry(user, System.currentTimeMillis() + UserProfileConstants.USER_CACHE_LOCAL_TTL_MS));
+            }
+        }
+        return user;
+    }
+
+    @Override
+    public void evict(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictEverywhere(userId);
+            return;
+        }
+        PendingEvictions pending = findPendingEvictions();
+        if (pending == null) {
+            pending = new PendingEvictions();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.userIds.add(userId);
+    }
+
+    @Override
+    public void evictLocal(Long userId) {
+        evictions.incrementAndGet();
+        cache.remove(userId);
+    }
+
+    private void evictEverywhere(Long userId) {
+        evictLocal(userId);
+        try {
+            // Bump first, so a load writing after the delete sees the change and undoes its write
+            redisTemplate.opsForValue().increment(generationKey(userId));
+            redisTemplate.expire(generationKey(userId), UserProfileConstants.USER_CACHE_TTL_SECONDS, TimeUnit.SECONDS);
+            redisTemplate.delete(key(userId));
+            redisTemplate.convertAndSend(UserProfileConstants.REDIS_CHANNEL_USER_INVALIDATED, userId);
+        } catch (DataAccessException e) {
+            log.warn("Could not evict user {} from the shared cache: {}", userId, e.getMessage());
+        }
+    }
+
+    private CachedUser load(Long userId) {
+        return userRepository.findById(userId)
+                .map(userMapper::toCachedUser)
+                .orElseThrow(() -> new CustomException(UserProfileConstants.USER_NOT_FOUND, StatusCode.USER_NOT_FOUND));
+    }
+
+    /**
+     * Gets the users the current transaction will evict once it commits, or null if it has none
+     */
+    private PendingEvictions findPendingEvictions() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEvictions pending && pending.owner() == this) {
+                return pending;
+            }
+        }
+        return null;
+    }
+
+    private CachedUser readShared(Long userId) {
+        try {
+            // Anything else under the key, e.g. a copy in an older format, counts as a miss
+            return redisTemplate.opsForValue().get(key(userId)) instanceof CachedUser cached ? cached : null;
+        } catch (DataAccessException e) {
+            log.debug("Could not read user {} from the shared cache: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Gets the user's eviction generation, 0 if never evicted, or null if Redis cannot be read
+     */
+    private Long readGeneration(Long userId) {
+        try {
+            Object generation = redisTemplate.opsForValue().get(generationKey(userId));
+            return generation != null ? ((Number) generation).longValue() : 0L;
+        } catch (DataAccessException e) {
+            log.debug("Could not read the cache generation of user {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the shared copy, then deletes it again if the user was evicted since the
+     * generation was read
+     */
+    private void writeShared(CachedUser user, long generation) {
+        try {
+            redisTemplate.opsForValue().set(key(user.getId()), user,
+                    UserProfileConstants.USER_CACHE_TTL_SECONDS, TimeUnit.SECONDS);
+            if (!Long.valueOf(generation).equals(readGeneration(user.getId()))) {
+                redisTemplate.delete(key(user.getId()));
+            }
+        } catch (DataAccessException e) {
+            log.debug("Could not write user {} to the shared cache: {}", user.getId(), e.getMessage());
+        }
+    }
+
+    private static String key(Long userId) {
+        return UserProfileConstants.REDIS_KEY_USER_CACHE_PREFIX + userId;
+    }
+
+    private static String generationKey(Long userId) {
+        return UserProfileConstants.REDIS_KEY_USER_CACHE_GENERATION_PREFIX + userId;
+    }
+
+    /**
+     * The users one transaction has changed, evicted everywhere once it commits
+     */
+    private final class PendingEvictions implements TransactionSynchronization {
+
+        private final Set<Long> userIds = new HashSet<>();
+
+        UserCacheServiceImpl owner() {
+            return UserCacheServiceImpl.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            userIds.forEach(UserCacheServiceImpl.this::evictEverywhere);
+        }
+    }
+
+    /**
+     * A cached user and when this instance stops trusting it
+     */
+    private record LocalEntry(CachedUser user, long expiresAt) {
+    }
+}
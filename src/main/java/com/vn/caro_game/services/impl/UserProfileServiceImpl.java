@@ -1,6 +1,7 @@
 package com.vn.caro_game.services.impl;
 
 import com.vn.caro_game.constants.UserProfileConstants;
+import com.vn.caro_game.dtos.CachedUser;
 import com.vn.caro_game.dtos.request.UpdateProfileRequest;
 import com.vn.caro_game.dtos.response.UserProfileResponse;
 import com.vn.caro_game.entities.User;
@@ -10,6 +11,7 @@ import com.vn.caro_game.mappers.UserMapper;
 import com.vn.caro_game.repositories.UserRepository;
 import com.vn.caro_game.services.interfaces.IFileUploadService;
 import com.vn.caro_game.services.interfaces.IUserProfileService;
+import com.vn.caro_game.services.interfaces.UserCacheService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -32,6 +34,7 @@ import org.springframework.web.multipart.MultipartFile;
  *   <li>Avatar upload and management</li>
  *   <li>Username uniqueness validation</li>
  *   <li>Transactional data consistency</li>
+ *   <li>Profile reads served from the user cache, evicted on every update</li>
  * </ul>
  *
  * @author Caro Game Team
@@ -46,6 +49,7 @@ public class UserProfileServiceImpl implements IUserProfileService {
     UserRepository userRepository;
     UserMapper userMapper;
     IFileUploadService fileUploadService;
+    UserCacheService userCacheService;
 
     /**
      * Retrieves user profile information by user ID.
@@ -59,8 +63,8 @@ public class UserProfileServiceImpl implements IUserProfileService {
     public UserProfileResponse getUserProfile(Long userId) {
         log.info("Retrieving user profile for user ID: {}", userId);
         
-        User user = findUserById(userId);
-        UserProfileResponse response = userMapper.toProfileResponse(user);
+        CachedUser user = userCacheService.getUser(userId);
+        UserProfileResponse response = userMapper.toCachedProfileResponse(user);
         
         log.info("Successfully retrieved profile for user: {}", user.getUsername());
         return response;
@@ -89,6 +93,7 @@ public class UserProfileServiceImpl implements IUserProfileService {
         
         // Save updated user
         User savedUser = userRepository.save(user);
+        userCacheService.evict(userId);
         UserProfileResponse response = userMapper.toProfileResponse(savedUser);
         
         log.info("Successfully updated profile for user: {}", savedUser.getUsername());
@@ -115,6 +120,7 @@ public class UserProfileServiceImpl implements IUserProfileService {
         
         // Save updated user
         User savedUser = userRepository.save(user);
+        userCacheService.evict(userId);
         UserProfileResponse response = userMapper.toProfileResponse(savedUser);
         
         log.info("Successfully updated avatar for user: {}", savedUser.getUsername());
@@ -150,6 +156,7 @@ public class UserProfileServiceImpl implements IUserProfileService {
         
         // Save updated user
         User savedUser = userRepository.save(user);
+        userCacheService.evict(userId);
         UserProfileResponse response = userMapper.toProfileResponse(savedUser);
         
         log.info("Successfully updated complete profile for user: {}", savedUser.getUsername());
@@ -0,0 +1,62 @@
+package com.vn.caro_game.services.interfaces;
+
+import com.vn.caro_game.dtos.AchievementGame;
+import com.vn.caro_game.dtos.response.AchievementResponse;
+import com.vn.caro_game.entities.AchievementProgress;
+import com.vn.caro_game.entities.PlayerAchievement;
+import com.vn.caro_game.events.GameCompletedEvent;
+
+import java.util.List;
+
+/**
+ * Service interface for the badges players unlock, evaluated as games finish.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface AchievementService {
+
+    /**
+     * Advances both players' progress by a completed game.
+     * Runs in its own transaction once the game history has committed, saving new unlocks with the progress.
+     *
+     * @param event the completed game
+     */
+    void recordGame(GameCompletedEvent event);
+
+    /**
+     * Gets a player's progress towards every badge
+     *
+     * @param userId the player
+     * @return one entry per badge, in declaration order
+     */
+    List<AchievementResponse> getAchievements(Long userId);
+
+    /**
+     * Reads finished games after a history ID with their match's players and move count, for the backfill
+     *
+     * @param afterHistoryId keyset cursor; 0 for the first page
+     * @param batchSize page size
+     * @return the games in the order they were written
+     */
+    List<AchievementGame> findGamesToReplay(long afterHistoryId, int batchSize);
+
+    /**
+     * Deletes all progress and unlocks, before a backfill replays them
+     */
+    void resetAchievements();
+
+    /**
+     * Saves a batch of replayed progress rows, in one transaction
+     *
+     * @param progress the rows
+     */
+    void saveReplayedProgress(List<AchievementProgress> progress);
+
+    /**
+     * Saves a batch of replayed unlocks, in one transaction
+     *
+     * @param unlocks the unlocks
+     */
+    void saveReplayedUnlocks(List<PlayerAchievement> unlocks);
+}
@@ -0,0 +1,67 @@
+package com.vn.caro_game.services.interfaces;
+
+import com.vn.caro_game.dtos.response.ActivityRollupResponse;
+import com.vn.caro_game.entities.ActivityRollup;
+import com.vn.caro_game.enums.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for global activity rollups.
+ *
+ * <p>Game and room events are counted per minute in memory, flushed into hourly rollups,
+ * and downsampled into daily rollups. Dashboards read only the rollups, never the game
+ * history.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface ActivityRollupService {
+
+    /**
+     * Records the current number of active rooms in the current minute
+     */
+    void sampleActiveRooms();
+
+    /**
+     * Removes the counters of completed minutes from memory, combined per hour
+     *
+     * @return one set of counters per hour, keyed by its start in {@code bucketStart}
+     */
+    List<ActivityRollup> drainCompleted();
+
+    /**
+     * Adds drained counters to the hourly rollups, in one transaction
+     *
+     * @param counters counters per hour
+     */
+    void writeHourly(List<ActivityRollup> counters);
+
+    /**
+     * Puts drained counters back in memory after a failed write, to be flushed again
+     *
+     * @param counters counters per hour
+     */
+    void restore(List<ActivityRollup> counters);
+
+    /**
+     * Recomputes daily rollups from hourly ones and deletes rollups past their retention
+     *
+     * @param hourlyRetentionDays days of hourly rollups to keep
+     * @param dailyRetentionDays days of daily rollups to keep
+     * @return number of days recomputed
+     */
+    int downsample(int hourlyRetentionDays, int dailyRetentionDays);
+
+    /**
+     * Gets rollups starting in [from, to), oldest first. Without bounds the last 24 hours
+     * (hourly) or 30 days (daily) are returned.
+     *
+     * @param granularity bucket size
+     * @param from inclusive start, or null
+     * @param to exclusive end, or null for now
+     * @return the rollups
+     */
+    List<ActivityRollupResponse> getActivity(RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+}
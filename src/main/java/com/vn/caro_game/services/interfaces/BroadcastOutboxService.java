@@ -0,0 +1,30 @@
+package com.vn.caro_game.services.interfaces;
+
+/**
+ * Service interface for WebSocket broadcasts that are held until the current transaction commits.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface BroadcastOutboxService {
+
+    /**
+     * Sends a frame after commit, or immediately outside a transaction (e.g. moves and chat messages)
+     *
+     * @param destination the topic to send to
+     * @param payload the frame payload
+     */
+    void send(String destination, Object payload);
+
+    /**
+     * Sends a room update after commit. An earlier update of the same room, destination and
+     * update type in the same transaction is replaced by this one, which is sent in its place
+     * at the end of the outbox.
+     *
+     * @param roomId the room the update belongs to
+     * @param updateType the kind of update, only updates of the same kind are coalesced
+     * @param destination the topic to send to
+     * @param payload the frame payload
+     */
+    void sendCoalesced(Long roomId, String updateType, String destination, Object payload);
+}
@@ -0,0 +1,33 @@
+package com.vn.caro_game.services.interfaces;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for bulk export of finished games in Gomoku notation
+ * 
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface GameExportService {
+    
+    /**
+     * Streams matching games as gzip-compressed notation to the given output stream
+     * 
+     * @param playerId only export games this user played in (null for all players)
+     * @param from inclusive lower bound on game end time (nullable)
+     * @param to exclusive upper bound on game end time (nullable)
+     * @param out destination stream, typically the HTTP response body
+     * @return number of games written
+     */
+    long exportGames(Long playerId, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException;
+    
+    /**
+     * Checks whether a user may export games of all players
+     * 
+     * @param userId the requesting user ID
+     * @return true if the user is configured as an analyst
+     */
+    boolean canExportAllGames(Long userId);
+}
@@ -43,13 +43,14 @@ public interface GameRoomService {
     GameRoomResponse joinRoomByCode(JoinRoomRequest request, Long userId);
 
     /**
-     * Finds or creates a public room for quick play.
-     * If no available public room exists, creates a new one.
+     * Creates a private room holding two players paired by quick play matchmaking.
+     * The room and both seats are written in one transaction.
      * 
-     * @param userId the user ID looking for a room
-     * @return the room response (existing or newly created)
+     * @param hostUserId the user ID who becomes host
+     * @param guestUserId the user ID of the opponent
+     * @return the created room response
      */
-    GameRoomResponse findOrCreatePublicRoom(Long userId);
+    GameRoomResponse createMatchedRoom(Long hostUserId, Long guestUserId);
 
     /**
      * Leaves a room.
@@ -86,6 +87,14 @@ public interface GameRoomService {
      */
     GameRoomResponse getRoomDetails(Long roomId, Long userId);
 
+    /**
+     * Finds a room by its join code without joining it (for private room discovery).
+     * 
+     * @param joinCode the room's join code
+     * @return the room response
+     */
+    GameRoomResponse findRoomByJoinCode(String joinCode);
+
     /**
      * Gets list of public rooms available for joining.
      * 
@@ -3,9 +3,15 @@ package com.vn.caro_game.services.interfaces;
 import com.vn.caro_game.dtos.response.GameReplayResponse;
 import com.vn.caro_game.dtos.response.GameStatisticsResponse;
 import com.vn.caro_game.dtos.response.GameHistorySummaryResponse;
+import com.vn.caro_game.dtos.response.PercentileBandResponse;
+import com.vn.caro_game.dtos.response.RankingResponse;
+import com.vn.caro_game.dtos.response.ReplayMoveChunkResponse;
+import com.vn.caro_game.dtos.response.ReplayPositionResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 /**
  * Service interface for game statistics and history management
  * 
@@ -31,6 +37,27 @@ public interface GameStatisticsService {
      */
     GameReplayResponse getGameReplay(Long gameId, Long userId);
     
+    /**
+     * Gets a chunk of replay moves starting at a move number
+     * 
+     * @param gameId the game ID from game history
+     * @param userId the requesting user ID
+     * @param fromMove first move number to include (1-based)
+     * @param limit maximum number of moves to return
+     * @return chunk of moves with paging cursor
+     */
+    ReplayMoveChunkResponse getGameReplayMoves(Long gameId, Long userId, int fromMove, int limit);
+    
+    /**
+     * Gets the board position after a given move, rebuilt from the nearest keyframe
+     * 
+     * @param gameId the game ID from game history
+     * @param userId the requesting user ID
+     * @param moveNumber move number to seek to (0 = empty board)
+     * @return board position at the requested move
+     */
+    ReplayPositionResponse getGameReplayPosition(Long gameId, Long userId, int moveNumber);
+    
     /**
      * Gets game replays for a user with pagination (simplified for list display)
      * 
@@ -55,4 +82,19 @@ public interface GameStatisticsService {
      * @return user's ranking position
      */
     Long getUserRanking(Long userId);
+
+    /**
+     * Gets user ranking with percentile and percentile band
+     * 
+     * @param userId the user ID
+     * @return ranking details, or null if the user has too few games to be ranked
+     */
+    RankingResponse getUserRankingDetails(Long userId);
+
+    /**
+     * Gets the current percentile bands of the leaderboard
+     * 
+     * @return bands from narrowest to widest, empty if nobody is ranked
+     */
+    List<PercentileBandResponse> getPercentileBands();
 }
@@ -0,0 +1,49 @@
+package com.vn.caro_game.services.interfaces;
+
+import com.vn.caro_game.dtos.response.HeadToHeadResponse;
+import com.vn.caro_game.entities.HeadToHead;
+import com.vn.caro_game.events.GameCompletedEvent;
+
+import java.util.Collection;
+
+/**
+ * Service interface for the records between pairs of players, kept up to date as games finish.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface HeadToHeadService {
+
+    /**
+     * Adds a completed game to its players' pair record.
+     * Runs in its own transaction once the game history has committed.
+     *
+     * @param event the completed game
+     */
+    void recordGame(GameCompletedEvent event);
+
+    /**
+     * Gets a player's record against an opponent, from the cache when possible
+     *
+     * @param playerId player the record is seen from
+     * @param opponentId the opponent
+     * @return the record, with zero games if the two never played
+     * @throws com.vn.caro_game.exceptions.CustomException if both IDs are the same player
+     */
+    HeadToHeadResponse getRecord(Long playerId, Long opponentId);
+
+    /**
+     * Computes every pair's record from the full game history, without saving them.
+     *
+     * @param batchSize number of game histories read per query
+     * @return the records, one per pair that played
+     */
+    Collection<HeadToHead> computeFromHistory(int batchSize);
+
+    /**
+     * Replaces all stored records with the given ones, in one transaction, and clears the cache.
+     *
+     * @param records the new records
+     */
+    void replaceAll(Collection<HeadToHead> records);
+}
@@ -0,0 +1,70 @@
+package com.vn.caro_game.services.interfaces;
+
+import com.vn.caro_game.dtos.response.HeatmapResponse;
+import com.vn.caro_game.utils.BoardHeatmap;
+
+import java.util.Map;
+
+/**
+ * Service interface for the per-player board heatmaps, counted as moves are accepted.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface HeatmapService {
+
+    /**
+     * Takes the moves counted in memory since the last drain, leaving no pending counts
+     *
+     * @return the pending counts by user ID
+     */
+    Map<Long, BoardHeatmap> drainPending();
+
+    /**
+     * Adds drained counts to the stored heatmaps, in one transaction
+     *
+     * @param pending counts by user ID, as returned by {@link #drainPending()}
+     */
+    void writePending(Map<Long, BoardHeatmap> pending);
+
+    /**
+     * Puts drained counts that could not be written back, to be retried by the next drain
+     *
+     * @param pending counts by user ID
+     */
+    void restore(Map<Long, BoardHeatmap> pending);
+
+    /**
+     * Gets a player's heatmap from the stored row and the counts not yet written.
+     * Never reads the moves.
+     *
+     * @param userId the player
+     * @return the heatmap, empty if the player has no counted moves
+     */
+    HeatmapResponse getHeatmap(Long userId);
+
+    /**
+     * Gets the highest move ID, the upper bound of a full scan
+     *
+     * @return the ID, or 0 if there are no moves
+     */
+    long findLastMoveId();
+
+    /**
+     * Counts the moves with IDs in (afterId, toId] into heatmaps, without saving them.
+     * Reads a page at a time in its own short transactions.
+     *
+     * @param afterId exclusive lower bound
+     * @param toId inclusive upper bound
+     * @param batchSize number of moves read per query
+     * @return the counts by user ID
+     */
+    Map<Long, BoardHeatmap> computeFromMoves(long afterId, long toId, int batchSize);
+
+    /**
+     * Replaces all stored heatmaps with the given ones, in one transaction
+     *
+     * @param heatmaps the new heatmaps by user ID
+     */
+    void replaceAll(Map<Long, BoardHeatmap> heatmaps);
+}
@@ -0,0 +1,45 @@
+package com.vn.caro_game.services.interfaces;
+
+import com.vn.caro_game.dtos.LeaderboardEntry;
+import com.vn.caro_game.dtos.LeaderboardPosition;
+
+import java.util.List;
+
+/**
+ * In-memory leaderboard of players by win rate, for serving leaderboard pages and rankings.
+ *
+ * <p>Loaded from {@code player_stats} on startup (or on first use) and kept current from
+ * committed {@link com.vn.caro_game.events.GameCompletedEvent}s. Players are ordered by
+ * win rate, then by games played, then by user ID; only players with at least
+ * {@link com.vn.caro_game.constants.GameRoomConstants#LEADERBOARD_MIN_GAMES} games are listed.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface LeaderboardService {
+
+    /**
+     * Returns up to {@code count} players starting at a zero-based position
+     */
+    List<LeaderboardEntry> getRange(int offset, int count);
+
+    /**
+     * Returns the number of listed players
+     */
+    int size();
+
+    /**
+     * Returns a player's one-based position, or null if they are not listed
+     */
+    Long getRank(Long userId);
+
+    /**
+     * Returns a player's position together with the leaderboard size, or null if they are not listed
+     */
+    LeaderboardPosition getPosition(Long userId);
+
+    /**
+     * Replaces the leaderboard with the current contents of {@code player_stats}
+     */
+    void reload();
+}
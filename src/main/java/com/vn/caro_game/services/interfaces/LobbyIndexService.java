@@ -0,0 +1,49 @@
+package com.vn.caro_game.services.interfaces;
+
+import com.vn.caro_game.dtos.LobbyRoomSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-memory index of public waiting rooms, newest first, for serving the lobby.
+ *
+ * <p>Warmed from the database on startup and kept current from committed
+ * {@link com.vn.caro_game.events.RoomEvent}s; player counts come from the
+ * {@link RoomRegistryService}. Callers check {@link #canServe(Pageable)} and use the
+ * single-query projection in the repository otherwise.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface LobbyIndexService {
+
+    /**
+     * Whether the index is loaded and can produce the requested page (newest-first order only)
+     */
+    boolean canServe(Pageable pageable);
+
+    /**
+     * Returns a page of public waiting rooms with current player counts
+     */
+    Page<LobbyRoomSummary> getPage(Pageable pageable);
+
+    /**
+     * Returns the room with its current player count if it is in the lobby
+     */
+    Optional<LobbyRoomSummary> findRoom(Long roomId);
+
+    /**
+     * Returns the IDs of rooms added, changed or removed since the previous call, and forgets them
+     */
+    List<Long> drainChangedRoomIds();
+
+    /**
+     * Rebuilds the index from the database
+     */
+    void reload();
+
+    int getRoomCount();
+}
@@ -0,0 +1,30 @@
+package com.vn.caro_game.services.interfaces;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for moving old matches and chat out of the hot tables into cold storage
+ * 
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface MatchArchivalService {
+    
+    /**
+     * Archives one batch of matches started before the cutoff and deletes their moves
+     * 
+     * @param cutoff matches started before this time are archived
+     * @param batchSize maximum number of matches to archive
+     * @return number of matches archived
+     */
+    int archiveMatchBatch(LocalDateTime cutoff, int batchSize);
+    
+    /**
+     * Archives chat messages sent before the cutoff for one batch of rooms and deletes them
+     * 
+     * @param cutoff messages sent before this time are archived
+     * @param batchSize maximum number of rooms to process
+     * @return number of rooms processed
+     */
+    int archiveChatBatch(LocalDateTime cutoff, int batchSize);
+}
@@ -0,0 +1,52 @@
+package com.vn.caro_game.services.interfaces;
+
+import com.vn.caro_game.dtos.response.MatchmakingStatusResponse;
+
+/**
+ * Service interface for quick play matchmaking.
+ *
+ * <p>Players wait in an in-memory queue and are paired with players of a similar rating
+ * on each pairing tick; the accepted rating range widens the longer they wait.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface MatchmakingService {
+
+    /**
+     * Puts a player in the quick play queue; joining again keeps the original place.
+     *
+     * @param userId the user ID
+     * @return the queue status, or the room the player already sits in
+     */
+    MatchmakingStatusResponse joinQueue(Long userId);
+
+    /**
+     * Removes a player from the queue, if queued.
+     *
+     * @param userId the user ID
+     */
+    void leaveQueue(Long userId);
+
+    /**
+     * Gets a player's queue status.
+     *
+     * @param userId the user ID
+     * @return the queue status
+     */
+    MatchmakingStatusResponse getStatus(Long userId);
+
+    /**
+     * Pairs waiting players and creates a room for each pair.
+     *
+     * @return the number of rooms created
+     */
+    int runPairingTick();
+
+    /**
+     * Gets the number of waiting players.
+     *
+     * @return the queue size
+     */
+    int getQueueSize();
+}
@@ -0,0 +1,29 @@
+package com.vn.caro_game.services.interfaces;
+
+import com.vn.caro_game.dtos.response.OpeningExplorerResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for the opening explorer, counted over the first moves of every game.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface OpeningExplorerService {
+
+    /**
+     * Rebuilds the opening tree from the game history and its matches' moves
+     */
+    void reload();
+
+    /**
+     * Gets how often each move was played from a position and how those games ended.
+     * Answered from memory.
+     *
+     * @param moves cells played so far, as x and y positions in turn: x1, y1, x2, y2, ...
+     * @return the position's results and continuations; no games once past the counted depth
+     * @throws com.vn.caro_game.exceptions.CustomException if the moves are not a legal sequence
+     */
+    OpeningExplorerResponse explore(List<Integer> moves);
+}
@@ -0,0 +1,38 @@
+package com.vn.caro_game.services.interfaces;
+
+import java.time.YearMonth;
+
+/**
+ * Service interface for managing the monthly partitions of the moves and chat_messages tables
+ * 
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface PartitionMaintenanceService {
+    
+    /**
+     * Checks whether the database is PostgreSQL and the tables have been converted to partitioned tables
+     * 
+     * @return true if partition maintenance can run
+     */
+    boolean isPartitioningAvailable();
+    
+    /**
+     * Creates missing partitions for the current month and the months after it
+     * 
+     * @param currentMonth the month considered current
+     * @param monthsAhead number of future months to create partitions for
+     * @return number of partitions created
+     */
+    int createFuturePartitions(YearMonth currentMonth, int monthsAhead);
+    
+    /**
+     * Drops empty partitions older than the retention window. Partitions that still hold
+     * rows are kept until the archival job has moved those rows to cold storage
+     * 
+     * @param currentMonth the month considered current
+     * @param retentionMonths number of months before the current one to keep
+     * @return number of partitions dropped
+     */
+    int retireExpiredPartitions(YearMonth currentMonth, int retentionMonths);
+}
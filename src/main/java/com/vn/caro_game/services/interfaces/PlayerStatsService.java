@@ -0,0 +1,46 @@
+package com.vn.caro_game.services.interfaces;
+
+import com.vn.caro_game.entities.PlayerStats;
+import com.vn.caro_game.events.GameCompletedEvent;
+
+import java.util.Collection;
+
+/**
+ * Service interface for the per-player statistics kept up to date as games finish.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface PlayerStatsService {
+
+    /**
+     * Adds a completed game to both players' statistics.
+     * Runs in its own transaction once the game history has committed.
+     *
+     * @param event the completed game
+     */
+    void recordGame(GameCompletedEvent event);
+
+    /**
+     * Computes every player's statistics from the full game history, without saving them.
+     *
+     * @param batchSize number of game histories read per query
+     * @return the statistics, one per player
+     */
+    Collection<PlayerStats> computeFromHistory(int batchSize);
+
+    /**
+     * Tells whether no statistics are stored although games have been played, as right
+     * after the {@code player_stats} table was created.
+     *
+     * @return true if the statistics need to be computed from the history
+     */
+    boolean isMissingStats();
+
+    /**
+     * Replaces all stored statistics with the given ones, in one transaction.
+     *
+     * @param stats the new statistics
+     */
+    void replaceAll(Collection<PlayerStats> stats);
+}
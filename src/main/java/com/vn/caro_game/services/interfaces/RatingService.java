@@ -0,0 +1,53 @@
+package com.vn.caro_game.services.interfaces;
+
+import com.vn.caro_game.dtos.PlayerRating;
+import com.vn.caro_game.dtos.RatedGame;
+import com.vn.caro_game.entities.RatingHistory;
+import com.vn.caro_game.events.GameCompletedEvent;
+
+import java.util.List;
+
+/**
+ * Service interface for player Elo ratings.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface RatingService {
+
+    /**
+     * Updates both players' ratings for a completed game and records the change.
+     * Runs in its own transaction once the game history has committed.
+     *
+     * @param event the completed game
+     */
+    void rateGame(GameCompletedEvent event);
+
+    /**
+     * Resets every player to the default rating and clears the rating history.
+     */
+    void resetRatings();
+
+    /**
+     * Gets finished games after a history ID, oldest first, with the players of draws resolved.
+     *
+     * @param afterHistoryId keyset cursor, exclusive
+     * @param limit maximum number of games
+     * @return the games, possibly including some that cannot be rated
+     */
+    List<RatedGame> findGamesToReplay(long afterHistoryId, int limit);
+
+    /**
+     * Saves rating history rows produced by a replay, in one transaction.
+     *
+     * @param entries the rows
+     */
+    void saveReplayedHistory(List<RatingHistory> entries);
+
+    /**
+     * Saves players' final ratings produced by a replay, in one transaction.
+     *
+     * @param ratings the ratings
+     */
+    void saveReplayedRatings(List<PlayerRating> ratings);
+}
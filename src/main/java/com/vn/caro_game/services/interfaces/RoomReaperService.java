@@ -0,0 +1,36 @@
+package com.vn.caro_game.services.interfaces;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for purging abandoned rooms and releasing idle finished rooms
+ * 
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface RoomReaperService {
+    
+    /**
+     * Deletes one batch of rooms that never produced game history, together with their
+     * players, chat, matches and moves
+     * 
+     * @param afterId keyset cursor; only rooms with a greater ID are considered
+     * @param emptyBefore empty rooms created before this time are deleted
+     * @param staleBefore any room created before this time is deleted
+     * @param batchSize maximum number of rooms to delete
+     * @return IDs of the deleted rooms in ascending order
+     */
+    List<Long> reapAbandonedRooms(Long afterId, LocalDateTime emptyBefore, LocalDateTime staleBefore, int batchSize);
+    
+    /**
+     * Removes leftover players from one batch of finished rooms that have been idle since
+     * before the cutoff. The rooms themselves are kept because game history refers to them.
+     * 
+     * @param afterId keyset cursor; only rooms with a greater ID are considered
+     * @param idleBefore rooms whose game ended before this time are released
+     * @param batchSize maximum number of rooms to release
+     * @return IDs of the released rooms in ascending order
+     */
+    List<Long> releaseIdleFinishedRooms(Long afterId, LocalDateTime idleBefore, int batchSize);
+}
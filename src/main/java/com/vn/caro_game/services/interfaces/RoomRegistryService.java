@@ -0,0 +1,57 @@
+package com.vn.caro_game.services.interfaces;
+
+import com.vn.caro_game.enums.RoomStatus;
+
+/**
+ * In-memory registry of rooms that have players, with an index from user to active room.
+ *
+ * <p>The database stays the system of record. The registry is warmed from it on startup
+ * and then follows committed {@link com.vn.caro_game.events.RoomEvent}s, so it answers
+ * "which active room is this user in" and "is this user in that room" without a query.
+ * Callers must check {@link #isAuthoritative()} first and query the database otherwise.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface RoomRegistryService {
+
+    /**
+     * Returned by {@link #findActiveRoomId(long)} when the user is in no active room
+     */
+    long NO_ROOM = -1L;
+
+    /**
+     * Whether answers can be trusted: the registry is loaded and the current transaction
+     * has not changed any room yet (its own changes only reach the registry on commit)
+     */
+    boolean isAuthoritative();
+
+    /**
+     * Returns the WAITING or PLAYING room the user sits in, or {@link #NO_ROOM}
+     */
+    long findActiveRoomId(long userId);
+
+    /**
+     * Whether the user has a seat in the room, whatever its status
+     */
+    boolean isPlayerInRoom(long roomId, long userId);
+
+    /**
+     * Returns the number of players in the room, or 0 if it is not tracked
+     */
+    int getPlayerCount(long roomId);
+
+    /**
+     * Returns the status of the room, or null if it is not tracked
+     */
+    RoomStatus getStatus(long roomId);
+
+    /**
+     * Rebuilds the registry from the database
+     */
+    void reload();
+
+    int getRoomCount();
+
+    int getActiveUserCount();
+}
@@ -0,0 +1,44 @@
+package com.vn.caro_game.services.interfaces;
+
+import com.vn.caro_game.utils.ThinkTimeSamples;
+
+import java.util.Map;
+
+/**
+ * Service interface for the per-player think time figures kept up to date as moves are played.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface ThinkTimeService {
+
+    /**
+     * Counts the think time of an accepted move in memory once the transaction that saved
+     * the move has committed; nothing is written until the next flush.
+     *
+     * @param userId player who moved
+     * @param thinkTimeMillis time since the previous move, or since the game started
+     */
+    void recordMove(Long userId, long thinkTimeMillis);
+
+    /**
+     * Takes the think times counted in memory since the last drain, leaving none pending
+     *
+     * @return the pending think times by user ID
+     */
+    Map<Long, ThinkTimeSamples> drainPending();
+
+    /**
+     * Adds drained think times to the stored figures, in one transaction
+     *
+     * @param pending think times by user ID, as returned by {@link #drainPending()}
+     */
+    void writePending(Map<Long, ThinkTimeSamples> pending);
+
+    /**
+     * Puts drained think times that could not be written back, to be retried by the next drain
+     *
+     * @param pending think times by user ID
+     */
+    void restore(Map<Long, ThinkTimeSamples> pending);
+}
@@ -0,0 +1,36 @@
+package com.vn.caro_game.services.interfaces;
+
+import com.vn.caro_game.dtos.CachedUser;
+
+/**
+ * Service interface for reading users through a bounded local cache backed by Redis.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public interface UserCacheService {
+
+    /**
+     * Gets a user's profile snapshot from the local cache, then Redis, then the database
+     *
+     * @param userId the user's ID
+     * @return the snapshot
+     * @throws com.vn.caro_game.exceptions.CustomException if the user does not exist
+     */
+    CachedUser getUser(Long userId);
+
+    /**
+     * Drops a user from both tiers on every instance, once the current transaction commits.
+     * Called after every change to a cached field.
+     *
+     * @param userId the user's ID
+     */
+    void evict(Long userId);
+
+    /**
+     * Drops a user from this instance's local tier only, on a message from another instance
+     *
+     * @param userId the user's ID
+     */
+    void evictLocal(Long userId);
+}
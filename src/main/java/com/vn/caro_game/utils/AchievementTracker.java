@@ -0,0 +1,103 @@
+package com.vn.caro_game.utils;
+
+import com.vn.caro_game.constants.GameRoomConstants;
+import com.vn.caro_game.entities.AchievementProgress;
+import com.vn.caro_game.enums.Achievement;
+import com.vn.caro_game.enums.GameResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Advances a player's achievement progress by one game and reports what it unlocked.
+ *
+ * <p>Each badge only needs a counter or two: games played, the current and best win
+ * streak, and a bit per unlocked badge. Games must be applied in the order they ended.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public final class AchievementTracker {
+
+    private AchievementTracker() {
+        // Utility class
+    }
+
+    /**
+     * Applies one game to a player's progress
+     *
+     * @param progress the player's progress, updated in place
+     * @param result WIN, LOSE or DRAW from the player's side
+     * @param quickWin whether the game was a win by five in a row within the quick win move limit
+     * @param historyId the game's history ID
+     * @return the badges the game unlocked, in declaration order
+     */
+    public static List<Achievement> advance(AchievementProgress progress, GameResult result, boolean quickWin,
+                                            Long historyId) {
+        progress.setGamesPlayed(progress.getGamesPlayed() + 1);
+        if (result == GameResult.WIN) {
+            progress.setCurrentWinStreak(progress.getCurrentWinStreak() + 1);
+            progress.setBestWinStreak(Math.max(progress.getBestWinStreak(), progress.getCurrentWinStreak()));
+        } else {
+            progress.setCurrentWinStreak(0);
+        }
+        progress.setLastGameHistoryId(historyId);
+
+        List<Achievement> unlocked = new ArrayList<>(1);
+        if (progress.getGamesPlayed() >= GameRoomConstants.ACHIEVEMENT_GAMES_PLAYED) {
+            unlock(progress, Achievement.GAMES_PLAYED_100, unlocked);
+        }
+        if (progress.getCurrentWinStreak() >= GameRoomConstants.ACHIEVEMENT_WIN_STREAK) {
+            unlock(progress, Achievement.WIN_STREAK_10, unlocked);
+        }
+        if (result == GameResult.WIN && quickWin) {
+            unlock(progress, Achievement.QUICK_WIN, unlocked);
+        }
+        return unlocked;
+    }
+
+    /**
+     * Whether a won match was short enough for a quick win. The winner made the last move,
+     * so the winner's own moves are half the match's moves rounded up.
+     *
+     * @param moveCount moves played in the match, or null if unknown
+     */
+    public static boolean isQuickWin(Integer moveCount) {
+        return moveCount != null && moveCount > 0
+                && (moveCount + 1) / 2 < GameRoomConstants.ACHIEVEMENT_QUICK_WIN_MOVES;
+    }
+
+    public static boolean isUnlocked(AchievementProgress progress, Achievement achievement) {
+        return (progress.getUnlocked() & bit(achievement)) != 0;
+    }
+
+    /**
+     * Gets how far a player is towards a badge, capped at its target
+     */
+    public static long getProgress(AchievementProgress progress, Achievement achievement) {
+        return Math.min(getTarget(achievement), switch (achievement) {
+            case GAMES_PLAYED_100 -> progress.getGamesPlayed();
+            case WIN_STREAK_10 -> progress.getBestWinStreak();
+            case QUICK_WIN -> isUnlocked(progress, achievement) ? 1 : 0;
+        });
+    }
+
+    public static long getTarget(Achievement achievement) {
+        return switch (achievement) {
+            case GAMES_PLAYED_100 -> GameRoomConstants.ACHIEVEMENT_GAMES_PLAYED;
+            case WIN_STREAK_10 -> GameRoomConstants.ACHIEVEMENT_WIN_STREAK;
+            case QUICK_WIN -> 1;
+        };
+    }
+
+    private static void unlock(AchievementProgress progress, Achievement achievement, List<Achievement> unlocked) {
+        if (!isUnlocked(progress, achievement)) {
+            progress.setUnlocked(progress.getUnlocked() | bit(achievement));
+            unlocked.add(achievement);
+        }
+    }
+
+    private static long bit(Achievement achievement) {
+        return 1L << achievement.ordinal();
+    }
+}
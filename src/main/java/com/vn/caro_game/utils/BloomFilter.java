@@ -0,0 +1,91 @@
+package com.vn.caro_game.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over strings, sized from the expected number of entries and the wanted
+ * false positive rate.
+ *
+ * <p>Each string is hashed once to 64 bits; the two halves give all probe positions by
+ * double hashing. Bits live in an {@link AtomicLongArray}, so adds and lookups are
+ * thread-safe without locking. Entries cannot be removed; callers rebuild the filter
+ * when too many stale entries have built up.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(int expectedEntries, double falsePositiveRate) {
+        if (expectedEntries <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected entries must be positive and the rate between 0 and 1");
+        }
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bits = new AtomicLongArray((int) Math.max(1, (optimalBits + 63) >>> 6));
+        this.bitCount = (long) bits.length() << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedEntries * ln2));
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                // Another thread changed the word; retry with its new value
+            }
+        }
+    }
+
+    /**
+     * Whether a value may have been added. False means it certainly was not.
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private long index(int combined) {
+        return (combined & 0xFFFFFFFFL) % bitCount;
+    }
+
+    /**
+     * 64-bit FNV-1a over the chars, finished with the SplitMix64 mixer so both halves are
+     * usable on their own
+     */
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,136 @@
+package com.vn.caro_game.utils;
+
+import com.vn.caro_game.constants.CaroGameConstants;
+import com.vn.caro_game.enums.HeatmapSlice;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Per-cell move counters of one player, one board of {@link #CELLS} counters per
+ * {@link HeatmapSlice}.
+ *
+ * <p>The counters are a single fixed-size int array, so adding a move or merging two
+ * heatmaps never allocates. The binary form writes each counter as an unsigned varint in
+ * slice, row and column order; most cells of a board are played rarely or never, so it
+ * usually takes one or two bytes per cell instead of four. Not thread-safe.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public class BoardHeatmap {
+
+    public static final int CELLS = CaroGameConstants.BOARD_SIZE * CaroGameConstants.BOARD_SIZE;
+
+    private static final int SLICES = HeatmapSlice.values().length;
+
+    private final int[] counts = new int[SLICES * CELLS];
+
+    /**
+     * Reads a heatmap written by {@link #toBytes()}; null or empty data gives an empty heatmap
+     *
+     * @throws IllegalArgumentException if the data is truncated or has trailing bytes
+     */
+    public static BoardHeatmap fromBytes(byte[] data) {
+        BoardHeatmap heatmap = new BoardHeatmap();
+        if (data == null || data.length == 0) {
+            return heatmap;
+        }
+        int position = 0;
+        for (int i = 0; i < heatmap.counts.length; i++) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (position == data.length || shift > 28) {
+                    throw new IllegalArgumentException("Board heatmap data is malformed at cell " + i);
+                }
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            heatmap.counts[i] = value;
+        }
+        if (position != data.length) {
+            throw new IllegalArgumentException("Board heatmap data has " + (data.length - position) + " trailing bytes");
+        }
+        return heatmap;
+    }
+
+    /**
+     * Counts a move by its number and position
+     *
+     * @return false if the position is off the board, in which case nothing is counted
+     */
+    public boolean add(int moveNumber, int xPosition, int yPosition) {
+        if (moveNumber < 1 || !isOnBoard(xPosition) || !isOnBoard(yPosition)) {
+            return false;
+        }
+        counts[index(HeatmapSlice.of(moveNumber), xPosition, yPosition)]++;
+        return true;
+    }
+
+    public void merge(BoardHeatmap other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+
+    public int getCount(HeatmapSlice slice, int xPosition, int yPosition) {
+        return counts[index(slice, xPosition, yPosition)];
+    }
+
+    public long getTotal(HeatmapSlice slice) {
+        long total = 0;
+        int from = slice.ordinal() * CELLS;
+        for (int i = from; i < from + CELLS; i++) {
+            total += counts[i];
+        }
+        return total;
+    }
+
+    public long getTotal() {
+        long total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return getTotal() == 0;
+    }
+
+    /**
+     * Copies one slice into a grid indexed by x position, then y position, like the game board
+     */
+    public int[][] toGrid(HeatmapSlice slice) {
+        int size = CaroGameConstants.BOARD_SIZE;
+        int[][] grid = new int[size][size];
+        int from = slice.ordinal() * CELLS;
+        for (int x = 0; x < size; x++) {
+            System.arraycopy(counts, from + x * size, grid[x], 0, size);
+        }
+        return grid;
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(counts.length * 2);
+        for (int count : counts) {
+            int value = count;
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean isOnBoard(int position) {
+        return position >= 0 && position < CaroGameConstants.BOARD_SIZE;
+    }
+
+    private static int index(HeatmapSlice slice, int xPosition, int yPosition) {
+        return slice.ordinal() * CELLS + xPosition * CaroGameConstants.BOARD_SIZE + yPosition;
+    }
+}
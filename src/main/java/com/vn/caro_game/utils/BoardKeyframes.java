@@ -0,0 +1,105 @@
+package com.vn.caro_game.utils;
+
+import com.vn.caro_game.entities.Move;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable set of board snapshots taken every {@code interval} moves of a finished match.
+ *
+ * <p>Any position can be rebuilt by copying the nearest keyframe at or before the
+ * requested move and replaying the few moves after it. Snapshots are stored as one
+ * byte per cell, so a 15x15 board costs 225 bytes per keyframe.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public final class BoardKeyframes {
+
+    private final int boardSize;
+    private final int interval;
+    private final int totalMoves;
+    private final int[] keyframeMoveNumbers;
+    private final byte[][] snapshots;
+
+    private BoardKeyframes(int boardSize, int interval, int totalMoves,
+                           int[] keyframeMoveNumbers, byte[][] snapshots) {
+        this.boardSize = boardSize;
+        this.interval = interval;
+        this.totalMoves = totalMoves;
+        this.keyframeMoveNumbers = keyframeMoveNumbers;
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * Builds keyframes from moves ordered by move number. Keyframe 0 is always the empty board.
+     */
+    public static BoardKeyframes build(List<Move> orderedMoves, ToIntFunction<Move> cellValue,
+                                       int boardSize, int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+        byte[] board = new byte[boardSize * boardSize];
+        List<Integer> moveNumbers = new ArrayList<>();
+        List<byte[]> frames = new ArrayList<>();
+        moveNumbers.add(0);
+        frames.add(board.clone());
+
+        int lastMoveNumber = 0;
+        for (Move move : orderedMoves) {
+            board[move.getXPosition() * boardSize + move.getYPosition()] = (byte) cellValue.applyAsInt(move);
+            lastMoveNumber = move.getMoveNumber();
+            if (lastMoveNumber % interval == 0) {
+                moveNumbers.add(lastMoveNumber);
+                frames.add(board.clone());
+            }
+        }
+
+        int[] numbers = moveNumbers.stream().mapToInt(Integer::intValue).toArray();
+        return new BoardKeyframes(boardSize, interval, lastMoveNumber, numbers, frames.toArray(new byte[0][]));
+    }
+
+    /**
+     * Returns the move number of the closest keyframe at or before the given move.
+     */
+    public int nearestKeyframe(int moveNumber) {
+        int index = Arrays.binarySearch(keyframeMoveNumbers, moveNumber);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return keyframeMoveNumbers[Math.max(index, 0)];
+    }
+
+    /**
+     * Returns a fresh, mutable copy of the board at the given keyframe.
+     */
+    public int[][] boardAt(int keyframeMoveNumber) {
+        int index = Arrays.binarySearch(keyframeMoveNumbers, keyframeMoveNumber);
+        if (index < 0) {
+            throw new IllegalArgumentException("No keyframe at move " + keyframeMoveNumber);
+        }
+        byte[] snapshot = snapshots[index];
+        int[][] board = new int[boardSize][boardSize];
+        for (int x = 0; x < boardSize; x++) {
+            for (int y = 0; y < boardSize; y++) {
+                board[x][y] = snapshot[x * boardSize + y];
+            }
+        }
+        return board;
+    }
+
+    public int getTotalMoves() {
+        return totalMoves;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public int getKeyframeCount() {
+        return keyframeMoveNumbers.length;
+    }
+}
@@ -0,0 +1,82 @@
+package com.vn.caro_game.utils;
+
+import com.vn.caro_game.constants.CaroGameConstants;
+
+/**
+ * The eight rotations and reflections of the square board, applied to cell indexes
+ * ({@code xPosition * BOARD_SIZE + yPosition}).
+ *
+ * <p>Symmetry 0 is the identity, 1 to 3 rotate by 90, 180 and 270 degrees, and 4 to 7
+ * reflect across the diagonal, the horizontal axis, the anti-diagonal and the vertical
+ * axis.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public final class BoardSymmetry {
+
+    public static final int COUNT = 8;
+
+    private static final int SIZE = CaroGameConstants.BOARD_SIZE;
+    private static final int LAST = SIZE - 1;
+    private static final int[] INVERSE = {0, 3, 2, 1, 4, 5, 6, 7};
+
+    private BoardSymmetry() {
+        // Utility class
+    }
+
+    public static int transform(int symmetry, int cell) {
+        int x = cell / SIZE;
+        int y = cell % SIZE;
+        return switch (symmetry) {
+            case 0 -> cell;
+            case 1 -> y * SIZE + (LAST - x);
+            case 2 -> (LAST - x) * SIZE + (LAST - y);
+            case 3 -> (LAST - y) * SIZE + x;
+            case 4 -> y * SIZE + x;
+            case 5 -> (LAST - x) * SIZE + y;
+            case 6 -> (LAST - y) * SIZE + (LAST - x);
+            case 7 -> x * SIZE + (LAST - y);
+            default -> throw new IllegalArgumentException("No board symmetry " + symmetry);
+        };
+    }
+
+    /**
+     * Gets the symmetry that undoes the given one
+     */
+    public static int inverse(int symmetry) {
+        return INVERSE[symmetry];
+    }
+
+    /**
+     * Finds the symmetry that turns a move sequence into its smallest form, comparing the
+     * transformed cells in order. The smallest form of a sequence starts with the smallest
+     * form of each of its prefixes, so canonical sequences share canonical prefixes.
+     *
+     * @return the symmetry; the lowest one when several give the same form
+     */
+    public static int canonical(int[] cells) {
+        int best = 0;
+        for (int symmetry = 1; symmetry < COUNT; symmetry++) {
+            for (int cell : cells) {
+                int candidate = transform(symmetry, cell);
+                int current = transform(best, cell);
+                if (candidate != current) {
+                    if (candidate < current) {
+                        best = symmetry;
+                    }
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    public static int[] apply(int symmetry, int[] cells) {
+        int[] transformed = new int[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            transformed[i] = transform(symmetry, cells[i]);
+        }
+        return transformed;
+    }
+}
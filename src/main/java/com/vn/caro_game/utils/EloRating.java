@@ -0,0 +1,58 @@
+package com.vn.caro_game.utils;
+
+import com.vn.caro_game.constants.GameRoomConstants;
+
+/**
+ * Elo rating arithmetic.
+ *
+ * <p>Both players of a game are updated from the ratings they had before it, so the
+ * result does not depend on which one is processed first.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public final class EloRating {
+
+    public static final double WIN = 1.0;
+    public static final double DRAW = 0.5;
+    public static final double LOSS = 0.0;
+
+    private EloRating() {
+        // Utility class
+    }
+
+    /**
+     * Gets the expected score (0 to 1) of a player against an opponent
+     */
+    public static double expectedScore(int rating, int opponentRating) {
+        return 1.0 / (1.0 + Math.pow(10, (opponentRating - rating) / 400.0));
+    }
+
+    /**
+     * Gets the K-factor for a player with the given number of rated games
+     */
+    public static int kFactor(int ratedGames) {
+        return ratedGames < GameRoomConstants.PROVISIONAL_GAMES
+                ? GameRoomConstants.PROVISIONAL_K_FACTOR : GameRoomConstants.RATING_K_FACTOR;
+    }
+
+    /**
+     * Gets a player's new rating after scoring {@code score} against an opponent
+     */
+    public static int newRating(int rating, int ratedGames, int opponentRating, double score) {
+        return (int) Math.round(rating + kFactor(ratedGames) * (score - expectedScore(rating, opponentRating)));
+    }
+
+    /**
+     * Gets the rank label shown for a rating; provisional players are unranked
+     */
+    public static String rankLabel(int rating, int ratedGames) {
+        if (ratedGames < GameRoomConstants.RANKED_MIN_GAMES) return "Unranked";
+        if (rating >= 2000) return "Master";
+        if (rating >= 1800) return "Expert";
+        if (rating >= 1600) return "Advanced";
+        if (rating >= 1400) return "Intermediate";
+        if (rating >= 1200) return "Novice";
+        return "Beginner";
+    }
+}
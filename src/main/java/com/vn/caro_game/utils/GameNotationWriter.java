@@ -0,0 +1,110 @@
+package com.vn.caro_game.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes games in a PGN-like Gomoku notation, one game at a time.
+ *
+ * <p>Each game is a block of {@code [Tag "value"]} lines followed by a blank line and the
+ * move text, e.g. {@code 1. h8 i9 2. g7 ... 1-0}. Squares use the RenLib convention:
+ * column letter {@code a..o} for the y position and row number {@code 1..15} for the
+ * x position. Nothing is buffered beyond the current line, so callers can feed rows
+ * straight from a database cursor.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public class GameNotationWriter {
+
+    public static final String RESULT_X_WIN = "1-0";
+    public static final String RESULT_O_WIN = "0-1";
+    public static final String RESULT_DRAW = "1/2-1/2";
+    public static final String RESULT_UNKNOWN = "*";
+
+    private static final int MOVES_PER_LINE = 10;
+
+    private final Writer out;
+    private boolean inGame;
+    private int movesWritten;
+    private long gamesWritten;
+
+    public GameNotationWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Starts a new game by writing its tag section
+     */
+    public void startGame(Map<String, String> tags) throws IOException {
+        if (inGame) {
+            throw new IllegalStateException("Previous game was not ended");
+        }
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            out.write('[');
+            out.write(tag.getKey());
+            out.write(" \"");
+            out.write(escape(tag.getValue()));
+            out.write("\"]\n");
+        }
+        out.write('\n');
+        inGame = true;
+        movesWritten = 0;
+    }
+
+    /**
+     * Appends one move of the current game
+     */
+    public void move(int moveNumber, int xPosition, int yPosition) throws IOException {
+        if (!inGame) {
+            throw new IllegalStateException("No game started");
+        }
+        if (movesWritten > 0) {
+            out.write(movesWritten % (MOVES_PER_LINE * 2) == 0 ? '\n' : ' ');
+        }
+        if (moveNumber % 2 == 1) {
+            out.write((moveNumber + 1) / 2 + ". ");
+        }
+        out.write(square(xPosition, yPosition));
+        movesWritten++;
+    }
+
+    /**
+     * Ends the current game with its result token
+     */
+    public void endGame(String result) throws IOException {
+        if (!inGame) {
+            throw new IllegalStateException("No game started");
+        }
+        if (movesWritten > 0) {
+            out.write(' ');
+        }
+        out.write(result);
+        out.write("\n\n");
+        inGame = false;
+        gamesWritten++;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    public long getGamesWritten() {
+        return gamesWritten;
+    }
+
+    /**
+     * Converts board coordinates to a square like {@code h8}
+     */
+    public static String square(int xPosition, int yPosition) {
+        return (char) ('a' + yPosition) + Integer.toString(xPosition + 1);
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "?";
+        }
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,214 @@
+package com.vn.caro_game.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sorted skip list that can also find elements by position.
+ *
+ * <p>Every forward link records how many elements it skips, as in a Redis sorted set, so
+ * adding, removing, finding the position of an element and jumping to a position all take
+ * O(log n), and reading {@code k} elements from a position takes O(log n + k). Elements
+ * that compare equal are treated as the same element, so the comparator must be a total
+ * order. Not thread-safe; callers synchronize externally.</p>
+ *
+ * @param <E> element type
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public class IndexedSkipList<E> {
+
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_PROBABILITY = 0.25;
+
+    private final Comparator<? super E> comparator;
+    private final Node<E> head = new Node<>(null, MAX_LEVEL);
+    private int level = 1;
+    private int size;
+
+    public IndexedSkipList(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Adds an element unless an equal one is already present
+     *
+     * @return true if the element was added
+     */
+    @SuppressWarnings("unchecked")
+    public boolean add(E element) {
+        Node<E>[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node<E> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && comparator.compare(x.next[i].value, element) < 0) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        if (x.next[0] != null && comparator.compare(x.next[0].value, element) == 0) {
+            return false;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = nodeLevel;
+        }
+
+        Node<E> node = new Node<>(element, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes the element equal to the given one
+     *
+     * @return true if an element was removed
+     */
+    @SuppressWarnings("unchecked")
+    public boolean remove(E element) {
+        Node<E>[] update = new Node[MAX_LEVEL];
+        Node<E> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && comparator.compare(x.next[i].value, element) < 0) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        Node<E> target = x.next[0];
+        if (target == null || comparator.compare(target.value, element) != 0) {
+            return false;
+        }
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Gets the zero-based position of the element equal to the given one, or -1
+     */
+    public int indexOf(E element) {
+        int traversed = 0;
+        Node<E> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && comparator.compare(x.next[i].value, element) <= 0) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (x != head && comparator.compare(x.value, element) == 0) {
+                return traversed - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the element at a zero-based position
+     *
+     * @throws IndexOutOfBoundsException if there is no such position
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return nodeAt(index).value;
+    }
+
+    /**
+     * Gets up to {@code count} elements starting at a zero-based position, in order
+     */
+    public List<E> range(int fromIndex, int count) {
+        if (fromIndex < 0 || fromIndex >= size || count <= 0) {
+            return List.of();
+        }
+        List<E> elements = new ArrayList<>(Math.min(count, size - fromIndex));
+        for (Node<E> x = nodeAt(fromIndex); x != null && elements.size() < count; x = x.next[0]) {
+            elements.add(x.value);
+        }
+        return elements;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        level = 1;
+        size = 0;
+    }
+
+    private Node<E> nodeAt(int index) {
+        int target = index + 1;
+        int traversed = 0;
+        Node<E> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= target) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == target) {
+                return x;
+            }
+        }
+        throw new IllegalStateException("Skip list spans are inconsistent");
+    }
+
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (nodeLevel < MAX_LEVEL && random.nextDouble() < LEVEL_PROBABILITY) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    private static final class Node<E> {
+        final E value;
+        final Node<E>[] next;
+        final int[] span;
+
+        @SuppressWarnings("unchecked")
+        Node(E value, int level) {
+            this.value = value;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+}
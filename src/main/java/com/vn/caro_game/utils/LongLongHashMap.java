@@ -0,0 +1,196 @@
+package com.vn.caro_game.utils;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from {@code long} to {@code long} without boxing.
+ *
+ * <p>Uses linear probing with backward-shift deletion, so there are no tombstones and
+ * lookups stay short under churn. Key {@code 0} is stored outside the table because
+ * it marks free slots. Absent keys return the {@code missingValue} given at
+ * construction. Not thread-safe; callers synchronize externally.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public class LongLongHashMap {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final long missingValue;
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongLongHashMap(int expectedSize, long missingValue) {
+        this.missingValue = missingValue;
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public long get(long key) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : missingValue;
+        }
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Maps the key to the value and returns the previous value, or {@code missingValue}
+     */
+    public long put(long key, long value) {
+        if (key == 0) {
+            long previous = hasZeroKey ? zeroValue : missingValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                long previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length * LOAD_FACTOR) {
+            rehash(keys.length << 1);
+        }
+        return missingValue;
+    }
+
+    /**
+     * Removes the key and returns its value, or {@code missingValue} if it was absent
+     */
+    public long remove(long key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return missingValue;
+            }
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                long previous = values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    /**
+     * Removes the key only while it is still mapped to the given value
+     */
+    public boolean remove(long key, long value) {
+        if (!containsKey(key) || get(key) != value) {
+            return false;
+        }
+        remove(key);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        size = 0;
+        hasZeroKey = false;
+    }
+
+    /**
+     * Closes the gap left at {@code free} by moving later entries of the same probe run back
+     */
+    private void shiftBack(int free) {
+        int slot = free;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == 0) {
+                break;
+            }
+            int home = slot(key);
+            // Move the entry unless its home lies cyclically in (free, slot]
+            boolean stays = free <= slot ? free < home && home <= slot : free < home || home <= slot;
+            if (!stays) {
+                keys[free] = key;
+                values[free] = values[slot];
+                free = slot;
+            }
+        }
+        keys[free] = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != 0) {
+                int slot = slot(key);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR);
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+}
@@ -0,0 +1,86 @@
+package com.vn.caro_game.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Small thread-safe LRU cache backed by an access-ordered {@link LinkedHashMap}.
+ *
+ * <p>Intended for bounded in-process caches of derived data (replay keyframes,
+ * lookups that are cheap to rebuild). All operations synchronize on the cache
+ * instance, so it is not meant for heavily contended hot paths.</p>
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public class LruCache<K, V> {
+
+    private final int maxSize;
+    private final LinkedHashMap<K, V> entries;
+
+    public LruCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    /**
+     * Returns the cached value or computes and caches it. The loader runs
+     * outside the lock, so concurrent misses may compute the value twice.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Stores the value, or the result of combining it with the cached one.
+     *
+     * @return the value now cached
+     */
+    public synchronized V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> combine) {
+        return entries.merge(key, value, combine);
+    }
+
+    public synchronized V remove(K key) {
+        return entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
@@ -0,0 +1,140 @@
+package com.vn.caro_game.utils;
+
+import com.vn.caro_game.enums.GameResult;
+
+import java.util.Arrays;
+
+/**
+ * Prefix tree of opening move sequences with game and result counters per node.
+ *
+ * <p>Nodes live in parallel primitive arrays instead of one object each: the move of a
+ * node as a byte, its first child and next sibling as indexes, and its games, X wins and
+ * O wins as ints, 21 bytes a node in all. Node 0 is the empty board and counts every game.
+ * Draws are the games that neither side won. Not thread-safe.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public class OpeningTree {
+
+    public static final int ROOT = 0;
+    public static final int NONE = -1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private byte[] moves = new byte[INITIAL_CAPACITY];
+    private int[] firstChild = new int[INITIAL_CAPACITY];
+    private int[] nextSibling = new int[INITIAL_CAPACITY];
+    private int[] games = new int[INITIAL_CAPACITY];
+    private int[] xWins = new int[INITIAL_CAPACITY];
+    private int[] oWins = new int[INITIAL_CAPACITY];
+    private int size;
+
+    public OpeningTree() {
+        newNode(0);
+    }
+
+    /**
+     * Counts a game along the path of its opening cells
+     *
+     * @param cells the game's first cells in order, already in canonical form
+     * @param result X_WIN, O_WIN or DRAW
+     */
+    public void add(int[] cells, GameResult result) {
+        int node = ROOT;
+        count(node, result);
+        for (int cell : cells) {
+            int child = findChild(node, cell);
+            if (child == NONE) {
+                child = newNode(cell);
+                nextSibling[child] = firstChild[node];
+                firstChild[node] = child;
+            }
+            node = child;
+            count(node, result);
+        }
+    }
+
+    /**
+     * Finds the node reached by a sequence of cells
+     *
+     * @return the node, or {@link #NONE} if no counted game started that way
+     */
+    public int find(int[] cells) {
+        int node = ROOT;
+        for (int cell : cells) {
+            node = findChild(node, cell);
+            if (node == NONE) {
+                return NONE;
+            }
+        }
+        return node;
+    }
+
+    public int getFirstChild(int node) {
+        return firstChild[node];
+    }
+
+    public int getNextSibling(int node) {
+        return nextSibling[node];
+    }
+
+    public int getMove(int node) {
+        return moves[node] & 0xFF;
+    }
+
+    public int getGames(int node) {
+        return games[node];
+    }
+
+    public int getXWins(int node) {
+        return xWins[node];
+    }
+
+    public int getOWins(int node) {
+        return oWins[node];
+    }
+
+    public int getDraws(int node) {
+        return games[node] - xWins[node] - oWins[node];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int findChild(int node, int cell) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (getMove(child) == cell) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+
+    private void count(int node, GameResult result) {
+        games[node]++;
+        if (result == GameResult.X_WIN) {
+            xWins[node]++;
+        } else if (result == GameResult.O_WIN) {
+            oWins[node]++;
+        }
+    }
+
+    private int newNode(int cell) {
+        if (size == games.length) {
+            int capacity = size + (size >> 1);
+            moves = Arrays.copyOf(moves, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            games = Arrays.copyOf(games, capacity);
+            xWins = Arrays.copyOf(xWins, capacity);
+            oWins = Arrays.copyOf(oWins, capacity);
+        }
+        int node = size++;
+        moves[node] = (byte) cell;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        return node;
+    }
+}
@@ -0,0 +1,32 @@
+package com.vn.caro_game.utils;
+
+import java.time.LocalDateTime;
+
+/**
+ * Helpers for adding partition-key predicates to queries on the time-partitioned
+ * {@code moves} and {@code chat_messages} tables.
+ *
+ * <p>Rows of a match or room are never older than the match start or room creation,
+ * so that time is a safe lower bound on {@code created_at}/{@code sent_at}. Passing it
+ * lets PostgreSQL skip every monthly partition before it. The bound is rounded down
+ * to the start of the day so small clock differences between writers cannot hide rows.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public final class PartitionBounds {
+
+    /** Lower bound used when the owning row has no timestamp; matches every partition. */
+    public static final LocalDateTime UNBOUNDED = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private PartitionBounds() {
+        // Utility class
+    }
+
+    /**
+     * Returns a partition-pruning lower bound for rows created at or after the given time
+     */
+    public static LocalDateTime lowerBound(LocalDateTime startTime) {
+        return startTime != null ? startTime.toLocalDate().atStartOfDay() : UNBOUNDED;
+    }
+}
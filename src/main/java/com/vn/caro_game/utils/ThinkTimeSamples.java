@@ -0,0 +1,37 @@
+package com.vn.caro_game.utils;
+
+/**
+ * Think times of one player counted in memory and not yet written: a {@link ThinkTimeSketch}
+ * for the percentiles plus the exact total, which the sketch cannot give back.
+ * Not thread-safe.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public class ThinkTimeSamples {
+
+    private final ThinkTimeSketch sketch = new ThinkTimeSketch();
+    private long totalMillis;
+
+    public void add(long millis) {
+        sketch.add(millis);
+        totalMillis += millis;
+    }
+
+    public void merge(ThinkTimeSamples other) {
+        sketch.merge(other.sketch);
+        totalMillis += other.totalMillis;
+    }
+
+    public ThinkTimeSketch getSketch() {
+        return sketch;
+    }
+
+    public long getCount() {
+        return sketch.getCount();
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+}
@@ -0,0 +1,119 @@
+package com.vn.caro_game.utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-size histogram of think times for streaming quantile estimates.
+ *
+ * <p>Times are counted in buckets whose bounds grow by {@link #GAMMA}, starting at
+ * {@link #MIN_MILLIS}, so any quantile is estimated within about 5% of the true value
+ * whatever the number of samples. Times below the first bound share one bucket, and
+ * times beyond the last bound are counted in the last bucket. The sketch always takes
+ * {@link #BUCKETS} counters, so it can be stored as a small binary column and updated
+ * one sample at a time. Not thread-safe.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+public class ThinkTimeSketch {
+
+    public static final int BUCKETS = 128;
+    public static final long MIN_MILLIS = 100;
+    public static final double GAMMA = 1.1;
+
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private final int[] counts;
+    private long count;
+
+    public ThinkTimeSketch() {
+        this.counts = new int[BUCKETS];
+    }
+
+    private ThinkTimeSketch(int[] counts) {
+        this.counts = counts;
+        for (int bucketCount : counts) {
+            count += bucketCount;
+        }
+    }
+
+    /**
+     * Reads a sketch written by {@link #toBytes()}; null or empty data gives an empty sketch
+     *
+     * @throws IllegalArgumentException if the data has the wrong size
+     */
+    public static ThinkTimeSketch fromBytes(byte[] data) {
+        if (data == null || data.length == 0) {
+            return new ThinkTimeSketch();
+        }
+        if (data.length != BUCKETS * Integer.BYTES) {
+            throw new IllegalArgumentException("Think time sketch must be " + BUCKETS * Integer.BYTES
+                    + " bytes, got " + data.length);
+        }
+        int[] counts = new int[BUCKETS];
+        ByteBuffer.wrap(data).asIntBuffer().get(counts);
+        return new ThinkTimeSketch(counts);
+    }
+
+    public void add(long millis) {
+        counts[bucketOf(millis)]++;
+        count++;
+    }
+
+    public void merge(ThinkTimeSketch other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+    }
+
+    /**
+     * Estimates the think time at a quantile
+     *
+     * @param quantile between 0 and 1, e.g. 0.9 for the 90th percentile
+     * @return the estimate in milliseconds, or null if the sketch is empty
+     */
+    public Long quantile(double quantile) {
+        if (count == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return representative(i);
+            }
+        }
+        return representative(BUCKETS - 1);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(BUCKETS * Integer.BYTES);
+        buffer.asIntBuffer().put(counts);
+        return buffer.array();
+    }
+
+    private static int bucketOf(long millis) {
+        if (millis < MIN_MILLIS) {
+            return 0;
+        }
+        int bucket = 1 + (int) (Math.log((double) millis / MIN_MILLIS) / LOG_GAMMA);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    /**
+     * Gets the geometric middle of a bucket; the first bucket stands for half the first bound
+     */
+    private static long representative(int bucket) {
+        if (bucket == 0) {
+            return MIN_MILLIS / 2;
+        }
+        double lower = MIN_MILLIS * Math.pow(GAMMA, bucket - 1);
+        return Math.round(lower * Math.sqrt(GAMMA));
+    }
+}
@@ -0,0 +1,29 @@
+-- Adds per-player achievement progress and the record of each unlocked badge.
+--
+-- Run after db/heatmap/player_heatmap.sql.
+--
+-- Both tables start empty; enable app.achievements.backfill.enabled for one start to
+-- replay the game history into them.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS achievement_progress (
+    user_id BIGINT PRIMARY KEY,
+    games_played BIGINT NOT NULL DEFAULT 0,
+    current_win_streak INTEGER NOT NULL DEFAULT 0,
+    best_win_streak INTEGER NOT NULL DEFAULT 0,
+    unlocked BIGINT NOT NULL DEFAULT 0,
+    last_game_history_id BIGINT,
+    updated_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS player_achievements (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    achievement VARCHAR(32) NOT NULL,
+    game_history_id BIGINT,
+    unlocked_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_player_achievements_user_achievement UNIQUE (user_id, achievement)
+);
+
+COMMIT;
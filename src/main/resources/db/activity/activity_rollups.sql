@@ -0,0 +1,46 @@
+-- Adds the hourly and daily activity rollups behind the activity dashboard.
+--
+-- Run after db/stats/player_stats.sql.
+--
+-- Hourly rows are filled by the application every minute and summed into daily rows each
+-- night; both tables are trimmed to app.activity.*-retention-days.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS activity_rollup_hourly (
+    bucket_start TIMESTAMP PRIMARY KEY,
+    games_completed BIGINT NOT NULL DEFAULT 0,
+    draws BIGINT NOT NULL DEFAULT 0,
+    timed_games BIGINT NOT NULL DEFAULT 0,
+    total_duration_seconds BIGINT NOT NULL DEFAULT 0,
+    ended_by_win BIGINT NOT NULL DEFAULT 0,
+    ended_by_surrender BIGINT NOT NULL DEFAULT 0,
+    ended_by_leave BIGINT NOT NULL DEFAULT 0,
+    ended_by_timeout BIGINT NOT NULL DEFAULT 0,
+    ended_by_system BIGINT NOT NULL DEFAULT 0,
+    rooms_created BIGINT NOT NULL DEFAULT 0,
+    games_started BIGINT NOT NULL DEFAULT 0,
+    peak_active_rooms INTEGER NOT NULL DEFAULT 0,
+    active_room_sample_sum BIGINT NOT NULL DEFAULT 0,
+    active_room_samples BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS activity_rollup_daily (
+    bucket_start TIMESTAMP PRIMARY KEY,
+    games_completed BIGINT NOT NULL DEFAULT 0,
+    draws BIGINT NOT NULL DEFAULT 0,
+    timed_games BIGINT NOT NULL DEFAULT 0,
+    total_duration_seconds BIGINT NOT NULL DEFAULT 0,
+    ended_by_win BIGINT NOT NULL DEFAULT 0,
+    ended_by_surrender BIGINT NOT NULL DEFAULT 0,
+    ended_by_leave BIGINT NOT NULL DEFAULT 0,
+    ended_by_timeout BIGINT NOT NULL DEFAULT 0,
+    ended_by_system BIGINT NOT NULL DEFAULT 0,
+    rooms_created BIGINT NOT NULL DEFAULT 0,
+    games_started BIGINT NOT NULL DEFAULT 0,
+    peak_active_rooms INTEGER NOT NULL DEFAULT 0,
+    active_room_sample_sum BIGINT NOT NULL DEFAULT 0,
+    active_room_samples BIGINT NOT NULL DEFAULT 0
+);
+
+COMMIT;
@@ -0,0 +1,46 @@
+-- Adds optimistic locking to game_rooms and game_matches, a per-match move counter, and
+-- unique constraints that reject a second move with the same number or on the same cell.
+--
+-- Run after db/partitioning/partition_moves_and_chat_messages.sql; the whole script is one transaction.
+--
+-- Notes:
+--  * game_matches.move_count is claimed (and the version bumped) before each move is inserted,
+--    so two concurrent moves on one match cannot both commit. This is the guarantee across
+--    partitions; the indexes below back it up inside each partition.
+--  * A unique index on a partitioned table must include the partition key, so the move
+--    indexes are created on every existing partition. PartitionMaintenanceService creates
+--    them on new partitions.
+
+BEGIN;
+
+ALTER TABLE game_rooms ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE game_matches ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE game_matches ADD COLUMN IF NOT EXISTS move_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE game_matches gm
+SET move_count = counts.total
+FROM (SELECT match_id, COUNT(*) AS total FROM moves GROUP BY match_id) counts
+WHERE counts.match_id = gm.id;
+
+DO $$
+DECLARE
+    part TEXT;
+BEGIN
+    FOR part IN
+        SELECT c.relname FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_class p ON p.oid = i.inhparent
+        WHERE p.relname = 'moves'
+    LOOP
+        EXECUTE format('CREATE UNIQUE INDEX IF NOT EXISTS %I ON %I (match_id, move_number)',
+                       part || '_uk_match_move_number', part);
+        EXECUTE format('CREATE UNIQUE INDEX IF NOT EXISTS %I ON %I (match_id, x_position, y_position)',
+                       part || '_uk_match_position', part);
+    END LOOP;
+END $$;
+
+-- Superseded by the unique (match_id, move_number) indexes
+DROP INDEX IF EXISTS idx_moves_match_move_number;
+
+COMMIT;
@@ -0,0 +1,13 @@
+-- Adds the indexes the game export's per-player branches and match lookup read through.
+--
+-- Run after db/achievements/achievements.sql.
+--
+-- CREATE INDEX CONCURRENTLY cannot run inside a transaction, so this script has no
+-- BEGIN/COMMIT. If a statement is interrupted, drop the invalid index it leaves before
+-- running it again.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_game_history_winner_ended ON game_history (winner_id, game_ended_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_game_history_loser_ended ON game_history (loser_id, game_ended_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_game_matches_room ON game_matches (room_id, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_game_matches_player_x ON game_matches (player_x_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_game_matches_player_o ON game_matches (player_o_id);
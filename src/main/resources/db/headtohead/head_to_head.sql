@@ -0,0 +1,22 @@
+-- Adds the per-pair record that is updated as each game finishes.
+--
+-- Run after db/activity/activity_rollups.sql.
+--
+-- The table starts empty; enable app.stats.rebuild.enabled for one start to fill it
+-- from the game history.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS head_to_head (
+    low_player_id BIGINT NOT NULL,
+    high_player_id BIGINT NOT NULL,
+    low_player_wins BIGINT NOT NULL DEFAULT 0,
+    high_player_wins BIGINT NOT NULL DEFAULT 0,
+    draws BIGINT NOT NULL DEFAULT 0,
+    last_game_at TIMESTAMP,
+    last_game_history_id BIGINT,
+    PRIMARY KEY (low_player_id, high_player_id),
+    CHECK (low_player_id < high_player_id)
+);
+
+COMMIT;
@@ -0,0 +1,17 @@
+-- Adds the per-player board heatmap row.
+--
+-- Run after db/thinktime/think_time.sql.
+--
+-- counts holds a BoardHeatmap in its varint form. The table starts empty; enable
+-- app.heatmap.backfill.enabled for one start to fill it from the moves table.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS player_heatmap (
+    user_id BIGINT PRIMARY KEY,
+    move_count BIGINT NOT NULL DEFAULT 0,
+    counts BYTEA,
+    updated_at TIMESTAMP
+);
+
+COMMIT;
@@ -0,0 +1,11 @@
+-- Adds the rating that quick play matchmaking pairs players by.
+--
+-- Run after db/concurrency/optimistic_locking_and_unique_moves.sql.
+--
+-- Every existing player starts at the default rating (GameRoomConstants.DEFAULT_RATING).
+
+BEGIN;
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS rating INTEGER NOT NULL DEFAULT 1200;
+
+COMMIT;
@@ -0,0 +1,83 @@
+-- Converts moves and chat_messages into tables range-partitioned by month on their creation time.
+--
+-- Requires PostgreSQL 12+. Run once during a maintenance window; the whole script is one transaction.
+-- Afterwards PartitionMaintenanceService keeps future partitions created and retires expired ones.
+--
+-- Notes:
+--  * A partitioned table's primary key must include the partition key, so the key becomes
+--    (id, created_at) / (id, sent_at). Ids stay unique because they still come from one sequence.
+--  * Ids use a sequence default instead of an identity column so the script also runs on
+--    PostgreSQL versions before 17; Hibernate's IDENTITY strategy works with either.
+--  * There is no DEFAULT partition: a row outside every partition fails loudly instead of
+--    silently landing in a catch-all that would defeat pruning.
+
+BEGIN;
+
+ALTER TABLE moves RENAME TO moves_legacy;
+ALTER TABLE chat_messages RENAME TO chat_messages_legacy;
+
+CREATE SEQUENCE IF NOT EXISTS moves_id_part_seq;
+CREATE SEQUENCE IF NOT EXISTS chat_messages_id_part_seq;
+
+CREATE TABLE moves (
+    id          BIGINT       NOT NULL DEFAULT nextval('moves_id_part_seq'),
+    match_id    BIGINT       NOT NULL REFERENCES game_matches (id),
+    player_id   BIGINT       NOT NULL REFERENCES users (id),
+    x_position  INTEGER      NOT NULL,
+    y_position  INTEGER      NOT NULL,
+    move_number INTEGER      NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE chat_messages (
+    id        BIGINT       NOT NULL DEFAULT nextval('chat_messages_id_part_seq'),
+    room_id   BIGINT       NOT NULL REFERENCES game_rooms (id),
+    sender_id BIGINT       NOT NULL REFERENCES users (id),
+    content   TEXT         NOT NULL,
+    sent_at   TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, sent_at)
+) PARTITION BY RANGE (sent_at);
+
+ALTER SEQUENCE moves_id_part_seq OWNED BY moves.id;
+ALTER SEQUENCE chat_messages_id_part_seq OWNED BY chat_messages.id;
+
+-- Indexes on the parent are created on every partition, including future ones
+CREATE INDEX idx_moves_match_move_number ON moves (match_id, move_number);
+CREATE INDEX idx_chat_messages_room_sent_at ON chat_messages (room_id, sent_at);
+
+-- Monthly partitions from the oldest existing row up to three months ahead
+DO $$
+DECLARE
+    spec  RECORD;
+    first_month DATE;
+    part_month DATE;
+BEGIN
+    FOR spec IN
+        SELECT * FROM (VALUES ('moves', 'moves_legacy', 'created_at'),
+                              ('chat_messages', 'chat_messages_legacy', 'sent_at')) AS t(parent, legacy, col)
+    LOOP
+        EXECUTE format('SELECT date_trunc(''month'', MIN(%I))::date FROM %I', spec.col, spec.legacy) INTO first_month;
+        part_month := COALESCE(first_month, date_trunc('month', now())::date);
+        WHILE part_month <= (date_trunc('month', now()) + INTERVAL '3 months')::date LOOP
+            EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                           spec.parent || '_p' || to_char(part_month, 'YYYY_MM'), spec.parent,
+                           part_month, (part_month + INTERVAL '1 month')::date);
+            part_month := (part_month + INTERVAL '1 month')::date;
+        END LOOP;
+    END LOOP;
+END $$;
+
+INSERT INTO moves (id, match_id, player_id, x_position, y_position, move_number, created_at)
+SELECT id, match_id, player_id, x_position, y_position, move_number, created_at FROM moves_legacy;
+
+INSERT INTO chat_messages (id, room_id, sender_id, content, sent_at)
+SELECT id, room_id, sender_id, content, sent_at FROM chat_messages_legacy;
+
+SELECT setval('moves_id_part_seq', COALESCE((SELECT MAX(id) FROM moves_legacy), 0) + 1, false);
+SELECT setval('chat_messages_id_part_seq', COALESCE((SELECT MAX(id) FROM chat_messages_legacy), 0) + 1, false);
+
+DROP TABLE moves_legacy;
+DROP TABLE chat_messages_legacy;
+
+COMMIT;
@@ -0,0 +1,25 @@
+-- Adds the rated game count and the per-game rating history.
+--
+-- Run after db/matchmaking/user_rating.sql.
+--
+-- Existing ratings are left at the default; enable app.rating.backfill.enabled for one
+-- start to replay the game history into them.
+
+BEGIN;
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS rated_games INTEGER NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS rating_history (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    game_history_id BIGINT NOT NULL,
+    opponent_id BIGINT NOT NULL,
+    rating_before INTEGER NOT NULL,
+    rating_after INTEGER NOT NULL,
+    rated_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_rating_history_game_user UNIQUE (game_history_id, user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_rating_history_user ON rating_history (user_id, id);
+
+COMMIT;
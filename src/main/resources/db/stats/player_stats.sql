@@ -0,0 +1,25 @@
+-- Adds the per-player statistics row that is updated as each game finishes.
+--
+-- Run after db/rating/rating_history.sql.
+--
+-- The table starts empty and is filled from the game history on the next start; it can
+-- be refilled later by enabling app.stats.rebuild.enabled for one start.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS player_stats (
+    user_id BIGINT PRIMARY KEY,
+    wins BIGINT NOT NULL DEFAULT 0,
+    losses BIGINT NOT NULL DEFAULT 0,
+    draws BIGINT NOT NULL DEFAULT 0,
+    timed_games BIGINT NOT NULL DEFAULT 0,
+    total_duration_minutes BIGINT NOT NULL DEFAULT 0,
+    shortest_duration_minutes BIGINT,
+    longest_duration_minutes BIGINT,
+    current_win_streak INTEGER NOT NULL DEFAULT 0,
+    best_win_streak INTEGER NOT NULL DEFAULT 0,
+    last_game_history_id BIGINT,
+    updated_at TIMESTAMP
+);
+
+COMMIT;
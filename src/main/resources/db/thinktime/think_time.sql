@@ -0,0 +1,24 @@
+-- Adds per-move think times, per-side match totals and the per-player think time row.
+--
+-- Run after db/headtohead/head_to_head.sql.
+--
+-- Existing moves and matches keep NULL think times, so replays of older games show no
+-- averages instead of made-up ones. player_think_time fills up as new moves are played.
+
+BEGIN;
+
+ALTER TABLE moves ADD COLUMN IF NOT EXISTS think_time_ms BIGINT;
+
+ALTER TABLE game_matches ADD COLUMN IF NOT EXISTS last_move_at TIMESTAMP;
+ALTER TABLE game_matches ADD COLUMN IF NOT EXISTS player_x_think_ms BIGINT;
+ALTER TABLE game_matches ADD COLUMN IF NOT EXISTS player_o_think_ms BIGINT;
+
+CREATE TABLE IF NOT EXISTS player_think_time (
+    user_id BIGINT PRIMARY KEY,
+    move_count BIGINT NOT NULL DEFAULT 0,
+    total_think_ms BIGINT NOT NULL DEFAULT 0,
+    sketch BYTEA,
+    updated_at TIMESTAMP
+);
+
+COMMIT;
@@ -1,14 +1,14 @@
 package com.vn.caro_game.configs;
 
 import com.vn.caro_game.integrations.jwt.JwtService;
-import com.vn.caro_game.entities.User;
-import com.vn.caro_game.repositories.UserRepository;
+import com.vn.caro_game.integrations.jwt.TokenClaims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -16,8 +16,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
-import java.util.Optional;
+import java.util.Date;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -32,9 +34,6 @@ class JwtAuthenticationFilterTest {
     @Mock
     private JwtService jwtService;
 
-    @Mock
-    private UserRepository userRepository;
-
     @Mock
     private HttpServletRequest request;
 
@@ -55,6 +54,11 @@ class JwtAuthenticationFilterTest {
         SecurityContextHolder.setContext(securityContext);
     }
 
+    private static TokenClaims accessClaims(List<String> roles) {
+        return new TokenClaims(7L, "test@example.com", "tester", roles, "revocation-id",
+                new Date(System.currentTimeMillis() + 60_000));
+    }
+
     @Test
     void doFilterInternal_WithoutAuthorizationHeader_ShouldContinueFilterChain() throws Exception {
         // Given
@@ -65,7 +69,7 @@ class JwtAuthenticationFilterTest {
 
         // Then
         verify(filterChain).doFilter(request, response);
-        verify(jwtService, never()).extractEmail(anyString());
+        verify(jwtService, never()).parseToken(anyString());
         verify(securityContext, never()).setAuthentication(any());
     }
 
@@ -79,78 +83,90 @@ class JwtAuthenticationFilterTest {
 
         // Then
         verify(filterChain).doFilter(request, response);
-        verify(jwtService, never()).extractEmail(anyString());
+        verify(jwtService, never()).parseToken(anyString());
         verify(securityContext, never()).setAuthentication(any());
     }
 
     @Test
-    void doFilterInternal_WithValidToken_ShouldSetAuthentication() throws Exception {
+    void doFilterInternal_WithValidToken_ShouldSetAuthenticationFromClaims() throws Exception {
         // Given
         String token = "valid.jwt.token";
-        String email = "test@example.com";
-        User user = new User();
-        user.setEmail(email);
-        
+        TokenClaims claims = accessClaims(List.of("ROLE_USER", "ROLE_ADMIN"));
+
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractEmail(token)).thenReturn(email);
         when(securityContext.getAuthentication()).thenReturn(null);
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
-        when(jwtService.isTokenValid(token, email)).thenReturn(true);
+        when(jwtService.parseToken(token)).thenReturn(claims);
+        when(jwtService.isTokenBlacklisted(claims)).thenReturn(false);
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractEmail(token);
-        verify(userRepository).findByEmail(email);
-        verify(jwtService).isTokenValid(token, email);
-        verify(securityContext).setAuthentication(any());
+        ArgumentCaptor<Authentication> authentication = ArgumentCaptor.forClass(Authentication.class);
+        verify(securityContext).setAuthentication(authentication.capture());
+        CustomUserDetails principal = (CustomUserDetails) authentication.getValue().getPrincipal();
+        assertEquals(7L, principal.getUserId());
+        assertEquals("test@example.com", principal.getEmail());
+        assertEquals(2, principal.getAuthorities().size());
+        verify(jwtService, times(1)).parseToken(token);
         verify(filterChain).doFilter(request, response);
     }
 
     @Test
-    void doFilterInternal_WithInvalidToken_ShouldNotSetAuthentication() throws Exception {
+    void doFilterInternal_WithTokenWithoutRoles_ShouldGrantDefaultRole() throws Exception {
+        // Given
+        String token = "valid.jwt.token";
+        TokenClaims claims = accessClaims(List.of());
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(securityContext.getAuthentication()).thenReturn(null);
+        when(jwtService.parseToken(token)).thenReturn(claims);
+        when(jwtService.isTokenBlacklisted(claims)).thenReturn(false);
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        ArgumentCaptor<Authentication> authentication = ArgumentCaptor.forClass(Authentication.class);
+        verify(securityContext).setAuthentication(authentication.capture());
+        assertEquals("ROLE_USER", authentication.getValue().getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void doFilterInternal_WithBlacklistedToken_ShouldNotSetAuthentication() throws Exception {
         // Given
         String token = "invalid.jwt.token";
-        String email = "test@example.com";
-        User user = new User();
-        user.setEmail(email);
-        
+        TokenClaims claims = accessClaims(List.of("ROLE_USER"));
+
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractEmail(token)).thenReturn(email);
         when(securityContext.getAuthentication()).thenReturn(null);
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
-        when(jwtService.isTokenValid(token, email)).thenReturn(false);
+        when(jwtService.parseToken(token)).thenReturn(claims);
+        when(jwtService.isTokenBlacklisted(claims)).thenReturn(true);
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractEmail(token);
-        verify(userRepository).findByEmail(email);
-        verify(jwtService).isTokenValid(token, email);
         verify(securityContext, never()).setAuthentication(any());
         verify(filterChain).doFilter(request, response);
     }
 
     @Test
-    void doFilterInternal_WithNonExistentUser_ShouldNotSetAuthentication() throws Exception {
+    void doFilterInternal_WithRefreshToken_ShouldNotSetAuthentication() throws Exception {
         // Given
-        String token = "valid.jwt.token";
-        String email = "nonexistent@example.com";
-        
+        String token = "refresh.jwt.token";
+        TokenClaims claims = new TokenClaims(null, "test@example.com", null, List.of(), "revocation-id",
+                new Date(System.currentTimeMillis() + 60_000));
+
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractEmail(token)).thenReturn(email);
         when(securityContext.getAuthentication()).thenReturn(null);
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(jwtService.parseToken(token)).thenReturn(claims);
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractEmail(token);
-        verify(userRepository).findByEmail(email);
-        verify(jwtService, never()).isTokenValid(anyString(), anyString());
+        verify(jwtService, never()).isTokenBlacklisted(any(TokenClaims.class));
         verify(securityContext, never()).setAuthentication(any());
         verify(filterChain).doFilter(request, response);
     }
@@ -159,20 +175,16 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_WithExistingAuthentication_ShouldNotOverrideAuthentication() throws Exception {
         // Given
         String token = "valid.jwt.token";
-        String email = "test@example.com";
         Authentication existingAuth = mock(Authentication.class);
-        
+
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractEmail(token)).thenReturn(email);
         when(securityContext.getAuthentication()).thenReturn(existingAuth);
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractEmail(token);
-        verify(userRepository, never()).findByEmail(anyString());
-        verify(jwtService, never()).isTokenValid(anyString(), anyString());
+        verify(jwtService, never()).parseToken(anyString());
         verify(securityContext, never()).setAuthentication(any());
         verify(filterChain).doFilter(request, response);
     }
@@ -181,16 +193,16 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_WithJwtServiceException_ShouldContinueFilterChain() throws Exception {
         // Given
         String token = "malformed.jwt.token";
-        
+
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractEmail(token)).thenThrow(new RuntimeException("Malformed JWT"));
+        when(securityContext.getAuthentication()).thenReturn(null);
+        when(jwtService.parseToken(token)).thenThrow(new RuntimeException("Malformed JWT"));
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractEmail(token);
-        verify(userRepository, never()).findByEmail(anyString());
+        verify(jwtService).parseToken(token);
         verify(securityContext, never()).setAuthentication(any());
         verify(filterChain).doFilter(request, response);
     }
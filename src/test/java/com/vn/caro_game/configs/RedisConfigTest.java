@@ -1,5 +1,6 @@
 package com.vn.caro_game.configs;
 
+import com.vn.caro_game.dtos.CachedUser;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -8,9 +9,12 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDateTime;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 
@@ -130,6 +134,25 @@ class RedisConfigTest {
         assertTrue(redisTemplate.getHashValueSerializer() instanceof GenericJackson2JsonRedisSerializer);
     }
 
+    @Test
+    void redisTemplate_ShouldRoundTripValuesWithDateTimes() {
+        // Given
+        RedisTemplate<String, Object> redisTemplate = redisConfig.redisTemplate(mock(RedisConnectionFactory.class));
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> serializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        CachedUser user = CachedUser.builder()
+                .id(1L)
+                .username("player")
+                .createdAt(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .build();
+
+        // When
+        Object copy = serializer.deserialize(serializer.serialize(user));
+
+        // Then
+        assertEquals(user, copy);
+    }
+
     @Test
     void redisTemplate_ShouldBeProperlyInitialized() {
         // Given
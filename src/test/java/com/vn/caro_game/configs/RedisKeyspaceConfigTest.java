@@ -1,5 +1,7 @@
 package com.vn.caro_game.configs;
 
+import com.vn.caro_game.integrations.redis.TokenRevocationRedisSubscriber;
+import com.vn.caro_game.integrations.redis.UserCacheRedisSubscriber;
 import com.vn.caro_game.integrations.redis.UserStatusRedisSubscriber;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,6 +29,12 @@ class RedisKeyspaceConfigTest {
     @Mock
     private UserStatusRedisSubscriber userStatusRedisSubscriber;
 
+    @Mock
+    private TokenRevocationRedisSubscriber tokenRevocationRedisSubscriber;
+
+    @Mock
+    private UserCacheRedisSubscriber userCacheRedisSubscriber;
+
     @InjectMocks
     private RedisKeyspaceConfig redisKeyspaceConfig;
 
@@ -34,7 +42,8 @@ class RedisKeyspaceConfigTest {
     void redisMessageListenerContainer_ShouldReturnValidContainer() {
         // When
         RedisMessageListenerContainer container = redisKeyspaceConfig
-                .redisMessageListenerContainer(redisConnectionFactory, userStatusRedisSubscriber);
+                .redisMessageListenerContainer(redisConnectionFactory, userStatusRedisSubscriber,
+                        tokenRevocationRedisSubscriber, userCacheRedisSubscriber);
 
         // Then
         assertNotNull(container);
@@ -45,7 +54,8 @@ class RedisKeyspaceConfigTest {
     void redisMessageListenerContainer_ShouldConfigureConnectionFactory() {
         // When
         RedisMessageListenerContainer container = redisKeyspaceConfig
-                .redisMessageListenerContainer(redisConnectionFactory, userStatusRedisSubscriber);
+                .redisMessageListenerContainer(redisConnectionFactory, userStatusRedisSubscriber,
+                        tokenRevocationRedisSubscriber, userCacheRedisSubscriber);
 
         // Then
         assertNotNull(container);
@@ -56,7 +66,8 @@ class RedisKeyspaceConfigTest {
     void redisMessageListenerContainer_ShouldHaveMessageListeners() {
         // When
         RedisMessageListenerContainer container = redisKeyspaceConfig
-                .redisMessageListenerContainer(redisConnectionFactory, userStatusRedisSubscriber);
+                .redisMessageListenerContainer(redisConnectionFactory, userStatusRedisSubscriber,
+                        tokenRevocationRedisSubscriber, userCacheRedisSubscriber);
 
         // Then
         assertNotNull(container);
@@ -70,7 +81,8 @@ class RedisKeyspaceConfigTest {
     void redisMessageListenerContainer_ShouldBeProperlyConfigured() {
         // When
         RedisMessageListenerContainer container = redisKeyspaceConfig
-                .redisMessageListenerContainer(redisConnectionFactory, userStatusRedisSubscriber);
+                .redisMessageListenerContainer(redisConnectionFactory, userStatusRedisSubscriber,
+                        tokenRevocationRedisSubscriber, userCacheRedisSubscriber);
 
         // Then
         assertNotNull(container);
@@ -84,7 +96,8 @@ class RedisKeyspaceConfigTest {
 
         // When
         RedisMessageListenerContainer container = redisKeyspaceConfig
-                .redisMessageListenerContainer(redisConnectionFactory, userStatusRedisSubscriber);
+                .redisMessageListenerContainer(redisConnectionFactory, userStatusRedisSubscriber,
+                        tokenRevocationRedisSubscriber, userCacheRedisSubscriber);
 
         // Then
         assertNotNull(container);
@@ -94,9 +107,11 @@ class RedisKeyspaceConfigTest {
     void redisMessageListenerContainer_ShouldCreateNewInstanceEachTime() {
         // When
         RedisMessageListenerContainer container1 = redisKeyspaceConfig
-                .redisMessageListenerContainer(redisConnectionFactory, userStatusRedisSubscriber);
+                .redisMessageListenerContainer(redisConnectionFactory, userStatusRedisSubscriber,
+                        tokenRevocationRedisSubscriber, userCacheRedisSubscriber);
         RedisMessageListenerContainer container2 = redisKeyspaceConfig
-                .redisMessageListenerContainer(redisConnectionFactory, userStatusRedisSubscriber);
+                .redisMessageListenerContainer(redisConnectionFactory, userStatusRedisSubscriber,
+                        tokenRevocationRedisSubscriber, userCacheRedisSubscriber);
 
         // Then
         assertNotNull(container1);
@@ -0,0 +1,194 @@
+package com.vn.caro_game.configs;
+
+import com.vn.caro_game.integrations.jwt.JwtService;
+import com.vn.caro_game.integrations.jwt.TokenClaims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WebSocketSessionAuthenticator
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WebSocket Session Authenticator Tests")
+class WebSocketSessionAuthenticatorTest {
+
+    private static final String TOKEN = "token";
+    private static final String REVOCATION_ID = "revocation-id";
+
+    @Mock
+    private JwtService jwtService;
+
+    @InjectMocks
+    private WebSocketSessionAuthenticator sessionAuthenticator;
+
+    private Map<String, Object> sessionAttributes;
+
+    @BeforeEach
+    void setUp() {
+        sessionAttributes = new HashMap<>();
+        sessionAttributes.put("jwt", TOKEN);
+    }
+
+    private TokenClaims givenAccessToken(long expiresAt) {
+        TokenClaims claims = new TokenClaims(1L, "player@example.com", "player", List.of("ROLE_USER"),
+                REVOCATION_ID, new Date(expiresAt));
+        when(jwtService.parseToken(TOKEN)).thenReturn(claims);
+        return claims;
+    }
+
+    private void givenValidToken(long expiresAt) {
+        when(jwtService.isTokenBlacklisted(givenAccessToken(expiresAt))).thenReturn(false);
+    }
+
+    @Test
+    @DisplayName("Should parse the token once and reuse the user for later frames")
+    void shouldAuthenticateOnceAtConnect() {
+        // Given
+        givenValidToken(System.currentTimeMillis() + 60_000);
+
+        // When
+        Authentication connected = sessionAuthenticator.connect(sessionAttributes);
+        Authentication first = sessionAuthenticator.authenticate(sessionAttributes);
+        Authentication second = sessionAuthenticator.authenticate(sessionAttributes);
+
+        // Then
+        assertNotNull(connected);
+        assertSame(connected, first);
+        assertSame(connected, second);
+        assertEquals(1L, ((CustomUserDetails) connected.getPrincipal()).getUserId());
+        verify(jwtService, times(1)).parseToken(TOKEN);
+    }
+
+    @Test
+    @DisplayName("Should not bind a user for an invalid token")
+    void shouldRejectInvalidToken() {
+        // Given
+        when(jwtService.parseToken(TOKEN)).thenThrow(new JwtException("Invalid signature"));
+
+        // When
+        Authentication connected = sessionAuthenticator.connect(sessionAttributes);
+
+        // Then
+        assertNull(connected);
+        assertNull(sessionAuthenticator.authenticate(sessionAttributes));
+        verify(jwtService, never()).isTokenBlacklisted(any(TokenClaims.class));
+    }
+
+    @Test
+    @DisplayName("Should not bind a user for a refresh token")
+    void shouldRejectRefreshToken() {
+        // Given
+        when(jwtService.parseToken(TOKEN)).thenReturn(new TokenClaims(null, "player@example.com", null, List.of(),
+                REVOCATION_ID, new Date(System.currentTimeMillis() + 60_000)));
+
+        // When
+        Authentication connected = sessionAuthenticator.connect(sessionAttributes);
+
+        // Then
+        assertNull(connected);
+        assertEquals(0, sessionAuthenticator.getSessionCount());
+    }
+
+    @Test
+    @DisplayName("Should not bind a user for a blacklisted token")
+    void shouldRejectBlacklistedToken() {
+        // Given
+        when(jwtService.isTokenBlacklisted(givenAccessToken(System.currentTimeMillis() + 60_000))).thenReturn(true);
+
+        // When
+        Authentication connected = sessionAuthenticator.connect(sessionAttributes);
+
+        // Then
+        assertNull(connected);
+        assertNull(sessionAuthenticator.authenticate(sessionAttributes));
+        assertEquals(0, sessionAuthenticator.getSessionCount());
+    }
+
+    @Test
+    @DisplayName("Should not bind a user whose token is revoked while it connects")
+    void shouldRejectTokenRevokedDuringConnect() {
+        // Given: the revocation is published while the blacklist is being checked
+        TokenClaims claims = givenAccessToken(System.currentTimeMillis() + 60_000);
+        when(jwtService.isTokenBlacklisted(claims)).thenAnswer(invocation -> {
+            sessionAuthenticator.revoke(REVOCATION_ID);
+            return false;
+        });
+
+        // When
+        Authentication connected = sessionAuthenticator.connect(sessionAttributes);
+
+        // Then
+        assertNull(connected);
+        assertNull(sessionAuthenticator.authenticate(sessionAttributes));
+        assertEquals(0, sessionAuthenticator.getSessionCount());
+    }
+
+    @Test
+    @DisplayName("Should refuse frames once the token has expired")
+    void shouldRefuseExpiredSession() {
+        // Given
+        givenValidToken(System.currentTimeMillis() - 1);
+        sessionAuthenticator.connect(sessionAttributes);
+
+        // When & Then
+        assertThrows(AccessDeniedException.class, () -> sessionAuthenticator.authenticate(sessionAttributes));
+    }
+
+    @Test
+    @DisplayName("Should refuse frames of sessions whose token was revoked")
+    void shouldRefuseRevokedSession() {
+        // Given
+        givenValidToken(System.currentTimeMillis() + 60_000);
+        sessionAuthenticator.connect(sessionAttributes);
+
+        // When
+        sessionAuthenticator.revoke(REVOCATION_ID);
+
+        // Then
+        assertThrows(AccessDeniedException.class, () -> sessionAuthenticator.authenticate(sessionAttributes));
+        assertEquals(0, sessionAuthenticator.getSessionCount());
+    }
+
+    @Test
+    @DisplayName("Should forget a session when it disconnects")
+    void shouldForgetDisconnectedSession() {
+        // Given
+        givenValidToken(System.currentTimeMillis() + 60_000);
+        sessionAuthenticator.connect(sessionAttributes);
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        accessor.setSessionAttributes(sessionAttributes);
+        SessionDisconnectEvent event = new SessionDisconnectEvent(this,
+                MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), "session-1", CloseStatus.NORMAL);
+
+        // When
+        sessionAuthenticator.onDisconnect(event);
+
+        // Then
+        assertEquals(0, sessionAuthenticator.getSessionCount());
+    }
+}
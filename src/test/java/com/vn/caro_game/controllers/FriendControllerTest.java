@@ -103,6 +103,36 @@ class FriendControllerTest {
     @MockBean
     private com.vn.caro_game.services.interfaces.CaroGameService caroGameService;
 
+    @MockBean
+    private com.vn.caro_game.repositories.PlayerStatsRepository playerStatsRepository;
+
+    @MockBean
+    private com.vn.caro_game.repositories.HeadToHeadRepository headToHeadRepository;
+
+    @MockBean
+    private com.vn.caro_game.repositories.RatingHistoryRepository ratingHistoryRepository;
+
+    @MockBean
+    private com.vn.caro_game.repositories.PlayerHeatmapRepository playerHeatmapRepository;
+
+    @MockBean
+    private com.vn.caro_game.repositories.PlayerThinkTimeRepository playerThinkTimeRepository;
+
+    @MockBean
+    private com.vn.caro_game.repositories.AchievementProgressRepository achievementProgressRepository;
+
+    @MockBean
+    private com.vn.caro_game.repositories.PlayerAchievementRepository playerAchievementRepository;
+
+    @MockBean
+    private com.vn.caro_game.repositories.HourlyActivityRollupRepository hourlyActivityRollupRepository;
+
+    @MockBean
+    private com.vn.caro_game.repositories.DailyActivityRollupRepository dailyActivityRollupRepository;
+
+    @MockBean
+    private com.vn.caro_game.services.interfaces.PartitionMaintenanceService partitionMaintenanceService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
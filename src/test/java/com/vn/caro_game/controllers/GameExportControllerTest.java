@@ -0,0 +1,76 @@
+package com.vn.caro_game.controllers;
+
+import com.vn.caro_game.configs.CustomUserDetails;
+import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.services.interfaces.GameExportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for GameExportController.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class GameExportControllerTest {
+
+    @Mock
+    private GameExportService gameExportService;
+
+    @Mock
+    private CustomUserDetails customUserDetails;
+
+    @InjectMocks
+    private GameExportController gameExportController;
+
+    @Test
+    void exportMyGames_ShouldStreamWithItsOwnTimeout() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(gameExportController, "exportTimeoutMs", 1234L);
+        when(customUserDetails.getUserId()).thenReturn(5L);
+        when(gameExportService.exportGames(eq(5L), isNull(), isNull(), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(3).write("games".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        WebAsyncTask<Void> task = gameExportController.exportMyGames(null, null, customUserDetails, response);
+        task.getCallable().call();
+
+        // Then
+        assertEquals(1234L, task.getTimeout());
+        assertEquals("application/gzip", response.getContentType());
+        assertEquals("attachment; filename=\"caro-games-user-5.txt.gz\"", response.getHeader("Content-Disposition"));
+        assertEquals("games", response.getContentAsString());
+    }
+
+    @Test
+    void exportAllGames_WithoutAnalystAccess_ShouldThrowBeforeStreaming() {
+        // Given
+        when(customUserDetails.getUserId()).thenReturn(5L);
+        when(gameExportService.canExportAllGames(5L)).thenReturn(false);
+        LocalDateTime from = LocalDateTime.of(2025, 8, 1, 0, 0);
+
+        // When & Then
+        assertThrows(CustomException.class, () -> gameExportController.exportAllGames(from, from.plusMonths(1),
+                customUserDetails, new MockHttpServletResponse()));
+        verifyNoMoreInteractions(gameExportService);
+    }
+}
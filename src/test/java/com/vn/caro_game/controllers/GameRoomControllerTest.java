@@ -5,12 +5,14 @@ import com.vn.caro_game.configs.CustomUserDetails;
 import com.vn.caro_game.dtos.request.CreateRoomRequest;
 import com.vn.caro_game.dtos.request.InviteFriendRequest;
 import com.vn.caro_game.dtos.response.GameRoomResponse;
+import com.vn.caro_game.dtos.response.MatchmakingStatusResponse;
 import com.vn.caro_game.dtos.response.PublicRoomResponse;
 import com.vn.caro_game.dtos.response.UserSummaryResponse;
 import com.vn.caro_game.entities.User;
 import com.vn.caro_game.enums.RoomStatus;
 import com.vn.caro_game.repositories.UserRepository;
 import com.vn.caro_game.services.interfaces.GameRoomService;
+import com.vn.caro_game.services.interfaces.MatchmakingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -47,6 +49,9 @@ class GameRoomControllerTest {
     @MockBean
     private GameRoomService gameRoomService;
 
+    @MockBean
+    private MatchmakingService matchmakingService;
+
     @MockBean
     private UserRepository userRepository;
 
@@ -84,6 +89,37 @@ class GameRoomControllerTest {
     @MockBean
     private com.vn.caro_game.services.interfaces.CaroGameService caroGameService;
 
+    @MockBean
+    private com.vn.caro_game.repositories.PlayerStatsRepository playerStatsRepository;
+
+    @MockBean
+    private com.vn.caro_game.repositories.HeadToHeadRepository headToHeadRepository;
+
+    @MockBean
+    private com.vn.caro_game.repositories.RatingHistoryRepository ratingHistoryRepository;
+
+    @MockBean
+    private com.vn.caro_game.repositories.PlayerHeatmapRepository playerHeatmapRepository;
+
+    @MockBean
+    private com.vn.caro_game.repositories.PlayerThinkTimeRepository playerThinkTimeRepository;
+
+    @MockBean
+    private com.vn.caro_game.repositories.AchievementProgressRepository achievementProgressRepository;
+
+    @MockBean
+    private com.vn.caro_game.repositories.PlayerAchievementRepository playerAchievementRepository;
+
+    @MockBean
+    private com.vn.caro_game.repositories.HourlyActivityRollupRepository hourlyActivityRollupRepository;
+
+    @MockBean
+    private com.vn.caro_game.repositories.DailyActivityRollupRepository dailyActivityRollupRepository;
+
+    @MockBean
+    private com.vn.caro_game.services.interfaces.PartitionMaintenanceService partitionMaintenanceService;
+
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -154,10 +190,10 @@ class GameRoomControllerTest {
 
     @Test
     @WithMockUser
-    void quickPlay_ShouldReturnRoomForQuickPlay() throws Exception {
+    void quickPlay_ShouldJoinMatchmakingQueue() throws Exception {
         // Given
-        when(gameRoomService.findOrCreatePublicRoom(anyLong()))
-                .thenReturn(gameRoomResponse);
+        when(matchmakingService.joinQueue(anyLong()))
+                .thenReturn(MatchmakingStatusResponse.builder().queued(true).rating(1200).queueSize(1).build());
 
         // When & Then
         mockMvc.perform(post("/api/rooms/quick-play")
@@ -165,7 +201,8 @@ class GameRoomControllerTest {
                 .with(user(mockUserDetails)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.message").value("Room ready for quick play"));
+                .andExpect(jsonPath("$.message").value("Waiting for an opponent"))
+                .andExpect(jsonPath("$.data.queued").value(true));
     }
 
     @Test
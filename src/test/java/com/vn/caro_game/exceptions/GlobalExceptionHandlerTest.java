@@ -7,6 +7,7 @@ import com.vn.caro_game.enums.StatusCode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -65,6 +66,39 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getMessage()).isEqualTo(StatusCode.UNAUTHORIZED.getMessage());
     }
 
+    @Test
+    @DisplayName("Should handle CustomException with MOVE_CONFLICT as 409")
+    void shouldHandleCustomExceptionWithMoveConflict() {
+        // Given
+        CustomException exception = new CustomException(StatusCode.MOVE_CONFLICT);
+
+        // When
+        ResponseEntity<ApiResponse<Object>> response = globalExceptionHandler.handleCustomException(exception);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getStatusCode()).isEqualTo(HttpStatusConstants.CONFLICT);
+        assertThat(response.getBody().getErrorCode()).isEqualTo("MOVE_CONFLICT");
+    }
+
+    @Test
+    @DisplayName("Should handle OptimisticLockingFailureException as 409")
+    void shouldHandleOptimisticLockingFailure() {
+        // Given
+        OptimisticLockingFailureException exception = new OptimisticLockingFailureException("Row was updated");
+
+        // When
+        ResponseEntity<ApiResponse<Object>> response = globalExceptionHandler.handleOptimisticLockingFailure(exception);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().isSuccess()).isFalse();
+        assertThat(response.getBody().getMessage()).isEqualTo(StatusCode.CONCURRENT_UPDATE.getMessage());
+        assertThat(response.getBody().getErrorCode()).isEqualTo("CONCURRENT_UPDATE");
+    }
+
     @Test
     @DisplayName("Should handle CustomException with NOT_FOUND")
     void shouldHandleCustomExceptionWithNotFound() {
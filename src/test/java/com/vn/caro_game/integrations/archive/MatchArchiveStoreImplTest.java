@@ -0,0 +1,165 @@
+package com.vn.caro_game.integrations.archive;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for the segment-file match archive.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@DisplayName("MatchArchiveStoreImpl Tests")
+class MatchArchiveStoreImplTest {
+
+    @TempDir
+    Path archiveDir;
+
+    private MatchArchiveStoreImpl store;
+
+    private MatchArchiveStoreImpl openStore(long maxSegmentBytes) {
+        MatchArchiveStoreImpl opened = new MatchArchiveStoreImpl(archiveDir.toString(), maxSegmentBytes);
+        opened.open();
+        return opened;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private ArchivedMatch match(long matchId, int moveCount) {
+        List<ArchivedMove> moves = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 10, 0);
+        for (int i = 1; i <= moveCount; i++) {
+            moves.add(new ArchivedMove(matchId * 1000 + i, i, i % 15, (i * 7) % 15,
+                    i % 2 == 1 ? 1L : 2L, start.plusSeconds(i * 10L)));
+        }
+        return ArchivedMatch.builder()
+                .matchId(matchId)
+                .roomId(10L)
+                .playerXId(1L)
+                .playerOId(2L)
+                .startTime(start)
+                .endTime(null)
+                .result("X_WIN")
+                .moves(moves)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should read back appended match")
+    void shouldReadBackAppendedMatch() {
+        store = openStore(1 << 20);
+
+        store.appendMatch(match(5L, 30));
+        ArchivedMatch read = store.findMatch(5L).orElseThrow();
+
+        assertThat(store.containsMatch(5L)).isTrue();
+        assertThat(read.getRoomId()).isEqualTo(10L);
+        assertThat(read.getEndTime()).isNull();
+        assertThat(read.getResult()).isEqualTo("X_WIN");
+        assertThat(read.getMoves()).hasSize(30);
+        assertThat(read.getMoves().get(29).getMoveNumber()).isEqualTo(30);
+        assertThat(read.getMoves().get(0).getCreatedAt()).isEqualTo(LocalDateTime.of(2025, 1, 1, 10, 0, 10));
+        assertThat(store.findMatch(6L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep records across restarts and segment rollover")
+    void shouldKeepRecordsAcrossRestartsAndRollover() throws IOException {
+        store = openStore(300);
+        for (long id = 1; id <= 10; id++) {
+            store.appendMatch(match(id, 20));
+        }
+        store.close();
+
+        try (var files = Files.list(archiveDir)) {
+            assertThat(files.filter(f -> f.toString().endsWith(".seg")).count()).isGreaterThan(1);
+        }
+
+        store = openStore(300);
+        for (long id = 1; id <= 10; id++) {
+            assertThat(store.findMatch(id)).get().extracting(m -> m.getMoves().size()).isEqualTo(20);
+        }
+    }
+
+    @Test
+    @DisplayName("Should recover records missing from the index")
+    void shouldRecoverUnindexedRecords() throws IOException {
+        store = openStore(1 << 20);
+        store.appendMatch(match(1L, 5));
+        store.appendMatch(match(2L, 5));
+        store.close();
+
+        // Simulate a crash between the segment write and the index write
+        Path index = archiveDir.resolve("segment-000001.idx");
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.WRITE)) {
+            channel.truncate(MatchArchiveStoreImpl.INDEX_ENTRY_BYTES);
+        }
+
+        store = openStore(1 << 20);
+        assertThat(store.containsMatch(2L)).isTrue();
+        assertThat(Files.size(index)).isEqualTo(2L * MatchArchiveStoreImpl.INDEX_ENTRY_BYTES);
+    }
+
+    @Test
+    @DisplayName("Should merge and dedupe chat batches of a room")
+    void shouldMergeAndDedupeChat() {
+        store = openStore(1 << 20);
+        LocalDateTime t = LocalDateTime.of(2025, 1, 1, 10, 0);
+        ArchivedChatMessage first = new ArchivedChatMessage(1L, 7L, 1L, "hello", t);
+        ArchivedChatMessage second = new ArchivedChatMessage(2L, 7L, 2L, "xin chào", t.plusMinutes(1));
+
+        store.appendChatMessages(7L, List.of(second));
+        store.appendChatMessages(7L, List.of(first, second));
+
+        List<ArchivedChatMessage> messages = store.findChatMessages(7L);
+        assertThat(messages).extracting(ArchivedChatMessage::getId).containsExactly(1L, 2L);
+        assertThat(messages.get(1).getContent()).isEqualTo("xin chào");
+        assertThat(store.countChatMessages(7L)).isEqualTo(2);
+        assertThat(store.findChatMessages(8L)).isEmpty();
+        assertThat(store.countChatMessages(8L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should page archived chat newest first with counts kept across restarts")
+    void shouldPageChatNewestFirst() {
+        store = openStore(1 << 20);
+        LocalDateTime t = LocalDateTime.of(2025, 1, 1, 10, 0);
+        for (long batch = 0; batch < 3; batch++) {
+            List<ArchivedChatMessage> messages = new ArrayList<>();
+            for (long i = 1; i <= 4; i++) {
+                long id = batch * 4 + i;
+                messages.add(new ArchivedChatMessage(id, 7L, 1L, "message " + id, t.plusMinutes(id)));
+            }
+            store.appendChatMessages(7L, messages);
+        }
+        store.close();
+
+        store = openStore(1 << 20);
+        assertThat(store.countChatMessages(7L)).isEqualTo(12);
+        assertThat(store.findLatestChatMessages(7L, 0, 3))
+                .extracting(ArchivedChatMessage::getId).containsExactly(12L, 11L, 10L);
+        assertThat(store.findLatestChatMessages(7L, 3, 3))
+                .extracting(ArchivedChatMessage::getId).containsExactly(9L, 8L, 7L);
+        assertThat(store.findLatestChatMessages(7L, 10, 5))
+                .extracting(ArchivedChatMessage::getId).containsExactly(2L, 1L);
+        assertThat(store.findLatestChatMessages(7L, 12, 5)).isEmpty();
+    }
+}
@@ -0,0 +1,282 @@
+package com.vn.caro_game.integrations.journal;
+
+import com.vn.caro_game.constants.CaroGameConstants;
+import com.vn.caro_game.enums.GameState;
+import com.vn.caro_game.enums.PlayerReadyState;
+import com.vn.caro_game.enums.RoomEventType;
+import com.vn.caro_game.enums.RoomStatus;
+import com.vn.caro_game.events.RoomEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for the memory-mapped room event journal.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@DisplayName("RoomJournalImpl Tests")
+class RoomJournalImplTest {
+
+    private static final long ROOM_ID = 1L;
+    private static final long MATCH_ID = 100L;
+    private static final long HOST_ID = 10L;
+    private static final long GUEST_ID = 20L;
+
+    @TempDir
+    Path journalDir;
+
+    private RoomJournalImpl journal;
+
+    private RoomJournalImpl openJournal(int segmentBytes, int snapshotEvery) {
+        RoomJournalImpl opened = new RoomJournalImpl(true, journalDir.toString(), segmentBytes, snapshotEvery);
+        opened.open();
+        return opened;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private void startGame(RoomJournalImpl target) {
+        target.append(RoomEvent.of(RoomEventType.ROOM_CREATED, ROOM_ID, HOST_ID, RoomStatus.WAITING, GameState.WAITING_FOR_PLAYERS));
+        target.append(RoomEvent.of(RoomEventType.PLAYER_JOINED, ROOM_ID, HOST_ID));
+        target.append(RoomEvent.of(RoomEventType.PLAYER_JOINED, ROOM_ID, GUEST_ID, RoomStatus.WAITING, GameState.WAITING_FOR_READY));
+        target.append(RoomEvent.of(RoomEventType.GAME_STARTED, ROOM_ID, null, RoomStatus.PLAYING, GameState.IN_PROGRESS));
+        target.append(RoomEvent.matchStarted(ROOM_ID, MATCH_ID, HOST_ID, GUEST_ID));
+    }
+
+    private void playMoves(RoomJournalImpl target, int from, int to) {
+        for (int moveNumber = from; moveNumber <= to; moveNumber++) {
+            long playerId = moveNumber % 2 == 1 ? HOST_ID : GUEST_ID;
+            target.append(RoomEvent.moveMade(ROOM_ID, MATCH_ID, playerId, moveNumber % 15, moveNumber / 15, moveNumber));
+        }
+    }
+
+    private long countFiles(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+
+    @Test
+    @DisplayName("Should rebuild live room and board after a crash")
+    void shouldRebuildLiveRoomAfterCrash() {
+        RoomJournalImpl crashed = openJournal(1 << 16, 1000);
+        startGame(crashed);
+        playMoves(crashed, 1, 3);
+
+        // No close(): the process dies without a snapshot
+        journal = openJournal(1 << 16, 1000);
+        LiveRoom room = journal.findRoom(ROOM_ID).orElseThrow();
+
+        assertThat(journal.getLastSequence()).isEqualTo(8);
+        assertThat(room.getStatus()).isEqualTo(RoomStatus.PLAYING);
+        assertThat(room.getGameState()).isEqualTo(GameState.IN_PROGRESS);
+        assertThat(room.getHostId()).isEqualTo(HOST_ID);
+        assertThat(room.getPlayers()).containsOnlyKeys(HOST_ID, GUEST_ID)
+                .containsValue(PlayerReadyState.IN_GAME);
+        assertThat(room.getMatchId()).isEqualTo(MATCH_ID);
+        assertThat(room.getMoveCount()).isEqualTo(3);
+        int[][] board = room.toBoard();
+        assertThat(board[1][0]).isEqualTo(CaroGameConstants.PLAYER_X_VALUE);
+        assertThat(board[2][0]).isEqualTo(CaroGameConstants.PLAYER_O_VALUE);
+        assertThat(board[3][0]).isEqualTo(CaroGameConstants.PLAYER_X_VALUE);
+    }
+
+    @Test
+    @DisplayName("Should keep every room consistent when rooms append concurrently")
+    void shouldAppendConcurrentlyAcrossRooms() throws Exception {
+        journal = openJournal(1 << 16, 50);
+        int roomCount = 8;
+        int movesPerRoom = 40;
+        ExecutorService executor = Executors.newFixedThreadPool(roomCount);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long roomId = 1; roomId <= roomCount; roomId++) {
+                long id = roomId;
+                futures.add(executor.submit(() -> {
+                    journal.append(RoomEvent.of(RoomEventType.ROOM_CREATED, id, HOST_ID, RoomStatus.WAITING, GameState.WAITING_FOR_PLAYERS));
+                    journal.append(RoomEvent.matchStarted(id, id * 100, HOST_ID, GUEST_ID));
+                    for (int moveNumber = 1; moveNumber <= movesPerRoom; moveNumber++) {
+                        journal.append(RoomEvent.moveMade(id, id * 100, moveNumber % 2 == 1 ? HOST_ID : GUEST_ID,
+                                moveNumber % 15, moveNumber / 15, moveNumber));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(journal.getLastSequence()).isEqualTo(roomCount * (movesPerRoom + 2L));
+        journal.close();
+        journal = openJournal(1 << 16, 50);
+        for (long roomId = 1; roomId <= roomCount; roomId++) {
+            assertThat(journal.findRoom(roomId).orElseThrow().getMoveCount()).isEqualTo(movesPerRoom);
+        }
+    }
+
+    @Test
+    @DisplayName("Should recover from snapshot plus journal tail and drop covered files")
+    void shouldRecoverFromSnapshotPlusTail() throws IOException {
+        RoomJournalImpl crashed = openJournal(1 << 16, 5);
+        startGame(crashed);
+        playMoves(crashed, 1, 7);
+
+        assertThat(countFiles("snapshot-")).isEqualTo(1);
+        assertThat(countFiles("journal-")).isEqualTo(1);
+
+        journal = openJournal(1 << 16, 5);
+        LiveRoom room = journal.findRoom(ROOM_ID).orElseThrow();
+
+        assertThat(journal.getLastSequence()).isEqualTo(12);
+        assertThat(room.getMoveCount()).isEqualTo(7);
+        assertThat(room.toBoard()[7][0]).isEqualTo(CaroGameConstants.PLAYER_X_VALUE);
+    }
+
+    @Test
+    @DisplayName("Should ignore a torn record at the journal tail")
+    void shouldIgnoreTornTail() throws IOException {
+        RoomJournalImpl crashed = openJournal(1 << 16, 1000);
+        startGame(crashed);
+        playMoves(crashed, 1, 2);
+
+        // Corrupt the payload of the last record so its checksum no longer matches
+        Path segment;
+        try (Stream<Path> files = Files.list(journalDir)) {
+            segment = files.filter(file -> file.getFileName().toString().startsWith("journal-")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            long offset = 0;
+            long lastOffset = 0;
+            while (true) {
+                header.clear();
+                channel.read(header, offset);
+                int length = header.flip().getInt();
+                if (length == 0) {
+                    break;
+                }
+                lastOffset = offset;
+                offset += length;
+            }
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF, (byte) 0xFF}), lastOffset + RoomJournalImpl.RECORD_HEADER_BYTES);
+        }
+
+        journal = openJournal(1 << 16, 1000);
+        assertThat(journal.getLastSequence()).isEqualTo(6);
+        assertThat(journal.findRoom(ROOM_ID).orElseThrow().getMoveCount()).isEqualTo(1);
+
+        // New appends continue cleanly from the last good record
+        playMoves(journal, 2, 3);
+        journal.close();
+        journal = openJournal(1 << 16, 1000);
+        assertThat(journal.getLastSequence()).isEqualTo(8);
+        assertThat(journal.findRoom(ROOM_ID).orElseThrow().getMoveCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should roll over to new segments and replay all of them")
+    void shouldRollOverSegments() throws IOException {
+        RoomJournalImpl crashed = openJournal(512, 1000);
+        startGame(crashed);
+        playMoves(crashed, 1, 40);
+
+        assertThat(countFiles("journal-")).isGreaterThan(1);
+
+        journal = openJournal(512, 1000);
+        assertThat(journal.getLastSequence()).isEqualTo(45);
+        assertThat(journal.findRoom(ROOM_ID).orElseThrow().getMoveCount()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Should snapshot on close and forget closed rooms")
+    void shouldSnapshotOnCloseAndForgetClosedRooms() throws IOException {
+        journal = openJournal(1 << 16, 1000);
+        startGame(journal);
+        journal.append(RoomEvent.of(RoomEventType.ROOM_CREATED, 2L, 30L, RoomStatus.WAITING, GameState.WAITING_FOR_PLAYERS));
+        journal.append(RoomEvent.of(RoomEventType.ROOM_CLOSED, 2L, null));
+        journal.close();
+
+        assertThat(countFiles("snapshot-")).isEqualTo(1);
+
+        journal = openJournal(1 << 16, 1000);
+        assertThat(journal.getLiveRoomCount()).isEqualTo(1);
+        assertThat(journal.findRoom(2L)).isEmpty();
+        assertThat(journal.findRoom(ROOM_ID)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should drop finished rooms once the last player leaves")
+    void shouldDropFinishedRoomWhenEmpty() {
+        journal = openJournal(1 << 16, 1000);
+        startGame(journal);
+        journal.append(RoomEvent.of(RoomEventType.GAME_ENDED, ROOM_ID, HOST_ID, RoomStatus.FINISHED, GameState.FINISHED));
+        journal.append(RoomEvent.of(RoomEventType.PLAYER_LEFT, ROOM_ID, HOST_ID));
+
+        assertThat(journal.findRoom(ROOM_ID).orElseThrow().getHostId()).isNull();
+
+        journal.append(RoomEvent.of(RoomEventType.PLAYER_LEFT, ROOM_ID, GUEST_ID));
+        assertThat(journal.findRoom(ROOM_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore events for rooms it has not seen created")
+    void shouldIgnoreEventsForUnknownRooms() {
+        journal = openJournal(1 << 16, 1000);
+
+        long sequence = journal.append(RoomEvent.of(RoomEventType.PLAYER_JOINED, 9L, HOST_ID));
+
+        assertThat(sequence).isEqualTo(1);
+        assertThat(journal.findRoom(9L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled")
+    void shouldDoNothingWhenDisabled() throws IOException {
+        journal = new RoomJournalImpl(false, journalDir.resolve("off").toString(), 1 << 16, 1000);
+        journal.open();
+
+        assertThat(journal.append(RoomEvent.of(RoomEventType.ROOM_CREATED, ROOM_ID, HOST_ID))).isZero();
+        assertThat(journal.findRoom(ROOM_ID)).isEmpty();
+        assertThat(Files.exists(journalDir.resolve("off"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should round-trip every event field through the codec")
+    void shouldRoundTripEventCodec() throws IOException {
+        RoomEvent event = RoomEvent.moveMade(ROOM_ID, MATCH_ID, HOST_ID, 7, 8, 3).toBuilder()
+                .roomStatus(RoomStatus.PLAYING)
+                .build();
+
+        RoomEvent decoded = RoomJournalImpl.decodeEvent(RoomJournalImpl.encodeEvent(event));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(event);
+        assertThat(decoded.getGameState()).isNull();
+        assertThat(decoded.getSecondUserId()).isNull();
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Date;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -35,7 +36,7 @@ class JwtServiceTest {
     void setUp() {
         lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 
-        jwtService = new JwtServiceImpl(redisTemplate);
+        jwtService = new JwtServiceImpl(redisTemplate, new TokenBlacklistCache(redisTemplate));
         
         // Set JWT configuration using reflection
         ReflectionTestUtils.setField(jwtService, "secretKey", "mySecretKeyForTestingPurposesOnly");
@@ -121,19 +122,45 @@ class JwtServiceTest {
 
         // Then
         verify(valueOperations).set(
-            eq("blacklist:" + token),
+            eq("blacklist:" + jwtService.getRevocationId(token)),
             eq("blacklisted"),
             anyLong(),
             eq(TimeUnit.MILLISECONDS)
         );
     }
 
+    @Test
+    @DisplayName("Should announce invalidated token to open WebSocket sessions")
+    void shouldPublishInvalidatedToken() {
+        // Given
+        String token = jwtService.generateAccessToken(testUser);
+
+        // When
+        jwtService.invalidateToken("Bearer " + token);
+
+        // Then
+        verify(redisTemplate).convertAndSend("token-revoked", jwtService.getRevocationId(token));
+    }
+
+    @Test
+    @DisplayName("Should extract token expiration")
+    void shouldExtractTokenExpiration() {
+        // Given
+        String token = jwtService.generateAccessToken(testUser);
+
+        // When
+        Date expiration = jwtService.getExpirationFromToken(token);
+
+        // Then
+        assertThat(expiration).isAfter(new Date());
+    }
+
     @Test
     @DisplayName("Should check if token is blacklisted")
     void shouldCheckIfTokenIsBlacklisted() {
         // Given
         String token = jwtService.generateAccessToken(testUser);
-        when(redisTemplate.hasKey("blacklist:" + token)).thenReturn(true);
+        when(redisTemplate.hasKey("blacklist:" + jwtService.getRevocationId(token))).thenReturn(true);
 
         // When
         boolean isBlacklisted = jwtService.isTokenBlacklisted(token);
@@ -147,7 +174,7 @@ class JwtServiceTest {
     void shouldReturnFalseForNonBlacklistedToken() {
         // Given
         String token = jwtService.generateAccessToken(testUser);
-        when(redisTemplate.hasKey("blacklist:" + token)).thenReturn(false);
+        when(redisTemplate.hasKey("blacklist:" + jwtService.getRevocationId(token))).thenReturn(false);
 
         // When
         boolean isBlacklisted = jwtService.isTokenBlacklisted(token);
@@ -155,4 +182,67 @@ class JwtServiceTest {
         // Then
         assertThat(isBlacklisted).isFalse();
     }
+
+    @Test
+    @DisplayName("Should key the blacklist by a short hash of the token ID")
+    void shouldUseShortRevocationId() {
+        // Given
+        String first = jwtService.generateAccessToken(testUser);
+        String second = jwtService.generateAccessToken(testUser);
+
+        // When
+        String firstId = jwtService.getRevocationId(first);
+        String secondId = jwtService.getRevocationId("Bearer " + second);
+
+        // Then
+        assertThat(firstId).hasSize(16).isNotEqualTo(secondId);
+        assertThat(jwtService.getRevocationId(first)).isEqualTo(firstId);
+    }
+
+    @Test
+    @DisplayName("Should read all claims of an access token in one parse")
+    void shouldParseAccessTokenClaims() {
+        // Given
+        String token = jwtService.generateAccessToken(testUser);
+
+        // When
+        TokenClaims claims = jwtService.parseToken("Bearer " + token);
+
+        // Then
+        assertThat(claims.userId()).isEqualTo(1L);
+        assertThat(claims.email()).isEqualTo("test@example.com");
+        assertThat(claims.username()).isEqualTo("testuser");
+        assertThat(claims.roles()).containsExactly("ROLE_USER");
+        assertThat(claims.revocationId()).isEqualTo(jwtService.getRevocationId(token));
+        assertThat(claims.expiresAt()).isAfter(new Date());
+    }
+
+    @Test
+    @DisplayName("Should parse a refresh token without a user ID or roles")
+    void shouldParseRefreshTokenClaims() {
+        // Given
+        String token = jwtService.generateRefreshToken(testUser);
+
+        // When
+        TokenClaims claims = jwtService.parseToken(token);
+
+        // Then
+        assertThat(claims.userId()).isNull();
+        assertThat(claims.email()).isEqualTo("test@example.com");
+        assertThat(claims.roles()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should check the blacklist with the parsed revocation ID")
+    void shouldCheckParsedTokenAgainstBlacklist() {
+        // Given
+        TokenClaims claims = jwtService.parseToken(jwtService.generateAccessToken(testUser));
+        when(redisTemplate.hasKey("blacklist:" + claims.revocationId())).thenReturn(true);
+
+        // When
+        boolean isBlacklisted = jwtService.isTokenBlacklisted(claims);
+
+        // Then
+        assertThat(isBlacklisted).isTrue();
+    }
 }
@@ -0,0 +1,132 @@
+package com.vn.caro_game.integrations.jwt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TokenBlacklistCache.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenBlacklistCache Tests")
+class TokenBlacklistCacheTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private Cursor<String> cursor;
+
+    private TokenBlacklistCache blacklistCache;
+
+    @BeforeEach
+    void setUp() {
+        blacklistCache = new TokenBlacklistCache(redisTemplate);
+        ReflectionTestUtils.setField(blacklistCache, "expectedEntries", 1000);
+        ReflectionTestUtils.setField(blacklistCache, "falsePositiveRate", 0.001);
+        ReflectionTestUtils.setField(blacklistCache, "negativeCacheSize", 100);
+    }
+
+    private void givenBlacklistedIds(String... revocationIds) {
+        // Each scan walks the keys from the start
+        AtomicReference<Iterator<String>> keys = new AtomicReference<>();
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> {
+            keys.set(Arrays.stream(revocationIds).map(id -> "blacklist:" + id).iterator());
+            return cursor;
+        });
+        when(cursor.hasNext()).thenAnswer(invocation -> keys.get().hasNext());
+        when(cursor.next()).thenAnswer(invocation -> keys.get().next());
+    }
+
+    @Test
+    @DisplayName("Should send every lookup to Redis until the filter is built")
+    void shouldAskRedisBeforeBuild() {
+        // When & Then
+        assertThat(blacklistCache.mightBeBlacklisted("unknown")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should rule out IDs the filter has never seen")
+    void shouldRuleOutUnknownIds() {
+        // Given
+        givenBlacklistedIds("revoked-1", "revoked-2");
+
+        // When
+        blacklistCache.rebuild();
+
+        // Then
+        assertThat(blacklistCache.mightBeBlacklisted("revoked-1")).isTrue();
+        assertThat(blacklistCache.mightBeBlacklisted("revoked-2")).isTrue();
+        assertThat(blacklistCache.mightBeBlacklisted("valid")).isFalse();
+        verify(cursor).close();
+    }
+
+    @Test
+    @DisplayName("Should remember IDs Redis did not have until they are revoked")
+    void shouldCacheNegativeLookups() {
+        // Given
+        givenBlacklistedIds("revoked-1");
+        blacklistCache.rebuild();
+        blacklistCache.add("false-hit");
+
+        // When
+        blacklistCache.recordNotBlacklisted("false-hit", blacklistCache.getRevocationCount());
+        boolean afterLookup = blacklistCache.mightBeBlacklisted("false-hit");
+        blacklistCache.add("false-hit");
+
+        // Then
+        assertThat(afterLookup).isFalse();
+        assertThat(blacklistCache.mightBeBlacklisted("false-hit")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not cache a lookup that raced with a revocation")
+    void shouldSkipStaleNegativeLookup() {
+        // Given
+        givenBlacklistedIds("revoked-1");
+        blacklistCache.rebuild();
+        long before = blacklistCache.getRevocationCount();
+        blacklistCache.add("revoked-2");
+
+        // When
+        blacklistCache.recordNotBlacklisted("revoked-2", before);
+
+        // Then
+        assertThat(blacklistCache.mightBeBlacklisted("revoked-2")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should forget negative lookups when the filter is rebuilt")
+    void shouldClearNegativeLookupsOnRebuild() {
+        // Given: "missed" was cached as valid, then revoked in a message this instance never got
+        givenBlacklistedIds("missed");
+        blacklistCache.rebuild();
+        blacklistCache.recordNotBlacklisted("missed", blacklistCache.getRevocationCount());
+        boolean beforeRebuild = blacklistCache.mightBeBlacklisted("missed");
+
+        // When
+        blacklistCache.rebuild();
+
+        // Then
+        assertThat(beforeRebuild).isFalse();
+        assertThat(blacklistCache.mightBeBlacklisted("missed")).isTrue();
+    }
+}
@@ -0,0 +1,115 @@
+package com.vn.caro_game.schedulers;
+
+import com.vn.caro_game.dtos.LobbyRoomSummary;
+import com.vn.caro_game.dtos.response.PublicRoomResponse;
+import com.vn.caro_game.dtos.websocket.LobbyDiffMessage;
+import com.vn.caro_game.mappers.GameRoomMapper;
+import com.vn.caro_game.services.interfaces.LobbyIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LobbyDiffScheduler
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Lobby Diff Scheduler Tests")
+class LobbyDiffSchedulerTest {
+
+    @Mock
+    private LobbyIndexService lobbyIndexService;
+
+    @Mock
+    private SimpMessageSendingOperations messagingTemplate;
+
+    private LobbyDiffScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new LobbyDiffScheduler(lobbyIndexService, new GameRoomMapper(), messagingTemplate);
+    }
+
+    private LobbyRoomSummary summary(long id, long playerCount) {
+        return new LobbyRoomSummary(id, "Room " + id, "Host", LocalDateTime.of(2025, 8, 1, 12, 0), playerCount);
+    }
+
+    private LobbyDiffMessage lastDiff(String destination) {
+        ArgumentCaptor<LobbyDiffMessage> captor = ArgumentCaptor.forClass(LobbyDiffMessage.class);
+        verify(messagingTemplate, atLeastOnce()).convertAndSend(eq(destination), captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Should send nothing when no room changed")
+    void shouldSendNothingWithoutChanges() {
+        // Given
+        when(lobbyIndexService.drainChangedRoomIds()).thenReturn(List.of());
+
+        // When
+        scheduler.publishDiffs();
+
+        // Then
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    @DisplayName("Should show a full room in the full lobby and remove it from the open-seat view")
+    void shouldSplitDiffPerFilter() {
+        // Given - room 1 was already shown with an open seat
+        when(lobbyIndexService.drainChangedRoomIds()).thenReturn(List.of(1L));
+        when(lobbyIndexService.findRoom(1L)).thenReturn(Optional.of(summary(1L, 1L)));
+        scheduler.publishDiffs();
+
+        // When the second player joins
+        when(lobbyIndexService.findRoom(1L)).thenReturn(Optional.of(summary(1L, 2L)));
+        scheduler.publishDiffs();
+
+        // Then
+        LobbyDiffMessage all = lastDiff("/topic/lobby");
+        assertEquals(2L, all.getSequence());
+        assertEquals(List.of(1L), all.getUpserted().stream().map(PublicRoomResponse::getId).toList());
+        assertEquals(2, all.getUpserted().get(0).getCurrentPlayerCount());
+        assertTrue(all.getRemoved().isEmpty());
+
+        LobbyDiffMessage openSeat = lastDiff("/topic/lobby/open-seat");
+        assertEquals(2L, openSeat.getSequence());
+        assertTrue(openSeat.getUpserted().isEmpty());
+        assertEquals(List.of(1L), openSeat.getRemoved());
+    }
+
+    @Test
+    @DisplayName("Should only tell a view to remove rooms it may still show")
+    void shouldNotRepeatRemovals() {
+        // Given - room 2 is full and has never been shown with an open seat
+        when(lobbyIndexService.drainChangedRoomIds()).thenReturn(List.of(2L));
+        when(lobbyIndexService.findRoom(2L)).thenReturn(Optional.of(summary(2L, 2L)));
+        scheduler.publishDiffs();
+        scheduler.publishDiffs();
+
+        // When the room leaves the lobby
+        when(lobbyIndexService.findRoom(2L)).thenReturn(Optional.empty());
+        scheduler.publishDiffs();
+
+        // Then - the open-seat view was told once and not again
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/lobby/open-seat"), any(Object.class));
+        LobbyDiffMessage all = lastDiff("/topic/lobby");
+        assertEquals(3L, all.getSequence());
+        assertEquals(List.of(2L), all.getRemoved());
+    }
+}
@@ -0,0 +1,101 @@
+package com.vn.caro_game.schedulers;
+
+import com.vn.caro_game.dtos.PlayerRating;
+import com.vn.caro_game.dtos.RatedGame;
+import com.vn.caro_game.entities.RatingHistory;
+import com.vn.caro_game.services.interfaces.RatingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RatingBackfillJob
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Rating Backfill Job Tests")
+class RatingBackfillJobTest {
+
+    @Mock
+    private RatingService ratingService;
+
+    private RatingBackfillJob job;
+
+    private final LocalDateTime playedAt = LocalDateTime.of(2025, 8, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        job = new RatingBackfillJob(ratingService);
+        ReflectionTestUtils.setField(job, "batchSize", 2);
+        ReflectionTestUtils.setField(job, "threads", 2);
+    }
+
+    @Test
+    @DisplayName("Should replay games in order across pages and save the final ratings")
+    void shouldReplayInOrder() {
+        // Given - user 1 beats user 2, then they draw, then a game without players
+        when(ratingService.findGamesToReplay(0L, 2)).thenReturn(List.of(
+                new RatedGame(1L, 1L, 2L, false, playedAt),
+                new RatedGame(2L, 2L, 1L, true, playedAt)));
+        when(ratingService.findGamesToReplay(2L, 2)).thenReturn(List.of(
+                new RatedGame(3L, null, null, true, playedAt)));
+        when(ratingService.findGamesToReplay(3L, 2)).thenReturn(List.of());
+
+        // When
+        job.backfill();
+
+        // Then
+        verify(ratingService).resetRatings();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RatingHistory>> history = ArgumentCaptor.forClass(List.class);
+        verify(ratingService).saveReplayedHistory(history.capture());
+        List<RatingHistory> entries = history.getValue();
+        assertEquals(4, entries.size());
+        assertEquals(1220, entries.get(0).getRatingAfter());
+        // The draw starts from the ratings the first game left
+        assertEquals(1180, entries.get(2).getRatingBefore());
+        assertEquals(1220, entries.get(3).getRatingBefore());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PlayerRating>> ratings = ArgumentCaptor.forClass(List.class);
+        verify(ratingService).saveReplayedRatings(ratings.capture());
+        List<PlayerRating> finalRatings = ratings.getValue().stream()
+                .sorted(Comparator.comparing(PlayerRating::userId)).toList();
+        assertEquals(List.of(1L, 2L), finalRatings.stream().map(PlayerRating::userId).toList());
+        assertEquals(2, finalRatings.get(0).ratedGames());
+        assertEquals(2400, finalRatings.get(0).rating() + finalRatings.get(1).rating());
+    }
+
+    @Test
+    @DisplayName("Should stop before saving ratings when a history write fails")
+    void shouldAbortOnFailedWrite() {
+        // Given
+        when(ratingService.findGamesToReplay(0L, 2)).thenReturn(List.of(
+                new RatedGame(1L, 1L, 2L, false, playedAt)));
+        when(ratingService.findGamesToReplay(1L, 2)).thenReturn(List.of());
+        doThrow(new IllegalStateException("connection lost")).when(ratingService).saveReplayedHistory(anyList());
+
+        // When
+        job.backfill();
+
+        // Then
+        verify(ratingService).saveReplayedHistory(anyList());
+        verify(ratingService, never()).saveReplayedRatings(anyList());
+    }
+}
@@ -0,0 +1,92 @@
+package com.vn.caro_game.schedulers;
+
+import com.vn.caro_game.services.interfaces.RoomReaperService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RoomReaperScheduler
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@DisplayName("Room Reaper Scheduler Tests")
+class RoomReaperSchedulerTest {
+
+    private RoomReaperService roomReaperService;
+    private SimpleMeterRegistry meterRegistry;
+    private RoomReaperScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        roomReaperService = mock(RoomReaperService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        @SuppressWarnings("unchecked")
+        ObjectProvider<MeterRegistry> meterRegistryProvider = mock(ObjectProvider.class);
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(meterRegistry);
+        scheduler = new RoomReaperScheduler(roomReaperService, meterRegistryProvider);
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        ReflectionTestUtils.setField(scheduler, "batchSize", 2);
+        ReflectionTestUtils.setField(scheduler, "maxBatchesPerRun", 10);
+        ReflectionTestUtils.setField(scheduler, "minPauseMillis", 0L);
+        when(roomReaperService.releaseIdleFinishedRooms(anyLong(), any(), anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Should walk rooms with a keyset cursor and record progress")
+    void shouldWalkWithKeysetCursor() {
+        // Given
+        when(roomReaperService.reapAbandonedRooms(eq(0L), any(), any(), eq(2))).thenReturn(List.of(3L, 8L));
+        when(roomReaperService.reapAbandonedRooms(eq(8L), any(), any(), eq(2))).thenReturn(List.of(9L));
+        when(roomReaperService.reapAbandonedRooms(eq(9L), any(), any(), eq(2))).thenReturn(List.of());
+
+        // When
+        scheduler.reapRooms();
+
+        // Then
+        assertEquals(3.0, meterRegistry.get("caro.reaper.rooms").tag("action", "deleted").counter().count());
+        assertEquals(4.0, meterRegistry.get("caro.reaper.batches").counter().count());
+        assertEquals(1, meterRegistry.get("caro.reaper.run").timer().count());
+        // A completed pass resets the cursor
+        assertEquals(0.0, meterRegistry.get("caro.reaper.cursor").tag("phase", "abandoned").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should resume from the cursor when the batch budget runs out")
+    void shouldResumeFromCursor() {
+        // Given
+        ReflectionTestUtils.setField(scheduler, "maxBatchesPerRun", 1);
+        when(roomReaperService.reapAbandonedRooms(eq(0L), any(), any(), eq(2))).thenReturn(List.of(3L, 8L));
+        when(roomReaperService.reapAbandonedRooms(eq(8L), any(), any(), eq(2))).thenReturn(List.of(12L));
+
+        // When
+        scheduler.reapRooms();
+        scheduler.reapRooms();
+
+        // Then
+        verify(roomReaperService).reapAbandonedRooms(eq(8L), any(), any(), eq(2));
+        assertEquals(12.0, meterRegistry.get("caro.reaper.cursor").tag("phase", "abandoned").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled")
+    void shouldDoNothingWhenDisabled() {
+        // Given
+        ReflectionTestUtils.setField(scheduler, "enabled", false);
+
+        // When
+        scheduler.reapRooms();
+
+        // Then
+        verifyNoInteractions(roomReaperService);
+    }
+}
@@ -0,0 +1,167 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.dtos.response.AchievementResponse;
+import com.vn.caro_game.entities.AchievementProgress;
+import com.vn.caro_game.entities.GameHistory;
+import com.vn.caro_game.entities.PlayerAchievement;
+import com.vn.caro_game.enums.Achievement;
+import com.vn.caro_game.enums.GameEndReason;
+import com.vn.caro_game.events.GameCompletedEvent;
+import com.vn.caro_game.repositories.AchievementProgressRepository;
+import com.vn.caro_game.repositories.GameHistoryRepository;
+import com.vn.caro_game.repositories.GameMatchRepository;
+import com.vn.caro_game.repositories.PlayerAchievementRepository;
+import com.vn.caro_game.services.impl.AchievementServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AchievementService
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Achievement Service Tests")
+class AchievementServiceTest {
+
+    @Mock
+    private AchievementProgressRepository achievementProgressRepository;
+
+    @Mock
+    private PlayerAchievementRepository playerAchievementRepository;
+
+    @Mock
+    private GameHistoryRepository gameHistoryRepository;
+
+    @Mock
+    private GameMatchRepository gameMatchRepository;
+
+    @InjectMocks
+    private AchievementServiceImpl achievementService;
+
+    private final LocalDateTime endedAt = LocalDateTime.of(2025, 8, 1, 12, 0);
+
+    private GameHistory history(long id, Long winnerId, Long loserId, GameEndReason reason) {
+        GameHistory history = new GameHistory();
+        history.setId(id);
+        history.setRoomId(100L);
+        history.setWinnerId(winnerId);
+        history.setLoserId(loserId);
+        history.setEndReason(reason);
+        history.setGameEndedAt(endedAt);
+        return history;
+    }
+
+    private AchievementProgress progress(Long userId, int winStreak) {
+        AchievementProgress progress = new AchievementProgress();
+        progress.setUserId(userId);
+        progress.setCurrentWinStreak(winStreak);
+        progress.setBestWinStreak(winStreak);
+        progress.setLastGameHistoryId(5L);
+        return progress;
+    }
+
+    @Test
+    @DisplayName("Should unlock a quick win and a streak and save them with the progress")
+    @SuppressWarnings("unchecked")
+    void shouldSaveUnlocks() {
+        // Given
+        AchievementProgress winner = progress(1L, 9);
+        AchievementProgress loser = progress(2L, 3);
+        when(achievementProgressRepository.findByUserIdForUpdate(1L)).thenReturn(Optional.of(winner));
+        when(achievementProgressRepository.findByUserIdForUpdate(2L)).thenReturn(Optional.of(loser));
+        when(gameMatchRepository.findMoveCounts(eq(100L), eq(endedAt), any())).thenReturn(List.of(17));
+
+        // When
+        achievementService.recordGame(GameCompletedEvent.decided(history(6L, 1L, 2L, GameEndReason.WIN)));
+
+        // Then
+        ArgumentCaptor<List<PlayerAchievement>> saved = ArgumentCaptor.forClass(List.class);
+        verify(playerAchievementRepository).saveAll(saved.capture());
+        List<PlayerAchievement> unlocks = saved.getValue();
+        assertEquals(2, unlocks.size());
+        assertEquals(Achievement.WIN_STREAK_10, unlocks.get(0).getAchievement());
+        assertEquals(Achievement.QUICK_WIN, unlocks.get(1).getAchievement());
+        assertEquals(6L, unlocks.get(1).getGameHistoryId());
+        assertEquals(endedAt, unlocks.get(1).getUnlockedAt());
+        assertEquals(0, loser.getCurrentWinStreak());
+        InOrder inOrder = inOrder(achievementProgressRepository);
+        inOrder.verify(achievementProgressRepository).insertIfAbsent(1L);
+        inOrder.verify(achievementProgressRepository).findByUserIdForUpdate(1L);
+        inOrder.verify(achievementProgressRepository).save(winner);
+        inOrder.verify(achievementProgressRepository).insertIfAbsent(2L);
+        inOrder.verify(achievementProgressRepository).save(loser);
+    }
+
+    @Test
+    @DisplayName("Should not read the move count of a surrender")
+    void shouldSkipMoveCountForSurrender() {
+        // Given
+        when(achievementProgressRepository.findByUserIdForUpdate(anyLong()))
+                .thenAnswer(invocation -> Optional.of(progress(invocation.getArgument(0), 0)));
+
+        // When
+        achievementService.recordGame(GameCompletedEvent.decided(history(6L, 1L, 2L, GameEndReason.SURRENDER)));
+
+        // Then
+        verifyNoInteractions(gameMatchRepository, playerAchievementRepository);
+        verify(achievementProgressRepository, times(2)).save(any());
+    }
+
+    @Test
+    @DisplayName("Should not count the same game twice")
+    void shouldSkipCountedGame() {
+        // Given
+        when(achievementProgressRepository.findByUserIdForUpdate(anyLong()))
+                .thenAnswer(invocation -> Optional.of(progress(invocation.getArgument(0), 0)));
+
+        // When
+        achievementService.recordGame(GameCompletedEvent.draw(history(5L, null, null, GameEndReason.WIN), 1L, 2L));
+
+        // Then
+        verify(achievementProgressRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should report progress with the time of each unlock")
+    void shouldReportProgress() {
+        // Given
+        AchievementProgress progress = progress(1L, 4);
+        progress.setGamesPlayed(42L);
+        progress.setUnlocked(1L << Achievement.QUICK_WIN.ordinal());
+        when(achievementProgressRepository.findById(1L)).thenReturn(Optional.of(progress));
+        PlayerAchievement unlock = new PlayerAchievement();
+        unlock.setUserId(1L);
+        unlock.setAchievement(Achievement.QUICK_WIN);
+        unlock.setUnlockedAt(endedAt);
+        when(playerAchievementRepository.findByUserId(1L)).thenReturn(List.of(unlock));
+
+        // When
+        List<AchievementResponse> achievements = achievementService.getAchievements(1L);
+
+        // Then
+        assertEquals(Achievement.values().length, achievements.size());
+        AchievementResponse gamesPlayed = achievements.get(Achievement.GAMES_PLAYED_100.ordinal());
+        assertFalse(gamesPlayed.getUnlocked());
+        assertEquals(42L, gamesPlayed.getProgress());
+        assertEquals(100L, gamesPlayed.getTarget());
+        AchievementResponse quickWin = achievements.get(Achievement.QUICK_WIN.ordinal());
+        assertTrue(quickWin.getUnlocked());
+        assertEquals(endedAt, quickWin.getUnlockedAt());
+    }
+}
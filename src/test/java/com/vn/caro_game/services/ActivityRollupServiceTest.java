@@ -0,0 +1,231 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.dtos.response.ActivityRollupResponse;
+import com.vn.caro_game.entities.ActivityRollup;
+import com.vn.caro_game.entities.DailyActivityRollup;
+import com.vn.caro_game.entities.GameHistory;
+import com.vn.caro_game.entities.HourlyActivityRollup;
+import com.vn.caro_game.enums.GameEndReason;
+import com.vn.caro_game.enums.RollupGranularity;
+import com.vn.caro_game.enums.RoomEventType;
+import com.vn.caro_game.events.GameCompletedEvent;
+import com.vn.caro_game.events.RoomEvent;
+import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.repositories.DailyActivityRollupRepository;
+import com.vn.caro_game.repositories.HourlyActivityRollupRepository;
+import com.vn.caro_game.services.impl.ActivityRollupServiceImpl;
+import com.vn.caro_game.services.interfaces.RoomRegistryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ActivityRollupService
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Activity Rollup Service Tests")
+class ActivityRollupServiceTest {
+
+    @Mock
+    private HourlyActivityRollupRepository hourlyRepository;
+
+    @Mock
+    private DailyActivityRollupRepository dailyRepository;
+
+    @Mock
+    private RoomRegistryService roomRegistryService;
+
+    @InjectMocks
+    private ActivityRollupServiceImpl activityRollupService;
+
+    private void at(LocalDateTime time) {
+        ReflectionTestUtils.setField(activityRollupService, "clock",
+                Clock.fixed(time.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    private GameCompletedEvent decided(GameEndReason reason, int minutes) {
+        GameHistory history = new GameHistory();
+        history.setEndReason(reason);
+        history.setGameStartedAt(LocalDateTime.of(2025, 8, 1, 10, 0));
+        history.setGameEndedAt(LocalDateTime.of(2025, 8, 1, 10, minutes));
+        return GameCompletedEvent.decided(history);
+    }
+
+    private HourlyActivityRollup hourly(LocalDateTime bucketStart, long games, int peak) {
+        HourlyActivityRollup rollup = new HourlyActivityRollup();
+        rollup.setBucketStart(bucketStart);
+        rollup.setGamesCompleted(games);
+        rollup.setPeakActiveRooms(peak);
+        return rollup;
+    }
+
+    @Test
+    @DisplayName("Should combine completed minutes per hour and keep the current minute")
+    void shouldDrainCompletedMinutesPerHour() {
+        // Given
+        at(LocalDateTime.of(2025, 8, 1, 10, 58));
+        activityRollupService.onGameCompleted(decided(GameEndReason.WIN, 10));
+        activityRollupService.onRoomEvent(RoomEvent.of(RoomEventType.ROOM_CREATED, 1L, 1L));
+        at(LocalDateTime.of(2025, 8, 1, 10, 59));
+        activityRollupService.onGameCompleted(decided(GameEndReason.SURRENDER, 20));
+        activityRollupService.onRoomEvent(RoomEvent.of(RoomEventType.MOVE_MADE, 1L, 1L));
+        at(LocalDateTime.of(2025, 8, 1, 11, 0));
+        activityRollupService.onRoomEvent(RoomEvent.of(RoomEventType.GAME_STARTED, 1L, 1L));
+        when(roomRegistryService.getRoomCount()).thenReturn(7);
+        activityRollupService.sampleActiveRooms();
+
+        // When
+        List<ActivityRollup> drained = activityRollupService.drainCompleted();
+
+        // Then
+        assertEquals(1, drained.size());
+        ActivityRollup hour = drained.get(0);
+        assertEquals(LocalDateTime.of(2025, 8, 1, 10, 0), hour.getBucketStart());
+        assertEquals(2L, hour.getGamesCompleted());
+        assertEquals(2L, hour.getTimedGames());
+        assertEquals(1800L, hour.getTotalDurationSeconds());
+        assertEquals(1L, hour.getEndedByWin());
+        assertEquals(1L, hour.getEndedBySurrender());
+        assertEquals(1L, hour.getRoomsCreated());
+        assertEquals(0L, hour.getGamesStarted());
+
+        at(LocalDateTime.of(2025, 8, 1, 11, 1));
+        ActivityRollup next = activityRollupService.drainCompleted().get(0);
+        assertEquals(1L, next.getGamesStarted());
+        assertEquals(7, next.getPeakActiveRooms());
+        assertEquals(1L, next.getActiveRoomSamples());
+    }
+
+    @Test
+    @DisplayName("Should add flushed counters to an existing hourly row")
+    void shouldAddToExistingHourlyRow() {
+        // Given
+        LocalDateTime bucket = LocalDateTime.of(2025, 8, 1, 10, 0);
+        HourlyActivityRollup stored = hourly(bucket, 3L, 9);
+        when(hourlyRepository.findByBucketStartForUpdate(bucket)).thenReturn(Optional.of(stored));
+        at(LocalDateTime.of(2025, 8, 1, 10, 5));
+        activityRollupService.onGameCompleted(decided(GameEndReason.TIMEOUT, 5));
+        at(LocalDateTime.of(2025, 8, 1, 10, 6));
+
+        // When
+        activityRollupService.writeHourly(activityRollupService.drainCompleted());
+
+        // Then
+        InOrder inOrder = inOrder(hourlyRepository);
+        inOrder.verify(hourlyRepository).insertIfAbsent(bucket);
+        inOrder.verify(hourlyRepository).findByBucketStartForUpdate(bucket);
+        inOrder.verify(hourlyRepository).save(stored);
+        assertEquals(4L, stored.getGamesCompleted());
+        assertEquals(1L, stored.getEndedByTimeout());
+        assertEquals(9, stored.getPeakActiveRooms());
+    }
+
+    @Test
+    @DisplayName("Should put counters back so a failed flush is retried")
+    void shouldRestoreCountersAfterFailedFlush() {
+        // Given
+        at(LocalDateTime.of(2025, 8, 1, 10, 5));
+        activityRollupService.onGameCompleted(decided(GameEndReason.WIN, 5));
+        at(LocalDateTime.of(2025, 8, 1, 10, 6));
+        List<ActivityRollup> drained = activityRollupService.drainCompleted();
+
+        // When
+        activityRollupService.restore(drained);
+        activityRollupService.onGameCompleted(decided(GameEndReason.WIN, 5));
+        at(LocalDateTime.of(2025, 8, 1, 10, 7));
+
+        // Then
+        List<ActivityRollup> retried = activityRollupService.drainCompleted();
+        assertEquals(1, retried.size());
+        assertEquals(2L, retried.get(0).getGamesCompleted());
+    }
+
+    @Test
+    @DisplayName("Should rebuild daily rows from hourly rows and expire old rows")
+    void shouldDownsampleHourlyRowsIntoDailyRows() {
+        // Given
+        at(LocalDateTime.of(2025, 8, 10, 0, 15));
+        LocalDateTime day = LocalDateTime.of(2025, 8, 9, 0, 0);
+        when(hourlyRepository.findOldestBucketStart()).thenReturn(LocalDateTime.of(2025, 8, 8, 23, 0));
+        when(hourlyRepository.findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+                LocalDateTime.of(2025, 8, 8, 0, 0), day)).thenReturn(List.of());
+        when(hourlyRepository.findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+                day, day.plusDays(1))).thenReturn(List.of(hourly(day, 2L, 4), hourly(day.plusHours(5), 3L, 6)));
+
+        // When
+        int days = activityRollupService.downsample(14, 730);
+
+        // Then
+        assertEquals(2, days);
+        ArgumentCaptor<DailyActivityRollup> saved = ArgumentCaptor.forClass(DailyActivityRollup.class);
+        verify(dailyRepository).save(saved.capture());
+        assertEquals(day, saved.getValue().getBucketStart());
+        assertEquals(5L, saved.getValue().getGamesCompleted());
+        assertEquals(6, saved.getValue().getPeakActiveRooms());
+        verify(hourlyRepository).deleteByBucketStartBefore(LocalDateTime.of(2025, 7, 27, 0, 0));
+        verify(dailyRepository).deleteByBucketStartBefore(LocalDateTime.of(2023, 8, 11, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized activity ranges")
+    void shouldRejectInvalidRanges() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2025, 8, 1, 0, 0);
+
+        // When & Then
+        assertThrows(CustomException.class,
+                () -> activityRollupService.getActivity(RollupGranularity.HOUR, from, from));
+        assertThrows(CustomException.class,
+                () -> activityRollupService.getActivity(RollupGranularity.HOUR, from, from.plusDays(32)));
+        assertThrows(CustomException.class,
+                () -> activityRollupService.getActivity(RollupGranularity.DAY, from, from.plusDays(800)));
+        verifyNoInteractions(hourlyRepository, dailyRepository);
+    }
+
+    @Test
+    @DisplayName("Should default to the last 24 hours and compute averages")
+    void shouldReturnHourlyActivity() {
+        // Given
+        at(LocalDateTime.of(2025, 8, 2, 12, 0));
+        HourlyActivityRollup rollup = hourly(LocalDateTime.of(2025, 8, 2, 10, 0), 4L, 5);
+        rollup.setTimedGames(4L);
+        rollup.setTotalDurationSeconds(1200L);
+        rollup.setEndedByWin(3L);
+        rollup.setActiveRoomSampleSum(12L);
+        rollup.setActiveRoomSamples(4L);
+        when(hourlyRepository.findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+                LocalDateTime.of(2025, 8, 1, 12, 0), LocalDateTime.of(2025, 8, 2, 12, 0)))
+                .thenReturn(List.of(rollup));
+
+        // When
+        List<ActivityRollupResponse> activity = activityRollupService.getActivity(RollupGranularity.HOUR, null, null);
+
+        // Then
+        assertEquals(1, activity.size());
+        ActivityRollupResponse response = activity.get(0);
+        assertEquals(RollupGranularity.HOUR, response.getGranularity());
+        assertEquals(300.0, response.getAverageDurationSeconds());
+        assertEquals(3.0, response.getAverageActiveRooms());
+        assertEquals(3L, response.getEndReasons().get(GameEndReason.WIN));
+        assertEquals(0L, response.getEndReasons().get(GameEndReason.LEAVE));
+    }
+}
@@ -0,0 +1,120 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.services.impl.BroadcastOutboxServiceImpl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BroadcastOutboxService.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@DisplayName("Broadcast Outbox Service Tests")
+class BroadcastOutboxServiceTest {
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final BroadcastOutboxServiceImpl broadcastOutboxService = new BroadcastOutboxServiceImpl(messagingTemplate);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(broadcastOutboxService);
+    }
+
+    private void complete(int status) {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(sync -> sync.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("Should send immediately outside a transaction")
+    void shouldSendImmediatelyOutsideTransaction() {
+        broadcastOutboxService.send("/topic/a", "one");
+        broadcastOutboxService.sendCoalesced(1L, "ROOM_UPDATE", "/topic/b", "two");
+
+        verify(messagingTemplate).convertAndSend("/topic/a", (Object) "one");
+        verify(messagingTemplate).convertAndSend("/topic/b", (Object) "two");
+    }
+
+    @Test
+    @DisplayName("Should hold frames until commit and keep their order")
+    void shouldHoldFramesUntilCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        broadcastOutboxService.send("/topic/move", "m1");
+        broadcastOutboxService.send("/topic/move", "m2");
+        broadcastOutboxService.sendCoalesced(1L, "ROOM_UPDATE", "/topic/room", "update");
+        verifyNoInteractions(messagingTemplate);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        InOrder inOrder = inOrder(messagingTemplate);
+        inOrder.verify(messagingTemplate).convertAndSend("/topic/move", (Object) "m1");
+        inOrder.verify(messagingTemplate).convertAndSend("/topic/move", (Object) "m2");
+        inOrder.verify(messagingTemplate).convertAndSend("/topic/room", (Object) "update");
+        assertThat(TransactionSynchronizationManager.hasResource(broadcastOutboxService)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should discard frames on rollback")
+    void shouldDiscardFramesOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        broadcastOutboxService.send("/topic/move", "m1");
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verifyNoInteractions(messagingTemplate);
+        assertThat(TransactionSynchronizationManager.hasResource(broadcastOutboxService)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should replace an update of the same type and send it in the latest position")
+    void shouldReplaceUpdateOfSameType() {
+        TransactionSynchronizationManager.initSynchronization();
+        String topic = "/topic/room/7/updates";
+
+        broadcastOutboxService.sendCoalesced(7L, "PLAYER_READY", topic, Map.of("updateType", "PLAYER_READY", "readyCount", 1));
+        broadcastOutboxService.sendCoalesced(8L, "PLAYER_READY", topic, Map.of("updateType", "PLAYER_READY", "roomId", 8));
+        broadcastOutboxService.sendCoalesced(7L, "PLAYER_READY", topic, Map.of("updateType", "PLAYER_READY", "readyCount", 2));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        InOrder inOrder = inOrder(messagingTemplate);
+        inOrder.verify(messagingTemplate).convertAndSend(topic, (Object) Map.of("updateType", "PLAYER_READY", "roomId", 8));
+        inOrder.verify(messagingTemplate).convertAndSend(topic, (Object) Map.of("updateType", "PLAYER_READY", "readyCount", 2));
+        verifyNoMoreInteractions(messagingTemplate);
+    }
+
+    @Test
+    @DisplayName("Should keep updates of different types apart and in order")
+    void shouldKeepUpdatesOfDifferentTypes() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        broadcastOutboxService.sendCoalesced(3L, "PLAYER_LEFT", "/topic/room-updates", "left");
+        broadcastOutboxService.sendCoalesced(3L, "ROOM_CLOSED", "/topic/room-updates", "closed");
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        InOrder inOrder = inOrder(messagingTemplate);
+        inOrder.verify(messagingTemplate).convertAndSend("/topic/room-updates", (Object) "left");
+        inOrder.verify(messagingTemplate).convertAndSend("/topic/room-updates", (Object) "closed");
+        verifyNoMoreInteractions(messagingTemplate);
+    }
+}
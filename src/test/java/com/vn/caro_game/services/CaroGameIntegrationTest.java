@@ -7,15 +7,19 @@ import com.vn.caro_game.dtos.response.GameRoomResponse;
 import com.vn.caro_game.entities.*;
 import com.vn.caro_game.enums.*;
 import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.integrations.journal.RoomJournal;
 import com.vn.caro_game.repositories.*;
 import com.vn.caro_game.services.impl.CaroGameServiceImpl;
 import com.vn.caro_game.services.impl.GameRoomServiceImpl;
+import com.vn.caro_game.services.interfaces.BroadcastOutboxService;
+import com.vn.caro_game.services.interfaces.LobbyIndexService;
+import com.vn.caro_game.services.interfaces.RoomRegistryService;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -51,7 +55,19 @@ class CaroGameIntegrationTest {
     private GameHistoryRepository gameHistoryRepository;
     
     @Mock
-    private SimpMessagingTemplate messagingTemplate;
+    private BroadcastOutboxService broadcastOutboxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RoomRegistryService roomRegistryService;
+
+    @Mock
+    private LobbyIndexService lobbyIndexService;
+
+    @Mock
+    private RoomJournal roomJournal;
     
     @Mock
     private com.vn.caro_game.integrations.redis.RedisService redisService;
@@ -59,9 +75,13 @@ class CaroGameIntegrationTest {
     @Mock
     private com.vn.caro_game.mappers.GameRoomMapper gameRoomMapper;
     
+
     @InjectMocks
     private GameRoomServiceImpl gameRoomService;
     
+    @Mock
+    private com.vn.caro_game.services.interfaces.ThinkTimeService thinkTimeService;
+    
     @InjectMocks
     private CaroGameServiceImpl caroGameService;
     
@@ -215,7 +235,7 @@ class CaroGameIntegrationTest {
             when(moveRepository.findByMatchOrderByMoveNumber(gameMatch)).thenReturn(existingMoves);
             
             // PlayerX makes winning move
-            when(moveRepository.countByMatch(gameMatch)).thenReturn(8); // X's turn (9th move)
+            gameMatch.setMoveCount(8); // X's turn (9th move)
             
             Move winningMove = new Move();
             winningMove.setId(9L);
@@ -266,7 +286,7 @@ class CaroGameIntegrationTest {
             when(gameMatchRepository.findByRoomAndResult(gameRoom, GameResult.ONGOING))
                 .thenReturn(Optional.of(gameMatch));
             when(userRepository.findById(1L)).thenReturn(Optional.of(playerX));
-            when(moveRepository.countByMatch(gameMatch)).thenReturn(224); // X's turn (225th move - last move)
+            gameMatch.setMoveCount(224); // X's turn (225th move - last move)
             
             // Create nearly full board with alternating moves but no wins
             List<Move> moves = new ArrayList<>();
@@ -368,7 +388,7 @@ class CaroGameIntegrationTest {
             when(gameRoomRepository.findById(1L)).thenReturn(Optional.of(gameRoom));
             when(gameMatchRepository.findByRoomAndResult(gameRoom, GameResult.ONGOING))
                 .thenReturn(Optional.of(gameMatch));
-            when(moveRepository.countByMatch(gameMatch)).thenReturn(0); // X's turn
+            gameMatch.setMoveCount(0); // X's turn
             lenient().when(userRepository.findById(1L)).thenReturn(Optional.of(playerX));
             
             // Existing move at (0,0)
@@ -395,7 +415,7 @@ class CaroGameIntegrationTest {
             when(gameRoomRepository.findById(1L)).thenReturn(Optional.of(gameRoom));
             when(gameMatchRepository.findByRoomAndResult(gameRoom, GameResult.ONGOING))
                 .thenReturn(Optional.of(gameMatch));
-            when(moveRepository.countByMatch(gameMatch)).thenReturn(0); // X's turn
+            gameMatch.setMoveCount(0); // X's turn
             lenient().when(userRepository.findById(1L)).thenReturn(Optional.of(playerX));
             when(moveRepository.findByMatchOrderByMoveNumber(gameMatch)).thenReturn(new ArrayList<>());
             
@@ -418,7 +438,7 @@ class CaroGameIntegrationTest {
             when(gameRoomRepository.findById(1L)).thenReturn(Optional.of(gameRoom));
             when(gameMatchRepository.findByRoomAndResult(gameRoom, GameResult.ONGOING))
                 .thenReturn(Optional.of(gameMatch));
-            when(moveRepository.countByMatch(gameMatch)).thenReturn(1); // O's turn
+            gameMatch.setMoveCount(1); // O's turn
             
             GameMoveRequest request = new GameMoveRequest();
             request.setXPosition(1);
@@ -440,7 +460,7 @@ class CaroGameIntegrationTest {
             when(gameMatchRepository.findByRoomAndResult(gameRoom, GameResult.ONGOING))
                 .thenReturn(Optional.empty()); // No active match
             when(gameMatchRepository.save(any(GameMatch.class))).thenReturn(gameMatch);
-            when(moveRepository.countByMatch(gameMatch)).thenReturn(0);
+            gameMatch.setMoveCount(0);
             when(userRepository.findById(1L)).thenReturn(Optional.of(playerX));
             
             Move savedMove = createMove(0, 0, playerX, 1);
@@ -489,7 +509,7 @@ class CaroGameIntegrationTest {
             // When - simulate rapid alternating moves (ensure no winning pattern)
             for (int i = 0; i < 10; i++) {
                 Long playerId = (i % 2 == 0) ? 1L : 2L;
-                when(moveRepository.countByMatch(gameMatch)).thenReturn(i);
+                gameMatch.setMoveCount(i);
                 
                 GameMoveRequest request = new GameMoveRequest();
                 request.setXPosition(i / 2);
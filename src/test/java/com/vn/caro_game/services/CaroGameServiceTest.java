@@ -6,14 +6,19 @@ import com.vn.caro_game.dtos.response.GameMoveResponse;
 import com.vn.caro_game.entities.*;
 import com.vn.caro_game.enums.*;
 import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.integrations.journal.RoomJournal;
 import com.vn.caro_game.repositories.*;
 import com.vn.caro_game.services.impl.CaroGameServiceImpl;
+import com.vn.caro_game.services.interfaces.BroadcastOutboxService;
+import com.vn.caro_game.services.interfaces.ThinkTimeService;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -46,7 +51,13 @@ class CaroGameServiceTest {
     private UserRepository userRepository;
     
     @Mock
-    private SimpMessagingTemplate messagingTemplate;
+    private BroadcastOutboxService broadcastOutboxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RoomJournal roomJournal;
     
     @Mock
     private GameHistoryRepository gameHistoryRepository;
@@ -54,6 +65,9 @@ class CaroGameServiceTest {
     @Mock
     private RoomPlayerRepository roomPlayerRepository;
     
+    @Mock
+    private ThinkTimeService thinkTimeService;
+    
     @InjectMocks
     private CaroGameServiceImpl caroGameService;
     
@@ -121,7 +135,7 @@ class CaroGameServiceTest {
             when(gameRoomRepository.findById(1L)).thenReturn(Optional.of(gameRoom));
             when(gameMatchRepository.findByRoomAndResult(gameRoom, GameResult.ONGOING))
                 .thenReturn(Optional.of(gameMatch));
-            when(moveRepository.countByMatch(gameMatch)).thenReturn(0); // X's turn
+            gameMatch.setMoveCount(0); // X's turn
             when(userRepository.findById(1L)).thenReturn(Optional.of(playerX));
             
             Move savedMove = new Move();
@@ -146,7 +160,7 @@ class CaroGameServiceTest {
             assertTrue(response.getIsValidMove());
             
             verify(moveRepository).save(any(Move.class));
-            verify(messagingTemplate).convertAndSend(anyString(), eq(response));
+            verify(broadcastOutboxService).send(anyString(), eq(response));
         }
         
         @Test
@@ -188,7 +202,7 @@ class CaroGameServiceTest {
             when(gameRoomRepository.findById(1L)).thenReturn(Optional.of(gameRoom));
             when(gameMatchRepository.findByRoomAndResult(gameRoom, GameResult.ONGOING))
                 .thenReturn(Optional.of(gameMatch));
-            when(moveRepository.countByMatch(gameMatch)).thenReturn(1); // O's turn
+            gameMatch.setMoveCount(1); // O's turn
             
             // When & Then - PlayerX tries to move when it's O's turn
             CustomException exception = assertThrows(CustomException.class, 
@@ -198,6 +212,53 @@ class CaroGameServiceTest {
             verify(moveRepository, never()).save(any(Move.class));
         }
         
+        @Test
+        @DisplayName("Should reject the losing move of a concurrent pair without saving it")
+        void shouldRejectMoveWhenMatchVersionIsStale() {
+            // Given
+            GameMoveRequest request = new GameMoveRequest();
+            request.setXPosition(3);
+            request.setYPosition(3);
+            
+            when(gameRoomRepository.findById(1L)).thenReturn(Optional.of(gameRoom));
+            when(gameMatchRepository.findByRoomAndResult(gameRoom, GameResult.ONGOING))
+                .thenReturn(Optional.of(gameMatch));
+            when(userRepository.findById(1L)).thenReturn(Optional.of(playerX));
+            when(gameMatchRepository.saveAndFlush(gameMatch))
+                .thenThrow(new ObjectOptimisticLockingFailureException(GameMatch.class, 1L));
+            
+            // When & Then
+            CustomException exception = assertThrows(CustomException.class, 
+                () -> caroGameService.makeMove(1L, request, 1L));
+            
+            assertEquals(StatusCode.MOVE_CONFLICT, exception.getStatusCode());
+            verify(moveRepository, never()).save(any(Move.class));
+            verifyNoInteractions(broadcastOutboxService);
+        }
+        
+        @Test
+        @DisplayName("Should reject a duplicate move caught by the unique move constraint")
+        void shouldRejectMoveOnUniqueConstraintViolation() {
+            // Given
+            GameMoveRequest request = new GameMoveRequest();
+            request.setXPosition(3);
+            request.setYPosition(3);
+            
+            when(gameRoomRepository.findById(1L)).thenReturn(Optional.of(gameRoom));
+            when(gameMatchRepository.findByRoomAndResult(gameRoom, GameResult.ONGOING))
+                .thenReturn(Optional.of(gameMatch));
+            when(userRepository.findById(1L)).thenReturn(Optional.of(playerX));
+            when(moveRepository.save(any(Move.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_moves_match_move_number"));
+            
+            // When & Then
+            CustomException exception = assertThrows(CustomException.class, 
+                () -> caroGameService.makeMove(1L, request, 1L));
+            
+            assertEquals(StatusCode.MOVE_CONFLICT, exception.getStatusCode());
+            verify(moveRepository, never()).countByMatch(any());
+        }
+        
         @Test
         @DisplayName("Should reject move on invalid game state")
         void shouldRejectMoveOnInvalidGameState() {
@@ -417,7 +478,7 @@ class CaroGameServiceTest {
             when(gameRoomRepository.findById(1L)).thenReturn(Optional.of(gameRoom));
             when(gameMatchRepository.findByRoomAndResult(gameRoom, GameResult.ONGOING))
                 .thenReturn(Optional.of(gameMatch));
-            lenient().when(moveRepository.countByMatch(gameMatch)).thenReturn(0); // X's turn
+            gameMatch.setMoveCount(0); // X's turn
             lenient().when(userRepository.findById(1L)).thenReturn(Optional.of(playerX));
             
             // Setup existing moves to create winning condition
@@ -465,7 +526,7 @@ class CaroGameServiceTest {
             when(gameMatchRepository.findByRoomAndResult(gameRoom, GameResult.ONGOING))
                 .thenReturn(Optional.empty()); // No existing match
             when(gameMatchRepository.save(any(GameMatch.class))).thenReturn(gameMatch);
-            when(moveRepository.countByMatch(gameMatch)).thenReturn(0);
+            gameMatch.setMoveCount(0);
             when(userRepository.findById(1L)).thenReturn(Optional.of(playerX));
             
             Move savedMove = createMove(0, 0, playerX, 1);
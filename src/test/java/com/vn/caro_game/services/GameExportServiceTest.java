@@ -0,0 +1,184 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.integrations.archive.ArchivedMatch;
+import com.vn.caro_game.integrations.archive.ArchivedMove;
+import com.vn.caro_game.integrations.archive.MatchArchiveStore;
+import com.vn.caro_game.repositories.GameExportRepositoryImpl;
+import com.vn.caro_game.repositories.GameHistoryRepository;
+import com.vn.caro_game.services.impl.GameExportServiceImpl;
+import org.junit.jupiter.api.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for GameExportService against an embedded H2 database
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@DisplayName("Game Export Service Tests")
+class GameExportServiceTest {
+
+    private EmbeddedDatabase database;
+    private MatchArchiveStore matchArchiveStore;
+    private GameExportServiceImpl gameExportService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50))");
+        jdbcTemplate.execute("CREATE TABLE game_matches (id BIGINT PRIMARY KEY, room_id BIGINT, " +
+                "player_x_id BIGINT, player_o_id BIGINT, start_time TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE moves (id BIGINT PRIMARY KEY, match_id BIGINT, move_number INT, " +
+                "x_position INT, y_position INT)");
+        jdbcTemplate.execute("CREATE TABLE game_history (id BIGINT PRIMARY KEY, room_id BIGINT, winner_id BIGINT, " +
+                "loser_id BIGINT, end_reason VARCHAR(20), game_started_at TIMESTAMP, game_ended_at TIMESTAMP)");
+
+        jdbcTemplate.update("INSERT INTO users VALUES (1, 'alice'), (2, 'bob'), (3, 'carol')");
+        // Room 10 had a game and a rematch; room 20 is a draw between bob and carol
+        jdbcTemplate.update("INSERT INTO game_matches VALUES (100, 10, 1, 2, TIMESTAMP '2025-08-01 10:00:00')");
+        jdbcTemplate.update("INSERT INTO game_matches VALUES (101, 10, 2, 1, TIMESTAMP '2025-08-01 11:00:00')");
+        jdbcTemplate.update("INSERT INTO game_matches VALUES (200, 20, 2, 3, TIMESTAMP '2025-08-05 10:00:00')");
+        jdbcTemplate.update("INSERT INTO moves VALUES (1, 100, 1, 7, 7), (2, 100, 2, 8, 8), (3, 100, 3, 6, 6)");
+        jdbcTemplate.update("INSERT INTO moves VALUES (4, 101, 1, 0, 0), (5, 101, 2, 1, 1)");
+        jdbcTemplate.update("INSERT INTO game_history VALUES (1, 10, 1, 2, 'WIN', " +
+                "TIMESTAMP '2025-08-01 10:00:00', TIMESTAMP '2025-08-01 10:30:00')");
+        jdbcTemplate.update("INSERT INTO game_history VALUES (2, 10, 1, 2, 'SURRENDER', " +
+                "TIMESTAMP '2025-08-01 11:00:00', TIMESTAMP '2025-08-01 11:10:00')");
+        jdbcTemplate.update("INSERT INTO game_history VALUES (3, 20, NULL, NULL, 'WIN', " +
+                "TIMESTAMP '2025-08-05 10:00:00', TIMESTAMP '2025-08-05 10:40:00')");
+
+        matchArchiveStore = mock(MatchArchiveStore.class);
+        GameExportRepositoryImpl exportRepository = new GameExportRepositoryImpl(jdbcTemplate);
+        ReflectionTestUtils.setField(exportRepository, "fetchSize", 2);
+        GameHistoryRepository gameHistoryRepository = mock(GameHistoryRepository.class, delegatesTo(exportRepository));
+        gameExportService = new GameExportServiceImpl(gameHistoryRepository, matchArchiveStore);
+        ReflectionTestUtils.setField(gameExportService, "analystUserIds", Set.of(99L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private String gunzip(ByteArrayOutputStream out) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    @DisplayName("Should export each game with the moves of its own match")
+    void shouldExportGamesWithOwnMatchMoves() throws IOException {
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = gameExportService.exportGames(1L, null, null, out);
+
+        // Then
+        String text = gunzip(out);
+        assertEquals(2, exported);
+        assertTrue(text.contains("[Game \"1\"]\n[Room \"10\"]\n[Date \"2025.08.01\"]\n[X \"alice\"]\n[O \"bob\"]"));
+        assertTrue(text.contains("1. h8 i9 2. g7 1-0"));
+        assertTrue(text.contains("1. a1 b2 0-1"));
+        assertFalse(text.contains("[Game \"3\"]"));
+    }
+
+    @Test
+    @DisplayName("Should include draws for a participant")
+    void shouldIncludeDrawsForParticipant() throws IOException {
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = gameExportService.exportGames(3L, null, null, out);
+
+        // Then
+        String text = gunzip(out);
+        assertEquals(1, exported);
+        assertTrue(text.contains("[Result \"1/2-1/2\"]"));
+    }
+
+    @Test
+    @DisplayName("Should filter all games by end time range")
+    void shouldFilterByDateRange() throws IOException {
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = gameExportService.exportGames(null,
+                LocalDateTime.of(2025, 8, 1, 11, 0), LocalDateTime.of(2025, 8, 6, 0, 0), out);
+
+        // Then
+        String text = gunzip(out);
+        assertEquals(2, exported);
+        assertFalse(text.contains("[Game \"1\"]"));
+        assertTrue(text.contains("[Game \"2\"]"));
+        assertTrue(text.contains("[Game \"3\"]"));
+    }
+
+    @Test
+    @DisplayName("Should leave out draws of a room's later match the player was not in")
+    void shouldSkipDrawsOfOtherMatchesInRoom() throws IOException {
+        // Given: alice played carol in room 30, then bob and carol drew there
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.update("INSERT INTO game_matches VALUES (300, 30, 1, 3, TIMESTAMP '2025-08-07 09:00:00')");
+        jdbcTemplate.update("INSERT INTO game_matches VALUES (301, 30, 2, 3, TIMESTAMP '2025-08-07 10:00:00')");
+        jdbcTemplate.update("INSERT INTO game_history VALUES (4, 30, NULL, NULL, 'WIN', " +
+                "TIMESTAMP '2025-08-07 10:00:00', TIMESTAMP '2025-08-07 10:30:00')");
+
+        // When
+        ByteArrayOutputStream aliceOut = new ByteArrayOutputStream();
+        long aliceGames = gameExportService.exportGames(1L, null, null, aliceOut);
+        ByteArrayOutputStream bobOut = new ByteArrayOutputStream();
+        long bobGames = gameExportService.exportGames(2L, null, null, bobOut);
+
+        // Then
+        assertEquals(2, aliceGames);
+        assertFalse(gunzip(aliceOut).contains("[Game \"4\"]"));
+        assertEquals(4, bobGames);
+        assertTrue(gunzip(bobOut).contains("[Game \"4\"]"));
+    }
+
+    @Test
+    @DisplayName("Should read moves of archived matches from cold storage")
+    void shouldReadArchivedMoves() throws IOException {
+        // Given: match 200 (game 3) has had its moves archived
+        when(matchArchiveStore.findMatch(200L)).thenReturn(Optional.of(ArchivedMatch.builder()
+                .matchId(200L)
+                .moves(List.of(new ArchivedMove(9L, 1, 14, 14, 2L, null)))
+                .build()));
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        gameExportService.exportGames(3L, null, null, out);
+
+        // Then
+        assertTrue(gunzip(out).contains("1. o15 1/2-1/2"));
+        verify(matchArchiveStore, never()).findMatch(100L);
+    }
+
+    @Test
+    @DisplayName("Should only allow configured analysts to export all games")
+    void shouldOnlyAllowAnalysts() {
+        assertTrue(gameExportService.canExportAllGames(99L));
+        assertFalse(gameExportService.canExportAllGames(1L));
+        assertFalse(gameExportService.canExportAllGames(null));
+    }
+}
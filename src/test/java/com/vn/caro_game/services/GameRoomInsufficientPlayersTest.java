@@ -6,6 +6,9 @@ import com.vn.caro_game.exceptions.CustomException;
 import com.vn.caro_game.mappers.GameRoomMapper;
 import com.vn.caro_game.repositories.*;
 import com.vn.caro_game.services.impl.GameRoomServiceImpl;
+import com.vn.caro_game.services.interfaces.BroadcastOutboxService;
+import com.vn.caro_game.services.interfaces.LobbyIndexService;
+import com.vn.caro_game.services.interfaces.RoomRegistryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import java.util.Optional;
@@ -36,10 +40,23 @@ public class GameRoomInsufficientPlayersTest {
     
     @Mock
     private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private BroadcastOutboxService broadcastOutboxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RoomRegistryService roomRegistryService;
+
+    @Mock
+    private LobbyIndexService lobbyIndexService;
     
     @Mock
     private GameRoomMapper gameRoomMapper;
 
+
     @InjectMocks
     private GameRoomServiceImpl gameRoomService;
 
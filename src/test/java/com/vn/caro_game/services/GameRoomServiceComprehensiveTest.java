@@ -6,8 +6,10 @@ import static org.mockito.Mockito.*;
 
 import java.util.*;
 
+import com.vn.caro_game.dtos.LobbyRoomSummary;
 import com.vn.caro_game.dtos.request.*;
 import com.vn.caro_game.dtos.response.*;
+import com.vn.caro_game.dtos.websocket.GameResultMessage;
 import com.vn.caro_game.entities.*;
 import com.vn.caro_game.enums.*;
 import com.vn.caro_game.exceptions.CustomException;
@@ -15,11 +17,16 @@ import com.vn.caro_game.integrations.redis.RedisService;
 import com.vn.caro_game.mappers.GameRoomMapper;
 import com.vn.caro_game.repositories.*;
 import com.vn.caro_game.services.impl.GameRoomServiceImpl;
+import com.vn.caro_game.services.interfaces.BroadcastOutboxService;
+import com.vn.caro_game.services.interfaces.LobbyIndexService;
+import com.vn.caro_game.services.interfaces.RoomRegistryService;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
@@ -59,6 +66,19 @@ class GameRoomServiceComprehensiveTest {
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
+    @Mock
+    private BroadcastOutboxService broadcastOutboxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RoomRegistryService roomRegistryService;
+
+    @Mock
+    private LobbyIndexService lobbyIndexService;
+
+
     @InjectMocks
     private GameRoomServiceImpl gameRoomService;
 
@@ -131,7 +151,7 @@ class GameRoomServiceComprehensiveTest {
             // Then
             assertNotNull(result);
             verify(roomPlayerRepository).save(any(RoomPlayer.class));
-            verify(messagingTemplate, atLeast(1)).convertAndSend(anyString(), any(Object.class));
+            verify(broadcastOutboxService, atLeast(1)).sendCoalesced(anyLong(), anyString(), anyString(), any(Object.class));
         }
 
         @Test
@@ -152,75 +172,42 @@ class GameRoomServiceComprehensiveTest {
     }
 
     @Nested
-    @DisplayName("Find Or Create Public Room Tests")
-    class FindOrCreatePublicRoomTests {
+    @DisplayName("Create Matched Room Tests")
+    class CreateMatchedRoomTests {
 
         @Test
-        void shouldReturnExistingRoomIfUserAlreadyInRoom() {
+        void shouldSeatBothPlayersInPrivateRoom() {
             // Given
-            List<GameRoom> activeRooms = List.of(testRoom);
-            when(gameRoomRepository.findActiveRoomsByUserId(eq(testUser.getId()), any(PageRequest.class)))
-                .thenReturn(activeRooms);
+            when(gameRoomRepository.existsActiveRoomByUserId(anyLong())).thenReturn(false);
+            when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+            when(userRepository.findById(testUser2.getId())).thenReturn(Optional.of(testUser2));
+            when(gameRoomRepository.save(any(GameRoom.class))).thenReturn(testRoom);
+            when(gameRoomRepository.countPlayersByRoomId(testRoom.getId())).thenReturn(1, 2);
             when(roomPlayerRepository.findByRoom_Id(testRoom.getId())).thenReturn(Collections.emptyList());
             when(gameRoomMapper.mapToGameRoomResponse(any(), any())).thenReturn(mock(GameRoomResponse.class));
 
             // When
-            GameRoomResponse result = gameRoomService.findOrCreatePublicRoom(testUser.getId());
+            GameRoomResponse result = gameRoomService.createMatchedRoom(testUser.getId(), testUser2.getId());
 
             // Then
             assertNotNull(result);
-            verify(gameRoomRepository, never()).save(any(GameRoom.class));
-        }
-
-        @Test
-        void shouldJoinAvailablePublicRoom() {
-            // Given
-            GameRoom availableRoom = new GameRoom();
-            availableRoom.setId(3L);
-            availableRoom.setIsPrivate(false);
-            availableRoom.setStatus(RoomStatus.WAITING);
-
-            when(gameRoomRepository.findActiveRoomsByUserId(eq(testUser.getId()), any(PageRequest.class)))
-                .thenReturn(Collections.emptyList());
-            lenient().when(gameRoomRepository.findAvailablePublicRooms(any(PageRequest.class)))
-                .thenReturn(List.of(availableRoom));
-            lenient().when(gameRoomRepository.findById(availableRoom.getId())).thenReturn(Optional.of(availableRoom));
-            lenient().when(gameRoomRepository.countPlayersByRoomId(availableRoom.getId())).thenReturn(1);
-            lenient().when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-            lenient().when(roomPlayerRepository.existsByRoomIdAndUserId(availableRoom.getId(), testUser.getId())).thenReturn(false);
-            lenient().when(roomPlayerRepository.findByRoom_Id(availableRoom.getId())).thenReturn(Collections.emptyList());
-            lenient().when(redisService.isUserOnline(any())).thenReturn(true);
-            lenient().when(gameRoomMapper.mapToGameRoomResponse(any(), any())).thenReturn(mock(GameRoomResponse.class));
-
-            // When
-            GameRoomResponse result = gameRoomService.findOrCreatePublicRoom(testUser.getId());
-
-            // Then
-            assertNotNull(result);
-            verify(roomPlayerRepository).save(any(RoomPlayer.class));
+            ArgumentCaptor<GameRoom> roomCaptor = ArgumentCaptor.forClass(GameRoom.class);
+            verify(gameRoomRepository, atLeastOnce()).save(roomCaptor.capture());
+            assertTrue(roomCaptor.getAllValues().get(0).getIsPrivate());
+            verify(roomPlayerRepository, times(2)).save(any(RoomPlayer.class));
         }
 
         @Test
-        void shouldCreateNewPublicRoomIfNoneAvailable() {
+        void shouldRejectPlayerAlreadyInRoom() {
             // Given
-            when(gameRoomRepository.findActiveRoomsByUserId(eq(testUser.getId()), any(PageRequest.class)))
-                .thenReturn(Collections.emptyList());
-            when(gameRoomRepository.findAvailablePublicRooms(any(PageRequest.class)))
-                .thenReturn(Collections.emptyList());
             when(gameRoomRepository.existsActiveRoomByUserId(testUser.getId())).thenReturn(false);
-            lenient().when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-            lenient().when(gameRoomRepository.save(any(GameRoom.class))).thenReturn(testRoom);
-            lenient().when(roomPlayerRepository.findByRoom_Id(testRoom.getId())).thenReturn(Collections.emptyList());
-            lenient().when(redisService.isUserOnline(any())).thenReturn(true);
-            lenient().when(gameRoomMapper.mapToGameRoomResponse(any(), any())).thenReturn(mock(GameRoomResponse.class));
+            when(gameRoomRepository.existsActiveRoomByUserId(testUser2.getId())).thenReturn(true);
 
-            // When
-            GameRoomResponse result = gameRoomService.findOrCreatePublicRoom(testUser.getId());
-
-            // Then
-            assertNotNull(result);
-            verify(gameRoomRepository).save(any(GameRoom.class));
-            verify(roomPlayerRepository).save(any(RoomPlayer.class));
+            // When & Then
+            CustomException exception = assertThrows(CustomException.class,
+                () -> gameRoomService.createMatchedRoom(testUser.getId(), testUser2.getId()));
+            assertEquals(StatusCode.ALREADY_IN_ROOM, exception.getStatusCode());
+            verify(gameRoomRepository, never()).save(any(GameRoom.class));
         }
     }
 
@@ -246,7 +233,8 @@ class GameRoomServiceComprehensiveTest {
             verify(roomPlayerRepository, times(2)).save(any(RoomPlayer.class)); // Both players
             verify(gameHistoryRepository).save(any(GameHistory.class));
             verify(gameRoomRepository).save(any(GameRoom.class));
-            verify(messagingTemplate, atLeast(2)).convertAndSend(anyString(), any(Object.class));
+            verify(broadcastOutboxService).send(anyString(), any(GameResultMessage.class));
+            verify(broadcastOutboxService).sendCoalesced(anyLong(), anyString(), anyString(), any(Object.class));
         }
 
         @Test
@@ -288,7 +276,7 @@ class GameRoomServiceComprehensiveTest {
             verify(roomPlayerRepository, times(2)).save(any(RoomPlayer.class));
             verify(gameHistoryRepository).save(any(GameHistory.class));
             verify(gameRoomRepository).save(any(GameRoom.class));
-            verify(messagingTemplate, atLeast(1)).convertAndSend(anyString(), any(Object.class));
+            verify(broadcastOutboxService, atLeast(1)).sendCoalesced(anyLong(), anyString(), anyString(), any(Object.class));
         }
 
         @Test
@@ -330,7 +318,7 @@ class GameRoomServiceComprehensiveTest {
 
             // Then
             verify(gameRoomRepository).save(any(GameRoom.class));
-            verify(messagingTemplate, atLeast(1)).convertAndSend(anyString(), any(Object.class));
+            verify(broadcastOutboxService, atLeast(1)).sendCoalesced(anyLong(), anyString(), anyString(), any(Object.class));
         }
 
         @Test
@@ -360,7 +348,7 @@ class GameRoomServiceComprehensiveTest {
 
             // Then
             verify(roomPlayerRepository, atLeast(2)).save(any(RoomPlayer.class));
-            verify(messagingTemplate, atLeast(1)).convertAndSend(anyString(), any(Object.class));
+            verify(broadcastOutboxService, atLeast(1)).sendCoalesced(anyLong(), anyString(), anyString(), any(Object.class));
         }
 
         @Test
@@ -404,7 +392,7 @@ class GameRoomServiceComprehensiveTest {
             // Then
             assertNotNull(result);
             verify(gameRoomRepository).save(any(GameRoom.class));
-            verify(messagingTemplate, atLeast(1)).convertAndSend(anyString(), any(Object.class));
+            verify(broadcastOutboxService, atLeast(1)).sendCoalesced(anyLong(), anyString(), anyString(), any(Object.class));
         }
 
         @Test
@@ -488,7 +476,7 @@ class GameRoomServiceComprehensiveTest {
             // Then
             assertNotNull(result);
             verify(chatMessageRepository).save(any(ChatMessage.class));
-            verify(messagingTemplate).convertAndSend(anyString(), any(Object.class));
+            verify(broadcastOutboxService).send(anyString(), any(ChatMessageResponse.class));
         }
 
         @Test
@@ -546,11 +534,12 @@ class GameRoomServiceComprehensiveTest {
         void shouldGetPublicRooms() {
             // Given
             Pageable pageable = PageRequest.of(0, 10);
-            Page<GameRoom> roomsPage = new PageImpl<>(List.of(testRoom), pageable, 1);
+            LobbyRoomSummary summary = new LobbyRoomSummary(testRoom.getId(), testRoom.getName(), "Test User",
+                    testRoom.getCreatedAt(), 1L);
+            Page<LobbyRoomSummary> roomsPage = new PageImpl<>(List.of(summary), pageable, 1);
 
-            when(gameRoomRepository.findPublicWaitingRooms(pageable)).thenReturn(roomsPage);
-            when(gameRoomRepository.countPlayersByRoomId(testRoom.getId())).thenReturn(1);
-            when(gameRoomMapper.mapToPublicRoomResponse(any(), any())).thenReturn(mock(PublicRoomResponse.class));
+            when(gameRoomRepository.findPublicWaitingRoomSummaries(pageable)).thenReturn(roomsPage);
+            when(gameRoomMapper.mapToPublicRoomResponse(summary)).thenReturn(mock(PublicRoomResponse.class));
 
             // When
             Page<PublicRoomResponse> result = gameRoomService.getPublicRooms(pageable);
@@ -558,7 +547,7 @@ class GameRoomServiceComprehensiveTest {
             // Then
             assertNotNull(result);
             assertEquals(1, result.getTotalElements());
-            verify(gameRoomRepository).findPublicWaitingRooms(pageable);
+            verify(gameRoomRepository).findPublicWaitingRoomSummaries(pageable);
         }
     }
 
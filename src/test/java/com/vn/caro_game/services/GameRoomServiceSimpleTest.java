@@ -17,11 +17,15 @@ import com.vn.caro_game.integrations.redis.RedisService;
 import com.vn.caro_game.mappers.GameRoomMapper;
 import com.vn.caro_game.repositories.*;
 import com.vn.caro_game.services.impl.GameRoomServiceImpl;
+import com.vn.caro_game.services.interfaces.BroadcastOutboxService;
+import com.vn.caro_game.services.interfaces.LobbyIndexService;
+import com.vn.caro_game.services.interfaces.RoomRegistryService;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 /**
@@ -47,6 +51,18 @@ class GameRoomServiceSimpleTest {
     
     @Mock
     private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private BroadcastOutboxService broadcastOutboxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RoomRegistryService roomRegistryService;
+
+    @Mock
+    private LobbyIndexService lobbyIndexService;
     
     @Mock
     private RedisService redisService;
@@ -54,6 +70,7 @@ class GameRoomServiceSimpleTest {
     @Mock
     private GameRoomMapper gameRoomMapper;
     
+
     @InjectMocks
     private GameRoomServiceImpl gameRoomService;
 
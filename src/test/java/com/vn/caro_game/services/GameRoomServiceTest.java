@@ -1,23 +1,32 @@
 package com.vn.caro_game.services;
 
 import com.vn.caro_game.constants.GameRoomConstants;
+import com.vn.caro_game.dtos.LobbyRoomSummary;
 import com.vn.caro_game.dtos.request.CreateRoomRequest;
 import com.vn.caro_game.dtos.request.JoinRoomRequest;
 import com.vn.caro_game.dtos.request.SendChatMessageRequest;
 import com.vn.caro_game.dtos.response.GameRoomResponse;
 import com.vn.caro_game.dtos.response.ChatMessageResponse;
+import com.vn.caro_game.dtos.response.UserSummaryResponse;
+import com.vn.caro_game.dtos.websocket.GameResultMessage;
 import com.vn.caro_game.entities.GameRoom;
 import com.vn.caro_game.entities.RoomPlayer;
 import com.vn.caro_game.entities.User;
 import com.vn.caro_game.entities.ChatMessage;
 import com.vn.caro_game.enums.RoomStatus;
+import com.vn.caro_game.enums.StatusCode;
 import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.integrations.archive.ArchivedChatMessage;
+import com.vn.caro_game.integrations.archive.MatchArchiveStore;
 import com.vn.caro_game.mappers.GameRoomMapper;
 import com.vn.caro_game.repositories.GameRoomRepository;
 import com.vn.caro_game.repositories.RoomPlayerRepository;
 import com.vn.caro_game.repositories.UserRepository;
 import com.vn.caro_game.repositories.ChatMessageRepository;
 import com.vn.caro_game.services.impl.GameRoomServiceImpl;
+import com.vn.caro_game.services.interfaces.BroadcastOutboxService;
+import com.vn.caro_game.services.interfaces.LobbyIndexService;
+import com.vn.caro_game.services.interfaces.RoomRegistryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -26,6 +35,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -69,6 +79,22 @@ class GameRoomServiceTest {
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
+    @Mock
+    private BroadcastOutboxService broadcastOutboxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RoomRegistryService roomRegistryService;
+
+    @Mock
+    private LobbyIndexService lobbyIndexService;
+
+
+    @Mock
+    private MatchArchiveStore matchArchiveStore;
+
     @InjectMocks
     private GameRoomServiceImpl gameRoomService;
 
@@ -316,7 +342,8 @@ class GameRoomServiceTest {
         verify(roomPlayerRepository).delete(roomPlayer);
         verify(gameRoomRepository).save(playingRoom);
         assertEquals(RoomStatus.FINISHED, playingRoom.getStatus());
-        verify(messagingTemplate, times(3)).convertAndSend(anyString(), any(Object.class));
+        verify(broadcastOutboxService).send(anyString(), any(GameResultMessage.class));
+        verify(broadcastOutboxService).sendCoalesced(eq(1L), anyString(), anyString(), any(Object.class));
     }
 
     @Test
@@ -340,7 +367,7 @@ class GameRoomServiceTest {
 
         // Then
         verify(roomPlayerRepository).delete(roomPlayer);
-        verify(messagingTemplate, times(2)).convertAndSend(anyString(), any(Object.class));
+        verify(broadcastOutboxService, times(1)).sendCoalesced(eq(1L), anyString(), anyString(), any(Object.class));
         // Room should not be marked as finished
         assertNotEquals(RoomStatus.FINISHED, waitingRoom.getStatus());
     }
@@ -377,7 +404,8 @@ class GameRoomServiceTest {
         // Then
         verify(gameRoomRepository).save(playingRoom);
         assertEquals(RoomStatus.FINISHED, playingRoom.getStatus());
-        verify(messagingTemplate, times(3)).convertAndSend(anyString(), any(Object.class));
+        verify(broadcastOutboxService).send(anyString(), any(GameResultMessage.class));
+        verify(broadcastOutboxService).sendCoalesced(eq(1L), anyString(), anyString(), any(Object.class));
     }
 
     @Test
@@ -436,17 +464,17 @@ class GameRoomServiceTest {
         // Then
         assertNotNull(result);
         verify(chatMessageRepository).save(any(ChatMessage.class));
-        verify(messagingTemplate).convertAndSend(anyString(), any(ChatMessageResponse.class));
+        verify(broadcastOutboxService).send(anyString(), any(ChatMessageResponse.class));
     }
 
     @Test
     void getPublicRooms_ShouldReturnPaginatedResults() {
         // Given
-        List<GameRoom> rooms = Arrays.asList(testRoom);
-        Page<GameRoom> roomPage = new PageImpl<>(rooms, PageRequest.of(0, 20), 1);
+        LobbyRoomSummary summary = new LobbyRoomSummary(1L, "Test Room", "Test User", LocalDateTime.now(), 1L);
+        Page<LobbyRoomSummary> roomPage = new PageImpl<>(List.of(summary), PageRequest.of(0, 20), 1);
         
-        when(gameRoomRepository.findPublicWaitingRooms(any(Pageable.class))).thenReturn(roomPage);
-        when(gameRoomMapper.mapToPublicRoomResponse(any(GameRoom.class), any())).thenReturn(null);
+        when(gameRoomRepository.findPublicWaitingRoomSummaries(any(Pageable.class))).thenReturn(roomPage);
+        when(gameRoomMapper.mapToPublicRoomResponse(any(LobbyRoomSummary.class))).thenReturn(null);
 
         // When
         Page<?> result = gameRoomService.getPublicRooms(PageRequest.of(0, 20));
@@ -454,7 +482,25 @@ class GameRoomServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(gameRoomRepository).findPublicWaitingRooms(any(Pageable.class));
+        verify(gameRoomRepository).findPublicWaitingRoomSummaries(any(Pageable.class));
+        verify(gameRoomRepository, never()).countPlayersByRoomId(anyLong());
+    }
+
+    @Test
+    void getPublicRooms_ShouldServeFromLobbyIndexWhenLoaded() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 20);
+        LobbyRoomSummary summary = new LobbyRoomSummary(1L, "Test Room", "Test User", LocalDateTime.now(), 1L);
+        when(lobbyIndexService.canServe(pageable)).thenReturn(true);
+        when(lobbyIndexService.getPage(pageable)).thenReturn(new PageImpl<>(List.of(summary), pageable, 1));
+        when(gameRoomMapper.mapToPublicRoomResponse(summary)).thenReturn(null);
+
+        // When
+        Page<?> result = gameRoomService.getPublicRooms(pageable);
+
+        // Then
+        assertEquals(1, result.getTotalElements());
+        verifyNoInteractions(gameRoomRepository);
     }
 
     // ================================
@@ -466,105 +512,189 @@ class GameRoomServiceTest {
     class PaginatedQueryTests {
 
         @Test
-        @DisplayName("findOrCreatePublicRoom should use paginated query to avoid IncorrectResultSizeDataAccessException")
-        void findOrCreatePublicRoom_ShouldUsePaginatedQuery() {
+        @DisplayName("getCurrentUserRoom should use paginated query to get single result")
+        void getCurrentUserRoom_ShouldUsePaginatedQuery() {
             // Given
-            when(gameRoomRepository.existsActiveRoomByUserId(1L)).thenReturn(false);
-            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-            
-            // Mock paginated query - simulate finding available room
-            List<GameRoom> availableRooms = Arrays.asList(testRoom);
-            when(gameRoomRepository.findAvailablePublicRooms(any(PageRequest.class))).thenReturn(availableRooms);
-            when(gameRoomRepository.findById(1L)).thenReturn(Optional.of(testRoom)); // Add this mock
-            when(gameRoomRepository.countPlayersByRoomId(1L)).thenReturn(1);
-            when(roomPlayerRepository.existsByRoomIdAndUserId(1L, 1L)).thenReturn(false);
+            List<GameRoom> userRooms = Arrays.asList(testRoom);
+            when(gameRoomRepository.findActiveRoomsByUserId(eq(1L), any(PageRequest.class))).thenReturn(userRooms);
             when(gameRoomMapper.mapToGameRoomResponse(any(GameRoom.class), anyList())).thenReturn(gameRoomResponse);
 
             // When
-            GameRoomResponse result = gameRoomService.findOrCreatePublicRoom(1L);
+            GameRoomResponse result = gameRoomService.getCurrentUserRoom(1L);
 
             // Then
             assertNotNull(result);
-            verify(gameRoomRepository).findAvailablePublicRooms(eq(PageRequest.of(0, 1)));
-            verify(roomPlayerRepository).save(any(RoomPlayer.class));
-            verify(gameRoomRepository, never()).save(any(GameRoom.class)); // Should not create new room
+            verify(gameRoomRepository).findActiveRoomsByUserId(eq(1L), eq(PageRequest.of(0, 1)));
+            verify(gameRoomMapper).mapToGameRoomResponse(eq(testRoom), anyList());
         }
 
         @Test
-        @DisplayName("findOrCreatePublicRoom should create new room when no available rooms found")
-        void findOrCreatePublicRoom_ShouldCreateNewRoom_WhenNoAvailableRoomsFound() {
+        @DisplayName("getCurrentUserRoom should return null when user has no active rooms")
+        void getCurrentUserRoom_ShouldReturnNull_WhenUserHasNoActiveRooms() {
             // Given
-            when(gameRoomRepository.existsActiveRoomByUserId(1L)).thenReturn(false);
-            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-            
-            // Mock paginated query - simulate no available rooms
-            when(gameRoomRepository.findAvailablePublicRooms(any(PageRequest.class))).thenReturn(Arrays.asList());
-            when(gameRoomRepository.save(any(GameRoom.class))).thenReturn(testRoom);
-            when(gameRoomMapper.mapToGameRoomResponse(any(GameRoom.class), anyList())).thenReturn(gameRoomResponse);
+            when(gameRoomRepository.findActiveRoomsByUserId(eq(1L), any(PageRequest.class))).thenReturn(Arrays.asList());
 
             // When
-            GameRoomResponse result = gameRoomService.findOrCreatePublicRoom(1L);
+            GameRoomResponse result = gameRoomService.getCurrentUserRoom(1L);
 
             // Then
-            assertNotNull(result);
-            verify(gameRoomRepository).findAvailablePublicRooms(eq(PageRequest.of(0, 1)));
-            verify(gameRoomRepository).save(any(GameRoom.class)); // Should create new room
-            verify(roomPlayerRepository).save(any(RoomPlayer.class));
+            assertNull(result);
+            verify(gameRoomRepository).findActiveRoomsByUserId(eq(1L), eq(PageRequest.of(0, 1)));
+            verify(gameRoomMapper, never()).mapToGameRoomResponse(any(), any());
         }
+    }
+
+    @Nested
+    @DisplayName("Room Registry Lookup Tests")
+    class RoomRegistryLookupTests {
 
         @Test
-        @DisplayName("getCurrentUserRoom should use paginated query to get single result")
-        void getCurrentUserRoom_ShouldUsePaginatedQuery() {
+        @DisplayName("createRoom should reject a user the registry places in an active room without querying")
+        void createRoom_ShouldUseRegistry_WhenUserAlreadyInActiveRoom() {
             // Given
-            List<GameRoom> userRooms = Arrays.asList(testRoom);
-            when(gameRoomRepository.findActiveRoomsByUserId(eq(1L), any(PageRequest.class))).thenReturn(userRooms);
-            when(gameRoomMapper.mapToGameRoomResponse(any(GameRoom.class), anyList())).thenReturn(gameRoomResponse);
+            when(roomRegistryService.isAuthoritative()).thenReturn(true);
+            when(roomRegistryService.findActiveRoomId(1L)).thenReturn(7L);
+
+            // When & Then
+            CustomException exception = assertThrows(CustomException.class,
+                    () -> gameRoomService.createRoom(createRoomRequest, 1L));
+            assertEquals(StatusCode.ALREADY_IN_ROOM, exception.getStatusCode());
+            verify(gameRoomRepository, never()).existsActiveRoomByUserId(anyLong());
+            verify(gameRoomRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("getCurrentUserRoom should load the indexed room by primary key")
+        void getCurrentUserRoom_ShouldLoadIndexedRoomById() {
+            // Given
+            when(roomRegistryService.isAuthoritative()).thenReturn(true);
+            when(roomRegistryService.findActiveRoomId(1L)).thenReturn(1L);
+            when(gameRoomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
+            when(gameRoomMapper.mapToGameRoomResponse(eq(testRoom), anyList())).thenReturn(gameRoomResponse);
 
             // When
             GameRoomResponse result = gameRoomService.getCurrentUserRoom(1L);
 
             // Then
-            assertNotNull(result);
-            verify(gameRoomRepository).findActiveRoomsByUserId(eq(1L), eq(PageRequest.of(0, 1)));
-            verify(gameRoomMapper).mapToGameRoomResponse(eq(testRoom), anyList());
+            assertSame(gameRoomResponse, result);
+            verify(gameRoomRepository, never()).findActiveRoomsByUserId(anyLong(), any(Pageable.class));
         }
 
         @Test
-        @DisplayName("getCurrentUserRoom should return null when user has no active rooms")
-        void getCurrentUserRoom_ShouldReturnNull_WhenUserHasNoActiveRooms() {
+        @DisplayName("getCurrentUserRoom should return null without querying when the user has no active room")
+        void getCurrentUserRoom_ShouldReturnNullFromRegistry() {
             // Given
-            when(gameRoomRepository.findActiveRoomsByUserId(eq(1L), any(PageRequest.class))).thenReturn(Arrays.asList());
+            when(roomRegistryService.isAuthoritative()).thenReturn(true);
+            when(roomRegistryService.findActiveRoomId(1L)).thenReturn(RoomRegistryService.NO_ROOM);
 
             // When
             GameRoomResponse result = gameRoomService.getCurrentUserRoom(1L);
 
             // Then
             assertNull(result);
-            verify(gameRoomRepository).findActiveRoomsByUserId(eq(1L), eq(PageRequest.of(0, 1)));
-            verify(gameRoomMapper, never()).mapToGameRoomResponse(any(), any());
+            verifyNoInteractions(gameRoomRepository);
         }
 
         @Test
-        @DisplayName("findOrCreatePublicRoom should handle edge case with room becoming full")
-        void findOrCreatePublicRoom_ShouldHandleRoomBecomingFull() {
+        @DisplayName("leaveRoom should find the seat in the database when the registry has not caught up")
+        void leaveRoom_ShouldFallBackToRepositoryOnRegistryMiss() {
             // Given
-            when(gameRoomRepository.findActiveRoomsByUserId(eq(1L), any(PageRequest.class))).thenReturn(Arrays.asList());
-            
-            // Mock finding a room that appears available
-            List<GameRoom> availableRooms = Arrays.asList(testRoom);
-            when(gameRoomRepository.findAvailablePublicRooms(any(PageRequest.class))).thenReturn(availableRooms);
+            RoomPlayer roomPlayer = new RoomPlayer();
+            roomPlayer.setRoom(testRoom);
+            roomPlayer.setUser(testUser);
+            roomPlayer.setIsHost(false);
+            lenient().when(roomRegistryService.isAuthoritative()).thenReturn(true);
+            lenient().when(roomRegistryService.isPlayerInRoom(1L, 1L)).thenReturn(false);
             when(gameRoomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
-            
-            // But when we check, it's actually full (race condition simulation)
-            when(gameRoomRepository.countPlayersByRoomId(1L)).thenReturn(GameRoomConstants.MAX_PLAYERS_PER_ROOM);
+            when(roomPlayerRepository.findByRoomIdAndUserId(1L, 1L)).thenReturn(Optional.of(roomPlayer));
+            when(roomPlayerRepository.findByRoom_Id(1L)).thenReturn(List.of());
+
+            // When
+            gameRoomService.leaveRoom(1L, 1L);
 
-            // When & Then - This should throw CustomException which demonstrates the edge case
-            assertThrows(CustomException.class, () -> {
-                gameRoomService.findOrCreatePublicRoom(1L);
+            // Then
+            verify(roomPlayerRepository).delete(roomPlayer);
+        }
+    }
+
+    @Nested
+    @DisplayName("Archived Chat Tests")
+    class ArchivedChatTests {
+
+        @Test
+        @DisplayName("Should continue the chat history from the archive after the live messages")
+        void getRoomChatMessages_ShouldAppendArchivedMessages() {
+            // Given
+            ChatMessage live = new ChatMessage();
+            live.setId(30L);
+            live.setSender(testUser);
+            live.setContent("rematch?");
+            live.setSentAt(LocalDateTime.of(2025, 6, 1, 10, 0));
+            ArchivedChatMessage older = new ArchivedChatMessage(10L, 1L, 1L, "hi", LocalDateTime.of(2025, 1, 1, 10, 0));
+            ArchivedChatMessage newer = new ArchivedChatMessage(20L, 1L, 1L, "gg", LocalDateTime.of(2025, 1, 1, 10, 5));
+            Pageable pageable = PageRequest.of(0, 3);
+
+            when(roomPlayerRepository.existsByRoomIdAndUserId(1L, 1L)).thenReturn(true);
+            when(gameRoomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
+            when(chatMessageRepository.findByRoomIdSinceOrderBySentAtDesc(eq(1L), any(), eq(pageable)))
+                    .thenReturn(new PageImpl<>(List.of(live), pageable, 1));
+            when(matchArchiveStore.countChatMessages(1L)).thenReturn(2L);
+            when(matchArchiveStore.findLatestChatMessages(1L, 0L, 2)).thenReturn(List.of(newer, older));
+            when(userRepository.findAllById(any())).thenReturn(List.of(testUser));
+            when(gameRoomMapper.mapToChatMessageResponse(any(ChatMessage.class))).thenAnswer(invocation -> {
+                ChatMessage message = invocation.getArgument(0);
+                return new ChatMessageResponse(message.getId(), null, message.getContent(), message.getSentAt());
+            });
+            when(gameRoomMapper.mapToChatMessageResponse(any(ArchivedChatMessage.class), eq(testUser))).thenAnswer(invocation -> {
+                ArchivedChatMessage message = invocation.getArgument(0);
+                return new ChatMessageResponse(message.getId(), mock(UserSummaryResponse.class),
+                        message.getContent(), message.getSentAt());
             });
 
-            verify(gameRoomRepository).findAvailablePublicRooms(eq(PageRequest.of(0, 1)));
-            // The method correctly uses pagination even when encountering edge cases
+            // When
+            Page<ChatMessageResponse> result = gameRoomService.getRoomChatMessages(1L, 1L, pageable);
+
+            // Then
+            assertEquals(3, result.getTotalElements());
+            assertEquals(List.of(30L, 20L, 10L), result.getContent().stream().map(ChatMessageResponse::getId).toList());
+        }
+
+        @Test
+        @DisplayName("Should count the archive without reading it while live messages fill the page")
+        void getRoomChatMessages_ShouldOnlyCountArchiveWhenPageIsLive() {
+            // Given
+            Pageable pageable = PageRequest.of(0, 1);
+            when(roomPlayerRepository.existsByRoomIdAndUserId(1L, 1L)).thenReturn(true);
+            when(gameRoomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
+            when(chatMessageRepository.findByRoomIdSinceOrderBySentAtDesc(eq(1L), any(), eq(pageable)))
+                    .thenReturn(new PageImpl<>(List.of(new ChatMessage()), pageable, 5));
+            when(gameRoomMapper.mapToChatMessageResponse(any(ChatMessage.class))).thenReturn(chatMessageResponse);
+            when(matchArchiveStore.countChatMessages(1L)).thenReturn(40L);
+
+            // When
+            Page<ChatMessageResponse> result = gameRoomService.getRoomChatMessages(1L, 1L, pageable);
+
+            // Then
+            assertEquals(45, result.getTotalElements());
+            verify(matchArchiveStore, never()).findLatestChatMessages(anyLong(), anyLong(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should not read the archive when the live messages fill the request")
+        void getLatestChatMessages_ShouldSkipArchiveWhenFull() {
+            // Given
+            when(roomPlayerRepository.existsByRoomIdAndUserId(1L, 1L)).thenReturn(true);
+            when(gameRoomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
+            when(chatMessageRepository.findLatestMessagesByRoomIdSince(eq(1L), any(), eq(1)))
+                    .thenReturn(List.of(new ChatMessage()));
+            when(gameRoomMapper.mapToChatMessageResponseList(anyList())).thenReturn(List.of(chatMessageResponse));
+
+            // When
+            List<ChatMessageResponse> result = gameRoomService.getLatestChatMessages(1L, 1L, 1);
+
+            // Then
+            assertEquals(1, result.size());
+            verifyNoInteractions(matchArchiveStore);
         }
     }
 
@@ -622,28 +752,5 @@ class GameRoomServiceTest {
             verify(gameRoomRepository).findActiveRoomsByUserId(eq(1L), eq(PageRequest.of(0, 1)));
             // Should not throw IncorrectResultSizeDataAccessException even if multiple rooms exist
         }
-
-        @Test
-        @DisplayName("Quick play should work correctly with paginated queries")
-        void quickPlay_ShouldWorkCorrectlyWithPaginatedQueries() {
-            // This test ensures quick-play API works correctly after pagination changes
-            
-            // Given
-            when(gameRoomRepository.existsActiveRoomByUserId(1L)).thenReturn(false);
-            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-            when(gameRoomRepository.findAvailablePublicRooms(any(PageRequest.class))).thenReturn(Arrays.asList(testRoom));
-            when(gameRoomRepository.findById(1L)).thenReturn(Optional.of(testRoom)); // Add this mock
-            when(gameRoomRepository.countPlayersByRoomId(1L)).thenReturn(1);
-            when(roomPlayerRepository.existsByRoomIdAndUserId(1L, 1L)).thenReturn(false);
-            when(gameRoomMapper.mapToGameRoomResponse(any(GameRoom.class), anyList())).thenReturn(gameRoomResponse);
-
-            // When
-            GameRoomResponse result = gameRoomService.findOrCreatePublicRoom(1L);
-
-            // Then
-            assertNotNull(result);
-            verify(gameRoomRepository).findAvailablePublicRooms(eq(PageRequest.of(0, 1)));
-            // This should work without database query errors
-        }
     }
 }
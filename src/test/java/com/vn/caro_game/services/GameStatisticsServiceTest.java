@@ -1,14 +1,25 @@
 package com.vn.caro_game.services;
 
+import com.vn.caro_game.dtos.LeaderboardEntry;
+import com.vn.caro_game.dtos.LeaderboardPosition;
 import com.vn.caro_game.dtos.response.GameReplayResponse;
 import com.vn.caro_game.dtos.response.GameStatisticsResponse;
 import com.vn.caro_game.dtos.response.GameHistorySummaryResponse;
+import com.vn.caro_game.dtos.response.PercentileBandResponse;
+import com.vn.caro_game.dtos.response.RankingResponse;
+import com.vn.caro_game.dtos.response.ReplayMoveChunkResponse;
+import com.vn.caro_game.dtos.response.ReplayPositionResponse;
 import com.vn.caro_game.entities.*;
 import com.vn.caro_game.enums.GameEndReason;
 import com.vn.caro_game.enums.GameResult;
 import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.integrations.archive.ArchivedMatch;
+import com.vn.caro_game.integrations.archive.ArchivedMove;
+import com.vn.caro_game.integrations.archive.MatchArchiveStore;
 import com.vn.caro_game.repositories.*;
 import com.vn.caro_game.services.impl.GameStatisticsServiceImpl;
+import com.vn.caro_game.services.interfaces.LeaderboardService;
+import com.vn.caro_game.utils.ThinkTimeSketch;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -20,6 +31,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -45,6 +57,18 @@ class GameStatisticsServiceTest {
     @Mock
     private GameRoomRepository gameRoomRepository;
 
+    @Mock
+    private MatchArchiveStore matchArchiveStore;
+
+    @Mock
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Mock
+    private PlayerThinkTimeRepository playerThinkTimeRepository;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
     @InjectMocks
     private GameStatisticsServiceImpl gameStatisticsService;
 
@@ -121,6 +145,15 @@ class GameStatisticsServiceTest {
         testMoves = Arrays.asList(move1, move2);
     }
 
+    private PlayerStats stats(long userId, long wins, long losses, long draws) {
+        PlayerStats stats = new PlayerStats();
+        stats.setUserId(userId);
+        stats.setWins(wins);
+        stats.setLosses(losses);
+        stats.setDraws(draws);
+        return stats;
+    }
+
     @Nested
     @DisplayName("getUserGameStatistics Tests")
     class GetUserGameStatisticsTests {
@@ -132,9 +165,14 @@ class GameStatisticsServiceTest {
             // Given
             Long userId = testUser1.getId();
             when(userRepository.findById(userId)).thenReturn(Optional.of(testUser1));
-            when(gameHistoryRepository.getWinCountByUserId(userId)).thenReturn(10L);
-            when(gameHistoryRepository.getLossCountByUserId(userId)).thenReturn(5L);
-            when(gameHistoryRepository.findByUserIdList(userId)).thenReturn(Arrays.asList(testHistory));
+            PlayerStats stats = stats(userId, 10L, 5L, 0L);
+            stats.setTimedGames(15L);
+            stats.setTotalDurationMinutes(300L);
+            stats.setShortestDurationMinutes(5L);
+            stats.setLongestDurationMinutes(40L);
+            stats.setCurrentWinStreak(2);
+            stats.setBestWinStreak(4);
+            when(playerStatsRepository.findById(userId)).thenReturn(Optional.of(stats));
 
             // When
             GameStatisticsResponse result = gameStatisticsService.getUserGameStatistics(userId);
@@ -144,9 +182,14 @@ class GameStatisticsServiceTest {
             assertEquals(userId, result.getUserId());
             assertEquals(10L, result.getTotalWins());
             assertEquals(5L, result.getTotalLosses());
+            assertEquals(15L, result.getTotalGamesPlayed());
             assertTrue(result.getWinRate() > 0);
-            verify(gameHistoryRepository).getWinCountByUserId(userId);
-            verify(gameHistoryRepository).getLossCountByUserId(userId);
+            assertEquals(20.0, result.getAverageGameDurationMinutes());
+            assertEquals(5L, result.getShortestGameDurationMinutes());
+            assertEquals(40L, result.getLongestGameDurationMinutes());
+            assertEquals(2, result.getCurrentWinStreak());
+            assertEquals(4, result.getBestWinStreak());
+            verifyNoInteractions(gameHistoryRepository);
         }
 
         @Test
@@ -156,9 +199,7 @@ class GameStatisticsServiceTest {
             // Given
             Long userId = testUser1.getId();
             when(userRepository.findById(userId)).thenReturn(Optional.of(testUser1));
-            when(gameHistoryRepository.getWinCountByUserId(userId)).thenReturn(0L);
-            when(gameHistoryRepository.getLossCountByUserId(userId)).thenReturn(0L);
-            when(gameHistoryRepository.findByUserIdList(userId)).thenReturn(Arrays.asList());
+            when(playerStatsRepository.findById(userId)).thenReturn(Optional.empty());
 
             // When
             GameStatisticsResponse result = gameStatisticsService.getUserGameStatistics(userId);
@@ -171,6 +212,35 @@ class GameStatisticsServiceTest {
             assertEquals(0.0, result.getWinRate());
         }
 
+        @Test
+        @Order(15)
+        @DisplayName("Should report think times from the player's think time row")
+        void shouldReportThinkTimes() {
+            // Given
+            Long userId = testUser1.getId();
+            when(userRepository.findById(userId)).thenReturn(Optional.of(testUser1));
+            when(playerStatsRepository.findById(userId)).thenReturn(Optional.of(stats(userId, 1L, 0L, 0L)));
+            ThinkTimeSketch sketch = new ThinkTimeSketch();
+            for (long millis = 1000; millis <= 10000; millis += 1000) {
+                sketch.add(millis);
+            }
+            PlayerThinkTime thinkTime = new PlayerThinkTime();
+            thinkTime.setUserId(userId);
+            thinkTime.setMoveCount(10L);
+            thinkTime.setTotalThinkMillis(55000L);
+            thinkTime.setSketch(sketch.toBytes());
+            when(playerThinkTimeRepository.findById(userId)).thenReturn(Optional.of(thinkTime));
+
+            // When
+            GameStatisticsResponse result = gameStatisticsService.getUserGameStatistics(userId);
+
+            // Then
+            assertEquals(5.5, result.getAverageThinkTimeSeconds());
+            assertEquals(5.0, result.getMedianThinkTimeSeconds(), 0.3);
+            assertEquals(9.0, result.getP90ThinkTimeSeconds(), 0.5);
+            verifyNoInteractions(moveRepository);
+        }
+
         @Test
         @Order(3)
         @DisplayName("Should throw exception for non-existent user")
@@ -199,8 +269,9 @@ class GameStatisticsServiceTest {
             
             when(gameHistoryRepository.findById(gameHistoryId)).thenReturn(Optional.of(testHistory));
             when(gameRoomRepository.findById(testRoom.getId())).thenReturn(Optional.of(testRoom));
-            when(gameMatchRepository.findByRoomId(testRoom.getId())).thenReturn(Arrays.asList(testMatch));
-            when(moveRepository.findByMatchIdOrderByMoveNumberAsc(testMatch.getId())).thenReturn(testMoves);
+            when(gameMatchRepository.findHistoryMatches(eq(testRoom.getId()), any(LocalDateTime.class), any(Pageable.class)))
+                    .thenReturn(Arrays.asList(testMatch));
+            when(moveRepository.findByMatchOrderByMoveNumber(testMatch)).thenReturn(testMoves);
 
             // When
             GameReplayResponse result = gameStatisticsService.getGameReplay(gameHistoryId, userId);
@@ -216,6 +287,27 @@ class GameStatisticsServiceTest {
             assertEquals(testUser2.getId(), result.getPlayerO().getPlayerId());
         }
 
+        @Test
+        @Order(16)
+        @DisplayName("Should average think time per side from the match totals")
+        void shouldAverageThinkTimeFromMatchTotals() {
+            // Given
+            testMatch.setPlayerXThinkMillis(4000L);
+            testMatch.setPlayerOThinkMillis(null);
+            when(gameHistoryRepository.findById(testHistory.getId())).thenReturn(Optional.of(testHistory));
+            when(gameRoomRepository.findById(testRoom.getId())).thenReturn(Optional.of(testRoom));
+            when(gameMatchRepository.findHistoryMatches(eq(testRoom.getId()), any(LocalDateTime.class), any(Pageable.class)))
+                    .thenReturn(Arrays.asList(testMatch));
+            when(moveRepository.findByMatchOrderByMoveNumber(testMatch)).thenReturn(testMoves);
+
+            // When
+            GameReplayResponse result = gameStatisticsService.getGameReplay(testHistory.getId(), testUser1.getId());
+
+            // Then
+            assertEquals(4.0, result.getPlayerX().getAverageMoveTime());
+            assertNull(result.getPlayerO().getAverageMoveTime());
+        }
+
         @Test
         @Order(5)
         @DisplayName("Should throw exception for unauthorized access")
@@ -247,6 +339,215 @@ class GameStatisticsServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Replay Streaming Tests")
+    class ReplayStreamingTests {
+
+        private List<Move> buildLongGame(int moveCount) {
+            List<Move> moves = new ArrayList<>();
+            for (int i = 1; i <= moveCount; i++) {
+                Move move = new Move();
+                move.setId((long) i);
+                move.setMatch(testMatch);
+                move.setPlayer(i % 2 == 1 ? testUser1 : testUser2);
+                move.setXPosition((i - 1) / 15);
+                move.setYPosition((i - 1) % 15);
+                move.setMoveNumber(i);
+                moves.add(move);
+            }
+            return moves;
+        }
+
+        @Test
+        @DisplayName("Should return a chunk of moves with next cursor")
+        void shouldReturnChunkOfMovesWithNextCursor() {
+            // Given
+            List<Move> moves = buildLongGame(40);
+            when(gameHistoryRepository.findById(testHistory.getId())).thenReturn(Optional.of(testHistory));
+            when(gameMatchRepository.findHistoryMatches(eq(testRoom.getId()), any(LocalDateTime.class), any(Pageable.class)))
+                    .thenReturn(Arrays.asList(testMatch));
+            when(moveRepository.countByMatch(testMatch)).thenReturn(40);
+            when(moveRepository.findMoveRange(testMatch, 11, 20)).thenReturn(moves.subList(10, 20));
+
+            // When
+            ReplayMoveChunkResponse result = gameStatisticsService.getGameReplayMoves(
+                    testHistory.getId(), testUser1.getId(), 11, 10);
+
+            // Then
+            assertEquals(40, result.getTotalMoves());
+            assertEquals(11, result.getFromMove());
+            assertEquals(20, result.getToMove());
+            assertTrue(result.getHasMore());
+            assertEquals(21, result.getNextFromMove());
+            assertEquals(10, result.getMoves().size());
+            assertEquals(11, result.getMoves().get(0).getMoveNumber());
+        }
+
+        @Test
+        @DisplayName("Should finish stream on last chunk")
+        void shouldFinishStreamOnLastChunk() {
+            // Given
+            List<Move> moves = buildLongGame(40);
+            when(gameHistoryRepository.findById(testHistory.getId())).thenReturn(Optional.of(testHistory));
+            when(gameMatchRepository.findHistoryMatches(eq(testRoom.getId()), any(LocalDateTime.class), any(Pageable.class)))
+                    .thenReturn(Arrays.asList(testMatch));
+            when(moveRepository.countByMatch(testMatch)).thenReturn(40);
+            when(moveRepository.findMoveRange(testMatch, 31, 40)).thenReturn(moves.subList(30, 40));
+
+            // When
+            ReplayMoveChunkResponse result = gameStatisticsService.getGameReplayMoves(
+                    testHistory.getId(), testUser1.getId(), 31, 50);
+
+            // Then
+            assertEquals(40, result.getToMove());
+            assertFalse(result.getHasMore());
+            assertNull(result.getNextFromMove());
+        }
+
+        @Test
+        @DisplayName("Should reject chunk request for non-participant")
+        void shouldRejectChunkForNonParticipant() {
+            // Given
+            when(gameHistoryRepository.findById(testHistory.getId())).thenReturn(Optional.of(testHistory));
+
+            // When & Then
+            assertThrows(CustomException.class, () ->
+                gameStatisticsService.getGameReplayMoves(testHistory.getId(), 999L, 1, 10));
+            verifyNoInteractions(moveRepository);
+        }
+
+        @Test
+        @DisplayName("Should seek to move from nearest keyframe")
+        void shouldSeekToMoveFromNearestKeyframe() {
+            // Given
+            List<Move> moves = buildLongGame(40);
+            when(gameHistoryRepository.findById(testHistory.getId())).thenReturn(Optional.of(testHistory));
+            when(gameMatchRepository.findHistoryMatches(eq(testRoom.getId()), any(LocalDateTime.class), any(Pageable.class)))
+                    .thenReturn(Arrays.asList(testMatch));
+            when(moveRepository.findByMatchOrderByMoveNumber(testMatch)).thenReturn(moves);
+            when(moveRepository.findMoveRange(testMatch, 33, 37)).thenReturn(moves.subList(32, 37));
+
+            // When
+            ReplayPositionResponse result = gameStatisticsService.getGameReplayPosition(
+                    testHistory.getId(), testUser1.getId(), 37);
+
+            // Then
+            assertEquals(37, result.getMoveNumber());
+            assertEquals(32, result.getKeyframeMoveNumber());
+            assertEquals(40, result.getTotalMoves());
+            assertEquals(37, result.getLastMove().getMoveNumber());
+            int[][] board = result.getBoard();
+            for (Move move : moves) {
+                int expected = move.getMoveNumber() <= 37 ? (move.getMoveNumber() % 2 == 1 ? 1 : 2) : 0;
+                assertEquals(expected, board[move.getXPosition()][move.getYPosition()]);
+            }
+        }
+
+        @Test
+        @DisplayName("Should reuse cached keyframes on subsequent seeks")
+        void shouldReuseCachedKeyframes() {
+            // Given
+            List<Move> moves = buildLongGame(40);
+            when(gameHistoryRepository.findById(testHistory.getId())).thenReturn(Optional.of(testHistory));
+            when(gameMatchRepository.findHistoryMatches(eq(testRoom.getId()), any(LocalDateTime.class), any(Pageable.class)))
+                    .thenReturn(Arrays.asList(testMatch));
+            when(moveRepository.findByMatchOrderByMoveNumber(testMatch)).thenReturn(moves);
+            when(moveRepository.findMoveRange(testMatch, 16, 16)).thenReturn(moves.subList(15, 16));
+
+            // When
+            gameStatisticsService.getGameReplayPosition(testHistory.getId(), testUser1.getId(), 16);
+            ReplayPositionResponse result = gameStatisticsService.getGameReplayPosition(
+                    testHistory.getId(), testUser1.getId(), 16);
+
+            // Then
+            assertEquals(16, result.getKeyframeMoveNumber());
+            assertEquals(16, result.getLastMove().getMoveNumber());
+            verify(moveRepository, times(1)).findByMatchOrderByMoveNumber(testMatch);
+        }
+
+        @Test
+        @DisplayName("Should not cache keyframes of a match still in progress")
+        void shouldNotCacheOngoingMatch() {
+            // Given
+            testMatch.setResult(GameResult.ONGOING);
+            List<Move> moves = buildLongGame(20);
+            when(gameHistoryRepository.findById(testHistory.getId())).thenReturn(Optional.of(testHistory));
+            when(gameMatchRepository.findHistoryMatches(eq(testRoom.getId()), any(LocalDateTime.class), any(Pageable.class)))
+                    .thenReturn(Arrays.asList(testMatch));
+            when(moveRepository.findByMatchOrderByMoveNumber(testMatch)).thenReturn(moves);
+            when(moveRepository.findMoveRange(testMatch, 16, 16)).thenReturn(moves.subList(15, 16));
+
+            // When
+            gameStatisticsService.getGameReplayPosition(testHistory.getId(), testUser1.getId(), 16);
+            gameStatisticsService.getGameReplayPosition(testHistory.getId(), testUser1.getId(), 16);
+
+            // Then
+            verify(moveRepository, times(2)).findByMatchOrderByMoveNumber(testMatch);
+        }
+
+        @Test
+        @DisplayName("Should look up the match by the time the game ended")
+        void shouldResolveMatchOfHistory() {
+            // Given
+            when(gameHistoryRepository.findById(testHistory.getId())).thenReturn(Optional.of(testHistory));
+            when(gameMatchRepository.findHistoryMatches(testRoom.getId(), testHistory.getGameEndedAt(), PageRequest.of(0, 1)))
+                    .thenReturn(Arrays.asList(testMatch));
+            when(moveRepository.findByMatchOrderByMoveNumber(testMatch)).thenReturn(buildLongGame(20));
+            when(moveRepository.findMoveRange(testMatch, 16, 16)).thenReturn(buildLongGame(20).subList(15, 16));
+
+            // When
+            ReplayPositionResponse result = gameStatisticsService.getGameReplayPosition(
+                    testHistory.getId(), testUser1.getId(), 16);
+
+            // Then
+            assertEquals(20, result.getTotalMoves());
+            verify(gameMatchRepository, never()).findByRoomId(anyLong());
+        }
+
+        @Test
+        @DisplayName("Should replay archived match when moves were moved to cold storage")
+        void shouldReplayArchivedMatch() {
+            // Given
+            ArchivedMatch archived = ArchivedMatch.builder()
+                    .matchId(testMatch.getId())
+                    .moves(List.of(
+                            new ArchivedMove(1L, 1, 7, 7, testUser1.getId(), null),
+                            new ArchivedMove(2L, 2, 8, 8, testUser2.getId(), null)))
+                    .build();
+            when(gameHistoryRepository.findById(testHistory.getId())).thenReturn(Optional.of(testHistory));
+            when(gameMatchRepository.findHistoryMatches(eq(testRoom.getId()), any(LocalDateTime.class), any(Pageable.class)))
+                    .thenReturn(Arrays.asList(testMatch));
+            when(moveRepository.countByMatch(testMatch)).thenReturn(0);
+            when(moveRepository.findMoveRange(testMatch, 2, 2)).thenReturn(List.of());
+            when(matchArchiveStore.findMatch(testMatch.getId())).thenReturn(Optional.of(archived));
+            when(matchArchiveStore.containsMatch(testMatch.getId())).thenReturn(true);
+
+            // When
+            ReplayMoveChunkResponse result = gameStatisticsService.getGameReplayMoves(
+                    testHistory.getId(), testUser1.getId(), 2, 10);
+
+            // Then
+            assertEquals(2, result.getTotalMoves());
+            assertEquals(1, result.getMoves().size());
+            assertEquals("O", result.getMoves().get(0).getPlayerSymbol());
+            assertEquals(testUser2.getUsername(), result.getMoves().get(0).getPlayerName());
+        }
+
+        @Test
+        @DisplayName("Should reject seek beyond last move")
+        void shouldRejectSeekBeyondLastMove() {
+            // Given
+            when(gameHistoryRepository.findById(testHistory.getId())).thenReturn(Optional.of(testHistory));
+            when(gameMatchRepository.findHistoryMatches(eq(testRoom.getId()), any(LocalDateTime.class), any(Pageable.class)))
+                    .thenReturn(Arrays.asList(testMatch));
+            when(moveRepository.findByMatchOrderByMoveNumber(testMatch)).thenReturn(testMoves);
+
+            // When & Then
+            assertThrows(CustomException.class, () ->
+                gameStatisticsService.getGameReplayPosition(testHistory.getId(), testUser1.getId(), 3));
+        }
+    }
+
     @Nested
     @DisplayName("getUserGameReplays Tests")
     class GetUserGameReplaysTests {
@@ -307,18 +608,12 @@ class GameStatisticsServiceTest {
             // Given
             int limit = 10;
             Pageable pageable = PageRequest.of(0, limit);
-            when(userRepository.findUsersWithGameHistory()).thenReturn(Arrays.asList(testUser1, testUser2));
-            
-            // Mock getUserGameStatistics calls
-            when(gameHistoryRepository.getWinCountByUserId(testUser1.getId())).thenReturn(10L);
-            when(gameHistoryRepository.getLossCountByUserId(testUser1.getId())).thenReturn(5L);
-            when(gameHistoryRepository.findByUserIdList(testUser1.getId())).thenReturn(Arrays.asList());
-            when(userRepository.findById(testUser1.getId())).thenReturn(Optional.of(testUser1));
-            
-            when(gameHistoryRepository.getWinCountByUserId(testUser2.getId())).thenReturn(3L);
-            when(gameHistoryRepository.getLossCountByUserId(testUser2.getId())).thenReturn(2L);
-            when(gameHistoryRepository.findByUserIdList(testUser2.getId())).thenReturn(Arrays.asList());
-            when(userRepository.findById(testUser2.getId())).thenReturn(Optional.of(testUser2));
+            when(leaderboardService.size()).thenReturn(2);
+            when(leaderboardService.getRange(0, 2)).thenReturn(List.of(
+                    new LeaderboardEntry(1L, 10L, 15L, 1L), new LeaderboardEntry(2L, 3L, 5L, 1L)));
+            when(userRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(testUser2, testUser1));
+            when(playerStatsRepository.findAllById(List.of(1L, 2L)))
+                    .thenReturn(List.of(stats(1L, 10L, 5L, 0L), stats(2L, 3L, 2L, 0L)));
 
             // When
             Page<GameStatisticsResponse> result = gameStatisticsService.getTopPlayersByWinRate(limit, pageable);
@@ -331,7 +626,9 @@ class GameStatisticsServiceTest {
             // Verify ordering by win rate
             GameStatisticsResponse firstUser = result.getContent().get(0);
             GameStatisticsResponse secondUser = result.getContent().get(1);
+            assertEquals(1L, firstUser.getUserId());
             assertTrue(firstUser.getWinRate() >= secondUser.getWinRate());
+            verify(gameHistoryRepository, never()).findByUserIdList(anyLong());
         }
 
         @Test
@@ -341,7 +638,7 @@ class GameStatisticsServiceTest {
             // Given
             int limit = 10;
             Pageable pageable = PageRequest.of(0, limit);
-            when(userRepository.findUsersWithGameHistory()).thenReturn(Arrays.asList());
+            when(leaderboardService.size()).thenReturn(0);
 
             // When
             Page<GameStatisticsResponse> result = gameStatisticsService.getTopPlayersByWinRate(limit, pageable);
@@ -364,15 +661,13 @@ class GameStatisticsServiceTest {
             // Given
             Long userId = testUser1.getId();
             when(userRepository.findById(userId)).thenReturn(Optional.of(testUser1));
-            when(gameHistoryRepository.getWinCountByUserId(userId)).thenReturn(10L);
-            when(gameHistoryRepository.getLossCountByUserId(userId)).thenReturn(5L);
+            when(leaderboardService.getRank(userId)).thenReturn(3L);
 
             // When
             Long result = gameStatisticsService.getUserRanking(userId);
 
             // Then
-            assertNotNull(result);
-            assertTrue(result >= 1L); // Ranking should be at least 1
+            assertEquals(3L, result);
         }
 
         @Test
@@ -387,6 +682,46 @@ class GameStatisticsServiceTest {
             assertThrows(CustomException.class, () -> 
                 gameStatisticsService.getUserRanking(userId));
         }
+
+        @Test
+        @Order(12)
+        @DisplayName("Should give the percentile and narrowest band of a ranked user")
+        void shouldGetUserRankingDetails() {
+            // Given
+            Long userId = testUser1.getId();
+            when(userRepository.findById(userId)).thenReturn(Optional.of(testUser1));
+            when(leaderboardService.getPosition(userId)).thenReturn(new LeaderboardPosition(8L, 200));
+
+            // When
+            RankingResponse result = gameStatisticsService.getUserRankingDetails(userId);
+
+            // Then - 8th of 200 is inside the top 5%
+            assertEquals(8L, result.getRank());
+            assertEquals(200, result.getTotalRanked());
+            assertEquals(96.0, result.getPercentile());
+            assertEquals("Top 5%", result.getBand());
+        }
+
+        @Test
+        @Order(12)
+        @DisplayName("Should give the last position and win rate of each percentile band")
+        void shouldGetPercentileBands() {
+            // Given
+            when(leaderboardService.size()).thenReturn(200);
+            when(leaderboardService.getRange(anyInt(), eq(1)))
+                    .thenAnswer(invocation -> List.of(new LeaderboardEntry(9L, 200L - (int) invocation.getArgument(0),
+                            200L, 1L)));
+
+            // When
+            List<PercentileBandResponse> bands = gameStatisticsService.getPercentileBands();
+
+            // Then
+            assertEquals(List.of("Top 1%", "Top 5%", "Top 10%", "Top 25%", "Top 50%", "All players"),
+                    bands.stream().map(PercentileBandResponse::getBand).toList());
+            assertEquals(20L, bands.get(2).getLastRank());
+            assertEquals(90.5, bands.get(2).getMinWinRate());
+            verify(leaderboardService).getRange(199, 1);
+        }
     }
 
     @Nested
@@ -403,8 +738,9 @@ class GameStatisticsServiceTest {
             
             when(gameHistoryRepository.findById(gameHistoryId)).thenReturn(Optional.of(testHistory));
             when(gameRoomRepository.findById(testRoom.getId())).thenReturn(Optional.of(testRoom));
-            when(gameMatchRepository.findByRoomId(testRoom.getId())).thenReturn(Arrays.asList(testMatch));
-            when(moveRepository.findByMatchIdOrderByMoveNumberAsc(testMatch.getId())).thenReturn(Arrays.asList());
+            when(gameMatchRepository.findHistoryMatches(eq(testRoom.getId()), any(LocalDateTime.class), any(Pageable.class)))
+                    .thenReturn(Arrays.asList(testMatch));
+            when(moveRepository.findByMatchOrderByMoveNumber(testMatch)).thenReturn(Arrays.asList());
 
             // When
             GameReplayResponse result = gameStatisticsService.getGameReplay(gameHistoryId, userId);
@@ -421,19 +757,8 @@ class GameStatisticsServiceTest {
         void shouldHandleDrawGamesInStatistics() {
             // Given
             Long userId = testUser1.getId();
-            GameHistory drawHistory = new GameHistory();
-            drawHistory.setId(2L);
-            drawHistory.setRoomId(testRoom.getId());
-            drawHistory.setWinnerId(null);
-            drawHistory.setLoserId(null);
-            drawHistory.setEndReason(GameEndReason.WIN);
-            drawHistory.setGameStartedAt(LocalDateTime.now().minusMinutes(30));
-            drawHistory.setGameEndedAt(LocalDateTime.now());
-
             when(userRepository.findById(userId)).thenReturn(Optional.of(testUser1));
-            when(gameHistoryRepository.getWinCountByUserId(userId)).thenReturn(10L);
-            when(gameHistoryRepository.getLossCountByUserId(userId)).thenReturn(5L);
-            when(gameHistoryRepository.findByUserIdList(userId)).thenReturn(Arrays.asList(testHistory, drawHistory));
+            when(playerStatsRepository.findById(userId)).thenReturn(Optional.of(stats(userId, 10L, 5L, 5L)));
 
             // When
             GameStatisticsResponse result = gameStatisticsService.getUserGameStatistics(userId);
@@ -443,7 +768,8 @@ class GameStatisticsServiceTest {
             assertEquals(userId, result.getUserId());
             assertEquals(10L, result.getTotalWins());
             assertEquals(5L, result.getTotalLosses());
-            assertTrue(result.getTotalDraws() >= 0);
+            assertEquals(5L, result.getTotalDraws());
+            assertEquals(25.0, result.getDrawRate());
         }
     }
 }
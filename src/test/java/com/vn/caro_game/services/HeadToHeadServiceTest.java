@@ -0,0 +1,174 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.dtos.response.HeadToHeadResponse;
+import com.vn.caro_game.entities.GameHistory;
+import com.vn.caro_game.entities.HeadToHead;
+import com.vn.caro_game.entities.HeadToHead.HeadToHeadId;
+import com.vn.caro_game.events.GameCompletedEvent;
+import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.repositories.GameHistoryRepository;
+import com.vn.caro_game.repositories.GameMatchRepository;
+import com.vn.caro_game.repositories.HeadToHeadRepository;
+import com.vn.caro_game.services.impl.HeadToHeadServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for HeadToHeadService
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Head-to-Head Service Tests")
+class HeadToHeadServiceTest {
+
+    @Mock
+    private HeadToHeadRepository headToHeadRepository;
+
+    @Mock
+    private GameHistoryRepository gameHistoryRepository;
+
+    @Mock
+    private GameMatchRepository gameMatchRepository;
+
+    @InjectMocks
+    private HeadToHeadServiceImpl headToHeadService;
+
+    private final LocalDateTime endedAt = LocalDateTime.of(2025, 8, 1, 12, 0);
+
+    private GameHistory history(long id, Long winnerId, Long loserId) {
+        GameHistory history = new GameHistory();
+        history.setId(id);
+        history.setRoomId(100L + id);
+        history.setWinnerId(winnerId);
+        history.setLoserId(loserId);
+        history.setGameEndedAt(endedAt.plusMinutes(id));
+        return history;
+    }
+
+    private HeadToHead stored(long lowPlayerWins, long highPlayerWins, long draws, long lastGameHistoryId) {
+        HeadToHead record = new HeadToHead();
+        record.setId(new HeadToHeadId(1L, 2L));
+        record.setLowPlayerWins(lowPlayerWins);
+        record.setHighPlayerWins(highPlayerWins);
+        record.setDraws(draws);
+        record.setLastGameHistoryId(lastGameHistoryId);
+        return record;
+    }
+
+    @Test
+    @DisplayName("Should count a win for the higher ID under the ordered pair key")
+    void shouldRecordDecidedGame() {
+        // Given
+        HeadToHead record = stored(3L, 1L, 0L, 5L);
+        when(headToHeadRepository.findByIdForUpdate(new HeadToHeadId(1L, 2L))).thenReturn(Optional.of(record));
+
+        // When
+        headToHeadService.recordGame(GameCompletedEvent.decided(history(6L, 2L, 1L)));
+
+        // Then
+        verify(headToHeadRepository).save(record);
+        assertEquals(3L, record.getLowPlayerWins());
+        assertEquals(2L, record.getHighPlayerWins());
+        assertEquals(6L, record.getLastGameHistoryId());
+        assertEquals(endedAt.plusMinutes(6), record.getLastGameAt());
+    }
+
+    @Test
+    @DisplayName("Should not count the same game twice")
+    void shouldSkipCountedGame() {
+        // Given
+        when(headToHeadRepository.findByIdForUpdate(new HeadToHeadId(1L, 2L)))
+                .thenReturn(Optional.of(stored(3L, 1L, 0L, 6L)));
+
+        // When
+        headToHeadService.recordGame(GameCompletedEvent.draw(history(6L, null, null), 1L, 2L));
+
+        // Then
+        verify(headToHeadRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should serve the record from each player's side and cache it")
+    void shouldServeRecordFromCache() {
+        // Given
+        when(headToHeadRepository.findById(new HeadToHeadId(1L, 2L)))
+                .thenReturn(Optional.of(stored(3L, 1L, 2L, 6L)));
+
+        // When
+        HeadToHeadResponse low = headToHeadService.getRecord(1L, 2L);
+        HeadToHeadResponse high = headToHeadService.getRecord(2L, 1L);
+
+        // Then
+        assertEquals(3L, low.getWins());
+        assertEquals(1L, low.getLosses());
+        assertEquals(6L, low.getTotalGames());
+        assertEquals(2L, high.getPlayerId());
+        assertEquals(1L, high.getWins());
+        assertEquals(3L, high.getLosses());
+        assertEquals(2L, high.getDraws());
+        verify(headToHeadRepository, times(1)).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should never replace a cached record with an older read")
+    void shouldKeepNewerCachedRecord() {
+        // Given
+        when(headToHeadRepository.findById(new HeadToHeadId(1L, 2L)))
+                .thenReturn(Optional.of(stored(4L, 1L, 0L, 7L)), Optional.of(stored(3L, 1L, 0L, 6L)));
+
+        // When
+        headToHeadService.onGameCompleted(GameCompletedEvent.decided(history(7L, 1L, 2L)));
+        headToHeadService.onGameCompleted(GameCompletedEvent.decided(history(6L, 1L, 2L)));
+        HeadToHeadResponse record = headToHeadService.getRecord(1L, 2L);
+
+        // Then
+        assertEquals(4L, record.getWins());
+    }
+
+    @Test
+    @DisplayName("Should reject a record against oneself")
+    void shouldRejectSamePlayer() {
+        assertThrows(CustomException.class, () -> headToHeadService.getRecord(1L, 1L));
+        verifyNoInteractions(headToHeadRepository);
+    }
+
+    @Test
+    @DisplayName("Should build pair records from decided and drawn games")
+    void shouldComputeFromHistory() {
+        // Given
+        when(gameHistoryRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(List.of(history(1L, 1L, 2L), history(2L, 2L, 1L), history(3L, null, null)));
+        when(gameHistoryRepository.findByIdGreaterThanOrderByIdAsc(eq(3L), any())).thenReturn(List.of());
+        List<Object[]> drawPlayers = new ArrayList<>();
+        drawPlayers.add(new Object[]{2L, 1L});
+        when(gameMatchRepository.findDrawPlayerIds(eq(103L), any())).thenReturn(drawPlayers);
+
+        // When
+        Collection<HeadToHead> records = headToHeadService.computeFromHistory(100);
+
+        // Then
+        assertEquals(1, records.size());
+        HeadToHead record = records.iterator().next();
+        assertEquals(1L, record.getId().getLowPlayerId());
+        assertEquals(1L, record.getLowPlayerWins());
+        assertEquals(1L, record.getHighPlayerWins());
+        assertEquals(1L, record.getDraws());
+        assertEquals(3L, record.getLastGameHistoryId());
+    }
+}
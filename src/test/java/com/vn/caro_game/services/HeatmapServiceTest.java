@@ -0,0 +1,158 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.dtos.HeatmapMove;
+import com.vn.caro_game.dtos.response.HeatmapResponse;
+import com.vn.caro_game.entities.PlayerHeatmap;
+import com.vn.caro_game.enums.HeatmapSlice;
+import com.vn.caro_game.enums.RoomEventType;
+import com.vn.caro_game.events.RoomEvent;
+import com.vn.caro_game.repositories.MoveRepository;
+import com.vn.caro_game.repositories.PlayerHeatmapRepository;
+import com.vn.caro_game.services.impl.HeatmapServiceImpl;
+import com.vn.caro_game.utils.BoardHeatmap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for HeatmapService
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Heatmap Service Tests")
+class HeatmapServiceTest {
+
+    @Mock
+    private PlayerHeatmapRepository playerHeatmapRepository;
+
+    @Mock
+    private MoveRepository moveRepository;
+
+    @InjectMocks
+    private HeatmapServiceImpl heatmapService;
+
+    private PlayerHeatmap stored(Long userId, BoardHeatmap heatmap) {
+        PlayerHeatmap row = new PlayerHeatmap();
+        row.setUserId(userId);
+        row.setCounts(heatmap.toBytes());
+        row.setMoveCount(heatmap.getTotal());
+        return row;
+    }
+
+    @Test
+    @DisplayName("Should count accepted moves in memory and add them to the stored row on write")
+    void shouldWritePendingMoves() {
+        // Given
+        BoardHeatmap existing = new BoardHeatmap();
+        existing.add(1, 7, 7);
+        PlayerHeatmap row = stored(1L, existing);
+        when(playerHeatmapRepository.findByUserIdForUpdate(1L)).thenReturn(Optional.of(row));
+        heatmapService.onRoomEvent(RoomEvent.moveMade(10L, 20L, 1L, 7, 7, 3));
+        heatmapService.onRoomEvent(RoomEvent.moveMade(10L, 20L, 1L, 7, 8, 5));
+        heatmapService.onRoomEvent(RoomEvent.of(RoomEventType.GAME_STARTED, 10L, 1L));
+
+        // When
+        Map<Long, BoardHeatmap> pending = heatmapService.drainPending();
+        heatmapService.writePending(pending);
+
+        // Then
+        InOrder inOrder = inOrder(playerHeatmapRepository);
+        inOrder.verify(playerHeatmapRepository).insertIfAbsent(1L);
+        inOrder.verify(playerHeatmapRepository).findByUserIdForUpdate(1L);
+        inOrder.verify(playerHeatmapRepository).save(row);
+        assertEquals(3L, row.getMoveCount());
+        BoardHeatmap written = BoardHeatmap.fromBytes(row.getCounts());
+        assertEquals(2, written.getCount(HeatmapSlice.X_OPENING, 7, 7));
+        assertEquals(1, written.getCount(HeatmapSlice.X_OPENING, 7, 8));
+        assertTrue(heatmapService.drainPending().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should serve the stored heatmap plus unwritten moves without reading moves")
+    void shouldServeHeatmapWithPendingMoves() {
+        // Given
+        BoardHeatmap existing = new BoardHeatmap();
+        existing.add(2, 6, 6);
+        when(playerHeatmapRepository.findById(1L)).thenReturn(Optional.of(stored(1L, existing)));
+        heatmapService.onRoomEvent(RoomEvent.moveMade(10L, 20L, 1L, 7, 7, 12));
+
+        // When
+        HeatmapResponse response = heatmapService.getHeatmap(1L);
+
+        // Then
+        assertEquals(2L, response.getTotalMoves());
+        assertEquals(1L, response.getMoves().get(HeatmapSlice.O_OPENING));
+        assertEquals(1, response.getCells().get(HeatmapSlice.O_OPENING)[6][6]);
+        assertEquals(1, response.getCells().get(HeatmapSlice.O_MIDDLEGAME)[7][7]);
+        verifyNoInteractions(moveRepository);
+    }
+
+    @Test
+    @DisplayName("Should keep restored counts for the next write")
+    void shouldRestoreFailedWrite() {
+        // Given
+        heatmapService.onRoomEvent(RoomEvent.moveMade(10L, 20L, 1L, 7, 7, 1));
+        Map<Long, BoardHeatmap> pending = heatmapService.drainPending();
+        heatmapService.onRoomEvent(RoomEvent.moveMade(10L, 20L, 1L, 8, 8, 3));
+
+        // When
+        heatmapService.restore(pending);
+
+        // Then
+        BoardHeatmap restored = heatmapService.drainPending().get(1L);
+        assertEquals(2L, restored.getTotal());
+    }
+
+    @Test
+    @DisplayName("Should count a range of moves a page at a time")
+    void shouldComputeFromMoves() {
+        // Given
+        when(moveRepository.findHeatmapMoves(eq(0L), eq(100L), any())).thenReturn(List.of(
+                new HeatmapMove(1L, 1L, 7, 7, 1), new HeatmapMove(2L, 2L, 7, 8, 2)));
+        when(moveRepository.findHeatmapMoves(eq(2L), eq(100L), any())).thenReturn(List.of(
+                new HeatmapMove(3L, 1L, 15, 0, 3)));
+        when(moveRepository.findHeatmapMoves(eq(3L), eq(100L), any())).thenReturn(List.of());
+
+        // When
+        Map<Long, BoardHeatmap> heatmaps = heatmapService.computeFromMoves(0L, 100L, 2);
+
+        // Then
+        assertEquals(2, heatmaps.size());
+        assertEquals(1L, heatmaps.get(1L).getTotal());
+        assertEquals(1, heatmaps.get(2L).getCount(HeatmapSlice.O_OPENING, 7, 8));
+    }
+
+    @Test
+    @DisplayName("Should replace every stored heatmap")
+    @SuppressWarnings("unchecked")
+    void shouldReplaceAll() {
+        // Given
+        BoardHeatmap heatmap = new BoardHeatmap();
+        heatmap.add(1, 7, 7);
+
+        // When
+        heatmapService.replaceAll(Map.of(1L, heatmap));
+
+        // Then
+        ArgumentCaptor<List<PlayerHeatmap>> rows = ArgumentCaptor.forClass(List.class);
+        verify(playerHeatmapRepository).deleteAllInBatch();
+        verify(playerHeatmapRepository).saveAll(rows.capture());
+        assertEquals(1, rows.getValue().size());
+        assertEquals(1L, rows.getValue().get(0).getMoveCount());
+    }
+}
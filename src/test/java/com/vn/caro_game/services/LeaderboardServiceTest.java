@@ -0,0 +1,116 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.dtos.LeaderboardEntry;
+import com.vn.caro_game.entities.GameHistory;
+import com.vn.caro_game.events.GameCompletedEvent;
+import com.vn.caro_game.repositories.PlayerStatsRepository;
+import com.vn.caro_game.services.impl.LeaderboardServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LeaderboardService
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Leaderboard Service Tests")
+class LeaderboardServiceTest {
+
+    @Mock
+    private PlayerStatsRepository playerStatsRepository;
+
+    @InjectMocks
+    private LeaderboardServiceImpl leaderboardService;
+
+    private GameCompletedEvent decided(long historyId, long winnerId, long loserId) {
+        GameHistory history = new GameHistory();
+        history.setId(historyId);
+        history.setWinnerId(winnerId);
+        history.setLoserId(loserId);
+        return GameCompletedEvent.decided(history);
+    }
+
+    private List<Long> userIds(List<LeaderboardEntry> entries) {
+        return entries.stream().map(LeaderboardEntry::userId).toList();
+    }
+
+    @Test
+    @DisplayName("Should order by win rate, then games played, then user ID")
+    void shouldOrderByWinRate() {
+        // Given
+        when(playerStatsRepository.findLeaderboardEntries(anyLong())).thenReturn(List.of(
+                new LeaderboardEntry(1L, 5L, 10L, 1L),
+                new LeaderboardEntry(2L, 8L, 10L, 1L),
+                new LeaderboardEntry(3L, 10L, 20L, 1L),
+                new LeaderboardEntry(4L, 3L, 6L, 1L)));
+
+        // When
+        leaderboardService.reload();
+
+        // Then
+        assertEquals(List.of(2L, 3L, 1L, 4L), userIds(leaderboardService.getRange(0, 10)));
+        assertEquals(List.of(1L, 4L), userIds(leaderboardService.getRange(2, 2)));
+        assertEquals(3L, leaderboardService.getRank(1L));
+        assertNull(leaderboardService.getRank(9L));
+    }
+
+    @Test
+    @DisplayName("Should move players when their games commit and ignore older figures")
+    void shouldMovePlayersOnGameCompleted() {
+        // Given
+        when(playerStatsRepository.findLeaderboardEntries(anyLong())).thenReturn(List.of(
+                new LeaderboardEntry(1L, 5L, 10L, 7L),
+                new LeaderboardEntry(2L, 4L, 10L, 7L)));
+        leaderboardService.reload();
+        when(playerStatsRepository.findLeaderboardEntriesByUserIds(Set.of(1L, 2L))).thenReturn(List.of(
+                new LeaderboardEntry(1L, 5L, 11L, 8L),
+                new LeaderboardEntry(2L, 5L, 11L, 8L)));
+
+        // When - user 2 beats user 1
+        leaderboardService.onGameCompleted(decided(8L, 2L, 1L));
+
+        // Then - tied on win rate and games, the lower user ID comes first
+        assertEquals(List.of(1L, 2L), userIds(leaderboardService.getRange(0, 10)));
+        assertEquals(11L, leaderboardService.getRange(1, 1).get(0).totalGames());
+
+        // When a stale read arrives
+        when(playerStatsRepository.findLeaderboardEntriesByUserIds(Set.of(1L, 2L))).thenReturn(List.of(
+                new LeaderboardEntry(2L, 4L, 10L, 7L)));
+        leaderboardService.onGameCompleted(decided(8L, 2L, 1L));
+
+        // Then
+        assertEquals(5L, leaderboardService.getRange(1, 1).get(0).wins());
+    }
+
+    @Test
+    @DisplayName("Should list a player once they reach the minimum number of games")
+    void shouldListPlayerAtMinimumGames() {
+        // Given
+        when(playerStatsRepository.findLeaderboardEntries(anyLong())).thenReturn(List.of());
+        when(playerStatsRepository.findLeaderboardEntriesByUserIds(Set.of(1L, 2L))).thenReturn(List.of(
+                new LeaderboardEntry(1L, 4L, 5L, 3L),
+                new LeaderboardEntry(2L, 0L, 4L, 3L)));
+
+        // When - the first read loads the leaderboard on demand
+        assertEquals(0, leaderboardService.size());
+        leaderboardService.onGameCompleted(decided(3L, 1L, 2L));
+
+        // Then
+        assertEquals(1, leaderboardService.size());
+        assertEquals(1L, leaderboardService.getRank(1L));
+        assertNull(leaderboardService.getRank(2L));
+    }
+}
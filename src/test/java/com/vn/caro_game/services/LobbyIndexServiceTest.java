@@ -0,0 +1,208 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.dtos.LobbyRoomSummary;
+import com.vn.caro_game.enums.GameState;
+import com.vn.caro_game.enums.RoomEventType;
+import com.vn.caro_game.enums.RoomStatus;
+import com.vn.caro_game.events.RoomEvent;
+import com.vn.caro_game.repositories.GameRoomRepository;
+import com.vn.caro_game.services.impl.LobbyIndexServiceImpl;
+import com.vn.caro_game.services.interfaces.RoomRegistryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LobbyIndexService
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Lobby Index Service Tests")
+class LobbyIndexServiceTest {
+
+    @Mock
+    private GameRoomRepository gameRoomRepository;
+
+    @Mock
+    private RoomRegistryService roomRegistryService;
+
+    private LobbyIndexServiceImpl lobbyIndexService;
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 8, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        lobbyIndexService = new LobbyIndexServiceImpl(gameRoomRepository, roomRegistryService, true);
+    }
+
+    private LobbyRoomSummary summary(long id, int minutesAgo) {
+        return new LobbyRoomSummary(id, "Room " + id, "Host " + id, now.minusMinutes(minutesAgo), 1L);
+    }
+
+    @Test
+    @DisplayName("Should serve pages newest first with counts from the registry")
+    void shouldServePagesNewestFirst() {
+        // Given
+        when(gameRoomRepository.findAllPublicWaitingRoomSummaries())
+                .thenReturn(List.of(summary(1L, 30), summary(2L, 10), summary(3L, 20)));
+        when(roomRegistryService.getPlayerCount(anyLong())).thenReturn(1);
+        when(roomRegistryService.getPlayerCount(3L)).thenReturn(2);
+        lobbyIndexService.reload();
+
+        // When
+        Page<LobbyRoomSummary> firstPage = lobbyIndexService.getPage(PageRequest.of(0, 2));
+        Page<LobbyRoomSummary> secondPage = lobbyIndexService.getPage(PageRequest.of(1, 2));
+
+        // Then
+        assertEquals(List.of(2L, 3L), firstPage.getContent().stream().map(LobbyRoomSummary::id).toList());
+        assertEquals(2L, firstPage.getContent().get(1).playerCount());
+        assertEquals(List.of(1L), secondPage.getContent().stream().map(LobbyRoomSummary::id).toList());
+        assertEquals(3, firstPage.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should add public rooms on creation and drop them when the game starts")
+    void shouldFollowRoomLifecycle() {
+        // Given
+        when(gameRoomRepository.findAllPublicWaitingRoomSummaries()).thenReturn(List.of());
+        lobbyIndexService.reload();
+        when(gameRoomRepository.findLobbyRoomSummary(5L)).thenReturn(Optional.of(summary(5L, 0)));
+
+        // When
+        lobbyIndexService.onRoomEvent(RoomEvent.of(RoomEventType.ROOM_CREATED, 5L, 10L,
+                RoomStatus.WAITING, GameState.WAITING_FOR_PLAYERS));
+        lobbyIndexService.onRoomEvent(RoomEvent.of(RoomEventType.PLAYER_JOINED, 5L, 10L));
+
+        // Then
+        assertEquals(1, lobbyIndexService.getRoomCount());
+
+        // When
+        lobbyIndexService.onRoomEvent(RoomEvent.of(RoomEventType.GAME_STARTED, 5L, 10L,
+                RoomStatus.PLAYING, GameState.IN_PROGRESS));
+
+        // Then
+        assertEquals(0, lobbyIndexService.getRoomCount());
+        verify(gameRoomRepository, times(1)).findLobbyRoomSummary(5L);
+    }
+
+    @Test
+    @DisplayName("Should record each changed lobby room once until drained")
+    void shouldDrainChangedRooms() {
+        // Given
+        when(gameRoomRepository.findAllPublicWaitingRoomSummaries()).thenReturn(List.of(summary(1L, 10)));
+        lobbyIndexService.reload();
+        when(gameRoomRepository.findLobbyRoomSummary(5L)).thenReturn(Optional.of(summary(5L, 0)));
+
+        // When
+        lobbyIndexService.onRoomEvent(RoomEvent.of(RoomEventType.ROOM_CREATED, 5L, 10L,
+                RoomStatus.WAITING, GameState.WAITING_FOR_PLAYERS));
+        lobbyIndexService.onRoomEvent(RoomEvent.of(RoomEventType.PLAYER_JOINED, 5L, 20L));
+        lobbyIndexService.onRoomEvent(RoomEvent.of(RoomEventType.PLAYER_JOINED, 9L, 30L));
+        lobbyIndexService.onRoomEvent(RoomEvent.of(RoomEventType.ROOM_CLOSED, 1L, null));
+
+        // Then - room 9 is not in the lobby, so its join is not a lobby change
+        assertEquals(List.of(5L, 1L), lobbyIndexService.drainChangedRoomIds());
+        assertTrue(lobbyIndexService.drainChangedRoomIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should re-read a room whose summary was overtaken by a later event")
+    void shouldNotPutBackOvertakenSummary() {
+        // Given
+        when(gameRoomRepository.findAllPublicWaitingRoomSummaries()).thenReturn(List.of());
+        lobbyIndexService.reload();
+        when(gameRoomRepository.findLobbyRoomSummary(5L))
+                .thenAnswer(invocation -> {
+                    // The game starts and its event is applied while the creation is still reading the room
+                    lobbyIndexService.onRoomEvent(RoomEvent.of(RoomEventType.GAME_STARTED, 5L, 10L,
+                            RoomStatus.PLAYING, GameState.IN_PROGRESS));
+                    return Optional.of(summary(5L, 0));
+                })
+                .thenReturn(Optional.empty());
+
+        // When
+        lobbyIndexService.onRoomEvent(RoomEvent.of(RoomEventType.ROOM_CREATED, 5L, 10L,
+                RoomStatus.WAITING, GameState.WAITING_FOR_PLAYERS));
+
+        // Then
+        assertEquals(0, lobbyIndexService.getRoomCount());
+        verify(gameRoomRepository, times(2)).findLobbyRoomSummary(5L);
+    }
+
+    @Test
+    @DisplayName("Should read replayed rooms without holding the index lock")
+    void shouldReplayWithoutHoldingLock() {
+        // Given - a room is created while the index is loading
+        when(gameRoomRepository.findAllPublicWaitingRoomSummaries()).thenAnswer(invocation -> {
+            lobbyIndexService.onRoomEvent(RoomEvent.of(RoomEventType.ROOM_CREATED, 5L, 10L,
+                    RoomStatus.WAITING, GameState.WAITING_FOR_PLAYERS));
+            return List.of(summary(1L, 10));
+        });
+        when(gameRoomRepository.findLobbyRoomSummary(5L)).thenAnswer(invocation -> {
+            // Another thread can still read the index while the replayed room is being read
+            assertEquals(1, CompletableFuture.supplyAsync(lobbyIndexService::getRoomCount).get(5, TimeUnit.SECONDS));
+            return Optional.of(summary(5L, 0));
+        });
+
+        // When
+        lobbyIndexService.reload();
+
+        // Then
+        assertEquals(2, lobbyIndexService.getRoomCount());
+    }
+
+    @Test
+    @DisplayName("Should leave private rooms out of the index")
+    void shouldSkipPrivateRooms() {
+        // Given
+        when(gameRoomRepository.findAllPublicWaitingRoomSummaries()).thenReturn(List.of());
+        lobbyIndexService.reload();
+        when(gameRoomRepository.findLobbyRoomSummary(6L)).thenReturn(Optional.empty());
+
+        // When
+        lobbyIndexService.onRoomEvent(RoomEvent.of(RoomEventType.ROOM_CREATED, 6L, 10L,
+                RoomStatus.WAITING, GameState.WAITING_FOR_PLAYERS));
+
+        // Then
+        assertEquals(0, lobbyIndexService.getRoomCount());
+    }
+
+    @Test
+    @DisplayName("Should only serve the newest-first order once loaded and the registry can answer")
+    void shouldOnlyServeDefaultOrderWhenLoaded() {
+        // Given
+        PageRequest byCreation = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+        PageRequest byName = PageRequest.of(0, 20, Sort.by("name"));
+
+        // Then - not loaded yet
+        assertFalse(lobbyIndexService.canServe(byCreation));
+
+        // When
+        when(gameRoomRepository.findAllPublicWaitingRoomSummaries()).thenReturn(List.of());
+        when(roomRegistryService.isAuthoritative()).thenReturn(true);
+        lobbyIndexService.reload();
+
+        // Then
+        assertTrue(lobbyIndexService.canServe(byCreation));
+        assertTrue(lobbyIndexService.canServe(PageRequest.of(0, 20)));
+        assertFalse(lobbyIndexService.canServe(byName));
+    }
+}
@@ -0,0 +1,138 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.entities.*;
+import com.vn.caro_game.enums.GameState;
+import com.vn.caro_game.integrations.archive.ArchivedMatch;
+import com.vn.caro_game.integrations.archive.MatchArchiveStore;
+import com.vn.caro_game.repositories.ChatMessageRepository;
+import com.vn.caro_game.repositories.GameMatchRepository;
+import com.vn.caro_game.repositories.MoveRepository;
+import com.vn.caro_game.services.impl.MatchArchivalServiceImpl;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MatchArchivalService
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Match Archival Service Tests")
+class MatchArchivalServiceTest {
+
+    @Mock
+    private GameMatchRepository gameMatchRepository;
+
+    @Mock
+    private MoveRepository moveRepository;
+
+    @Mock
+    private ChatMessageRepository chatMessageRepository;
+
+    @Mock
+    private MatchArchiveStore matchArchiveStore;
+
+    @InjectMocks
+    private MatchArchivalServiceImpl matchArchivalService;
+
+    private final LocalDateTime cutoff = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Test
+    @DisplayName("Should archive match moves before deleting them")
+    void shouldArchiveBeforeDeleting() {
+        // Given
+        User playerX = new User();
+        playerX.setId(1L);
+        User playerO = new User();
+        playerO.setId(2L);
+        GameRoom room = new GameRoom();
+        room.setId(10L);
+        GameMatch match = new GameMatch();
+        match.setId(100L);
+        match.setRoom(room);
+        match.setPlayerX(playerX);
+        match.setPlayerO(playerO);
+        match.setStartTime(LocalDateTime.of(2025, 3, 14, 21, 30));
+        Move move = new Move();
+        move.setId(1L);
+        move.setPlayer(playerX);
+        move.setXPosition(7);
+        move.setYPosition(7);
+        move.setMoveNumber(1);
+
+        when(gameMatchRepository.findArchivableMatchIds(eq(cutoff), eq(GameState.IN_PROGRESS), any(Pageable.class)))
+                .thenReturn(List.of(100L));
+        when(gameMatchRepository.findById(100L)).thenReturn(Optional.of(match));
+        when(moveRepository.findByMatchOrderByMoveNumber(match)).thenReturn(List.of(move));
+
+        // When
+        int archived = matchArchivalService.archiveMatchBatch(cutoff, 50);
+
+        // Then
+        assertEquals(1, archived);
+        ArgumentCaptor<ArchivedMatch> captor = ArgumentCaptor.forClass(ArchivedMatch.class);
+        InOrder inOrder = inOrder(matchArchiveStore, moveRepository);
+        inOrder.verify(matchArchiveStore).appendMatch(captor.capture());
+        inOrder.verify(moveRepository).deleteByMatchIdSince(100L, LocalDateTime.of(2025, 3, 14, 0, 0));
+        inOrder.verify(matchArchiveStore).sync();
+        assertEquals(10L, captor.getValue().getRoomId());
+        assertEquals(1, captor.getValue().getMoves().size());
+    }
+
+    @Test
+    @DisplayName("Should not delete moves when archive write fails")
+    void shouldNotDeleteWhenArchiveFails() {
+        // Given
+        GameMatch match = new GameMatch();
+        match.setId(100L);
+        when(gameMatchRepository.findArchivableMatchIds(any(), any(), any())).thenReturn(List.of(100L));
+        when(gameMatchRepository.findById(100L)).thenReturn(Optional.of(match));
+        when(moveRepository.findByMatchOrderByMoveNumber(match)).thenReturn(List.of());
+        doThrow(new RuntimeException("disk full")).when(matchArchiveStore).appendMatch(any());
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> matchArchivalService.archiveMatchBatch(cutoff, 50));
+        verify(moveRepository, never()).deleteByMatchIdSince(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should archive and delete old chat per room")
+    void shouldArchiveOldChat() {
+        // Given
+        User sender = new User();
+        sender.setId(3L);
+        ChatMessage message = new ChatMessage();
+        message.setId(9L);
+        message.setSender(sender);
+        message.setContent("gg");
+        message.setSentAt(cutoff.minusDays(1));
+        when(chatMessageRepository.findArchivableRoomIds(eq(cutoff), eq(GameState.IN_PROGRESS), any(Pageable.class)))
+                .thenReturn(List.of(10L));
+        when(chatMessageRepository.findByRoomIdAndSentAtBefore(10L, cutoff)).thenReturn(List.of(message));
+
+        // When
+        int rooms = matchArchivalService.archiveChatBatch(cutoff, 50);
+
+        // Then
+        assertEquals(1, rooms);
+        verify(matchArchiveStore).appendChatMessages(eq(10L), argThat(list -> list.size() == 1
+                && list.get(0).getSenderId().equals(3L)));
+        verify(chatMessageRepository).deleteByRoomIdAndSentAtBefore(10L, cutoff);
+        verify(matchArchiveStore).sync();
+    }
+}
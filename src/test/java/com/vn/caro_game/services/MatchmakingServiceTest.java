@@ -0,0 +1,235 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.dtos.response.GameRoomResponse;
+import com.vn.caro_game.dtos.response.MatchmakingStatusResponse;
+import com.vn.caro_game.dtos.websocket.MatchFoundMessage;
+import com.vn.caro_game.entities.GameRoom;
+import com.vn.caro_game.entities.User;
+import com.vn.caro_game.enums.RoomEventType;
+import com.vn.caro_game.enums.StatusCode;
+import com.vn.caro_game.events.RoomEvent;
+import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.repositories.GameRoomRepository;
+import com.vn.caro_game.repositories.UserRepository;
+import com.vn.caro_game.services.impl.MatchmakingServiceImpl;
+import com.vn.caro_game.services.interfaces.GameRoomService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MatchmakingService
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Matchmaking Service Tests")
+class MatchmakingServiceTest {
+
+    @Mock
+    private GameRoomService gameRoomService;
+
+    @Mock
+    private GameRoomRepository gameRoomRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SimpMessageSendingOperations messagingTemplate;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    @Mock
+    private Clock clock;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MatchmakingServiceImpl matchmakingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(meterRegistry);
+        matchmakingService = new MatchmakingServiceImpl(gameRoomService, gameRoomRepository, userRepository,
+                messagingTemplate, meterRegistryProvider, clock);
+        ReflectionTestUtils.setField(matchmakingService, "baseBand", 50);
+        ReflectionTestUtils.setField(matchmakingService, "bandWidenPerSecond", 5);
+        ReflectionTestUtils.setField(matchmakingService, "maxBand", 300);
+        ReflectionTestUtils.setField(matchmakingService, "ticketTtlSeconds", 120);
+        setTime(0);
+    }
+
+    private void setTime(long seconds) {
+        lenient().when(clock.millis()).thenReturn((1_700_000_000L + seconds) * 1000);
+    }
+
+    private void enqueue(long userId, int rating) {
+        User user = new User();
+        user.setId(userId);
+        user.setUsername("user" + userId);
+        user.setRating(rating);
+        when(gameRoomRepository.findActiveRoomsByUserId(eq(userId), any(PageRequest.class))).thenReturn(List.of());
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        matchmakingService.joinQueue(userId);
+    }
+
+    @Test
+    @DisplayName("Should pair neighbouring ratings and leave a distant player waiting")
+    void shouldPairCloseRatings() {
+        // Given
+        enqueue(1L, 1200);
+        setTime(2);
+        enqueue(2L, 1250);
+        enqueue(3L, 1900);
+        GameRoomResponse room = mock(GameRoomResponse.class);
+        when(gameRoomService.createMatchedRoom(1L, 2L)).thenReturn(room);
+
+        // When
+        int created = matchmakingService.runPairingTick();
+
+        // Then - the longer waiter hosts, both are told
+        assertEquals(1, created);
+        verify(gameRoomService).createMatchedRoom(1L, 2L);
+        verify(messagingTemplate).convertAndSendToUser(eq("user1"), eq("/queue/matchmaking"), any(MatchFoundMessage.class));
+        verify(messagingTemplate).convertAndSendToUser(eq("user2"), eq("/queue/matchmaking"), any(MatchFoundMessage.class));
+        assertEquals(1, matchmakingService.getQueueSize());
+        assertTrue(matchmakingService.getStatus(3L).getQueued());
+        assertEquals(1.0, meterRegistry.get("caro.matchmaking.pairs").counter().count());
+        assertEquals(2, meterRegistry.get("caro.matchmaking.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should widen the rating range while players wait")
+    void shouldWidenBandOverTime() {
+        // Given
+        enqueue(1L, 1200);
+        enqueue(2L, 1400);
+
+        // Then - 200 apart is outside 50 + 50
+        assertEquals(0, matchmakingService.runPairingTick());
+        assertEquals(50, matchmakingService.getStatus(1L).getRatingBand());
+
+        // When they have waited 10 seconds the ranges are 100 each
+        setTime(10);
+        when(gameRoomService.createMatchedRoom(1L, 2L)).thenReturn(mock(GameRoomResponse.class));
+
+        // Then
+        assertEquals(1, matchmakingService.runPairingTick());
+        assertEquals(0, matchmakingService.getQueueSize());
+    }
+
+    @Test
+    @DisplayName("Should put players back in the queue when their room cannot be created")
+    void shouldRequeueFreePlayersOnFailure() {
+        // Given
+        enqueue(1L, 1200);
+        enqueue(2L, 1210);
+        when(gameRoomService.createMatchedRoom(1L, 2L)).thenThrow(new CustomException(StatusCode.ALREADY_IN_ROOM));
+        when(gameRoomRepository.existsActiveRoomByUserId(1L)).thenReturn(false);
+        when(gameRoomRepository.existsActiveRoomByUserId(2L)).thenReturn(true);
+
+        // When
+        int created = matchmakingService.runPairingTick();
+
+        // Then
+        assertEquals(0, created);
+        assertTrue(matchmakingService.getStatus(1L).getQueued());
+        assertFalse(matchmakingService.getStatus(2L).getQueued());
+        assertEquals(1.0, meterRegistry.get("caro.matchmaking.failed-pairs").counter().count());
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    @DisplayName("Should return the current room instead of queueing a seated player")
+    void shouldNotQueueSeatedPlayer() {
+        // Given
+        GameRoom room = new GameRoom();
+        room.setId(9L);
+        when(gameRoomRepository.findActiveRoomsByUserId(eq(1L), any(PageRequest.class))).thenReturn(List.of(room));
+
+        // When
+        MatchmakingStatusResponse status = matchmakingService.joinQueue(1L);
+
+        // Then
+        assertFalse(status.getQueued());
+        assertEquals(9L, status.getRoomId());
+        assertEquals(0, matchmakingService.getQueueSize());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should drop a queued player who joins a room another way")
+    void shouldLeaveQueueOnJoin() {
+        // Given
+        enqueue(1L, 1200);
+
+        // When
+        matchmakingService.onRoomEvent(RoomEvent.of(RoomEventType.PLAYER_JOINED, 4L, 1L));
+
+        // Then
+        assertEquals(0, matchmakingService.getQueueSize());
+    }
+
+    @Test
+    @DisplayName("Should drop a queued player whose WebSocket session closes")
+    void shouldLeaveQueueOnDisconnect() {
+        // Given
+        enqueue(1L, 1200);
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        accessor.setSessionId("session-1");
+        accessor.setSessionAttributes(new HashMap<>(Map.of("userId", 1L)));
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        // When
+        matchmakingService.onSessionDisconnect(new SessionDisconnectEvent(this, message, "session-1", CloseStatus.NORMAL));
+
+        // Then
+        assertEquals(0, matchmakingService.getQueueSize());
+    }
+
+    @Test
+    @DisplayName("Should drop tickets that were not refreshed within the TTL")
+    void shouldExpireStaleTickets() {
+        // Given
+        enqueue(1L, 1200);
+        enqueue(2L, 2000);
+        setTime(100);
+        matchmakingService.getStatus(2L);
+
+        // When
+        setTime(150);
+        matchmakingService.runPairingTick();
+
+        // Then - player 2 polled 50 seconds ago, player 1 was last seen 150 seconds ago
+        assertFalse(matchmakingService.getStatus(1L).getQueued());
+        assertTrue(matchmakingService.getStatus(2L).getQueued());
+        assertEquals(150, matchmakingService.getStatus(2L).getWaitSeconds());
+    }
+}
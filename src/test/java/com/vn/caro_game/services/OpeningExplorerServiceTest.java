@@ -0,0 +1,159 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.dtos.OpeningGame;
+import com.vn.caro_game.dtos.OpeningMove;
+import com.vn.caro_game.dtos.response.OpeningContinuationResponse;
+import com.vn.caro_game.dtos.response.OpeningExplorerResponse;
+import com.vn.caro_game.entities.GameHistory;
+import com.vn.caro_game.events.GameCompletedEvent;
+import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.integrations.archive.MatchArchiveStore;
+import com.vn.caro_game.repositories.GameHistoryRepository;
+import com.vn.caro_game.repositories.MoveRepository;
+import com.vn.caro_game.services.impl.OpeningExplorerServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OpeningExplorerService
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Opening Explorer Service Tests")
+class OpeningExplorerServiceTest {
+
+    @Mock
+    private GameHistoryRepository gameHistoryRepository;
+
+    @Mock
+    private MoveRepository moveRepository;
+
+    @Mock
+    private MatchArchiveStore matchArchiveStore;
+
+    @InjectMocks
+    private OpeningExplorerServiceImpl openingExplorerService;
+
+    private final LocalDateTime startTime = LocalDateTime.of(2025, 8, 1, 12, 0);
+
+    private OpeningGame game(long historyId, long matchId, Long winnerId, Long loserId) {
+        return new OpeningGame(historyId, matchId, 1L, 2L, winnerId, loserId, startTime);
+    }
+
+    private List<OpeningMove> moves(long matchId, int... positions) {
+        List<OpeningMove> moves = new ArrayList<>();
+        for (int i = 0; i < positions.length; i += 2) {
+            moves.add(new OpeningMove(matchId, i / 2 + 1, positions[i], positions[i + 1]));
+        }
+        return moves;
+    }
+
+    private void givenHistory(List<OpeningGame> games, List<OpeningMove> moves) {
+        when(gameHistoryRepository.findOpeningGames(eq(0L), any())).thenReturn(games);
+        when(gameHistoryRepository.findOpeningGames(eq(games.get(games.size() - 1).historyId()), any()))
+                .thenReturn(List.of());
+        when(moveRepository.findOpeningMoves(anyList(), any(), anyInt())).thenReturn(moves);
+    }
+
+    @Test
+    @DisplayName("Should count mirrored openings together and show them from the asked side")
+    void shouldMergeSymmetricOpenings() {
+        // Given: the second game is the first one mirrored top to bottom
+        List<OpeningMove> moves = new ArrayList<>(moves(10L, 7, 7, 6, 8));
+        moves.addAll(moves(11L, 7, 7, 8, 8));
+        givenHistory(List.of(game(1L, 10L, 1L, 2L), game(2L, 11L, 2L, 1L)), moves);
+        openingExplorerService.reload();
+
+        // When
+        OpeningExplorerResponse root = openingExplorerService.explore(List.of());
+        OpeningExplorerResponse afterCenter = openingExplorerService.explore(List.of(7, 7));
+
+        // Then
+        assertEquals(2, root.getGames());
+        assertEquals(1, root.getContinuations().size());
+        assertEquals(7, root.getContinuations().get(0).getXPosition());
+        assertEquals(0.5, root.getContinuations().get(0).getWinRate());
+        assertEquals(1, afterCenter.getContinuations().size());
+        OpeningContinuationResponse reply = afterCenter.getContinuations().get(0);
+        assertEquals(2, reply.getGames());
+        assertEquals(1, reply.getXWins());
+        assertEquals(1, reply.getOWins());
+        verifyNoInteractions(matchArchiveStore);
+    }
+
+    @Test
+    @DisplayName("Should answer a position from any rotation")
+    void shouldAnswerRotatedPosition() {
+        // Given
+        givenHistory(List.of(game(1L, 10L, 2L, 1L)), moves(10L, 7, 7, 6, 8, 5, 9));
+        openingExplorerService.reload();
+
+        // When: the same two moves rotated by 90 degrees
+        OpeningExplorerResponse response = openingExplorerService.explore(List.of(7, 7, 8, 8));
+
+        // Then
+        assertEquals(1, response.getGames());
+        assertEquals(1, response.getOWins());
+        OpeningContinuationResponse next = response.getContinuations().get(0);
+        assertEquals(9, next.getXPosition());
+        assertEquals(9, next.getYPosition());
+        assertEquals(0.0, next.getWinRate());
+    }
+
+    @Test
+    @DisplayName("Should add a committed game without reloading")
+    void shouldAddCompletedGame() {
+        // Given
+        GameHistory history = new GameHistory();
+        history.setId(5L);
+        when(gameHistoryRepository.findOpeningGame(5L)).thenReturn(Optional.of(game(5L, 20L, null, null)));
+        when(moveRepository.findOpeningMoves(eq(List.of(20L)), any(), anyInt())).thenReturn(moves(20L, 0, 0));
+
+        // When
+        openingExplorerService.onGameCompleted(GameCompletedEvent.draw(history, 1L, 2L));
+        OpeningExplorerResponse response = openingExplorerService.explore(List.of(14, 14));
+
+        // Then
+        assertEquals(1, response.getGames());
+        assertEquals(1, response.getDraws());
+    }
+
+    @Test
+    @DisplayName("Should read the opening of an archived match from the archive")
+    void shouldReadArchivedMatch() {
+        // Given
+        givenHistory(List.of(game(1L, 10L, 1L, 2L)), List.of());
+        when(matchArchiveStore.findMatch(10L)).thenReturn(Optional.empty());
+
+        // When
+        openingExplorerService.reload();
+
+        // Then
+        verify(matchArchiveStore).findMatch(10L);
+        assertEquals(0, openingExplorerService.explore(null).getGames());
+    }
+
+    @Test
+    @DisplayName("Should reject a position that is not a legal move sequence")
+    void shouldRejectIllegalPosition() {
+        assertThrows(CustomException.class, () -> openingExplorerService.explore(List.of(7)));
+        assertThrows(CustomException.class, () -> openingExplorerService.explore(List.of(7, 15)));
+        assertThrows(CustomException.class, () -> openingExplorerService.explore(List.of(7, 7, 7, 7)));
+        verifyNoInteractions(gameHistoryRepository, moveRepository);
+    }
+}
@@ -0,0 +1,211 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.services.impl.PartitionMaintenanceServiceImpl;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PartitionMaintenanceService.
+ *
+ * <p>The PostgreSQL tests run only when {@code CARO_TEST_POSTGRES_URL} (plus optional
+ * {@code CARO_TEST_POSTGRES_USER} and {@code CARO_TEST_POSTGRES_PASSWORD}) points at a local
+ * database. They work in a throwaway schema that is dropped afterwards.</p>
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@DisplayName("Partition Maintenance Service Tests")
+class PartitionMaintenanceServiceTest {
+
+    @Nested
+    @DisplayName("Without PostgreSQL")
+    class EmbeddedDatabaseTests {
+
+        private EmbeddedDatabase database;
+        private PartitionMaintenanceServiceImpl partitionMaintenanceService;
+
+        @BeforeEach
+        void setUp() {
+            database = new EmbeddedDatabaseBuilder()
+                    .setType(EmbeddedDatabaseType.H2)
+                    .generateUniqueName(true)
+                    .build();
+            partitionMaintenanceService = new PartitionMaintenanceServiceImpl(new JdbcTemplate(database));
+        }
+
+        @AfterEach
+        void tearDown() {
+            database.shutdown();
+        }
+
+        @Test
+        @DisplayName("Should report partitioning unavailable on a non-PostgreSQL database")
+        void shouldBeUnavailableOnH2() {
+            // When & Then
+            assertFalse(partitionMaintenanceService.isPartitioningAvailable());
+        }
+    }
+
+    @Nested
+    @DisplayName("Against PostgreSQL")
+    @EnabledIfEnvironmentVariable(named = "CARO_TEST_POSTGRES_URL", matches = ".+")
+    class PostgresTests {
+
+        private final YearMonth currentMonth = YearMonth.now();
+        private final YearMonth oldMonth = currentMonth.minusMonths(14);
+
+        private SingleConnectionDataSource dataSource;
+        private JdbcTemplate jdbcTemplate;
+        private String schema;
+        private PartitionMaintenanceServiceImpl partitionMaintenanceService;
+
+        @BeforeEach
+        void setUp() throws IOException {
+            dataSource = new SingleConnectionDataSource(System.getenv("CARO_TEST_POSTGRES_URL"),
+                    envOrDefault("CARO_TEST_POSTGRES_USER", "postgres"),
+                    envOrDefault("CARO_TEST_POSTGRES_PASSWORD", ""), true);
+            jdbcTemplate = new JdbcTemplate(dataSource);
+            schema = "caro_partition_test_" + System.nanoTime();
+            jdbcTemplate.execute("CREATE SCHEMA " + schema);
+            jdbcTemplate.execute("SET search_path TO " + schema);
+
+            // The pre-partitioning schema, as Hibernate created it
+            jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY)");
+            jdbcTemplate.execute("CREATE TABLE game_rooms (id BIGINT PRIMARY KEY)");
+            jdbcTemplate.execute("CREATE TABLE game_matches (id BIGINT PRIMARY KEY)");
+            jdbcTemplate.execute("CREATE TABLE moves (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "match_id BIGINT NOT NULL, player_id BIGINT NOT NULL, x_position INT NOT NULL, " +
+                    "y_position INT NOT NULL, move_number INT NOT NULL, created_at TIMESTAMP(6) NOT NULL)");
+            jdbcTemplate.execute("CREATE TABLE chat_messages (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "room_id BIGINT NOT NULL, sender_id BIGINT NOT NULL, content TEXT NOT NULL, " +
+                    "sent_at TIMESTAMP(6) NOT NULL)");
+
+            jdbcTemplate.update("INSERT INTO users VALUES (1)");
+            jdbcTemplate.update("INSERT INTO game_rooms VALUES (10)");
+            jdbcTemplate.update("INSERT INTO game_matches VALUES (100), (101)");
+            jdbcTemplate.update("INSERT INTO moves (match_id, player_id, x_position, y_position, move_number, created_at) " +
+                    "VALUES (100, 1, 7, 7, 1, ?), (101, 1, 7, 7, 1, ?)",
+                    oldMonth.atDay(5).atStartOfDay(), LocalDateTime.now());
+            jdbcTemplate.update("INSERT INTO chat_messages (room_id, sender_id, content, sent_at) VALUES (10, 1, 'hi', ?)",
+                    LocalDateTime.now());
+
+            partitionMaintenanceService = new PartitionMaintenanceServiceImpl(jdbcTemplate);
+        }
+
+        @AfterEach
+        void tearDown() {
+            jdbcTemplate.execute("DROP SCHEMA " + schema + " CASCADE");
+            dataSource.destroy();
+        }
+
+        private String envOrDefault(String name, String defaultValue) {
+            String value = System.getenv(name);
+            return value != null ? value : defaultValue;
+        }
+
+        private void runPartitioningScript() throws IOException {
+            String script = new ClassPathResource("db/partitioning/partition_moves_and_chat_messages.sql")
+                    .getContentAsString(StandardCharsets.UTF_8);
+            // The driver splits the script itself and understands the dollar-quoted DO block
+            jdbcTemplate.execute(script);
+        }
+
+        private List<String> partitionsOf(String table) {
+            return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i " +
+                    "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+                    "WHERE p.relname = ? AND pg_table_is_visible(p.oid)", String.class, table);
+        }
+
+        private String partition(String table, YearMonth month) {
+            return String.format("%s_p%04d_%02d", table, month.getYear(), month.getMonthValue());
+        }
+
+        @Test
+        @DisplayName("Should migrate existing rows into monthly partitions")
+        void shouldMigrateIntoPartitions() throws IOException {
+            // When
+            runPartitioningScript();
+
+            // Then
+            assertTrue(partitionMaintenanceService.isPartitioningAvailable());
+            assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM moves", Integer.class));
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition("moves", oldMonth), Integer.class));
+            assertTrue(partitionsOf("moves").contains(partition("moves", currentMonth.plusMonths(3))));
+            assertTrue(partitionsOf("chat_messages").contains(partition("chat_messages", currentMonth)));
+
+            // New rows keep getting ids after the migrated ones
+            jdbcTemplate.update("INSERT INTO moves (match_id, player_id, x_position, y_position, move_number, created_at) " +
+                    "VALUES (101, 1, 8, 8, 2, ?)", LocalDateTime.now());
+            assertEquals(3L, jdbcTemplate.queryForObject("SELECT MAX(id) FROM moves", Long.class));
+        }
+
+        @Test
+        @DisplayName("Should only scan partitions after the match start")
+        void shouldPruneOldPartitions() throws IOException {
+            // Given
+            runPartitioningScript();
+
+            // When
+            List<String> plan = jdbcTemplate.queryForList("EXPLAIN SELECT * FROM moves " +
+                    "WHERE match_id = 101 AND created_at >= date_trunc('month', now())", String.class);
+
+            // Then
+            String joined = String.join("\n", plan);
+            assertTrue(joined.contains(partition("moves", currentMonth)));
+            assertFalse(joined.contains(partition("moves", oldMonth)));
+        }
+
+        @Test
+        @DisplayName("Should create only the missing future partitions")
+        void shouldCreateFuturePartitions() throws IOException {
+            // Given
+            runPartitioningScript();
+
+            // When
+            int created = partitionMaintenanceService.createFuturePartitions(currentMonth, 4);
+            int createdAgain = partitionMaintenanceService.createFuturePartitions(currentMonth, 4);
+
+            // Then
+            assertEquals(2, created);
+            assertEquals(0, createdAgain);
+            assertTrue(partitionsOf("moves").contains(partition("moves", currentMonth.plusMonths(4))));
+            assertTrue(partitionsOf("chat_messages").contains(partition("chat_messages", currentMonth.plusMonths(4))));
+        }
+
+        @Test
+        @DisplayName("Should drop empty expired partitions and keep ones that still hold rows")
+        void shouldRetireExpiredPartitions() throws IOException {
+            // Given
+            runPartitioningScript();
+            String oldMoves = partition("moves", oldMonth);
+            String emptyMoves = partition("moves", oldMonth.plusMonths(1));
+
+            // When
+            int retired = partitionMaintenanceService.retireExpiredPartitions(currentMonth, 12);
+
+            // Then
+            assertTrue(retired >= 1);
+            List<String> remaining = partitionsOf("moves");
+            assertTrue(remaining.contains(oldMoves));
+            assertFalse(remaining.contains(emptyMoves));
+            assertTrue(remaining.contains(partition("moves", currentMonth.minusMonths(12))));
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + oldMoves, Integer.class));
+            assertEquals(0, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM pg_class WHERE relname = ? AND pg_table_is_visible(oid)", Integer.class, emptyMoves));
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.entities.GameHistory;
+import com.vn.caro_game.entities.PlayerStats;
+import com.vn.caro_game.events.GameCompletedEvent;
+import com.vn.caro_game.repositories.GameHistoryRepository;
+import com.vn.caro_game.repositories.GameMatchRepository;
+import com.vn.caro_game.repositories.PlayerStatsRepository;
+import com.vn.caro_game.services.impl.PlayerStatsServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PlayerStatsService
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Player Stats Service Tests")
+class PlayerStatsServiceTest {
+
+    @Mock
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Mock
+    private GameHistoryRepository gameHistoryRepository;
+
+    @Mock
+    private GameMatchRepository gameMatchRepository;
+
+    @InjectMocks
+    private PlayerStatsServiceImpl playerStatsService;
+
+    private final LocalDateTime endedAt = LocalDateTime.of(2025, 8, 1, 12, 0);
+
+    private GameHistory history(long id, Long winnerId, Long loserId, int minutes) {
+        GameHistory history = new GameHistory();
+        history.setId(id);
+        history.setRoomId(100L + id);
+        history.setWinnerId(winnerId);
+        history.setLoserId(loserId);
+        history.setGameStartedAt(endedAt.minusMinutes(minutes));
+        history.setGameEndedAt(endedAt);
+        return history;
+    }
+
+    private PlayerStats stored(long userId) {
+        PlayerStats stats = new PlayerStats();
+        stats.setUserId(userId);
+        when(playerStatsRepository.findByUserIdForUpdate(userId)).thenReturn(Optional.of(stats));
+        return stats;
+    }
+
+    @Test
+    @DisplayName("Should count a decided game for both players")
+    void shouldRecordDecidedGame() {
+        // Given
+        PlayerStats winner = stored(1L);
+        winner.setWins(2L);
+        winner.setCurrentWinStreak(2);
+        winner.setBestWinStreak(2);
+        PlayerStats loser = stored(2L);
+
+        // When
+        playerStatsService.recordGame(GameCompletedEvent.decided(history(7L, 1L, 2L, 12)));
+
+        // Then
+        assertEquals(3L, winner.getWins());
+        assertEquals(3, winner.getBestWinStreak());
+        assertEquals(12L, winner.getShortestDurationMinutes());
+        assertEquals(7L, winner.getLastGameHistoryId());
+        assertEquals(1L, loser.getLosses());
+        assertEquals(12L, loser.getTotalDurationMinutes());
+        verify(playerStatsRepository).save(winner);
+        verify(playerStatsRepository).save(loser);
+    }
+
+    @Test
+    @DisplayName("Should create a player's row before locking it")
+    void shouldInsertRowBeforeLocking() {
+        // Given
+        stored(1L);
+        stored(2L);
+
+        // When
+        playerStatsService.recordGame(GameCompletedEvent.decided(history(7L, 1L, 2L, 12)));
+
+        // Then
+        InOrder inOrder = inOrder(playerStatsRepository);
+        inOrder.verify(playerStatsRepository).insertIfAbsent(1L);
+        inOrder.verify(playerStatsRepository).findByUserIdForUpdate(1L);
+        inOrder.verify(playerStatsRepository).insertIfAbsent(2L);
+        inOrder.verify(playerStatsRepository).findByUserIdForUpdate(2L);
+    }
+
+    @Test
+    @DisplayName("Should report missing statistics only when games have been played")
+    void shouldDetectMissingStats() {
+        // Given
+        when(playerStatsRepository.count()).thenReturn(0L);
+        when(gameHistoryRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(history(1L, 1L, 2L, 5)), List.of());
+
+        // When & Then
+        assertTrue(playerStatsService.isMissingStats());
+        assertFalse(playerStatsService.isMissingStats());
+    }
+
+    @Test
+    @DisplayName("Should count a draw for both players and end their win streaks")
+    void shouldRecordDraw() {
+        // Given
+        PlayerStats first = stored(1L);
+        first.setCurrentWinStreak(3);
+        first.setBestWinStreak(3);
+        PlayerStats second = stored(2L);
+
+        // When
+        playerStatsService.recordGame(GameCompletedEvent.draw(history(8L, null, null, 20), 1L, 2L));
+
+        // Then
+        assertEquals(1L, first.getDraws());
+        assertEquals(0, first.getCurrentWinStreak());
+        assertEquals(3, first.getBestWinStreak());
+        assertEquals(1L, second.getDraws());
+    }
+
+    @Test
+    @DisplayName("Should not count the same game twice")
+    void shouldSkipCountedGame() {
+        // Given
+        PlayerStats winner = stored(1L);
+        winner.setWins(1L);
+        winner.setLastGameHistoryId(9L);
+        PlayerStats loser = stored(2L);
+        loser.setLastGameHistoryId(9L);
+
+        // When
+        playerStatsService.recordGame(GameCompletedEvent.decided(history(9L, 1L, 2L, 5)));
+
+        // Then
+        assertEquals(1L, winner.getWins());
+        verify(playerStatsRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should rebuild statistics from the history in the order games ended")
+    void shouldComputeFromHistory() {
+        // Given - user 1 wins twice, then draws with user 2
+        when(gameHistoryRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(history(1L, 1L, 2L, 10), history(2L, 1L, 2L, 30)));
+        when(gameHistoryRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(history(3L, null, null, 20)));
+        when(gameHistoryRepository.findByIdGreaterThanOrderByIdAsc(eq(3L), any(Pageable.class)))
+                .thenReturn(List.of());
+        List<Object[]> drawPlayers = List.<Object[]>of(new Object[]{2L, 1L});
+        when(gameMatchRepository.findDrawPlayerIds(eq(103L), any(Pageable.class))).thenReturn(drawPlayers);
+
+        // When
+        Collection<PlayerStats> result = playerStatsService.computeFromHistory(2);
+
+        // Then
+        Map<Long, PlayerStats> byUser = result.stream()
+                .collect(Collectors.toMap(PlayerStats::getUserId, Function.identity()));
+        PlayerStats first = byUser.get(1L);
+        assertEquals(2L, first.getWins());
+        assertEquals(1L, first.getDraws());
+        assertEquals(2, first.getBestWinStreak());
+        assertEquals(0, first.getCurrentWinStreak());
+        assertEquals(60L, first.getTotalDurationMinutes());
+        assertEquals(10L, first.getShortestDurationMinutes());
+        assertEquals(30L, first.getLongestDurationMinutes());
+        assertEquals(3L, first.getLastGameHistoryId());
+        assertEquals(2L, byUser.get(2L).getLosses());
+        verifyNoInteractions(playerStatsRepository);
+    }
+}
@@ -2,10 +2,12 @@ package com.vn.caro_game.services;
 
 import com.vn.caro_game.dtos.request.CreateRoomRequest;
 import com.vn.caro_game.dtos.response.GameRoomResponse;
+import com.vn.caro_game.dtos.response.MatchmakingStatusResponse;
 import com.vn.caro_game.entities.*;
 import com.vn.caro_game.enums.*;
 import com.vn.caro_game.repositories.*;
 import com.vn.caro_game.services.interfaces.GameRoomService;
+import com.vn.caro_game.services.interfaces.MatchmakingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +28,9 @@ class QuickPlayIssueTest {
     @Autowired
     private GameRoomService gameRoomService;
 
+    @Autowired
+    private MatchmakingService matchmakingService;
+
     @Autowired
     private GameRoomRepository gameRoomRepository;
 
@@ -128,23 +133,20 @@ class QuickPlayIssueTest {
         
         // Step 2: User tries quick play
         System.out.println("11. Attempting quick play after leaving...");
-        GameRoomResponse quickPlayRoom = gameRoomService.findOrCreatePublicRoom(testUser.getId());
+        MatchmakingStatusResponse quickPlayStatus = matchmakingService.joinQueue(testUser.getId());
         
-        System.out.println("12. Quick play returned room: " + quickPlayRoom.getId());
-        System.out.println("    Room status: " + quickPlayRoom.getStatus());
-        System.out.println("    Room game state: " + quickPlayRoom.getGameState());
+        System.out.println("12. Quick play queued: " + quickPlayStatus.getQueued());
+        System.out.println("    Current room: " + quickPlayStatus.getRoomId());
         
-        // Check if this is the same finished room (THIS IS THE BUG)
-        if (quickPlayRoom.getId().equals(roomId)) {
+        // A finished room must not count as the room the user is in (THIS WAS THE BUG)
+        if (roomId.equals(quickPlayStatus.getRoomId())) {
             System.out.println("❌ BUG CONFIRMED: Quick play returned the finished room!");
-            System.out.println("   Finished room ID: " + roomId);
-            System.out.println("   Quick play room ID: " + quickPlayRoom.getId());
-            
-            // This should NOT happen - user should get a new room or join available room
             fail("Quick play returned finished room - this is the bug!");
         } else {
-            System.out.println("✅ Quick play correctly returned different room: " + quickPlayRoom.getId());
+            System.out.println("✅ Quick play queued the user for a new match");
         }
+        assertTrue(quickPlayStatus.getQueued());
+        matchmakingService.leaveQueue(testUser.getId());
         
         // Check final state
         List<RoomPlayer> finalUserRoomPlayers = roomPlayerRepository.findByUserId(testUser.getId());
@@ -0,0 +1,145 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.dtos.RatedGame;
+import com.vn.caro_game.entities.GameHistory;
+import com.vn.caro_game.entities.RatingHistory;
+import com.vn.caro_game.entities.User;
+import com.vn.caro_game.events.GameCompletedEvent;
+import com.vn.caro_game.repositories.GameHistoryRepository;
+import com.vn.caro_game.repositories.GameMatchRepository;
+import com.vn.caro_game.repositories.RatingHistoryRepository;
+import com.vn.caro_game.repositories.UserRepository;
+import com.vn.caro_game.services.impl.RatingServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RatingService
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Rating Service Tests")
+class RatingServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RatingHistoryRepository ratingHistoryRepository;
+
+    @Mock
+    private GameHistoryRepository gameHistoryRepository;
+
+    @Mock
+    private GameMatchRepository gameMatchRepository;
+
+    @InjectMocks
+    private RatingServiceImpl ratingService;
+
+    private User user(long id, int rating, int ratedGames) {
+        User user = new User();
+        user.setId(id);
+        user.setRating(rating);
+        user.setRatedGames(ratedGames);
+        when(userRepository.findById(id)).thenReturn(Optional.of(user));
+        return user;
+    }
+
+    private GameHistory history(long id, Long winnerId, Long loserId) {
+        GameHistory history = new GameHistory();
+        history.setId(id);
+        history.setRoomId(100L + id);
+        history.setWinnerId(winnerId);
+        history.setLoserId(loserId);
+        history.setGameEndedAt(LocalDateTime.of(2025, 8, 1, 12, 0));
+        return history;
+    }
+
+    @Test
+    @DisplayName("Should update both players and record their rating history")
+    void shouldRateDecidedGame() {
+        // Given
+        user(1L, 1200, 0);
+        user(2L, 1200, 40);
+
+        // When
+        ratingService.rateGame(GameCompletedEvent.decided(history(7L, 1L, 2L)));
+
+        // Then - the provisional winner moves further than the established loser
+        verify(userRepository).updateRating(1L, 1220, 1);
+        verify(userRepository).updateRating(2L, 1190, 41);
+        verify(userRepository, never()).save(any(User.class));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RatingHistory>> captor = ArgumentCaptor.forClass(List.class);
+        verify(ratingHistoryRepository).saveAll(captor.capture());
+        List<RatingHistory> entries = captor.getValue();
+        assertEquals(2, entries.size());
+        assertEquals(7L, entries.get(0).getGameHistoryId());
+        assertEquals(2L, entries.get(0).getOpponentId());
+        assertEquals(1200, entries.get(1).getRatingBefore());
+        assertEquals(1190, entries.get(1).getRatingAfter());
+    }
+
+    @Test
+    @DisplayName("Should leave equal ratings unchanged after a draw")
+    void shouldRateDraw() {
+        // Given
+        user(1L, 1300, 10);
+        user(2L, 1300, 10);
+
+        // When
+        ratingService.rateGame(GameCompletedEvent.draw(history(8L, null, null), 1L, 2L));
+
+        // Then
+        verify(userRepository).updateRating(1L, 1300, 11);
+        verify(userRepository).updateRating(2L, 1300, 11);
+    }
+
+    @Test
+    @DisplayName("Should skip a game whose players are not both known")
+    void shouldSkipGameWithoutTwoPlayers() {
+        // When
+        ratingService.rateGame(GameCompletedEvent.decided(history(9L, 1L, null)));
+
+        // Then
+        verifyNoInteractions(userRepository, ratingHistoryRepository);
+    }
+
+    @Test
+    @DisplayName("Should resolve draw players from the drawn match when replaying")
+    void shouldResolveDrawPlayersForReplay() {
+        // Given
+        when(gameHistoryRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(history(1L, 3L, 4L), history(2L, null, null)));
+        List<Object[]> drawPlayers = List.<Object[]>of(new Object[]{5L, 6L});
+        when(gameMatchRepository.findDrawPlayerIds(eq(102L), any(Pageable.class))).thenReturn(drawPlayers);
+
+        // When
+        List<RatedGame> games = ratingService.findGamesToReplay(0L, 500);
+
+        // Then
+        assertEquals(2, games.size());
+        assertFalse(games.get(0).draw());
+        assertEquals(3L, games.get(0).firstPlayerId());
+        assertTrue(games.get(1).draw());
+        assertEquals(5L, games.get(1).firstPlayerId());
+        assertEquals(6L, games.get(1).secondPlayerId());
+    }
+}
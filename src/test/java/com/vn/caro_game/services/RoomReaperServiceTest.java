@@ -0,0 +1,123 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.entities.GameRoom;
+import com.vn.caro_game.enums.GameState;
+import com.vn.caro_game.enums.RoomStatus;
+import com.vn.caro_game.events.RoomEvent;
+import com.vn.caro_game.repositories.ChatMessageRepository;
+import com.vn.caro_game.repositories.GameMatchRepository;
+import com.vn.caro_game.repositories.GameRoomRepository;
+import com.vn.caro_game.repositories.MoveRepository;
+import com.vn.caro_game.repositories.RoomPlayerRepository;
+import com.vn.caro_game.services.impl.RoomReaperServiceImpl;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RoomReaperService
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Room Reaper Service Tests")
+class RoomReaperServiceTest {
+
+    @Mock
+    private GameRoomRepository gameRoomRepository;
+
+    @Mock
+    private RoomPlayerRepository roomPlayerRepository;
+
+    @Mock
+    private ChatMessageRepository chatMessageRepository;
+
+    @Mock
+    private GameMatchRepository gameMatchRepository;
+
+    @Mock
+    private MoveRepository moveRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private RoomReaperServiceImpl roomReaperService;
+
+    private final LocalDateTime emptyBefore = LocalDateTime.of(2025, 8, 1, 11, 50);
+    private final LocalDateTime staleBefore = LocalDateTime.of(2025, 7, 31, 12, 0);
+
+    private GameRoom room(long id) {
+        GameRoom room = new GameRoom();
+        room.setId(id);
+        return room;
+    }
+
+    @Test
+    @DisplayName("Should delete abandoned rooms children first")
+    void shouldDeleteAbandonedRoomsChildrenFirst() {
+        // Given
+        when(gameRoomRepository.findReapableRoomsForUpdate(40L, GameState.IN_PROGRESS, emptyBefore, staleBefore,
+                PageRequest.of(0, 2))).thenReturn(List.of(room(41L), room(45L)));
+
+        // When
+        List<Long> reaped = roomReaperService.reapAbandonedRooms(40L, emptyBefore, staleBefore, 2);
+
+        // Then
+        assertEquals(List.of(41L, 45L), reaped);
+        InOrder inOrder = inOrder(moveRepository, gameMatchRepository, chatMessageRepository,
+                roomPlayerRepository, gameRoomRepository);
+        inOrder.verify(moveRepository).deleteByRoomIdIn(reaped);
+        inOrder.verify(gameMatchRepository).deleteByRoomIdIn(reaped);
+        inOrder.verify(chatMessageRepository).deleteByRoomIdIn(reaped);
+        inOrder.verify(roomPlayerRepository).deleteByRoomIdIn(reaped);
+        inOrder.verify(gameRoomRepository).deleteByIdIn(reaped);
+        verify(eventPublisher, times(2)).publishEvent(any(RoomEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no room qualifies")
+    void shouldDoNothingWhenNoRoomQualifies() {
+        // Given
+        when(gameRoomRepository.findReapableRoomsForUpdate(anyLong(), any(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        // When
+        List<Long> reaped = roomReaperService.reapAbandonedRooms(0L, emptyBefore, staleBefore, 100);
+
+        // Then
+        assertTrue(reaped.isEmpty());
+        verify(gameRoomRepository, never()).deleteByIdIn(any());
+        verifyNoInteractions(moveRepository, gameMatchRepository, chatMessageRepository, roomPlayerRepository);
+    }
+
+    @Test
+    @DisplayName("Should release players of idle finished rooms but keep the rooms")
+    void shouldReleaseIdleFinishedRooms() {
+        // Given
+        when(gameRoomRepository.findIdleFinishedRoomsForUpdate(0L, RoomStatus.FINISHED, GameState.IN_PROGRESS,
+                staleBefore, PageRequest.of(0, 100))).thenReturn(List.of(room(7L)));
+
+        // When
+        List<Long> released = roomReaperService.releaseIdleFinishedRooms(0L, staleBefore, 100);
+
+        // Then
+        assertEquals(List.of(7L), released);
+        verify(roomPlayerRepository).deleteByRoomIdIn(List.of(7L));
+        verify(gameRoomRepository, never()).deleteByIdIn(any());
+        verifyNoInteractions(chatMessageRepository, gameMatchRepository, moveRepository);
+    }
+}
@@ -0,0 +1,193 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.enums.GameState;
+import com.vn.caro_game.enums.RoomEventType;
+import com.vn.caro_game.enums.RoomStatus;
+import com.vn.caro_game.events.RoomEvent;
+import com.vn.caro_game.repositories.RoomPlayerRepository;
+import com.vn.caro_game.services.impl.RoomRegistryServiceImpl;
+import com.vn.caro_game.services.interfaces.RoomRegistryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RoomRegistryService
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Room Registry Service Tests")
+class RoomRegistryServiceTest {
+
+    @Mock
+    private RoomPlayerRepository roomPlayerRepository;
+
+    private RoomRegistryServiceImpl roomRegistryService;
+
+    @BeforeEach
+    void setUp() {
+        roomRegistryService = new RoomRegistryServiceImpl(roomPlayerRepository, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(RoomRegistryServiceImpl.class);
+    }
+
+    private static List<Object[]> seats(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    @Test
+    @DisplayName("Should index players of active rooms loaded from the database")
+    void shouldIndexActiveRoomsOnLoad() {
+        // Given
+        when(roomPlayerRepository.findAllSeats()).thenReturn(seats(
+                new Object[]{1L, RoomStatus.WAITING, 10L},
+                new Object[]{2L, RoomStatus.PLAYING, 20L},
+                new Object[]{2L, RoomStatus.PLAYING, 21L},
+                new Object[]{3L, RoomStatus.FINISHED, 30L}));
+
+        // When
+        roomRegistryService.reload();
+
+        // Then
+        assertTrue(roomRegistryService.isAuthoritative());
+        assertEquals(1L, roomRegistryService.findActiveRoomId(10L));
+        assertEquals(2L, roomRegistryService.findActiveRoomId(21L));
+        assertEquals(RoomRegistryService.NO_ROOM, roomRegistryService.findActiveRoomId(30L));
+        assertTrue(roomRegistryService.isPlayerInRoom(3L, 30L));
+        assertEquals(2, roomRegistryService.getPlayerCount(2L));
+        assertEquals(3, roomRegistryService.getActiveUserCount());
+    }
+
+    @Test
+    @DisplayName("Should follow a room from creation through the end of the game")
+    void shouldFollowRoomLifecycle() {
+        // Given
+        when(roomPlayerRepository.findAllSeats()).thenReturn(seats());
+        roomRegistryService.reload();
+
+        // When
+        roomRegistryService.onRoomEvent(RoomEvent.of(RoomEventType.ROOM_CREATED, 5L, 10L,
+                RoomStatus.WAITING, GameState.WAITING_FOR_PLAYERS));
+        roomRegistryService.onRoomEvent(RoomEvent.of(RoomEventType.PLAYER_JOINED, 5L, 10L));
+        roomRegistryService.onRoomEvent(RoomEvent.of(RoomEventType.PLAYER_JOINED, 5L, 20L));
+        roomRegistryService.onRoomEvent(RoomEvent.of(RoomEventType.GAME_STARTED, 5L, 10L,
+                RoomStatus.PLAYING, GameState.IN_PROGRESS));
+
+        // Then
+        assertEquals(5L, roomRegistryService.findActiveRoomId(20L));
+        assertEquals(RoomStatus.PLAYING, roomRegistryService.getStatus(5L));
+
+        // When the game ends the players keep their seats but are no longer in an active room
+        roomRegistryService.onRoomEvent(RoomEvent.of(RoomEventType.GAME_ENDED, 5L, 10L,
+                RoomStatus.FINISHED, GameState.FINISHED));
+        assertEquals(RoomRegistryService.NO_ROOM, roomRegistryService.findActiveRoomId(10L));
+        assertTrue(roomRegistryService.isPlayerInRoom(5L, 10L));
+
+        // And the room is forgotten once the last player leaves
+        roomRegistryService.onRoomEvent(RoomEvent.of(RoomEventType.PLAYER_LEFT, 5L, 10L));
+        roomRegistryService.onRoomEvent(RoomEvent.of(RoomEventType.PLAYER_LEFT, 5L, 20L));
+        assertEquals(0, roomRegistryService.getRoomCount());
+    }
+
+    @Test
+    @DisplayName("Should drop closed rooms and their index entries")
+    void shouldDropClosedRooms() {
+        // Given
+        when(roomPlayerRepository.findAllSeats()).thenReturn(seats(new Object[]{1L, RoomStatus.WAITING, 10L}));
+        roomRegistryService.reload();
+
+        // When
+        roomRegistryService.onRoomEvent(RoomEvent.of(RoomEventType.ROOM_CLOSED, 1L, null));
+
+        // Then
+        assertEquals(RoomRegistryService.NO_ROOM, roomRegistryService.findActiveRoomId(10L));
+        assertFalse(roomRegistryService.isPlayerInRoom(1L, 10L));
+        assertEquals(0, roomRegistryService.getRoomCount());
+    }
+
+    @Test
+    @DisplayName("Should not let a stale leave remove the user's entry for another room")
+    void shouldKeepIndexEntryOfOtherRoom() {
+        // Given
+        when(roomPlayerRepository.findAllSeats()).thenReturn(seats(
+                new Object[]{1L, RoomStatus.FINISHED, 10L},
+                new Object[]{2L, RoomStatus.WAITING, 10L}));
+        roomRegistryService.reload();
+
+        // When
+        roomRegistryService.onRoomEvent(RoomEvent.of(RoomEventType.PLAYER_LEFT, 1L, 10L));
+
+        // Then
+        assertEquals(2L, roomRegistryService.findActiveRoomId(10L));
+    }
+
+    @Test
+    @DisplayName("Should defer to the database inside a transaction that changed a room")
+    void shouldNotBeAuthoritativeInDirtyTransaction() {
+        // Given
+        when(roomPlayerRepository.findAllSeats()).thenReturn(seats());
+        roomRegistryService.reload();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        roomRegistryService.onRoomEventPublished(RoomEvent.of(RoomEventType.PLAYER_JOINED, 1L, 10L));
+
+        // Then
+        assertFalse(roomRegistryService.isAuthoritative());
+
+        // When the transaction completes
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertTrue(roomRegistryService.isAuthoritative());
+    }
+
+    @Test
+    @DisplayName("Should stay non-authoritative when loading fails")
+    void shouldStayNonAuthoritativeWhenLoadFails() {
+        // Given
+        when(roomPlayerRepository.findAllSeats()).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // When
+        roomRegistryService.reload();
+        roomRegistryService.onRoomEvent(RoomEvent.of(RoomEventType.ROOM_CREATED, 1L, 10L));
+
+        // Then
+        assertFalse(roomRegistryService.isAuthoritative());
+        assertEquals(0, roomRegistryService.getRoomCount());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled")
+    void shouldDoNothingWhenDisabled() {
+        // Given
+        RoomRegistryServiceImpl disabled = new RoomRegistryServiceImpl(roomPlayerRepository, false);
+
+        // When
+        disabled.onApplicationReady();
+
+        // Then
+        assertFalse(disabled.isAuthoritative());
+        verifyNoInteractions(roomPlayerRepository);
+    }
+}
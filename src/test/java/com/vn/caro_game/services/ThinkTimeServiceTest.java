@@ -0,0 +1,120 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.entities.PlayerThinkTime;
+import com.vn.caro_game.repositories.PlayerThinkTimeRepository;
+import com.vn.caro_game.services.impl.ThinkTimeServiceImpl;
+import com.vn.caro_game.utils.ThinkTimeSamples;
+import com.vn.caro_game.utils.ThinkTimeSketch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ThinkTimeService
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Think Time Service Tests")
+class ThinkTimeServiceTest {
+
+    @Mock
+    private PlayerThinkTimeRepository playerThinkTimeRepository;
+
+    @InjectMocks
+    private ThinkTimeServiceImpl thinkTimeService;
+
+    @Test
+    @DisplayName("Should count moves in memory without touching the database")
+    void shouldCountMovesInMemory() {
+        // When
+        thinkTimeService.recordMove(1L, 4000L);
+        thinkTimeService.recordMove(1L, 6000L);
+        thinkTimeService.recordMove(2L, 1000L);
+        Map<Long, ThinkTimeSamples> drained = thinkTimeService.drainPending();
+
+        // Then
+        verifyNoInteractions(playerThinkTimeRepository);
+        assertEquals(2L, drained.get(1L).getCount());
+        assertEquals(10000L, drained.get(1L).getTotalMillis());
+        assertEquals(1L, drained.get(2L).getCount());
+        assertTrue(thinkTimeService.drainPending().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should count a move only once its transaction has committed")
+    void shouldCountAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            thinkTimeService.recordMove(1L, 4000L);
+
+            // Then
+            assertTrue(thinkTimeService.drainPending().isEmpty());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1L, thinkTimeService.drainPending().get(1L).getCount());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should add drained moves to the stored figures and sketch")
+    void shouldWritePendingMoves() {
+        // Given
+        ThinkTimeSketch sketch = new ThinkTimeSketch();
+        sketch.add(2000L);
+        PlayerThinkTime stored = new PlayerThinkTime();
+        stored.setUserId(1L);
+        stored.setMoveCount(1L);
+        stored.setTotalThinkMillis(2000L);
+        stored.setSketch(sketch.toBytes());
+        when(playerThinkTimeRepository.findByUserIdForUpdate(1L)).thenReturn(Optional.of(stored));
+        thinkTimeService.recordMove(1L, 6000L);
+
+        // When
+        thinkTimeService.writePending(thinkTimeService.drainPending());
+
+        // Then
+        InOrder inOrder = inOrder(playerThinkTimeRepository);
+        inOrder.verify(playerThinkTimeRepository).insertIfAbsent(1L);
+        inOrder.verify(playerThinkTimeRepository).findByUserIdForUpdate(1L);
+        inOrder.verify(playerThinkTimeRepository).save(stored);
+        assertEquals(2L, stored.getMoveCount());
+        assertEquals(8000L, stored.getTotalThinkMillis());
+        ThinkTimeSketch updated = ThinkTimeSketch.fromBytes(stored.getSketch());
+        assertEquals(2L, updated.getCount());
+        assertTrue(updated.quantile(1.0) > 5000L);
+    }
+
+    @Test
+    @DisplayName("Should keep restored moves for the next drain")
+    void shouldRestoreFailedWrite() {
+        // Given
+        thinkTimeService.recordMove(1L, 4000L);
+        Map<Long, ThinkTimeSamples> drained = thinkTimeService.drainPending();
+        thinkTimeService.recordMove(1L, 1000L);
+
+        // When
+        thinkTimeService.restore(drained);
+
+        // Then
+        ThinkTimeSamples pending = thinkTimeService.drainPending().get(1L);
+        assertEquals(2L, pending.getCount());
+        assertEquals(5000L, pending.getTotalMillis());
+    }
+}
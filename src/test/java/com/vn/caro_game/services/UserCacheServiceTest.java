@@ -0,0 +1,248 @@
+package com.vn.caro_game.services;
+
+import com.vn.caro_game.constants.UserProfileConstants;
+import com.vn.caro_game.dtos.CachedUser;
+import com.vn.caro_game.entities.User;
+import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.mappers.UserMapper;
+import com.vn.caro_game.repositories.UserRepository;
+import com.vn.caro_game.services.impl.UserCacheServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserCacheService
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Cache Service Tests")
+class UserCacheServiceTest {
+
+    private static final String KEY = UserProfileConstants.REDIS_KEY_USER_CACHE_PREFIX + 1;
+    private static final String GENERATION_KEY = UserProfileConstants.REDIS_KEY_USER_CACHE_GENERATION_PREFIX + 1;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private UserMapper userMapper = new UserMapper();
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @InjectMocks
+    private UserCacheServiceImpl userCacheService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        user = new User();
+        user.setId(1L);
+        user.setUsername("player");
+        user.setEmail("player@example.com");
+        user.setDisplayName("Player One");
+        user.setPassword("secret");
+        user.setCreatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+    }
+
+    @Test
+    @DisplayName("Should load a missing user from the database and fill both tiers")
+    void shouldLoadFromDatabaseOnMiss() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // When
+        CachedUser first = userCacheService.getUser(1L);
+        CachedUser second = userCacheService.getUser(1L);
+
+        // Then
+        assertEquals("player", first.getUsername());
+        assertSame(first, second);
+        verify(userRepository, times(1)).findById(1L);
+        verify(valueOperations).set(KEY, first, UserProfileConstants.USER_CACHE_TTL_SECONDS, TimeUnit.SECONDS);
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    @Test
+    @DisplayName("Should take back its shared copy when another instance evicts the user during the load")
+    void shouldUndoSharedWriteAfterRemoteEviction() {
+        // Given - another instance bumps the generation after this load read it
+        when(valueOperations.get(KEY)).thenReturn(null);
+        when(valueOperations.get(GENERATION_KEY)).thenReturn(null, 1);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // When
+        userCacheService.getUser(1L);
+
+        // Then
+        InOrder inOrder = inOrder(valueOperations, redisTemplate);
+        inOrder.verify(valueOperations).set(eq(KEY), any(), anyLong(), any(TimeUnit.class));
+        inOrder.verify(redisTemplate).delete(KEY);
+    }
+
+    @Test
+    @DisplayName("Should not write the shared copy when the generation cannot be read")
+    void shouldSkipSharedWriteWithoutGeneration() {
+        // Given
+        when(valueOperations.get(KEY)).thenReturn(null);
+        when(valueOperations.get(GENERATION_KEY)).thenThrow(new RedisConnectionFailureException("down"));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // When
+        CachedUser result = userCacheService.getUser(1L);
+
+        // Then
+        assertEquals("player", result.getUsername());
+        verify(valueOperations, never()).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    @DisplayName("Should use the Redis copy without touching the database")
+    void shouldReadSharedCopy() {
+        // Given
+        CachedUser shared = userMapper.toCachedUser(user);
+        when(valueOperations.get(KEY)).thenReturn(shared);
+
+        // When
+        CachedUser result = userCacheService.getUser(1L);
+
+        // Then
+        assertEquals(shared, result);
+        verifyNoInteractions(userRepository);
+        verify(valueOperations, never()).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    @DisplayName("Should treat a shared value of another type as a miss")
+    void shouldIgnoreForeignSharedValue() {
+        // Given - a copy written as a JSON string by an older version
+        when(valueOperations.get(KEY)).thenReturn("{\"id\":1}");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // When
+        CachedUser result = userCacheService.getUser(1L);
+
+        // Then
+        assertEquals("Player One", result.getDisplayName());
+        verify(valueOperations).set(KEY, result, UserProfileConstants.USER_CACHE_TTL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database when Redis is unreachable")
+    void shouldFallBackWhenRedisFails() {
+        // Given
+        when(valueOperations.get(KEY)).thenThrow(new RedisConnectionFailureException("down"));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // When
+        CachedUser result = userCacheService.getUser(1L);
+
+        // Then
+        assertEquals("player@example.com", result.getEmail());
+    }
+
+    @Test
+    @DisplayName("Should throw when the user does not exist")
+    void shouldThrowWhenUserMissing() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        CustomException exception = assertThrows(CustomException.class, () -> userCacheService.getUser(1L));
+        assertEquals(UserProfileConstants.USER_NOT_FOUND, exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should drop the user from both tiers and tell other instances")
+    void shouldEvictEverywhere() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        userCacheService.getUser(1L);
+
+        // When
+        userCacheService.evict(1L);
+        userCacheService.getUser(1L);
+
+        // Then
+        InOrder inOrder = inOrder(valueOperations, redisTemplate);
+        inOrder.verify(valueOperations).increment(GENERATION_KEY);
+        inOrder.verify(redisTemplate).delete(KEY);
+        inOrder.verify(redisTemplate).convertAndSend(UserProfileConstants.REDIS_CHANNEL_USER_INVALIDATED, 1L);
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should reload a user dropped from the local tier only")
+    void shouldReloadAfterLocalEviction() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        userCacheService.getUser(1L);
+
+        // When
+        userCacheService.evictLocal(1L);
+        userCacheService.getUser(1L);
+
+        // Then
+        verify(valueOperations, times(2)).get(KEY);
+        verify(valueOperations, never()).increment(anyString());
+        verify(redisTemplate, never()).delete(anyString());
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should read a user changed in the current transaction from the database until commit")
+    void shouldBypassCacheForUserEvictedInTransaction() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        userCacheService.getUser(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            // When
+            userCacheService.evict(1L);
+            userCacheService.evict(1L);
+            userCacheService.getUser(1L);
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertEquals(1, synchronizations.size());
+        verify(userRepository, times(2)).findById(1L);
+        verify(valueOperations, times(1)).get(KEY);
+        verify(redisTemplate, never()).delete(anyString());
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        verify(redisTemplate).delete(KEY);
+        verify(redisTemplate).convertAndSend(UserProfileConstants.REDIS_CHANNEL_USER_INVALIDATED, 1L);
+    }
+}
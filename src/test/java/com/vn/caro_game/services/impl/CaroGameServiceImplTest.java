@@ -13,18 +13,22 @@ import com.vn.caro_game.enums.GameState;
 import com.vn.caro_game.enums.PlayerReadyState;
 import com.vn.caro_game.enums.StatusCode;
 import com.vn.caro_game.exceptions.CustomException;
+import com.vn.caro_game.integrations.journal.RoomJournal;
 import com.vn.caro_game.repositories.GameMatchRepository;
 import com.vn.caro_game.repositories.GameRoomRepository;
 import com.vn.caro_game.repositories.MoveRepository;
 import com.vn.caro_game.repositories.UserRepository;
+import com.vn.caro_game.services.interfaces.BroadcastOutboxService;
+import com.vn.caro_game.services.interfaces.ThinkTimeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -57,7 +61,16 @@ class CaroGameServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private SimpMessagingTemplate messagingTemplate;
+    private BroadcastOutboxService broadcastOutboxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RoomJournal roomJournal;
+
+    @Mock
+    private ThinkTimeService thinkTimeService;
 
     @InjectMocks
     private CaroGameServiceImpl caroGameService;
@@ -328,7 +341,7 @@ class CaroGameServiceImplTest {
         when(moveRepository.findByMatchOrderByMoveNumber(testMatch))
                 .thenReturn(Collections.emptyList());
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser1));
-        when(moveRepository.countByMatch(testMatch)).thenReturn(0);
+        testMatch.setMoveCount(0);
         
         Move savedMove = new Move();
         savedMove.setId(1L);
@@ -354,7 +367,34 @@ class CaroGameServiceImplTest {
         assertEquals(1, response.getMoveNumber());
         assertTrue(response.getIsValidMove());
         
-        verify(messagingTemplate).convertAndSend(anyString(), any(GameMoveResponse.class));
+        verify(broadcastOutboxService).send(anyString(), any(GameMoveResponse.class));
+    }
+
+    @Test
+    void testMakeMove_RecordsThinkTime() {
+        // Given
+        GameMoveRequest request = new GameMoveRequest();
+        request.setXPosition(7);
+        request.setYPosition(8);
+        
+        when(gameRoomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
+        when(gameMatchRepository.findByRoomAndResult(testRoom, GameResult.ONGOING))
+                .thenReturn(Optional.of(testMatch));
+        when(moveRepository.findByMatchOrderByMoveNumber(testMatch))
+                .thenReturn(Collections.emptyList());
+        when(userRepository.findById(2L)).thenReturn(Optional.of(testUser2));
+        when(moveRepository.save(any(Move.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        testMatch.setMoveCount(1);
+        testMatch.setLastMoveAt(LocalDateTime.now().minusSeconds(5));
+        
+        // When
+        caroGameService.makeMove(1L, request, 2L);
+        
+        // Then
+        verify(thinkTimeService).recordMove(eq(2L), longThat(millis -> millis >= 5000 && millis < 60000));
+        assertTrue(testMatch.getPlayerOThinkMillis() >= 5000);
+        assertEquals(0L, testMatch.getPlayerXThinkMillis());
+        assertNotNull(testMatch.getLastMoveAt());
     }
 
     @Test
@@ -1,13 +1,16 @@
 package com.vn.caro_game.services.impl;
 
 import com.vn.caro_game.constants.UserProfileConstants;
+import com.vn.caro_game.dtos.CachedUser;
 import com.vn.caro_game.dtos.request.UpdateProfileRequest;
 import com.vn.caro_game.dtos.response.UserProfileResponse;
 import com.vn.caro_game.entities.User;
+import com.vn.caro_game.enums.StatusCode;
 import com.vn.caro_game.exceptions.CustomException;
 import com.vn.caro_game.mappers.UserMapper;
 import com.vn.caro_game.repositories.UserRepository;
 import com.vn.caro_game.services.interfaces.IFileUploadService;
+import com.vn.caro_game.services.interfaces.UserCacheService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -55,6 +58,9 @@ class UserProfileServiceImplTest {
     @Mock
     private IFileUploadService fileUploadService;
 
+    @Mock
+    private UserCacheService userCacheService;
+
     @Mock
     private MultipartFile avatarFile;
 
@@ -98,8 +104,9 @@ class UserProfileServiceImplTest {
         @DisplayName("Should successfully return user profile when user exists")
         void shouldReturnUserProfileWhenUserExists() {
             // Given
-            given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
-            given(userMapper.toProfileResponse(testUser)).willReturn(testResponse);
+            CachedUser cachedUser = CachedUser.builder().id(1L).username("john_doe").email("john@example.com").build();
+            given(userCacheService.getUser(1L)).willReturn(cachedUser);
+            given(userMapper.toCachedProfileResponse(cachedUser)).willReturn(testResponse);
 
             // When
             UserProfileResponse result = userProfileService.getUserProfile(1L);
@@ -110,23 +117,25 @@ class UserProfileServiceImplTest {
             assertThat(result.getUsername()).isEqualTo("john_doe");
             assertThat(result.getEmail()).isEqualTo("john@example.com");
 
-            then(userRepository).should().findById(1L);
-            then(userMapper).should().toProfileResponse(testUser);
+            then(userCacheService).should().getUser(1L);
+            then(userMapper).should().toCachedProfileResponse(cachedUser);
+            then(userRepository).should(never()).findById(anyLong());
         }
 
         @Test
         @DisplayName("Should throw CustomException when user not found")
         void shouldThrowExceptionWhenUserNotFound() {
             // Given
-            given(userRepository.findById(999L)).willReturn(Optional.empty());
+            given(userCacheService.getUser(999L))
+                    .willThrow(new CustomException(UserProfileConstants.USER_NOT_FOUND, StatusCode.USER_NOT_FOUND));
 
             // When & Then
             assertThatThrownBy(() -> userProfileService.getUserProfile(999L))
                     .isInstanceOf(CustomException.class)
                     .hasMessage(UserProfileConstants.USER_NOT_FOUND);
 
-            then(userRepository).should().findById(999L);
-            then(userMapper).should(never()).toProfileResponse(any());
+            then(userCacheService).should().getUser(999L);
+            then(userMapper).should(never()).toCachedProfileResponse(any());
         }
     }
 
@@ -155,6 +164,7 @@ class UserProfileServiceImplTest {
             then(userMapper).should().updateUserFromRequest(testUser, updateRequest);
             then(userRepository).should().save(testUser);
             then(userMapper).should().toProfileResponse(testUser);
+            then(userCacheService).should().evict(1L);
         }
 
         @Test
@@ -195,6 +205,7 @@ class UserProfileServiceImplTest {
             then(userRepository).should().existsByUsernameAndIdNot("john_doe_updated", 1L);
             then(userMapper).should(never()).updateUserFromRequest(any(), any());
             then(userRepository).should(never()).save(any());
+            then(userCacheService).should(never()).evict(anyLong());
         }
 
         @Test
@@ -239,6 +250,7 @@ class UserProfileServiceImplTest {
             then(fileUploadService).should().uploadAvatar(avatarFile, 1L);
             then(userRepository).should().save(testUser);
             then(userMapper).should().toProfileResponse(testUser);
+            then(userCacheService).should().evict(1L);
         }
 
         @Test
@@ -0,0 +1,74 @@
+package com.vn.caro_game.utils;
+
+import com.vn.caro_game.constants.GameRoomConstants;
+import com.vn.caro_game.entities.AchievementProgress;
+import com.vn.caro_game.enums.Achievement;
+import com.vn.caro_game.enums.GameResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for AchievementTracker.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@DisplayName("AchievementTracker Tests")
+class AchievementTrackerTest {
+
+    private AchievementProgress progress() {
+        AchievementProgress progress = new AchievementProgress();
+        progress.setUserId(1L);
+        return progress;
+    }
+
+    @Test
+    @DisplayName("Should unlock the win streak once and reset the streak on a draw")
+    void shouldTrackWinStreak() {
+        AchievementProgress progress = progress();
+        List<Achievement> unlocked = new ArrayList<>();
+
+        for (long game = 1; game <= GameRoomConstants.ACHIEVEMENT_WIN_STREAK + 1; game++) {
+            unlocked.addAll(AchievementTracker.advance(progress, GameResult.WIN, false, game));
+        }
+        AchievementTracker.advance(progress, GameResult.DRAW, false, 20L);
+
+        assertThat(unlocked).containsExactly(Achievement.WIN_STREAK_10);
+        assertThat(progress.getCurrentWinStreak()).isZero();
+        assertThat(progress.getBestWinStreak()).isEqualTo(GameRoomConstants.ACHIEVEMENT_WIN_STREAK + 1);
+        assertThat(AchievementTracker.getProgress(progress, Achievement.WIN_STREAK_10))
+                .isEqualTo(GameRoomConstants.ACHIEVEMENT_WIN_STREAK);
+        assertThat(progress.getLastGameHistoryId()).isEqualTo(20L);
+    }
+
+    @Test
+    @DisplayName("Should unlock games played on the hundredth game of any result")
+    void shouldCountGamesPlayed() {
+        AchievementProgress progress = progress();
+        progress.setGamesPlayed((long) GameRoomConstants.ACHIEVEMENT_GAMES_PLAYED - 1);
+
+        List<Achievement> unlocked = AchievementTracker.advance(progress, GameResult.LOSE, false, 1L);
+
+        assertThat(unlocked).containsExactly(Achievement.GAMES_PLAYED_100);
+        assertThat(AchievementTracker.isUnlocked(progress, Achievement.GAMES_PLAYED_100)).isTrue();
+        assertThat(AchievementTracker.isUnlocked(progress, Achievement.QUICK_WIN)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should count the winner's own moves for a quick win")
+    void shouldJudgeQuickWin() {
+        int limit = GameRoomConstants.ACHIEVEMENT_QUICK_WIN_MOVES;
+
+        assertThat(AchievementTracker.isQuickWin(2 * limit - 3)).isTrue();
+        assertThat(AchievementTracker.isQuickWin(2 * limit - 2)).isTrue();
+        assertThat(AchievementTracker.isQuickWin(2 * limit - 1)).isFalse();
+        assertThat(AchievementTracker.isQuickWin(null)).isFalse();
+        assertThat(AchievementTracker.advance(progress(), GameResult.WIN, true, 1L))
+                .containsExactly(Achievement.QUICK_WIN);
+    }
+}
@@ -0,0 +1,60 @@
+package com.vn.caro_game.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for BloomFilter.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@DisplayName("BloomFilter Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should find every added value")
+    void shouldHaveNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("token-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("token-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep false positives near the configured rate")
+    void shouldBoundFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("valid-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    @DisplayName("Should size bits and hashes from entries and rate")
+    void shouldSizeFromEntriesAndRate() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        assertThat(filter.getBitCount()).isBetween(9_585L, 9_585L + 64);
+        assertThat(filter.getHashCount()).isEqualTo(7);
+        assertThat(filter.mightContain("anything")).isFalse();
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(10, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,83 @@
+package com.vn.caro_game.utils;
+
+import com.vn.caro_game.constants.CaroGameConstants;
+import com.vn.caro_game.enums.HeatmapSlice;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for BoardHeatmap.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@DisplayName("BoardHeatmap Tests")
+class BoardHeatmapTest {
+
+    @Test
+    @DisplayName("Should count moves by side and game phase")
+    void shouldCountMovesBySlice() {
+        BoardHeatmap heatmap = new BoardHeatmap();
+        int lastOpeningMove = CaroGameConstants.HEATMAP_OPENING_MOVES;
+
+        heatmap.add(1, 7, 7);
+        heatmap.add(2, 7, 8);
+        heatmap.add(lastOpeningMove + 1, 7, 7);
+        heatmap.add(lastOpeningMove + 2, 0, 14);
+        heatmap.add(lastOpeningMove + 4, 0, 14);
+
+        assertThat(heatmap.getCount(HeatmapSlice.X_OPENING, 7, 7)).isEqualTo(1);
+        assertThat(heatmap.getCount(HeatmapSlice.O_OPENING, 7, 8)).isEqualTo(1);
+        assertThat(heatmap.getCount(HeatmapSlice.X_MIDDLEGAME, 7, 7)).isEqualTo(1);
+        assertThat(heatmap.getCount(HeatmapSlice.O_MIDDLEGAME, 0, 14)).isEqualTo(2);
+        assertThat(heatmap.toGrid(HeatmapSlice.O_MIDDLEGAME)[0][14]).isEqualTo(2);
+        assertThat(heatmap.getTotal(HeatmapSlice.O_MIDDLEGAME)).isEqualTo(2);
+        assertThat(heatmap.getTotal()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should ignore moves off the board")
+    void shouldIgnoreMovesOffBoard() {
+        BoardHeatmap heatmap = new BoardHeatmap();
+
+        assertThat(heatmap.add(1, CaroGameConstants.BOARD_SIZE, 0)).isFalse();
+        assertThat(heatmap.add(1, 0, -1)).isFalse();
+        assertThat(heatmap.add(0, 0, 0)).isFalse();
+        assertThat(heatmap.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should survive a round trip through its compact binary form")
+    void shouldRoundTripBytes() {
+        BoardHeatmap heatmap = new BoardHeatmap();
+        for (int i = 0; i < 300; i++) {
+            heatmap.add(1, 7, 7);
+        }
+        heatmap.add(12, 3, 4);
+        BoardHeatmap other = new BoardHeatmap();
+        other.add(1, 7, 7);
+        heatmap.merge(other);
+
+        byte[] data = heatmap.toBytes();
+        BoardHeatmap copy = BoardHeatmap.fromBytes(data);
+
+        // One byte per empty cell, two for the cell counted 301 times
+        assertThat(data).hasSize(4 * BoardHeatmap.CELLS + 1);
+        assertThat(copy.getCount(HeatmapSlice.X_OPENING, 7, 7)).isEqualTo(301);
+        assertThat(copy.getCount(HeatmapSlice.O_MIDDLEGAME, 3, 4)).isEqualTo(1);
+        assertThat(copy.getTotal()).isEqualTo(302);
+    }
+
+    @Test
+    @DisplayName("Should treat missing data as an empty heatmap and reject malformed data")
+    void shouldHandleEmptyAndMalformedData() {
+        assertThat(BoardHeatmap.fromBytes(null).isEmpty()).isTrue();
+        assertThat(BoardHeatmap.fromBytes(new byte[0]).isEmpty()).isTrue();
+        assertThatThrownBy(() -> BoardHeatmap.fromBytes(new byte[7]))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BoardHeatmap.fromBytes(new byte[4 * BoardHeatmap.CELLS + 1]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,67 @@
+package com.vn.caro_game.utils;
+
+import com.vn.caro_game.entities.Move;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for BoardKeyframes.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@DisplayName("BoardKeyframes Tests")
+class BoardKeyframesTest {
+
+    private List<Move> moves(int count) {
+        List<Move> moves = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Move move = new Move();
+            move.setXPosition((i - 1) / 15);
+            move.setYPosition((i - 1) % 15);
+            move.setMoveNumber(i);
+            moves.add(move);
+        }
+        return moves;
+    }
+
+    @Test
+    @DisplayName("Should snapshot every interval moves starting from the empty board")
+    void shouldSnapshotEveryInterval() {
+        BoardKeyframes keyframes = BoardKeyframes.build(moves(25), m -> m.getMoveNumber() % 2 == 1 ? 1 : 2, 15, 10);
+
+        assertThat(keyframes.getKeyframeCount()).isEqualTo(3);
+        assertThat(keyframes.getTotalMoves()).isEqualTo(25);
+        assertThat(keyframes.nearestKeyframe(0)).isZero();
+        assertThat(keyframes.nearestKeyframe(9)).isZero();
+        assertThat(keyframes.nearestKeyframe(10)).isEqualTo(10);
+        assertThat(keyframes.nearestKeyframe(25)).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should return independent board copies")
+    void shouldReturnIndependentCopies() {
+        BoardKeyframes keyframes = BoardKeyframes.build(moves(10), m -> 1, 15, 10);
+
+        int[][] board = keyframes.boardAt(10);
+        assertThat(board[0][9]).isEqualTo(1);
+        assertThat(board[0][10]).isZero();
+
+        board[0][0] = 0;
+        assertThat(keyframes.boardAt(10)[0][0]).isEqualTo(1);
+        assertThat(keyframes.boardAt(0)[0][0]).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown keyframe")
+    void shouldRejectUnknownKeyframe() {
+        BoardKeyframes keyframes = BoardKeyframes.build(moves(5), m -> 1, 15, 10);
+
+        assertThatThrownBy(() -> keyframes.boardAt(5)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.vn.caro_game.utils;
+
+import com.vn.caro_game.constants.CaroGameConstants;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for BoardSymmetry.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@DisplayName("BoardSymmetry Tests")
+class BoardSymmetryTest {
+
+    private static final int SIZE = CaroGameConstants.BOARD_SIZE;
+
+    @Test
+    @DisplayName("Should undo every symmetry with its inverse")
+    void shouldInvertEverySymmetry() {
+        for (int symmetry = 0; symmetry < BoardSymmetry.COUNT; symmetry++) {
+            for (int cell = 0; cell < SIZE * SIZE; cell++) {
+                int transformed = BoardSymmetry.transform(symmetry, cell);
+                assertThat(transformed).isBetween(0, SIZE * SIZE - 1);
+                assertThat(BoardSymmetry.transform(BoardSymmetry.inverse(symmetry), transformed)).isEqualTo(cell);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should map a corner to all four corners and nothing else")
+    void shouldMapCornerToCorners() {
+        Set<Integer> images = new HashSet<>();
+        for (int symmetry = 0; symmetry < BoardSymmetry.COUNT; symmetry++) {
+            images.add(BoardSymmetry.transform(symmetry, 0));
+        }
+
+        assertThat(images).containsExactlyInAnyOrder(0, SIZE - 1, (SIZE - 1) * SIZE, SIZE * SIZE - 1);
+    }
+
+    @Test
+    @DisplayName("Should give rotated and reflected openings the same canonical form")
+    void shouldCanonicalizeEquivalentOpenings() {
+        int[] opening = {7 * SIZE + 7, 7 * SIZE + 8, 6 * SIZE + 9};
+        int[] canonical = BoardSymmetry.apply(BoardSymmetry.canonical(opening), opening);
+
+        for (int symmetry = 0; symmetry < BoardSymmetry.COUNT; symmetry++) {
+            int[] variant = BoardSymmetry.apply(symmetry, opening);
+            assertThat(BoardSymmetry.apply(BoardSymmetry.canonical(variant), variant)).isEqualTo(canonical);
+        }
+        // The canonical form of a prefix is the prefix of the canonical form
+        int[] prefix = {opening[0], opening[1]};
+        assertThat(BoardSymmetry.apply(BoardSymmetry.canonical(prefix), prefix))
+                .containsExactly(canonical[0], canonical[1]);
+    }
+}
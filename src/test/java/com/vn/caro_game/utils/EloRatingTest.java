@@ -0,0 +1,43 @@
+package com.vn.caro_game.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for EloRating.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@DisplayName("EloRating Tests")
+class EloRatingTest {
+
+    @Test
+    @DisplayName("Should move provisional players twice as far as established ones")
+    void shouldUseProvisionalKFactor() {
+        assertThat(EloRating.newRating(1200, 0, 1200, EloRating.WIN)).isEqualTo(1220);
+        assertThat(EloRating.newRating(1200, 0, 1200, EloRating.LOSS)).isEqualTo(1180);
+        assertThat(EloRating.newRating(1200, 30, 1200, EloRating.WIN)).isEqualTo(1210);
+        assertThat(EloRating.newRating(1200, 30, 1200, EloRating.LOSS)).isEqualTo(1190);
+    }
+
+    @Test
+    @DisplayName("Should reward upsets more than expected wins")
+    void shouldWeighByExpectedScore() {
+        assertThat(EloRating.expectedScore(1400, 1200)).isCloseTo(0.76, within(0.01));
+        assertThat(EloRating.newRating(1200, 30, 1400, EloRating.WIN)).isEqualTo(1215);
+        assertThat(EloRating.newRating(1400, 30, 1200, EloRating.WIN)).isEqualTo(1405);
+        assertThat(EloRating.newRating(1300, 30, 1300, EloRating.DRAW)).isEqualTo(1300);
+    }
+
+    @Test
+    @DisplayName("Should leave players unranked until they have enough rated games")
+    void shouldLabelRanks() {
+        assertThat(EloRating.rankLabel(2100, 4)).isEqualTo("Unranked");
+        assertThat(EloRating.rankLabel(2100, 5)).isEqualTo("Master");
+        assertThat(EloRating.rankLabel(1650, 40)).isEqualTo("Advanced");
+        assertThat(EloRating.rankLabel(1199, 40)).isEqualTo("Beginner");
+    }
+}
@@ -0,0 +1,71 @@
+package com.vn.caro_game.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for GameNotationWriter.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@DisplayName("GameNotationWriter Tests")
+class GameNotationWriterTest {
+
+    @Test
+    @DisplayName("Should write tags, numbered moves and result")
+    void shouldWriteTagsMovesAndResult() throws IOException {
+        StringWriter out = new StringWriter();
+        GameNotationWriter writer = new GameNotationWriter(out);
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("Game", "1");
+        tags.put("X", "alice");
+
+        writer.startGame(tags);
+        writer.move(1, 7, 7);
+        writer.move(2, 8, 8);
+        writer.move(3, 6, 6);
+        writer.endGame(GameNotationWriter.RESULT_X_WIN);
+
+        assertThat(out.toString()).isEqualTo(
+                "[Game \"1\"]\n[X \"alice\"]\n\n1. h8 i9 2. g7 1-0\n\n");
+        assertThat(writer.getGamesWritten()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should escape quotes and replace missing tag values")
+    void shouldEscapeTagValues() throws IOException {
+        StringWriter out = new StringWriter();
+        GameNotationWriter writer = new GameNotationWriter(out);
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("X", "a\"b");
+        tags.put("O", null);
+
+        writer.startGame(tags);
+        writer.endGame(GameNotationWriter.RESULT_DRAW);
+
+        assertThat(out.toString()).isEqualTo("[X \"a\\\"b\"]\n[O \"?\"]\n\n1/2-1/2\n\n");
+    }
+
+    @Test
+    @DisplayName("Should reject moves outside a game")
+    void shouldRejectMovesOutsideGame() {
+        GameNotationWriter writer = new GameNotationWriter(new StringWriter());
+
+        assertThatThrownBy(() -> writer.move(1, 0, 0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should map board corners to squares")
+    void shouldMapSquares() {
+        assertThat(GameNotationWriter.square(0, 0)).isEqualTo("a1");
+        assertThat(GameNotationWriter.square(14, 14)).isEqualTo("o15");
+    }
+}
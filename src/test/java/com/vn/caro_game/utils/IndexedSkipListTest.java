@@ -0,0 +1,77 @@
+package com.vn.caro_game.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for IndexedSkipList.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@DisplayName("IndexedSkipList Tests")
+class IndexedSkipListTest {
+
+    @Test
+    @DisplayName("Should keep elements sorted and find them by position")
+    void shouldFindByPosition() {
+        IndexedSkipList<Integer> list = new IndexedSkipList<>(Comparator.reverseOrder());
+
+        assertThat(list.add(5)).isTrue();
+        assertThat(list.add(9)).isTrue();
+        assertThat(list.add(1)).isTrue();
+        assertThat(list.add(9)).isFalse();
+
+        assertThat(list.size()).isEqualTo(3);
+        assertThat(list.get(0)).isEqualTo(9);
+        assertThat(list.indexOf(1)).isEqualTo(2);
+        assertThat(list.indexOf(4)).isEqualTo(-1);
+        assertThat(list.range(1, 5)).containsExactly(5, 1);
+        assertThat(list.range(3, 5)).isEmpty();
+
+        assertThat(list.remove(5)).isTrue();
+        assertThat(list.remove(5)).isFalse();
+        assertThat(list.range(0, 5)).containsExactly(9, 1);
+        assertThatThrownBy(() -> list.get(2)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("Should agree with a sorted list under random adds and removes")
+    void shouldMatchSortedListUnderChurn() {
+        IndexedSkipList<Integer> list = new IndexedSkipList<>(Comparator.naturalOrder());
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(2_000);
+            int at = Collections.binarySearch(expected, value);
+            if (random.nextBoolean()) {
+                assertThat(list.add(value)).isEqualTo(at < 0);
+                if (at < 0) {
+                    expected.add(-at - 1, value);
+                }
+            } else {
+                assertThat(list.remove(value)).isEqualTo(at >= 0);
+                if (at >= 0) {
+                    expected.remove(at);
+                }
+            }
+        }
+
+        assertThat(list.size()).isEqualTo(expected.size());
+        for (int i = 0; i < expected.size(); i += 7) {
+            assertThat(list.get(i)).isEqualTo(expected.get(i));
+            assertThat(list.indexOf(expected.get(i))).isEqualTo(i);
+        }
+        int from = expected.size() / 2;
+        assertThat(list.range(from, 50)).isEqualTo(expected.subList(from, Math.min(from + 50, expected.size())));
+    }
+}
@@ -0,0 +1,78 @@
+package com.vn.caro_game.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for LongLongHashMap.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@DisplayName("LongLongHashMap Tests")
+class LongLongHashMapTest {
+
+    private static final long MISSING = -1L;
+
+    @Test
+    @DisplayName("Should put, get and remove entries including key zero")
+    void shouldPutGetAndRemove() {
+        LongLongHashMap map = new LongLongHashMap(4, MISSING);
+
+        assertThat(map.put(7L, 70L)).isEqualTo(MISSING);
+        assertThat(map.put(0L, 5L)).isEqualTo(MISSING);
+        assertThat(map.put(7L, 71L)).isEqualTo(70L);
+
+        assertThat(map.get(7L)).isEqualTo(71L);
+        assertThat(map.get(0L)).isEqualTo(5L);
+        assertThat(map.get(8L)).isEqualTo(MISSING);
+        assertThat(map.size()).isEqualTo(2);
+
+        assertThat(map.remove(0L)).isEqualTo(5L);
+        assertThat(map.remove(7L)).isEqualTo(71L);
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should only remove an entry still mapped to the expected value")
+    void shouldRemoveConditionally() {
+        LongLongHashMap map = new LongLongHashMap(4, MISSING);
+        map.put(1L, 10L);
+
+        assertThat(map.remove(1L, 11L)).isFalse();
+        assertThat(map.get(1L)).isEqualTo(10L);
+        assertThat(map.remove(1L, 10L)).isTrue();
+        assertThat(map.containsKey(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should match a HashMap under random growth and churn")
+    void shouldMatchHashMapUnderChurn() {
+        LongLongHashMap map = new LongLongHashMap(2, MISSING);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.getOrDefault(key, MISSING));
+                expected.remove(key);
+            } else {
+                long value = random.nextLong();
+                assertThat(map.put(key, value)).isEqualTo(expected.getOrDefault(key, MISSING));
+                expected.put(key, value);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 0; key < 2_000; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.getOrDefault(key, MISSING));
+        }
+    }
+}
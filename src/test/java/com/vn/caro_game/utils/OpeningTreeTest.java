@@ -0,0 +1,58 @@
+package com.vn.caro_game.utils;
+
+import com.vn.caro_game.enums.GameResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for OpeningTree.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@DisplayName("OpeningTree Tests")
+class OpeningTreeTest {
+
+    @Test
+    @DisplayName("Should count games and results along shared prefixes")
+    void shouldCountAlongPaths() {
+        OpeningTree tree = new OpeningTree();
+
+        tree.add(new int[]{112, 113, 97}, GameResult.X_WIN);
+        tree.add(new int[]{112, 113, 128}, GameResult.O_WIN);
+        tree.add(new int[]{112, 98}, GameResult.DRAW);
+
+        assertThat(tree.getGames(OpeningTree.ROOT)).isEqualTo(3);
+        int center = tree.find(new int[]{112});
+        assertThat(tree.getGames(center)).isEqualTo(3);
+        assertThat(tree.getXWins(center)).isEqualTo(1);
+        assertThat(tree.getOWins(center)).isEqualTo(1);
+        assertThat(tree.getDraws(center)).isEqualTo(1);
+        int reply = tree.find(new int[]{112, 113});
+        assertThat(tree.getGames(reply)).isEqualTo(2);
+        assertThat(tree.getMove(reply)).isEqualTo(113);
+        assertThat(tree.find(new int[]{112, 113, 99})).isEqualTo(OpeningTree.NONE);
+        assertThat(tree.size()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should list every child of a node once")
+    void shouldListChildren() {
+        OpeningTree tree = new OpeningTree();
+        for (int cell = 0; cell < 225; cell++) {
+            tree.add(new int[]{cell}, GameResult.DRAW);
+        }
+        tree.add(new int[]{224}, GameResult.X_WIN);
+
+        int children = 0;
+        for (int child = tree.getFirstChild(OpeningTree.ROOT); child != OpeningTree.NONE; child = tree.getNextSibling(child)) {
+            children++;
+        }
+
+        assertThat(children).isEqualTo(225);
+        assertThat(tree.getGames(tree.find(new int[]{224}))).isEqualTo(2);
+        assertThat(tree.getXWins(tree.find(new int[]{224}))).isEqualTo(1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.vn.caro_game.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ThinkTimeSketch.
+ *
+ * @author Caro Game Team
+ * @since 1.0.0
+ */
+@DisplayName("ThinkTimeSketch Tests")
+class ThinkTimeSketchTest {
+
+    @Test
+    @DisplayName("Should estimate quantiles within the bucket accuracy")
+    void shouldEstimateQuantiles() {
+        ThinkTimeSketch sketch = new ThinkTimeSketch();
+        Random random = new Random(42);
+        long[] samples = new long[10_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = 200 + (long) (random.nextDouble() * random.nextDouble() * 60_000);
+            sketch.add(samples[i]);
+        }
+        Arrays.sort(samples);
+
+        assertThat(sketch.getCount()).isEqualTo(10_000);
+        for (double quantile : new double[]{0.1, 0.5, 0.9, 0.99}) {
+            long exact = samples[(int) Math.ceil(quantile * samples.length) - 1];
+            assertThat(sketch.quantile(quantile).doubleValue()).isCloseTo(exact, withinPercentage(6));
+        }
+    }
+
+    @Test
+    @DisplayName("Should survive a round trip through its binary form")
+    void shouldRoundTripBytes() {
+        ThinkTimeSketch sketch = new ThinkTimeSketch();
+        sketch.add(50);
+        sketch.add(1_500);
+        sketch.add(Long.MAX_VALUE);
+
+        byte[] data = sketch.toBytes();
+        ThinkTimeSketch copy = ThinkTimeSketch.fromBytes(data);
+
+        assertThat(data).hasSize(ThinkTimeSketch.BUCKETS * Integer.BYTES);
+        assertThat(copy.getCount()).isEqualTo(3);
+        assertThat(copy.quantile(0.0)).isEqualTo(ThinkTimeSketch.MIN_MILLIS / 2);
+        assertThat(copy.quantile(0.5)).isEqualTo(sketch.quantile(0.5));
+        assertThat(copy.quantile(1.0)).isEqualTo(sketch.quantile(1.0));
+    }
+
+    @Test
+    @DisplayName("Should merge into the same sketch as adding every sample")
+    void shouldMergeSketches() {
+        ThinkTimeSketch first = new ThinkTimeSketch();
+        ThinkTimeSketch second = new ThinkTimeSketch();
+        ThinkTimeSketch all = new ThinkTimeSketch();
+        for (long millis = 100; millis < 30_000; millis += 700) {
+            (millis % 3 == 0 ? first : second).add(millis);
+            all.add(millis);
+        }
+
+        first.merge(second);
+
+        assertThat(first.getCount()).isEqualTo(all.getCount());
+        assertThat(first.toBytes()).isEqualTo(all.toBytes());
+    }
+
+    @Test
+    @DisplayName("Should treat missing data as an empty sketch and reject malformed data")
+    void shouldHandleEmptyAndMalformedData() {
+        assertThat(ThinkTimeSketch.fromBytes(null).quantile(0.5)).isNull();
+        assertThat(ThinkTimeSketch.fromBytes(new byte[0]).getCount()).isZero();
+        assertThatThrownBy(() -> ThinkTimeSketch.fromBytes(new byte[7]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}